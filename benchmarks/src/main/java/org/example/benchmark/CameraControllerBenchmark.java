@@ -0,0 +1,106 @@
+package org.example.benchmark;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Point3D;
+import javafx.scene.input.KeyCode;
+import javafx.scene.transform.Affine;
+import javafx.scene.transform.Rotate;
+import javafx.scene.transform.Transform;
+import org.example.Util.CameraController;
+import org.example.Util.RenderLoop;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Um quadro de navegação da câmera (teclas pressionadas + arrasto do mouse)
+ *
+ * - cameraController: CameraController (campos primitivos e um Affine reaproveitado);
+ *   o profiler de GC deve mostrar gc.alloc.rate.norm ≈ 0 B/op
+ * - legacyFrame: montagem anterior dos visualizadores (Point3D imutáveis e dois Rotate novos por quadro)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CameraControllerBenchmark {
+
+    private CameraController controller;
+
+    // Estado da montagem anterior
+    private final ObservableList<Transform> legacyTransforms = FXCollections.observableArrayList();
+    private Point3D legacyTarget;
+    private double legacyYaw, legacyPitch, legacyDistance;
+    private double translateX, translateY, translateZ;
+
+    private int frame;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        controller = new CameraController(CameraController.Mode.ORBIT, 0.3 / RenderLoop.NOMINAL_FRAME_SECONDS);
+        controller.setOrbit(0, 0, 0, 5, 45, 20);
+        controller.press(KeyCode.W);
+        controller.press(KeyCode.D);
+
+        legacyTarget = new Point3D(0, 0, 0);
+        legacyYaw = 45;
+        legacyPitch = 20;
+        legacyDistance = 5;
+        frame = 0;
+    }
+
+    @Benchmark
+    public Affine cameraController() {
+        // Alterna o sentido do arrasto para o estado não divergir
+        double drag = (frame++ & 1) == 0 ? 0.5 : -0.5;
+        controller.rotate(drag, drag);
+        controller.update(RenderLoop.NOMINAL_FRAME_SECONDS);
+        controller.flush();
+        return controller.getTransform();
+    }
+
+    @Benchmark
+    public ObservableList<Transform> legacyFrame() {
+        double drag = (frame++ & 1) == 0 ? 0.5 : -0.5;
+        legacyYaw = (legacyYaw + drag) % 360;
+        legacyPitch = Math.max(-89, Math.min(89, legacyPitch + drag));
+
+        // handleMovement: vetores e soma em Point3D
+        double yawRad = Math.toRadians(legacyYaw);
+        Point3D forward = new Point3D(Math.sin(yawRad), 0, -Math.cos(yawRad));
+        Point3D right = new Point3D(Math.cos(yawRad), 0, Math.sin(yawRad));
+        double speed = 0.3 * (legacyDistance / 5.0);
+        Point3D movement = new Point3D(0, 0, 0);
+        movement = movement.add(forward.multiply(speed));
+        movement = movement.add(right.multiply(speed));
+        if (movement.magnitude() > 0) {
+            legacyTarget = legacyTarget.add(movement);
+        }
+
+        // updateCameraTransform: translate + clear + dois Rotate novos
+        double pitchRad = Math.toRadians(legacyPitch);
+        translateX = legacyTarget.getX() + legacyDistance * Math.cos(pitchRad) * Math.sin(yawRad);
+        translateY = legacyTarget.getY() + legacyDistance * Math.sin(pitchRad);
+        translateZ = legacyTarget.getZ() + legacyDistance * Math.cos(pitchRad) * Math.cos(yawRad);
+        legacyTransforms.clear();
+        Point3D lookDirection = legacyTarget.subtract(translateX, translateY, translateZ).normalize();
+        double targetYaw = Math.toDegrees(Math.atan2(lookDirection.getX(), lookDirection.getZ()));
+        double targetPitch = Math.toDegrees(Math.asin(-lookDirection.getY()));
+        legacyTransforms.add(new Rotate(-targetPitch, Rotate.X_AXIS));
+        legacyTransforms.add(new Rotate(-targetYaw, Rotate.Y_AXIS));
+        return legacyTransforms;
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.benchmark;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.shape.Mesh;
+import javafx.scene.shape.MeshView;
+import org.example.Util.LoadProgress;
+import org.example.Util.MeshData;
+import org.example.Util.OBJLoader;
+import org.example.Util.ObjParser;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importação de OBJ: parser próprio (sequencial e paralelo), pipeline completo
+ * do OBJLoader e o importador InteractiveMesh anterior
+ *
+ * - Vazão: operações/s e triângulos/s (contador auxiliar)
+ * - Alocação: profiler de GC (ligado por padrão em BenchmarkMain)
+ * - Tempo até o primeiro mesh: modo SingleShotTime, com caches desativados
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {
+        "-Xmx8g",
+        "-Djava.awt.headless=true",
+        "-Dbiomeasure.meshCache.enabled=false",
+        "-Dbiomeasure.modelCache.enabled=false",
+        "-Dbiomeasure.loadMetrics.file="
+})
+public class ObjImportBenchmark {
+
+    @Param({"10000", "100000", "1000000", "5000000"})
+    public int triangles;
+
+    @Param({SyntheticObj.ATTRIBUTES_POSITIONS, SyntheticObj.ATTRIBUTES_NORMALS, SyntheticObj.ATTRIBUTES_ALL})
+    public String attributes;
+
+    @Param({SyntheticObj.LAYOUT_SINGLE, SyntheticObj.LAYOUT_GROUPS})
+    public String layout;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = SyntheticObj.get(triangles, attributes, layout);
+        System.out.printf("%n[ObjImportBenchmark] %s (%.1f MB)%n", file, Files.size(file) / (1024.0 * 1024.0));
+    }
+
+    /**
+     * Triângulos lidos por segundo (reportado pelo JMH junto com a vazão)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class TriangleCounter {
+        public long triangles;
+    }
+
+    @Benchmark
+    public MeshData parseSequential(TriangleCounter counter) throws IOException {
+        MeshData data = ObjParser.parseSequential(file);
+        counter.triangles += data.getTriangleCount();
+        return data;
+    }
+
+    @Benchmark
+    public MeshData parseParallel(TriangleCounter counter) throws IOException {
+        MeshData data = ObjParser.parseParallel(file);
+        counter.triangles += data.getTriangleCount();
+        return data;
+    }
+
+    @Benchmark
+    public Group loadObj(TriangleCounter counter) throws IOException {
+        Group group = OBJLoader.loadObj(file.toString(), LoadProgress.NONE);
+        counter.triangles += triangles;
+        return group;
+    }
+
+    @Benchmark
+    public Group loadObjWithImporter(TriangleCounter counter) {
+        Group group = OBJLoader.loadObjWithImporter(file.toString());
+        counter.triangles += triangles;
+        return group;
+    }
+
+    // =================== TEMPO ATÉ O PRIMEIRO MESH ===================
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    public Mesh timeToFirstMesh() throws IOException {
+        return firstMesh(OBJLoader.loadObj(file.toString(), LoadProgress.NONE));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    public Mesh timeToFirstMeshWithImporter() {
+        return firstMesh(OBJLoader.loadObjWithImporter(file.toString()));
+    }
+
+    private static Mesh firstMesh(Group group) {
+        for (Node node : group.getChildren()) {
+            if (node instanceof MeshView) {
+                return ((MeshView) node).getMesh();
+            }
+        }
+        throw new IllegalStateException("Nenhum MeshView gerado");
+    }
+}
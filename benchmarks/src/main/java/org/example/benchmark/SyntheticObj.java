@@ -0,0 +1,140 @@
+package org.example.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.SplittableRandom;
+
+/**
+ * Gera arquivos OBJ sintéticos e determinísticos para os benchmarks
+ * - Grade de quads com relevo aleatório (semente fixa), 2 triângulos por quad
+ * - Atributos: só posições, posições + normais, ou posições + textura + normais
+ * - Um grupo único ou muitos grupos pequenos
+ *
+ * Os arquivos ficam em java.io.tmpdir/biomeasure-bench e são reaproveitados
+ */
+public final class SyntheticObj {
+
+    public static final String ATTRIBUTES_POSITIONS = "v";
+    public static final String ATTRIBUTES_NORMALS = "v_vn";
+    public static final String ATTRIBUTES_ALL = "v_vt_vn";
+
+    public static final String LAYOUT_SINGLE = "single";
+    public static final String LAYOUT_GROUPS = "groups";
+
+    // Triângulos por grupo no layout com muitos grupos
+    private static final int TRIANGLES_PER_GROUP = 64;
+    private static final long SEED = 0x5EED_0B1EL;
+
+    private SyntheticObj() {
+    }
+
+    /**
+     * Caminho do arquivo com os parâmetros informados, gerando-o se ainda não existir
+     */
+    public static Path get(int triangles, String attributes, String layout) throws IOException {
+        Path dir = Path.of(System.getProperty("java.io.tmpdir"), "biomeasure-bench");
+        Files.createDirectories(dir);
+        Path file = dir.resolve(String.format("grid-%d-%s-%s.obj", triangles, attributes, layout));
+        if (Files.exists(file)) {
+            return file;
+        }
+
+        // Gerar em arquivo temporário: execuções interrompidas não deixam arquivo pela metade
+        Path temp = Files.createTempFile(dir, "grid-", ".tmp");
+        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(temp, StandardCharsets.UTF_8), 1 << 20)) {
+            write(writer, triangles, attributes, layout);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return file;
+    }
+
+    private static void write(Writer out, int triangles, String attributes, String layout) throws IOException {
+        boolean normals = !ATTRIBUTES_POSITIONS.equals(attributes);
+        boolean texCoords = ATTRIBUTES_ALL.equals(attributes);
+        boolean groups = LAYOUT_GROUPS.equals(layout);
+
+        int quads = (triangles + 1) / 2;
+        int width = (int) Math.ceil(Math.sqrt(quads));
+        int height = (quads + width - 1) / width;
+        SplittableRandom random = new SplittableRandom(SEED);
+
+        out.write("# BioMeasure benchmark: " + triangles + " triângulos, " + attributes + ", " + layout + "\n");
+        for (int y = 0; y <= height; y++) {
+            for (int x = 0; x <= width; x++) {
+                float z = (float) (random.nextDouble() * 0.05);
+                out.write("v " + x * 0.01f + " " + y * 0.01f + " " + z + "\n");
+            }
+        }
+        if (texCoords) {
+            for (int y = 0; y <= height; y++) {
+                for (int x = 0; x <= width; x++) {
+                    out.write("vt " + (float) x / width + " " + (float) y / height + "\n");
+                }
+            }
+        }
+        if (normals) {
+            for (int y = 0; y <= height; y++) {
+                for (int x = 0; x <= width; x++) {
+                    float nx = (float) (random.nextDouble() * 0.1 - 0.05);
+                    float ny = (float) (random.nextDouble() * 0.1 - 0.05);
+                    out.write("vn " + nx + " " + ny + " 1\n");
+                }
+            }
+        }
+
+        if (!groups) {
+            out.write("g modelo\n");
+        }
+        int written = 0;
+        for (int q = 0; q < quads && written < triangles; q++) {
+            int x = q % width;
+            int y = q / width;
+            int a = y * (width + 1) + x + 1;
+            int b = a + 1;
+            int c = a + width + 1;
+            int d = c + 1;
+
+            if (groups && written % TRIANGLES_PER_GROUP == 0) {
+                out.write("g parte" + written / TRIANGLES_PER_GROUP + "\n");
+            }
+            writeFace(out, a, b, d, normals, texCoords);
+            written++;
+            if (written < triangles) {
+                if (groups && written % TRIANGLES_PER_GROUP == 0) {
+                    out.write("g parte" + written / TRIANGLES_PER_GROUP + "\n");
+                }
+                writeFace(out, a, d, c, normals, texCoords);
+                written++;
+            }
+        }
+    }
+
+    private static void writeFace(Writer out, int a, int b, int c, boolean normals, boolean texCoords) throws IOException {
+        out.write("f ");
+        writeCorner(out, a, normals, texCoords);
+        out.write(' ');
+        writeCorner(out, b, normals, texCoords);
+        out.write(' ');
+        writeCorner(out, c, normals, texCoords);
+        out.write('\n');
+    }
+
+    private static void writeCorner(Writer out, int index, boolean normals, boolean texCoords) throws IOException {
+        String i = Integer.toString(index);
+        out.write(i);
+        if (texCoords) {
+            out.write('/');
+            out.write(i);
+            out.write('/');
+            out.write(i);
+        } else if (normals) {
+            out.write("//");
+            out.write(i);
+        }
+    }
+}
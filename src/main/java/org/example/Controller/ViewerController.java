@@ -1,36 +1,71 @@
 package org.example.Controller;
 
 import javafx.animation.Animation;
-import javafx.animation.AnimationTimer;
+import javafx.animation.PauseTransition;
 import javafx.animation.RotateTransition;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.geometry.Bounds;
+import javafx.geometry.Insets;
 import javafx.geometry.Point3D;
+import javafx.geometry.Pos;
 import javafx.scene.*;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.Slider;
 import javafx.scene.control.ToggleButton;
 import javafx.scene.input.*;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
-import javafx.scene.shape.Cylinder;
+import javafx.scene.shape.Box;
+import javafx.scene.shape.MeshView;
 import javafx.scene.shape.Sphere;
+import javafx.scene.transform.Affine;
+import javafx.scene.transform.NonInvertibleTransformException;
 import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Translate;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 
+import org.example.Service.GeometryAnalysisService;
+import org.example.Util.CrossSection;
+import org.example.Util.DeviationHeatmap;
+import org.example.Util.FaceGroupTable;
+import org.example.Util.CameraController;
+import org.example.Util.ChunkStreamer;
+import org.example.Util.DiagnosticsOverlay;
+import org.example.Util.GeodesicDistance;
+import org.example.Util.LevelOfDetail;
+import org.example.Util.LoadProgress;
+import org.example.Util.LoadMetrics;
+import org.example.Util.MeasurementOverlay;
+import org.example.Util.MeasurementSession;
+import org.example.Util.MeshBvh;
+import org.example.Util.MeshData;
+import org.example.Util.MeshDeviation;
+import org.example.Util.ModelLoadTask;
 import org.example.Util.OBJLoader;
+import org.example.Util.QualityGovernor;
+import org.example.Util.RenderLoop;
+import org.example.Util.RigidRegistration;
+import org.example.Util.VertexKdTree;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.ResourceBundle;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Controller integrado para visualização 3D dentro do FXML Tela3D.fxml
@@ -39,16 +74,33 @@ import java.util.Set;
  * - Controles de câmera intuitivos (mouse invertido)
  * - Sistema de medição com pontos múltiplos
  * - Linhas conectando os pontos de medição
- * - Controles WASD para movimento
+ * - Controles WASD para movimento (pulsos só enquanto há entrada ou inércia)
  * - Cálculo de distâncias entre pontos e distância acumulada
+ * - Distância geodésica (pela superfície) entre os pontos
+ * - Encaixe dos pontos no vértice mais próximo (medições reproduzíveis)
+ * - Edição do caminho (inserir, arrastar, remover pontos) com desfazer/refazer
+ * - Área de superfície, volume e área por grupo do modelo
+ * - Plano de corte com perímetro e área da seção
+ * - Desvio em relação a uma malha de referência (mapa de calor, percentis, Hausdorff)
+ * - Alinhamento automático à referência (ICP)
+ * - Painel de diagnóstico (tempo de quadro, GC) e relatório da sessão
  * - Exibição de informações na interface
  */
 public class ViewerController implements Initializable {
 
     @FXML private StackPane canvasContainer;
     @FXML private ToggleButton togglePlace;
+    @FXML private ToggleButton toggleHover;
+    @FXML private ToggleButton toggleSnap;
+    @FXML private ToggleButton toggleSection;
+    @FXML private Slider sliderSection;
+    @FXML private ToggleButton toggleDeviation;
+    @FXML private ToggleButton toggleDiagnostics;
     @FXML private Label lblInfo;
     @FXML private Label lblMeasurements; // Nova label para medições
+    @FXML private ProgressBar progressLoad;
+    @FXML private Button btnCancelLoad;
+    @FXML private Label lblLoadMetrics; // Painel de debug do carregamento
 
     // Componentes da cena 3D
     private Group sceneRoot;
@@ -59,11 +111,6 @@ public class ViewerController implements Initializable {
     private double modelRadius = 1.0;
 
     // Configurações da câmera (sistema orbital - velocidades otimizadas)
-    private Point3D cameraTarget = new Point3D(0, 0, 0); // Ponto que a câmera olha
-    private double cameraDistance = 5.0;    // Distância do alvo
-    private double cameraYaw = 0;           // Rotação horizontal (azimuth)
-    private double cameraPitch = 20;        // Rotação vertical (elevation)
-    private final double MIN_PITCH = -89, MAX_PITCH = 89;
     private final double MIN_DISTANCE = 0.1;
 
     // 🚀 VELOCIDADES AUMENTADAS SIGNIFICATIVAMENTE
@@ -72,29 +119,122 @@ public class ViewerController implements Initializable {
     private final double MOUSE_SENSITIVITY = 1.2;        // 2.4x mais sensível (era 0.5)
     private final double ZOOM_SPEED = 0.15;              // 1.5x mais rápido no zoom
 
-    // ⚡ CONFIGURAÇÕES DE ACELERAÇÃO
-    private double currentSpeedMultiplier = 1.0;         // Multiplicador dinâmico de velocidade
-    private final double ACCELERATION_RATE = 0.05;       // Taxa de aceleração por frame
-    private final double MAX_ACCELERATION = 2.5;         // Máxima aceleração possível
+    // Câmera orbital: alvo, distância e ângulos em campos primitivos, um único Affine (aceleração incluída)
+    // CAMERA_SPEED é por quadro a 60 Hz; o controlador trabalha em unidades por segundo
+    private final CameraController cameraController =
+            new CameraController(CameraController.Mode.ORBIT, CAMERA_SPEED / RenderLoop.NOMINAL_FRAME_SECONDS);
 
     // Controles de entrada
-    private Set<KeyCode> pressedKeys = new HashSet<>();
     private double lastMouseX, lastMouseY;
     private boolean mousePressed = false;
 
-    // Sistema de medição com múltiplas esferas e linhas
-    private List<Sphere> spheres = new ArrayList<>();              // Todas as esferas
-    private List<Point3D> measurementPoints = new ArrayList<>();   // Pontos de medição
-    private List<Cylinder> connectionLines = new ArrayList<>();    // Linhas conectando os pontos
+    // Sistema de medição: caminho editável e camada única com todos os marcadores e linhas
+    private final MeasurementSession measurementSession = new MeasurementSession();
+    private final MeasurementOverlay measurementOverlay = new MeasurementOverlay(Color.RED, Color.CYAN);
+    private boolean labelsDirty = false;                           // lblMeasurements atualizado no próximo pulso
+
+    // Edição de pontos: selecionado (-1 = nenhum) e arrasto em andamento
+    private int selectedPoint = -1;
+    private int draggingPoint = -1;
+    private Point3D dragOrigin;
+    private boolean suppressNextClick = false;
+    private Sphere selectionMarker;
     private RotateTransition currentRotation;
     private boolean placeModeEnabled = false;
 
-    // Timer para movimento suave
-    private AnimationTimer movementTimer;
+    // Pulsos sob demanda: câmera, prévia, corte e labels (parado quando não há nada a fazer)
+    private final RenderLoop renderLoop = new RenderLoop(this::onPulse);
+
+    // Painel de diagnóstico (tempo de quadro, cena, heap, GC) sobre a SubScene
+    private DiagnosticsOverlay diagnostics;
+
+    // Carregamento de modelos em segundo plano
+    private final ExecutorService loaderExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "model-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ModelLoadTask currentLoad;
+
+    // Níveis de detalhe usados enquanto a câmera se move
+    private LevelOfDetail levelOfDetail;
+
+    // Modelo maior que o heap aberto em chunks (null no modo normal)
+    private ChunkStreamer chunkStreamer;
+
+    // Qualidade adaptativa: baixa durante a interação conforme o tempo de quadro, volta em repouso
+    private final QualityGovernor qualityGovernor =
+            QualityGovernor.fromSystemProperties(QualityGovernor.PROXY_MESH + LevelOfDetail.LEVEL_RATIOS.length - 1);
+    private final PauseTransition lodRestoreDelay = new PauseTransition(Duration.millis(qualityGovernor.getIdleMillis()));
+    private final Map<PhongMaterial, Color> savedSpecular = new IdentityHashMap<>(); // Especular desligado
+    private PointLight fillLight;
+
+    // Índice espacial para picking exato (null enquanto é construído)
+    private MeshBvh meshBvh;
+    private Point3D meshCenter = Point3D.ZERO;
+    private String lastPickedPart;
+
+    // Prévia do ponto sob o cursor (um único marcador reaproveitado)
+    private boolean hoverEnabled = false;
+    private boolean hoverPending = false;
+    private boolean hoverSnappedToVertex = false;
+    private double hoverX, hoverY;
+    private String hoverPart;
+    private Sphere hoverMarker;
+    private final PhongMaterial hoverSurfaceMaterial = new PhongMaterial(Color.color(1.0, 0.85, 0.1));
+    private final PhongMaterial hoverVertexMaterial = new PhongMaterial(Color.color(0.2, 0.9, 1.0));
+
+    // Índices auxiliares da malha (KD-tree dos vértices, grafo geodésico) montados em segundo plano
+    private final ExecutorService meshIndexExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mesh-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Encaixe no vértice mais próximo (null enquanto a KD-tree é construída)
+    private boolean snapEnabled = false;
+    private VertexKdTree vertexIndex;
+    private static final int SNAP_SPACING_NEIGHBORS = 6;
+    private double snapSpacing = Double.NaN; // Espaçamento local do último encaixe (exibido em lblMeasurements)
+
+    // Distância geodésica: caminho desenhado como polilinha
+    private CompletableFuture<GeodesicDistance> geodesicEngine;
+    private final MeasurementOverlay geodesicOverlay = new MeasurementOverlay(Color.LIMEGREEN, Color.LIMEGREEN);
+    private double geodesicLength = Double.NaN;
+    private int geodesicRequest;
+
+    // Área, volume e área por grupo do modelo carregado (null enquanto calcula)
+    private final GeometryAnalysisService geometryAnalysisService = new GeometryAnalysisService();
+    private GeometryAnalysisService.Result geometryAnalysis;
+
+    // Plano de corte: eixo (0 = X, 1 = Y, 2 = Z) e posição no slider (0..1 da caixa do modelo)
+    private boolean sectionEnabled = false;
+    private boolean sectionDirty = false;
+    private int sectionAxis = 1;
+    private float[] meshBounds;
+    private CrossSection crossSection;
+    private final MeasurementOverlay sectionOverlay = new MeasurementOverlay(Color.ORANGE, Color.ORANGE);
+    private final Box sectionPlane = new Box();
+
+    // Comparação com uma malha de referência: desvio por vértice mostrado como mapa de calor
+    private MeshBvh referenceBvh;
+    private String referenceName;
+    private MeshDeviation.Result deviation;
+    private MeshView deviationView;
+    private int deviationRequest;
+
+    // Alinhamento rígido à referência (ICP), aplicado como transformação do grupo do modelo
+    private RigidRegistration.Result registration;
+    private int registrationRequest;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         setupScene3D();
+        setLoadControlsVisible(false);
+        lodRestoreDelay.setOnFinished(event -> {
+            qualityGovernor.onIdle();
+            showFullResolution();
+        });
         updateInfoLabel();
         updateMeasurementsLabel();
     }
@@ -119,6 +259,9 @@ public class ViewerController implements Initializable {
         sceneRoot = new Group();
         setupCamera();
         setupLights();
+        sceneRoot.getChildren().addAll(measurementOverlay.getNode(), geodesicOverlay.getNode(), sectionOverlay.getNode());
+        setupSectionPlane();
+        measurementSession.addListener(new OverlaySync());
 
         // Criar SubScene que se ajusta automaticamente ao container
         subScene = new SubScene(sceneRoot, 800, 600, true, SceneAntialiasing.BALANCED);
@@ -133,12 +276,24 @@ public class ViewerController implements Initializable {
         subScene.widthProperty().bind(canvasContainer.widthProperty());
         subScene.heightProperty().bind(canvasContainer.heightProperty());
 
+        // Painel de diagnóstico no canto superior esquerdo (oculto até ser ligado)
+        diagnostics = new DiagnosticsOverlay(sceneRoot, renderLoop::getPulseCount);
+        StackPane.setAlignment(diagnostics.getNode(), Pos.TOP_LEFT);
+        StackPane.setMargin(diagnostics.getNode(), new Insets(8));
+        canvasContainer.getChildren().add(diagnostics.getNode());
+        canvasContainer.sceneProperty().addListener((obs, old, scene) -> {
+            if (scene == null) {
+                diagnostics.dispose();
+                disposeChunkStreamer();
+            }
+        });
+
         // Configurar controles
         setupMouseControls();
         setupKeyboardControls();
 
-        // Iniciar timer de movimento
-        startMovementTimer();
+        // Primeiro pulso: aplica o estado inicial; depois o laço só roda sob demanda
+        renderLoop.request();
     }
 
     /**
@@ -149,6 +304,9 @@ public class ViewerController implements Initializable {
         camera.setNearClip(0.01);
         camera.setFarClip(10000.0);
         camera.setFieldOfView(60);
+        camera.getTransforms().setAll(cameraController.getTransform());
+        cameraController.setMinDistance(MIN_DISTANCE);
+        cameraController.setOrbit(0, 0, 0, 5.0, 0, 20);
         updateCameraTransform();
     }
 
@@ -175,7 +333,7 @@ public class ViewerController implements Initializable {
         sceneRoot.getChildren().add(mainLight);
 
         // Luz de preenchimento
-        PointLight fillLight = new PointLight(Color.color(0.3, 0.3, 0.5));
+        fillLight = new PointLight(Color.color(0.3, 0.3, 0.5));
         fillLight.setTranslateX(modelCenter.getX() - modelRadius);
         fillLight.setTranslateY(modelCenter.getY() + modelRadius/2);
         fillLight.setTranslateZ(modelCenter.getZ() - modelRadius);
@@ -190,28 +348,26 @@ public class ViewerController implements Initializable {
         subScene.setOnMouseDragged(this::onMouseDragged);
         subScene.setOnMouseReleased(this::onMouseReleased);
         subScene.setOnScroll(this::onScroll);
+        subScene.setOnMouseMoved(this::onMouseMoved);
+        subScene.setOnMouseExited(event -> hideHoverMarker());
 
         // Modificado: usar addEventHandler para permitir múltiplos cliques
         subScene.addEventHandler(MouseEvent.MOUSE_CLICKED, event -> {
-            if (placeModeEnabled && event.getButton() == MouseButton.PRIMARY) {
-                Point3D point = event.getPickResult().getIntersectedPoint();
-                if (point != null && event.getPickResult().getIntersectedNode() != null) {
-                    // Ignora cliques em esferas já criadas
-                    if (!(event.getPickResult().getIntersectedNode() instanceof Sphere)) {
-                        addSphereAt(point);
-                    }
-                }
+            // Fim de arrasto de um ponto não vira clique
+            if (suppressNextClick) {
+                suppressNextClick = false;
+                return;
             }
-            // Botão do meio do mouse sempre adiciona pontos
-            else if (event.getButton() == MouseButton.MIDDLE) {
-                Point3D point = event.getPickResult().getIntersectedPoint();
-                if (point != null && event.getPickResult().getIntersectedNode() != null) {
-                    // Ignora cliques em esferas já criadas
-                    if (!(event.getPickResult().getIntersectedNode() instanceof Sphere)) {
-                        addSphereAt(point);
-                    }
+            if (placeModeEnabled && event.getButton() == MouseButton.PRIMARY) {
+                // Ignora cliques em esferas já criadas; Shift insere no trecho mais próximo do caminho
+                Point3D point = pickMeasurementPoint(event);
+                if (point != null && event.isShiftDown()) {
+                    insertMeasurementPoint(point);
+                } else if (point != null) {
+                    addSphereAt(point);
                 }
             }
+            // Botão do meio já adicionou o ponto no MOUSE_PRESSED (onMousePressed)
         });
     }
 
@@ -227,97 +383,77 @@ public class ViewerController implements Initializable {
         // Também aplicar à SubScene
         subScene.setOnKeyPressed(this::onKeyPressed);
         subScene.setOnKeyReleased(this::onKeyReleased);
+
+        // Sem foco o KEY_RELEASED não chega: solta as teclas para a câmera não seguir andando
+        canvasContainer.focusWithinProperty().addListener((obs, was, focused) -> {
+            if (!focused) {
+                cameraController.releaseAll();
+            }
+        });
     }
 
     /**
-     * Inicia o timer de movimento suave
+     * Um pulso do laço: aplica toda a entrada acumulada numa única atualização da câmera
+     * e processa prévia, corte e labels pendentes
+     * Devolve true enquanto houver teclas de movimento pressionadas ou inércia
      */
-    private void startMovementTimer() {
-        if (movementTimer != null) {
-            return;
+    private boolean onPulse(double elapsed) {
+        boolean moving = handleMovement(elapsed);
+        if (cameraController.flush()) {
+            onCameraMoving(elapsed);
+            updateChunks();
         }
-
-        movementTimer = new AnimationTimer() {
-            @Override
-            public void handle(long now) {
-                handleMovement();
-            }
-        };
-        movementTimer.start();
+        updateHoverPreview();
+        flushSectionUpdate();
+        flushLabelUpdate();
+        return moving;
     }
 
     /**
-     * Processa movimento contínuo WASD (movimento da câmera no espaço orbital)
+     * Processa movimento contínuo WASD (movimento do target no espaço orbital)
+     * Devolve true se a câmera ainda está em movimento
      */
-    private void handleMovement() {
+    private boolean handleMovement(double elapsed) {
         try {
-            if (pressedKeys.isEmpty()) return;
-
-            // Calcular vetores baseados na orientação atual da câmera
-            double yawRad = Math.toRadians(cameraYaw);
-            double pitchRad = Math.toRadians(cameraPitch);
-
-            // Vetores direcionais para movimento do target
-            Point3D forward = new Point3D(
-                    Math.sin(yawRad),
-                    0,
-                    -Math.cos(yawRad)
-            );
-
-            Point3D right = new Point3D(
-                    Math.cos(yawRad),
-                    0,
-                    Math.sin(yawRad)
-            );
-
-            Point3D up = new Point3D(0, 1, 0);
-
-            Point3D movement = new Point3D(0, 0, 0);
-            double speed = CAMERA_SPEED * (cameraDistance / 5.0); // Velocidade proporcional à distância
-
-            // Movimento do target (ponto focal)
-            if (pressedKeys.contains(KeyCode.W)) {
-                movement = movement.add(forward.multiply(speed));
-            }
-            if (pressedKeys.contains(KeyCode.S)) {
-                movement = movement.add(forward.multiply(-speed));
-            }
-            if (pressedKeys.contains(KeyCode.A)) {
-                movement = movement.add(right.multiply(-speed));
-            }
-            if (pressedKeys.contains(KeyCode.D)) {
-                movement = movement.add(right.multiply(speed));
-            }
-            if (pressedKeys.contains(KeyCode.Q)) {
-                movement = movement.add(up.multiply(-speed));
-            }
-            if (pressedKeys.contains(KeyCode.E)) {
-                movement = movement.add(up.multiply(speed));
-            }
-
-            if (movement.magnitude() > 0) {
-                cameraTarget = cameraTarget.add(movement);
-                updateCameraTransform();
+            boolean moving = cameraController.update(elapsed);
+            if (chunkStreamer != null) {
+                // Chunks em volta do novo alvo começam a ser lidos antes de entrarem na visão
+                chunkStreamer.prefetch(cameraController.getTargetX(), cameraController.getTargetY(), cameraController.getTargetZ());
             }
+            return moving;
         } catch (Exception e) {
             System.out.println("Erro no movimento: " + e.getMessage());
+            cameraController.releaseAll();
+            return false;
         }
     }
 
     // =================== EVENTOS DE MOUSE (CONTROLES INVERTIDOS) ===================
 
     private void onMousePressed(MouseEvent e) {
+        // Picking sempre na resolução completa
+        showFullResolution();
+
         lastMouseX = e.getSceneX();
         lastMouseY = e.getSceneY();
         mousePressed = true;
 
-        // 🎯 BOTÃO DO SCROLL (MIDDLE BUTTON) PARA ADICIONAR PONTOS
+        // Modo colocar: clique num ponto existente seleciona e começa o arrasto
+        if (placeModeEnabled && e.isPrimaryButtonDown()) {
+            int marker = measurementOverlay.getMarkerIndex(e.getPickResult());
+            if (marker >= 0) {
+                selectPoint(marker);
+                draggingPoint = marker;
+                dragOrigin = measurementSession.get(marker);
+            }
+        }
+
+        // 🎯 BOTÃO DO SCROLL (MIDDLE BUTTON) PARA ADICIONAR PONTOS (só aqui; o clique não repete)
         if (e.isMiddleButtonDown()) {
             // Picking otimizado para resposta rápida
-            PickResult pickResult = e.getPickResult();
-            if (pickResult.getIntersectedNode() != null && pickResult.getIntersectedNode() != sceneRoot) {
-                Point3D worldPoint = pickResult.getIntersectedPoint();
-                addSphereAt(worldPoint);
+            Point3D worldPoint = pickMeasurementPoint(e);
+            if (worldPoint != null) {
+                addSphereAt(worldPoint); // Parte atingida aparece em lblMeasurements
             }
         }
 
@@ -327,6 +463,10 @@ public class ViewerController implements Initializable {
 
     private void onMouseDragged(MouseEvent e) {
         if (!mousePressed) return;
+        if (draggingPoint >= 0) {
+            dragSelectedPoint(e);
+            return;
+        }
 
         double deltaX = e.getSceneX() - lastMouseX;
         double deltaY = e.getSceneY() - lastMouseY;
@@ -335,32 +475,35 @@ public class ViewerController implements Initializable {
 
         if (e.isPrimaryButtonDown() && !e.isShiftDown()) {
             // Rotação orbital ao redor do target
-            cameraYaw = (cameraYaw - deltaX * MOUSE_SENSITIVITY) % 360;
-            cameraPitch = clamp(cameraPitch - deltaY * MOUSE_SENSITIVITY, MIN_PITCH, MAX_PITCH);
-            updateCameraTransform();
+            cameraController.rotate(-deltaX * MOUSE_SENSITIVITY, -deltaY * MOUSE_SENSITIVITY);
 
         } else if (e.isPrimaryButtonDown() && e.isShiftDown()) {
             // Pan: mover o target da câmera
-            double yawRad = Math.toRadians(cameraYaw);
-            Point3D right = new Point3D(Math.cos(yawRad), 0, Math.sin(yawRad));
-            Point3D up = new Point3D(0, 1, 0);
-
-            double panSpeed = 0.01 * cameraDistance;
-            Point3D panMovement = right.multiply(-deltaX * panSpeed)
-                    .add(up.multiply(deltaY * panSpeed));
-
-            cameraTarget = cameraTarget.add(panMovement);
-            updateCameraTransform();
+            double panSpeed = 0.01 * cameraController.getDistance();
+            cameraController.pan(-deltaX * panSpeed, deltaY * panSpeed);
 
         } else if (e.isSecondaryButtonDown()) {
             // Zoom com botão direito
-            cameraDistance = Math.max(MIN_DISTANCE, cameraDistance + deltaY * 0.01);
-            updateCameraTransform();
+            cameraController.dolly(deltaY * 0.01);
         }
+        // Vários eventos de arrasto no mesmo pulso viram uma só atualização da câmera
+        renderLoop.request();
     }
 
     private void onMouseReleased(MouseEvent e) {
         mousePressed = false;
+        finishDrag();
+    }
+
+    /**
+     * Conclui o arrasto de ponto em andamento: um único registro no histórico por arrasto
+     */
+    private void finishDrag() {
+        if (draggingPoint < 0) return;
+        measurementSession.finishMove(draggingPoint, dragOrigin);
+        suppressNextClick = true;
+        draggingPoint = -1;
+        dragOrigin = null;
     }
 
     private void onScroll(javafx.scene.input.ScrollEvent e) {
@@ -368,17 +511,383 @@ public class ViewerController implements Initializable {
         double delta = e.getDeltaY();
         double zoomFactor = delta > 0 ? 0.85 : 1.15; // Zoom mais agressivo (era 0.9/1.1)
 
-        cameraDistance = Math.max(MIN_DISTANCE, cameraDistance * zoomFactor);
-        updateCameraTransform();
+        cameraController.zoom(zoomFactor);
+        renderLoop.request();
+    }
+
+    // =================== NÍVEIS DE DETALHE ===================
+
+    /**
+     * Câmera em movimento: o governador ajusta a qualidade pelo tempo do último quadro
+     * e a volta para a qualidade completa fica agendada para quando parar
+     */
+    private void onCameraMoving(double elapsed) {
+        // Ponto sob o cursor muda junto com a câmera
+        hoverPending = hoverEnabled;
+        applyQuality(qualityGovernor.onFrame(elapsed * 1000));
+        lodRestoreDelay.playFromStart();
+    }
+
+    private void showFullResolution() {
+        lodRestoreDelay.stop();
+        applyQuality(QualityGovernor.FULL);
+    }
+
+    /**
+     * Aplica um nível do QualityGovernor (cada nível inclui os anteriores)
+     * A partir de PROXY_MESH usa o LOD adequado à distância, mais um nível por passo
+     * Antialiasing não entra: é fixo na criação da SubScene
+     */
+    private void applyQuality(int level) {
+        setSpecularEnabled(level < QualityGovernor.NO_SPECULAR);
+        if (fillLight != null) {
+            fillLight.setLightOn(level < QualityGovernor.FEWER_LIGHTS);
+        }
+        if (levelOfDetail != null) {
+            int lod = 0;
+            if (level >= QualityGovernor.PROXY_MESH) {
+                lod = LevelOfDetail.chooseLevel(cameraController.getDistance(), modelRadius, levelOfDetail.getLevelCount())
+                        + level - QualityGovernor.PROXY_MESH;
+            }
+            levelOfDetail.show(lod);
+        }
+    }
+
+    /**
+     * Liga/desliga o brilho especular dos materiais do modelo (inclusive dos níveis de detalhe)
+     * As cores originais ficam guardadas até religar
+     */
+    private void setSpecularEnabled(boolean enabled) {
+        if (enabled) {
+            savedSpecular.forEach(PhongMaterial::setSpecularColor);
+            savedSpecular.clear();
+        } else if (savedSpecular.isEmpty() && loadedModel != null) {
+            collectSpecular(loadedModel);
+        }
+    }
+
+    private void collectSpecular(Node node) {
+        if (node instanceof MeshView && ((MeshView) node).getMaterial() instanceof PhongMaterial) {
+            PhongMaterial material = (PhongMaterial) ((MeshView) node).getMaterial();
+            if (!savedSpecular.containsKey(material)) {
+                savedSpecular.put(material, material.getSpecularColor());
+                material.setSpecularColor(Color.BLACK);
+            }
+        } else if (node instanceof Group) {
+            for (Node child : ((Group) node).getChildren()) {
+                collectSpecular(child);
+            }
+        }
+    }
+
+    // =================== PICKING ===================
+
+    /**
+     * Constrói a BVH do modelo em segundo plano
+     * Quando pronta, o modelo deixa de participar do picking do JavaFX (lento em malhas grandes)
+     */
+    private void buildPickingIndex(Group model) {
+        MeshData data = OBJLoader.getMeshData(model);
+        if (data == null || data.isEmpty()) return;
+
+        MeshBvh.buildAsync(data).whenComplete((bvh, error) -> javafx.application.Platform.runLater(() -> {
+            if (error != null) {
+                System.err.println("Erro ao construir índice de picking: " + error.getMessage());
+                return;
+            }
+            if (loadedModel == model) {
+                meshBvh = bvh;
+                meshCenter = new Point3D(data.getCenterX(), data.getCenterY(), data.getCenterZ());
+                meshBounds = data.getBounds();
+                model.setMouseTransparent(true);
+                requestSectionUpdate();
+                buildVertexIndices(model, bvh);
+            }
+        }));
+    }
+
+    /**
+     * Área, volume e área por grupo calculados em segundo plano e mostrados em lblMeasurements
+     */
+    private void analyzeGeometry(Group model) {
+        MeshData data = OBJLoader.getMeshData(model);
+        if (data == null || data.isEmpty()) return;
+
+        geometryAnalysisService.analyzeAsync(data).whenComplete((analysis, error) -> javafx.application.Platform.runLater(() -> {
+            if (error != null) {
+                System.err.println("Erro na análise geométrica: " + error.getMessage());
+                return;
+            }
+            if (loadedModel == model) {
+                geometryAnalysis = analysis;
+                System.out.println("[ViewerController] " + analysis + " | Grupos: " + analysis.getGroupAreas().size());
+                requestLabelUpdate();
+            }
+        }));
+    }
+
+    /**
+     * KD-tree dos vértices e, em seguida, o grafo geodésico que a reaproveita
+     */
+    private void buildVertexIndices(Group model, MeshBvh bvh) {
+        CompletableFuture<VertexKdTree> tree = CompletableFuture.supplyAsync(
+                () -> VertexKdTree.build(bvh.getPositions(), bvh.getTriangles()), meshIndexExecutor);
+        geodesicEngine = tree.thenApplyAsync(
+                index -> GeodesicDistance.build(bvh.getPositions(), bvh.getTriangles(), index), meshIndexExecutor);
+
+        tree.whenComplete((index, error) -> javafx.application.Platform.runLater(() -> {
+            if (error != null) {
+                System.err.println("Erro ao construir índice de vértices: " + error.getMessage());
+                return;
+            }
+            if (loadedModel == model) {
+                vertexIndex = index;
+            }
+        }));
+    }
+
+    /**
+     * Ponto do modelo sob o cursor, em coordenadas da cena (ou null)
+     * Fonte principal: raio contra a BVH; enquanto ela não existe, o PickResult do JavaFX
+     */
+    private Point3D pickModelPoint(MouseEvent e) {
+        PickResult pickResult = e.getPickResult();
+        Node picked = pickResult.getIntersectedNode();
+        lastPickedPart = null;
+
+        if (meshBvh == null || loadedModel == null) {
+            if (picked == null || picked == sceneRoot || picked instanceof Sphere
+                    || measurementOverlay.isMarkerNode(picked)) return null;
+            lastPickedPart = FaceGroupTable.resolve(pickResult);
+            return pickResult.getIntersectedPoint();
+        }
+
+        MeshBvh.Hit hit = castModelRay(e.getX(), e.getY());
+        if (hit == null) return null;
+        Point3D scenePoint = meshToScene(hit.getX(), hit.getY(), hit.getZ());
+
+        // Marcador já criado na frente do modelo
+        Point3D eye = camera.localToScene(0, 0, 0);
+        if (measurementOverlay.isMarkerNode(picked)
+                && pickResult.getIntersectedDistance() < eye.distance(scenePoint)) {
+            return null;
+        }
+
+        MeshData data = OBJLoader.getMeshData((Group) loadedModel);
+        if (data != null && data.getSegmentCount() > 0) {
+            lastPickedPart = data.getSegmentGroup(data.getSegmentOf(hit.getTriangle()));
+        }
+        return scenePoint;
+    }
+
+    /**
+     * Raio da câmera pelo pixel (x, y) da SubScene contra a BVH, em coordenadas do MeshData
+     */
+    private MeshBvh.Hit castModelRay(double x, double y) {
+        if (meshBvh == null || loadedModel == null) return null;
+
+        // Espaço local da câmera: +X direita, +Y baixo, +Z frente
+        double width = subScene.getWidth();
+        double height = subScene.getHeight();
+        double tanHalf = Math.tan(Math.toRadians(camera.getFieldOfView()) / 2);
+        double aspectX = camera.isVerticalFieldOfView() ? width / height : 1;
+        double aspectY = camera.isVerticalFieldOfView() ? 1 : height / width;
+        double rayX = (2 * x / width - 1) * tanHalf * aspectX;
+        double rayY = (2 * y / height - 1) * tanHalf * aspectY;
+
+        Point3D eye = camera.localToScene(0, 0, 0);
+        Point3D through = camera.localToScene(rayX, rayY, 1);
+
+        // Cena -> coordenadas do MeshData (grupo centralizado na origem)
+        Point3D origin = loadedModel.sceneToLocal(eye).add(meshCenter);
+        Point3D direction = loadedModel.sceneToLocal(through).add(meshCenter).subtract(origin);
+
+        return meshBvh.intersect(origin.getX(), origin.getY(), origin.getZ(),
+                direction.getX(), direction.getY(), direction.getZ());
+    }
+
+    private Point3D meshToScene(double x, double y, double z) {
+        return loadedModel.localToScene(x - meshCenter.getX(), y - meshCenter.getY(), z - meshCenter.getZ());
+    }
+
+    // =================== PRÉVIA (HOVER) ===================
+
+    @FXML
+    private void onToggleHover() {
+        hoverEnabled = toggleHover != null && toggleHover.isSelected();
+        if (!hoverEnabled) {
+            hideHoverMarker();
+        }
+        System.out.println("Prévia ao passar o mouse: " + (hoverEnabled ? "ATIVADA" : "DESATIVADA"));
+    }
+
+    private void onMouseMoved(MouseEvent e) {
+        if (!hoverEnabled) return;
+        // Só guarda a posição: a consulta é feita uma vez por pulso
+        hoverX = e.getX();
+        hoverY = e.getY();
+        hoverPending = true;
+        renderLoop.request();
+    }
+
+    /**
+     * Atualiza o marcador de prévia com a última posição do mouse (chamado no pulso)
+     * Encaixa no vértice mais próximo do triângulo quando ele está a menos de um raio do marcador
+     */
+    private void updateHoverPreview() {
+        if (!hoverPending) return;
+        hoverPending = false;
+
+        MeshBvh.Hit hit = castModelRay(hoverX, hoverY);
+        if (hit == null) {
+            hideHoverMarker();
+            return;
+        }
+
+        double x = hit.getX(), y = hit.getY(), z = hit.getZ();
+        double markerSize = Math.max(modelRadius * 0.015, 0.02);
+
+        // Com encaixe ativo: sempre o vértice mais próximo; senão, o canto com maior peso baricêntrico
+        // A (w), B (u) ou C (v), se estiver a menos de um raio do marcador
+        int vertex;
+        if (snapEnabled && vertexIndex != null) {
+            vertex = vertexIndex.nearest(x, y, z) * 3;
+        } else {
+            int corner = hit.getW() >= hit.getU() && hit.getW() >= hit.getV() ? 0 : (hit.getU() >= hit.getV() ? 1 : 2);
+            vertex = meshBvh.getTriangles()[hit.getTriangle() * 3 + corner] * 3;
+        }
+        float[] positions = meshBvh.getPositions();
+        double vx = positions[vertex], vy = positions[vertex + 1], vz = positions[vertex + 2];
+        double dx = vx - x, dy = vy - y, dz = vz - z;
+        hoverSnappedToVertex = (snapEnabled && vertexIndex != null) || dx * dx + dy * dy + dz * dz <= markerSize * markerSize;
+        if (hoverSnappedToVertex) {
+            x = vx;
+            y = vy;
+            z = vz;
+        }
+
+        if (hoverMarker == null) {
+            hoverMarker = new Sphere(1);
+            hoverMarker.setMouseTransparent(true);
+            sceneRoot.getChildren().add(hoverMarker);
+        }
+        MeshData data = OBJLoader.getMeshData((Group) loadedModel);
+        hoverPart = data != null && data.getSegmentCount() > 0
+                ? data.getSegmentGroup(data.getSegmentOf(hit.getTriangle())) : null;
+
+        Point3D scenePoint = meshToScene(x, y, z);
+        hoverMarker.setRadius(markerSize);
+        hoverMarker.setTranslateX(scenePoint.getX());
+        hoverMarker.setTranslateY(scenePoint.getY());
+        hoverMarker.setTranslateZ(scenePoint.getZ());
+        hoverMarker.setMaterial(hoverSnappedToVertex ? hoverVertexMaterial : hoverSurfaceMaterial);
+        hoverMarker.setVisible(true);
+    }
+
+    private void hideHoverMarker() {
+        hoverPending = false;
+        if (hoverMarker != null) {
+            hoverMarker.setVisible(false);
+        }
+    }
+
+    /**
+     * Posição do marcador de prévia, se visível (o ponto colocado é o que foi mostrado)
+     */
+    private Point3D hoverPoint() {
+        if (!hoverEnabled || hoverMarker == null || !hoverMarker.isVisible()) return null;
+        lastPickedPart = hoverPart;
+        return new Point3D(hoverMarker.getTranslateX(), hoverMarker.getTranslateY(), hoverMarker.getTranslateZ());
+    }
+
+    // =================== ENCAIXE NO VÉRTICE ===================
+
+    @FXML
+    private void onToggleSnap() {
+        snapEnabled = toggleSnap != null && toggleSnap.isSelected();
+        hoverPending = hoverEnabled;
+        renderLoop.request();
+        System.out.println("Encaixe no vértice: " + (snapEnabled ? "ATIVADO" : "DESATIVADO"));
+    }
+
+    /**
+     * Ponto para uma nova medição: prévia visível ou picking, encaixado no vértice quando ativado
+     */
+    private Point3D pickMeasurementPoint(MouseEvent e) {
+        Point3D hover = hoverPoint();
+        Point3D point = hover != null ? hover : pickModelPoint(e);
+        return point != null && snapEnabled ? snapToVertex(point) : point;
+    }
+
+    /**
+     * Vértice da malha mais próximo do ponto (cena -> malha -> cena)
+     * Registra o espaçamento local (média até os vizinhos mais próximos), que limita a precisão do encaixe
+     */
+    private Point3D snapToVertex(Point3D scenePoint) {
+        if (vertexIndex == null || meshBvh == null || loadedModel == null) return scenePoint;
+
+        Point3D local = loadedModel.sceneToLocal(scenePoint).add(meshCenter);
+        int[] neighbors = vertexIndex.nearest(local.getX(), local.getY(), local.getZ(), SNAP_SPACING_NEIGHBORS + 1);
+        if (neighbors.length == 0) return scenePoint;
+
+        float[] positions = meshBvh.getPositions();
+        int vertex = neighbors[0];
+        Point3D snapped = new Point3D(positions[vertex * 3], positions[vertex * 3 + 1], positions[vertex * 3 + 2]);
+        double spacing = 0;
+        for (int i = 1; i < neighbors.length; i++) {
+            int n = neighbors[i] * 3;
+            spacing += snapped.distance(positions[n], positions[n + 1], positions[n + 2]);
+        }
+        if (neighbors.length > 1) {
+            spacing /= neighbors.length - 1;
+        }
+        snapSpacing = spacing;
+
+        return meshToScene(snapped.getX(), snapped.getY(), snapped.getZ());
+    }
+
+    /**
+     * Gera os níveis de detalhe do modelo em segundo plano
+     */
+    private void generateLevelsOfDetail(Group model) {
+        CompletableFuture<LevelOfDetail> future = LevelOfDetail.generate(model);
+        if (future == null) return;
+
+        future.whenComplete((lod, error) -> javafx.application.Platform.runLater(() -> {
+            if (error != null) {
+                System.err.println("Erro ao gerar níveis de detalhe: " + error.getMessage());
+                return;
+            }
+            // Modelo pode ter sido trocado enquanto os níveis eram gerados
+            if (loadedModel == model) {
+                lod.attach();
+                levelOfDetail = lod;
+            }
+        }));
     }
 
     // =================== EVENTOS DE TECLADO ===================
 
     private void onKeyPressed(KeyEvent e) {
-        pressedKeys.add(e.getCode());
+        if (cameraController.press(e.getCode())) {
+            renderLoop.request();
+        }
+
+        // Edições da lista durante um arrasto: o movimento feito até aqui é registrado antes
+        boolean edit = (e.isShortcutDown() && (e.getCode() == KeyCode.Z || e.getCode() == KeyCode.Y))
+                || e.getCode() == KeyCode.DELETE || e.getCode() == KeyCode.BACK_SPACE || e.getCode() == KeyCode.C;
+        if (edit) {
+            finishDrag();
+        }
 
         // Teclas especiais com velocidades otimizadas
-        if (e.getCode() == KeyCode.R) {
+        if (e.isShortcutDown() && e.getCode() == KeyCode.Z) {
+            if (e.isShiftDown()) onRedo(); else onUndo();
+        } else if (e.isShortcutDown() && e.getCode() == KeyCode.Y) {
+            onRedo();
+        } else if (e.getCode() == KeyCode.DELETE || e.getCode() == KeyCode.BACK_SPACE) {
+            onRemovePoint();
+        } else if (e.getCode() == KeyCode.R) {
             resetCamera();
         } else if (e.getCode() == KeyCode.C) {
             onClearSpheres();
@@ -391,7 +900,7 @@ public class ViewerController implements Initializable {
     }
 
     private void onKeyReleased(KeyEvent e) {
-        pressedKeys.remove(e.getCode());
+        cameraController.release(e.getCode());
     }
 
     // =================== MÉTODOS DOS BOTÕES FXML ===================
@@ -431,16 +940,17 @@ public class ViewerController implements Initializable {
     private void onAddSphere() {
         // Calcular posição na direção do target, mas mais próxima da câmera
         Point3D cameraPos = new Point3D(
-                camera.getTranslateX(),
-                camera.getTranslateY(),
-                camera.getTranslateZ()
+                cameraController.getEyeX(),
+                cameraController.getEyeY(),
+                cameraController.getEyeZ()
         );
 
         // Direção da câmera para o target
-        Point3D direction = cameraTarget.subtract(cameraPos).normalize();
+        Point3D target = new Point3D(cameraController.getTargetX(), cameraController.getTargetY(), cameraController.getTargetZ());
+        Point3D direction = target.subtract(cameraPos).normalize();
 
         // Posição a uma distância fixa da câmera
-        double distanceFromCamera = cameraDistance * 0.3;
+        double distanceFromCamera = cameraController.getDistance() * 0.3;
         Point3D spherePosition = cameraPos.add(direction.multiply(distanceFromCamera));
 
         addSphereAt(spherePosition);
@@ -452,86 +962,234 @@ public class ViewerController implements Initializable {
      */
     @FXML
     private void onClearSpheres() {
-        // Remover todas as esferas da cena
-        for (Sphere sphere : spheres) {
-            sceneRoot.getChildren().remove(sphere);
-        }
+        // Marcadores, linhas e labels acompanham a sessão (pode ser desfeito)
+        measurementSession.clear();
+        updateInfoLabel();
+    }
 
-        // Remover todas as linhas da cena
-        for (Cylinder line : connectionLines) {
-            sceneRoot.getChildren().remove(line);
+    /**
+     * Botão: Desfazer a última edição dos pontos
+     */
+    @FXML
+    private void onUndo() {
+        if (!measurementSession.undo()) {
+            lblInfo.setText("Nada para desfazer");
         }
+    }
 
-        // Limpar listas
-        spheres.clear();
-        measurementPoints.clear();
-        connectionLines.clear();
+    /**
+     * Botão: Refazer a edição desfeita
+     */
+    @FXML
+    private void onRedo() {
+        if (!measurementSession.redo()) {
+            lblInfo.setText("Nada para refazer");
+        }
+    }
 
-        // Atualizar interface
-        updateInfoLabel();
-        updateMeasurementsLabel();
+    /**
+     * Botão: Remover o ponto selecionado (ou o último)
+     */
+    @FXML
+    private void onRemovePoint() {
+        if (measurementSession.isEmpty()) return;
+        int index = selectedPoint >= 0 ? selectedPoint : measurementSession.size() - 1;
+        measurementSession.remove(index);
     }
 
     // =================== CARREGAMENTO DE MODELO ===================
 
     /**
-     * Carrega modelo OBJ usando OBJLoader
+     * Botão: Cancelar carregamento em andamento
+     */
+    @FXML
+    private void onCancelLoad() {
+        if (currentLoad != null) {
+            currentLoad.cancel();
+        }
+    }
+
+    /**
+     * Carrega modelo OBJ em segundo plano (leitura e montagem do mesh fora da thread do JavaFX)
      */
     private void loadOBJModel(String path) {
-        try {
-            System.out.println("Carregando modelo: " + path);
+        loadOBJModel(path, false);
+    }
 
-            // Remover modelo anterior se existir
-            if (loadedModel != null) {
-                sceneRoot.getChildren().remove(loadedModel);
+    /**
+     * @param outOfCore abre em chunks mesmo que a estimativa caiba no heap
+     */
+    private void loadOBJModel(String path, boolean outOfCore) {
+        System.out.println("Carregando modelo: " + path);
+
+        // Apenas um carregamento por vez
+        if (currentLoad != null && currentLoad.isRunning()) {
+            currentLoad.cancel();
+        }
+
+        ModelLoadTask task = new ModelLoadTask(path, outOfCore);
+        currentLoad = task;
+
+        task.messageProperty().addListener((obs, oldMessage, message) -> {
+            if (task == currentLoad && task.isRunning()) {
+                lblInfo.setText(message);
             }
+        });
+        setLoadControlsVisible(true);
+        if (progressLoad != null) {
+            progressLoad.progressProperty().bind(task.progressProperty());
+        }
 
-            // Carregar novo modelo
-            Group model = OBJLoader.loadObj(path);
+        // Eventos da Task são entregues na thread do JavaFX: o grupo entra na cena de uma só vez
+        task.setOnSucceeded(event -> {
+            ModelLoadTask.Result result = task.getValue();
+            if (task != currentLoad) {
+                if (result != null && result.getChunkStreamer() != null) {
+                    result.getChunkStreamer().dispose();
+                }
+                return;
+            }
+            finishLoad();
+
+            Group model = result.getModel();
             if (model.getChildren().isEmpty()) {
                 lblInfo.setText("Erro: Modelo vazio ou inválido");
                 return;
             }
 
+            // Remover modelo anterior se existir
+            if (loadedModel != null) {
+                sceneRoot.getChildren().remove(loadedModel);
+            }
+            disposeChunkStreamer();
+            showFullResolution();
+            qualityGovernor.reset();
+            levelOfDetail = null;
+            meshBvh = null;
+            vertexIndex = null;
+            snapSpacing = Double.NaN;
+            geodesicEngine = null;
+            geometryAnalysis = null;
+            meshBounds = null;
+            clearGeodesicPath();
+            clearSection();
+            clearDeviation();
+            hideHoverMarker();
+
+            LoadMetrics metrics = result.getMetrics();
+            LoadMetrics.Phase scenePhase = metrics.begin("cena");
             loadedModel = model;
+            chunkStreamer = result.getChunkStreamer();
             sceneRoot.getChildren().add(loadedModel);
 
-            // Calcular bounds e reposicionar câmera
-            calculateModelBounds();
+            // Bounds já calculados em segundo plano; reposicionar câmera
+            calculateModelBounds(result.getBounds());
             setupLights(); // Reconfigurar luzes baseadas no modelo
             resetCamera();
+            scenePhase.end();
+            metrics.finish();
+            updateLoadMetricsPanel(metrics);
+            OBJLoader.writeDiskCache(model); // Já na cena: gravar o cache em segundo plano
 
             lblInfo.setText("Modelo carregado: " + new File(path).getName());
-            System.out.println("Modelo carregado com sucesso!");
+            System.out.println("Modelo carregado com sucesso! " + OBJLoader.getModelInfo(model));
+            if (chunkStreamer != null) {
+                // Sem MeshData no heap: LOD, BVH e análise abaixo não se aplicam (picking pelo JavaFX)
+                lblInfo.setText("Modelo carregado em chunks (fora da memória): " + new File(path).getName());
+                updateChunks();
+            } else {
+                generateLevelsOfDetail(model);
+                buildPickingIndex(model);
+                analyzeGeometry(model);
+            }
+        });
 
-        } catch (Exception e) {
-            System.err.println("Erro ao carregar modelo: " + e.getMessage());
-            e.printStackTrace();
-            lblInfo.setText("Erro ao carregar modelo: " + e.getMessage());
+        task.setOnFailed(event -> {
+            if (task != currentLoad) return;
+            finishLoad();
+            Throwable error = task.getException();
+            if (error instanceof OutOfMemoryError && !task.isForceOutOfCore()) {
+                // Estimativa errou para menos: nova tentativa em chunks
+                System.out.println("[ViewerController] Memória insuficiente para " + path + "; abrindo em chunks");
+                loadOBJModel(path, true);
+                return;
+            }
+            System.err.println("Erro ao carregar modelo: " + error.getMessage());
+            error.printStackTrace();
+            lblInfo.setText("Erro ao carregar modelo: " + error.getMessage());
+        });
+
+        task.setOnCancelled(event -> {
+            if (task != currentLoad) return;
+            finishLoad();
+            lblInfo.setText("Carregamento cancelado: " + new File(path).getName());
+        });
+
+        loaderExecutor.submit(task);
+    }
+
+    /**
+     * Escolhe e agenda os chunks de detalhe para a câmera atual (modo fora da memória)
+     */
+    private void updateChunks() {
+        if (chunkStreamer != null) {
+            chunkStreamer.update(camera, subScene.getWidth(), subScene.getHeight());
+        }
+    }
+
+    private void disposeChunkStreamer() {
+        if (chunkStreamer != null) {
+            chunkStreamer.dispose();
+            chunkStreamer = null;
         }
     }
 
     /**
-     * Calcula bounds do modelo carregado
+     * Mostra as fases do último carregamento no painel de debug
      */
-    private void calculateModelBounds() {
-        if (loadedModel != null) {
-            Bounds bounds = loadedModel.getBoundsInLocal();
+    private void updateLoadMetricsPanel(LoadMetrics metrics) {
+        if (lblLoadMetrics == null) return; // Painel opcional no FXML
+        lblLoadMetrics.setText(metrics.toSummary());
+    }
+
+    /**
+     * Libera os controles de progresso ao fim do carregamento
+     */
+    private void finishLoad() {
+        if (progressLoad != null) {
+            progressLoad.progressProperty().unbind();
+        }
+        setLoadControlsVisible(false);
+    }
 
-            modelCenter = new Point3D(
-                    bounds.getCenterX(),
-                    bounds.getCenterY(),
-                    bounds.getCenterZ()
-            );
+    private void setLoadControlsVisible(boolean visible) {
+        if (progressLoad != null) {
+            progressLoad.setVisible(visible);
+            progressLoad.setManaged(visible);
+        }
+        if (btnCancelLoad != null) {
+            btnCancelLoad.setVisible(visible);
+            btnCancelLoad.setManaged(visible);
+        }
+    }
 
-            modelRadius = Math.max(
-                    Math.max(bounds.getWidth(), bounds.getHeight()),
-                    bounds.getDepth()
-            ) / 2.0;
+    /**
+     * Calcula centro e raio do modelo a partir dos bounds
+     */
+    private void calculateModelBounds(Bounds bounds) {
+        modelCenter = new Point3D(
+                bounds.getCenterX(),
+                bounds.getCenterY(),
+                bounds.getCenterZ()
+        );
 
-            if (modelRadius < 0.1) {
-                modelRadius = 1.0;
-            }
+        modelRadius = Math.max(
+                Math.max(bounds.getWidth(), bounds.getHeight()),
+                bounds.getDepth()
+        ) / 2.0;
+
+        if (modelRadius < 0.1) {
+            modelRadius = 1.0;
         }
     }
 
@@ -539,146 +1197,636 @@ public class ViewerController implements Initializable {
      * Reposiciona câmera para ver o modelo completo (sistema orbital)
      */
     private void resetCamera() {
-        // Definir target como centro do modelo
-        cameraTarget = modelCenter;
-
-        // Definir distância ideal baseada no tamanho do modelo
-        cameraDistance = modelRadius * 3.0;
-
-        // Posição inicial: ligeiramente acima e na frente
-        cameraYaw = 45;     // 45 graus à direita
-        cameraPitch = 20;   // 20 graus acima
+        // Target no centro do modelo, distância ideal pelo tamanho do modelo,
+        // ligeiramente acima e na frente (45 graus à direita, 20 graus acima)
+        cameraController.setOrbit(modelCenter.getX(), modelCenter.getY(), modelCenter.getZ(),
+                modelRadius * 3.0, 45, 20);
 
         updateCameraTransform();
     }
 
     /**
-     * Atualiza transformação da câmera (sistema orbital)
+     * Atualiza transformação da câmera (sistema orbital) no Affine já ligado à câmera
      */
     private void updateCameraTransform() {
-        // Calcular posição da câmera baseada em coordenadas esféricas
-        double yawRad = Math.toRadians(cameraYaw);
-        double pitchRad = Math.toRadians(cameraPitch);
+        cameraController.flush();
+    }
+
+    /**
+     * Adiciona ponto de medição no fim do caminho (marcador e linha vêm do OverlaySync)
+     */
+    private void addSphereAt(Point3D point) {
+        showFullResolution();
+        measurementSession.add(point);
+        selectPoint(-1);
+        updateInfoLabel();
+    }
+
+    /**
+     * Insere o ponto no trecho do caminho em que ele menos aumenta o comprimento
+     */
+    private void insertMeasurementPoint(Point3D point) {
+        showFullResolution();
+        int index = measurementSession.bestInsertionIndex(point);
+        measurementSession.insert(index, point);
+        selectPoint(index);
+        updateInfoLabel();
+    }
+
+    /**
+     * Move o ponto em arrasto para o modelo sob o cursor (sem histórico até soltar)
+     */
+    private void dragSelectedPoint(MouseEvent e) {
+        MeshBvh.Hit hit = castModelRay(e.getX(), e.getY());
+        if (hit == null) return;
+        Point3D point = meshToScene(hit.getX(), hit.getY(), hit.getZ());
+        if (snapEnabled) {
+            point = snapToVertex(point);
+        }
+        measurementSession.previewMove(draggingPoint, point);
+    }
+
+    private void selectPoint(int index) {
+        selectedPoint = index;
+        updateSelectionMarker();
+        requestLabelUpdate();
+    }
+
+    /**
+     * Anel amarelo (esfera translúcida) em volta do ponto selecionado
+     */
+    private void updateSelectionMarker() {
+        if (selectedPoint < 0 || selectedPoint >= measurementSession.size()) {
+            selectedPoint = -1;
+            if (selectionMarker != null) selectionMarker.setVisible(false);
+            return;
+        }
+        if (selectionMarker == null) {
+            selectionMarker = new Sphere(1);
+            selectionMarker.setMouseTransparent(true);
+            selectionMarker.setMaterial(new PhongMaterial(Color.color(1.0, 0.85, 0.1, 0.5)));
+            sceneRoot.getChildren().add(selectionMarker);
+        }
+        Point3D point = measurementSession.get(selectedPoint);
+        selectionMarker.setRadius(Math.max(modelRadius * 0.015, 0.02) * 1.6);
+        selectionMarker.setTranslateX(point.getX());
+        selectionMarker.setTranslateY(point.getY());
+        selectionMarker.setTranslateZ(point.getZ());
+        selectionMarker.setVisible(true);
+    }
+
+    /**
+     * Mantém marcadores, linhas, caminho geodésico e labels em dia com a sessão,
+     * alterando só os itens vizinhos do ponto editado
+     */
+    private final class OverlaySync implements MeasurementSession.Listener {
+
+        @Override
+        public void pointInserted(int index, Point3D point) {
+            updateOverlaySizes();
+            measurementOverlay.insertMarker(index, point);
+            int count = measurementSession.size();
+            if (count > 1) {
+                if (index == count - 1) {
+                    measurementOverlay.addSegment(measurementSession.get(index - 1), point);
+                } else if (index == 0) {
+                    measurementOverlay.insertSegment(0, point, measurementSession.get(1));
+                } else {
+                    measurementOverlay.setSegment(index - 1, measurementSession.get(index - 1), point);
+                    measurementOverlay.insertSegment(index, point, measurementSession.get(index + 1));
+                }
+            }
+            if (selectedPoint >= index) selectedPoint++;
+            cancelDrag();
+            changed();
+        }
+
+        @Override
+        public void pointMoved(int index, Point3D point) {
+            measurementOverlay.setMarker(index, point);
+            if (index > 0) {
+                measurementOverlay.setSegment(index - 1, measurementSession.get(index - 1), point);
+            }
+            if (index + 1 < measurementSession.size()) {
+                measurementOverlay.setSegment(index, point, measurementSession.get(index + 1));
+            }
+            changed();
+        }
+
+        @Override
+        public void pointRemoved(int index) {
+            measurementOverlay.removeMarker(index);
+            int previousCount = measurementSession.size() + 1;
+            if (previousCount > 1) {
+                if (index == 0) {
+                    measurementOverlay.removeSegment(0);
+                } else if (index == previousCount - 1) {
+                    measurementOverlay.removeSegment(index - 1);
+                } else {
+                    measurementOverlay.removeSegment(index);
+                    measurementOverlay.setSegment(index - 1, measurementSession.get(index - 1), measurementSession.get(index));
+                }
+            }
+            if (selectedPoint == index) selectedPoint = -1;
+            else if (selectedPoint > index) selectedPoint--;
+            cancelDrag();
+            changed();
+        }
+
+        @Override
+        public void cleared() {
+            measurementOverlay.clear();
+            selectedPoint = -1;
+            cancelDrag();
+            changed();
+        }
+
+        // Índices mudaram: o ponto do arrasto pode não ser mais o mesmo
+        private void cancelDrag() {
+            draggingPoint = -1;
+            dragOrigin = null;
+        }
+
+        private void changed() {
+            clearGeodesicPath();
+            updateSelectionMarker();
+            requestLabelUpdate();
+        }
+    }
 
-        double x = cameraTarget.getX() + cameraDistance * Math.cos(pitchRad) * Math.sin(yawRad);
-        double y = cameraTarget.getY() + cameraDistance * Math.sin(pitchRad);
-        double z = cameraTarget.getZ() + cameraDistance * Math.cos(pitchRad) * Math.cos(yawRad);
+    /**
+     * Tamanho dos marcadores e linhas proporcional ao modelo
+     */
+    private void updateOverlaySizes() {
+        double markerSize = Math.max(modelRadius * 0.015, 0.02);
+        double lineRadius = Math.max(modelRadius * 0.002, 0.005); // Linha fina
+        measurementOverlay.setSizes(markerSize, lineRadius);
+        geodesicOverlay.setSizes(markerSize, lineRadius * 1.5);
+        sectionOverlay.setSizes(markerSize, lineRadius * 1.5);
+    }
 
-        // Posicionar câmera
-        camera.setTranslateX(x);
-        camera.setTranslateY(y);
-        camera.setTranslateZ(z);
+    /**
+     * Distância total acumulada entre todos os pontos na ordem (mantida pela sessão, O(1))
+     */
+    private double calculateTotalDistance() {
+        return measurementSession.getTotalLength();
+    }
 
-        // Fazer câmera olhar para o target
-        camera.getTransforms().clear();
+    // =================== DISTÂNCIA GEODÉSICA ===================
 
-        // Calcular vetor "look at"
-        Point3D lookDirection = cameraTarget.subtract(x, y, z).normalize();
+    /**
+     * Botão: Distância pela superfície entre os pontos consecutivos
+     * O cálculo roda em segundo plano; o caminho aparece como polilinha verde
+     */
+    @FXML
+    private void onGeodesicDistance() {
+        if (measurementSession.size() < 2) {
+            lblInfo.setText("Marque pelo menos 2 pontos para medir na superfície");
+            return;
+        }
+        if (geodesicEngine == null || loadedModel == null) {
+            lblInfo.setText("Índice da malha ainda em construção, tente novamente em instantes");
+            return;
+        }
 
-        // Aplicar rotações para olhar para o target
-        double targetYaw = Math.toDegrees(Math.atan2(lookDirection.getX(), lookDirection.getZ()));
-        double targetPitch = Math.toDegrees(Math.asin(-lookDirection.getY()));
+        // Pontos em coordenadas da malha (conversão feita aqui, na thread do JavaFX)
+        Node model = loadedModel;
+        List<Point3D> path = measurementSession.toList();
+        double[] points = new double[path.size() * 3];
+        for (int i = 0; i < path.size(); i++) {
+            Point3D local = model.sceneToLocal(path.get(i)).add(meshCenter);
+            points[i * 3] = local.getX();
+            points[i * 3 + 1] = local.getY();
+            points[i * 3 + 2] = local.getZ();
+        }
 
-        camera.getTransforms().add(new Rotate(-targetPitch, Rotate.X_AXIS));
-        camera.getTransforms().add(new Rotate(-targetYaw, Rotate.Y_AXIS));
+        clearGeodesicPath();
+        int request = geodesicRequest;
+        lblInfo.setText("Calculando distância na superfície...");
+        long start = System.nanoTime();
+
+        geodesicEngine.thenApplyAsync(engine -> {
+            List<GeodesicDistance.Path> paths = new ArrayList<>();
+            for (int i = 1; i < points.length / 3; i++) {
+                int a = (i - 1) * 3, b = i * 3;
+                paths.add(engine.shortestPath(points[a], points[a + 1], points[a + 2],
+                        points[b], points[b + 1], points[b + 2]));
+            }
+            return paths;
+        }, meshIndexExecutor).whenComplete((paths, error) -> javafx.application.Platform.runLater(() -> {
+            if (request != geodesicRequest || loadedModel != model) return;
+            if (error != null) {
+                System.err.println("Erro ao calcular distância geodésica: " + error.getMessage());
+                lblInfo.setText("Erro ao calcular distância na superfície: " + error.getMessage());
+                return;
+            }
+            if (paths.contains(null)) {
+                lblInfo.setText("Sem caminho pela superfície: pontos em partes desconectadas do modelo");
+                return;
+            }
+            showGeodesicPath(paths);
+            System.out.printf("[ViewerController] Distância geodésica %.3f em %d ms%n",
+                    geodesicLength, (System.nanoTime() - start) / 1_000_000);
+            requestLabelUpdate();
+        }));
     }
 
     /**
-     * Adiciona esfera de medição e linha conectora
+     * Desenha os caminhos (coordenadas da malha) como segmentos na cena
      */
-    private void addSphereAt(Point3D point) {
-        double sphereSize = Math.max(modelRadius * 0.015, 0.02);
+    private void showGeodesicPath(List<GeodesicDistance.Path> paths) {
+        updateOverlaySizes();
+        double total = 0;
+        for (GeodesicDistance.Path path : paths) {
+            total += path.getLength();
+            float[] p = path.getPoints();
+            List<Point3D> polyline = new ArrayList<>(path.getPointCount());
+            for (int i = 0; i < path.getPointCount(); i++) {
+                polyline.add(meshToScene(p[i * 3], p[i * 3 + 1], p[i * 3 + 2]));
+            }
+            geodesicOverlay.addPolyline(polyline);
+        }
+        geodesicLength = total;
+    }
 
-        // Criar esfera
-        Sphere sphere = new Sphere(sphereSize);
-        PhongMaterial sphereMaterial = new PhongMaterial(Color.RED);
-        sphere.setMaterial(sphereMaterial);
-        sphere.setTranslateX(point.getX());
-        sphere.setTranslateY(point.getY());
-        sphere.setTranslateZ(point.getZ());
+    /**
+     * Remove o caminho desenhado e descarta cálculos em andamento
+     */
+    private void clearGeodesicPath() {
+        geodesicRequest++;
+        geodesicLength = Double.NaN;
+        geodesicOverlay.clear();
+    }
 
-        sceneRoot.getChildren().add(sphere);
-        spheres.add(sphere);
-        measurementPoints.add(point);
+    // =================== PLANO DE CORTE ===================
 
-        // Criar linha conectora se houver pelo menos 2 pontos
-        if (measurementPoints.size() >= 2) {
-            Point3D previousPoint = measurementPoints.get(measurementPoints.size() - 2);
-            Point3D currentPoint = measurementPoints.get(measurementPoints.size() - 1);
+    /**
+     * Plano translúcido que mostra onde está o corte (não participa do picking)
+     */
+    private void setupSectionPlane() {
+        sectionPlane.setMaterial(new PhongMaterial(Color.color(1.0, 0.6, 0.1, 0.25)));
+        sectionPlane.setMouseTransparent(true);
+        sectionPlane.setVisible(false);
+        sceneRoot.getChildren().add(sectionPlane);
+        if (sliderSection != null) {
+            sliderSection.valueProperty().addListener((observable, oldValue, newValue) -> requestSectionUpdate());
+        }
+    }
 
-            Cylinder connectionLine = createLineBetweenPoints(previousPoint, currentPoint);
-            sceneRoot.getChildren().add(connectionLine);
-            connectionLines.add(connectionLine);
+    @FXML
+    private void onToggleSection() {
+        sectionEnabled = toggleSection != null && toggleSection.isSelected();
+        if (sectionEnabled && meshBvh == null) {
+            lblInfo.setText(chunkStreamer != null
+                    ? "Corte indisponível para modelos abertos em chunks (fora da memória)"
+                    : "Índice da malha ainda em construção; o corte aparece quando estiver pronto");
         }
+        if (sectionEnabled) {
+            requestSectionUpdate();
+        } else {
+            clearSection();
+        }
+        System.out.println("Plano de corte: " + (sectionEnabled ? "ATIVADO" : "DESATIVADO"));
+    }
 
-        javafx.application.Platform.runLater(() -> {
-            updateInfoLabel();
-            updateMeasurementsLabel();
-        });
+    /**
+     * Botão: Alterna o eixo normal ao plano de corte (X -> Y -> Z)
+     */
+    @FXML
+    private void onSectionAxis() {
+        sectionAxis = (sectionAxis + 1) % 3;
+        lblInfo.setText("Plano de corte perpendicular ao eixo " + "XYZ".charAt(sectionAxis));
+        requestSectionUpdate();
     }
 
     /**
-     * Cria uma linha (cilindro) entre dois pontos 3D com orientação correta
+     * Marca o corte para recálculo; arrastar o slider gera no máximo um corte por pulso
      */
-    private Cylinder createLineBetweenPoints(Point3D start, Point3D end) {
-        // Calcular vetor direção e distância
-        Point3D direction = end.subtract(start);
-        double distance = direction.magnitude();
+    private void requestSectionUpdate() {
+        sectionDirty = sectionEnabled;
+        if (sectionDirty) {
+            renderLoop.request();
+        }
+    }
 
-        // Criar cilindro (linha) com altura = distância entre pontos
-        double lineRadius = Math.max(modelRadius * 0.002, 0.005); // Linha fina
-        Cylinder line = new Cylinder(lineRadius, distance);
+    /**
+     * Recalcula o corte pendente (chamado no pulso)
+     * A BVH visita só os triângulos que cruzam o plano, então roda na própria thread do JavaFX
+     */
+    private void flushSectionUpdate() {
+        if (!sectionDirty || meshBvh == null || meshBounds == null || loadedModel == null) return;
+        sectionDirty = false;
+
+        double position = sliderSection != null ? sliderSection.getValue() : 0.5;
+        double min = meshBounds[sectionAxis], max = meshBounds[sectionAxis + 3];
+        double offset = min + (max - min) * clamp(position, 0, 1);
+        crossSection = CrossSection.compute(meshBvh,
+                sectionAxis == 0 ? 1 : 0, sectionAxis == 1 ? 1 : 0, sectionAxis == 2 ? 1 : 0, offset);
+
+        updateOverlaySizes();
+        sectionOverlay.clear();
+        for (int c = 0; c < crossSection.getContourCount(); c++) {
+            float[] contour = crossSection.getContour(c);
+            int count = contour.length / 3;
+            List<Point3D> polyline = new ArrayList<>(count + 1);
+            for (int i = 0; i < count; i++) {
+                polyline.add(meshToScene(contour[i * 3], contour[i * 3 + 1], contour[i * 3 + 2]));
+            }
+            if (crossSection.isClosed(c)) {
+                polyline.add(polyline.get(0));
+            }
+            sectionOverlay.addPolyline(polyline);
+        }
+        showSectionPlane(offset);
+        // Só o resultado em lblMeasurements muda (lblInfo mantém a mensagem do eixo);
+        // flushLabelUpdate roda logo depois, no mesmo pulso, sem pedir outro quadro
+        labelsDirty = true;
+    }
+
+    /**
+     * Posiciona e dimensiona o plano translúcido na caixa do modelo
+     */
+    private void showSectionPlane(double offset) {
+        double margin = 1.1;
+        double thickness = Math.max(modelRadius * 0.001, 0.001);
+        double[] size = new double[3];
+        double[] center = new double[3];
+        for (int axis = 0; axis < 3; axis++) {
+            size[axis] = axis == sectionAxis ? thickness : (meshBounds[axis + 3] - meshBounds[axis]) * margin;
+            center[axis] = axis == sectionAxis ? offset : (meshBounds[axis] + meshBounds[axis + 3]) / 2.0;
+        }
+        sectionPlane.setWidth(size[0]);
+        sectionPlane.setHeight(size[1]);
+        sectionPlane.setDepth(size[2]);
+        // Mesma transformação do modelo (o plano acompanha um alinhamento aplicado)
+        sectionPlane.getTransforms().setAll(new Affine(loadedModel.getLocalToSceneTransform()),
+                new Translate(center[0] - meshCenter.getX(), center[1] - meshCenter.getY(), center[2] - meshCenter.getZ()));
+        sectionPlane.setVisible(true);
+    }
 
-        // Material da linha (azul semi-transparente)
-        PhongMaterial lineMaterial = new PhongMaterial(Color.CYAN);
-        line.setMaterial(lineMaterial);
+    private void clearSection() {
+        sectionDirty = false;
+        crossSection = null;
+        sectionOverlay.clear();
+        sectionPlane.setVisible(false);
+        requestLabelUpdate();
+    }
 
-        // Posicionar no ponto médio entre start e end
-        Point3D midPoint = start.add(end).multiply(0.5);
-        line.setTranslateX(midPoint.getX());
-        line.setTranslateY(midPoint.getY());
-        line.setTranslateZ(midPoint.getZ());
+    // =================== DESVIO EM RELAÇÃO À REFERÊNCIA ===================
 
-        // CORREÇÃO: Alinhar cilindro com o vetor entre os pontos
-        // O cilindro padrão está no eixo Y, precisamos rotacioná-lo para o vetor direção
-        Point3D yAxis = new Point3D(0, 1, 0); // Eixo Y padrão do cilindro
-        Point3D unitDirection = direction.normalize();
+    /**
+     * Botão: Abrir uma malha de referência e comparar com o modelo carregado
+     */
+    @FXML
+    private void onOpenReference() {
+        if (meshBvh == null || loadedModel == null) {
+            lblInfo.setText(chunkStreamer != null
+                    ? "Comparação indisponível para modelos abertos em chunks (fora da memória)"
+                    : "Carregue o modelo e aguarde o índice da malha antes de abrir a referência");
+            return;
+        }
 
-        // Calcular o eixo de rotação (produto vetorial)
-        Point3D rotationAxis = yAxis.crossProduct(unitDirection);
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Selecionar malha de referência");
+        fileChooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("Arquivos OBJ", "*.obj")
+        );
 
-        // Calcular ângulo entre os vetores
-        double dotProduct = yAxis.dotProduct(unitDirection);
-        double angle = Math.toDegrees(Math.acos(Math.max(-1, Math.min(1, dotProduct))));
+        Stage stage = (Stage) canvasContainer.getScene().getWindow();
+        File selectedFile = fileChooser.showOpenDialog(stage);
 
-        // Aplicar rotação apenas se necessário (evitar rotação de 0°)
-        if (rotationAxis.magnitude() > 0.001 && Math.abs(angle) > 0.1) {
-            Rotate rotation = new Rotate(angle, rotationAxis);
-            line.getTransforms().add(rotation);
+        if (selectedFile != null) {
+            compareWithReference(selectedFile.toPath());
         }
-        // Se os vetores são opostos (180°), rotacionar 180° no eixo X
-        else if (Math.abs(angle - 180) < 0.1) {
-            line.getTransforms().add(new Rotate(180, Rotate.X_AXIS));
+    }
+
+    /**
+     * Lê a referência e monta a BVH dela em segundo plano, depois compara
+     */
+    private void compareWithReference(Path path) {
+        CompletableFuture<MeshBvh> reference = CompletableFuture.supplyAsync(() -> {
+            try {
+                return MeshBvh.build(OBJLoader.readMeshData(path, LoadProgress.NONE));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, meshIndexExecutor);
+        runComparison(reference, path.getFileName().toString(), "");
+    }
+
+    /**
+     * Mede o desvio nos dois sentidos em segundo plano
+     * Com um alinhamento aplicado, a malha é comparada na posição alinhada
+     * status fica à frente das mensagens de lblInfo (ex.: confirmação do alinhamento)
+     */
+    private void runComparison(CompletableFuture<MeshBvh> reference, String name, String status) {
+        Node model = loadedModel;
+        MeshBvh inspected = meshBvh;
+        RigidRegistration.Result alignment = registration;
+        int request = ++deviationRequest;
+        lblInfo.setText(status + "Comparando com a referência " + name + "...");
+        long start = System.nanoTime();
+
+        reference.thenApplyAsync(bvh -> {
+            MeshBvh placed = alignment == null ? inspected
+                    : MeshBvh.build(alignment.apply(inspected.getPositions()), inspected.getTriangles());
+            return MeshDeviation.compare(placed, bvh);
+        }, meshIndexExecutor).whenComplete((result, error) -> javafx.application.Platform.runLater(() -> {
+            if (request != deviationRequest || loadedModel != model) return;
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                System.err.println("Erro ao comparar com a referência: " + cause.getMessage());
+                lblInfo.setText(status + "Erro ao comparar com a referência: " + cause.getMessage());
+                return;
+            }
+            referenceBvh = reference.join();
+            referenceName = name;
+            deviation = result;
+            System.out.printf("[ViewerController] Referência %s: %s em %d ms%n",
+                    name, result, (System.nanoTime() - start) / 1_000_000);
+            lblInfo.setText(status + "Comparação com " + name + " concluída");
+            if (toggleDeviation != null) {
+                toggleDeviation.setSelected(true);
+            }
+            removeDeviationView();
+            updateDeviationView();
+            requestLabelUpdate();
+        }));
+    }
+
+    // =================== DIAGNÓSTICO ===================
+
+    /**
+     * Botão: Liga/desliga o painel de diagnóstico
+     */
+    @FXML
+    private void onToggleDiagnostics() {
+        diagnostics.setVisible(toggleDiagnostics != null && toggleDiagnostics.isSelected());
+    }
+
+    /**
+     * Botão: Grava o relatório da sessão (painel + último carregamento + análises do modelo)
+     */
+    @FXML
+    private void onSaveDiagnostics() {
+        StringBuilder context = new StringBuilder();
+        LoadMetrics metrics = LoadMetrics.getLast();
+        if (metrics != null) {
+            context.append("Último carregamento:").append(System.lineSeparator()).append(metrics.toSummary());
+        }
+        if (geometryAnalysis != null) {
+            context.append(geometryAnalysis).append(System.lineSeparator());
+        }
+        if (levelOfDetail != null) {
+            context.append("Níveis de detalhe: ").append(levelOfDetail.getLevelCount()).append(System.lineSeparator());
+        }
+        if (registration != null) {
+            context.append(registration).append(System.lineSeparator());
+        }
+        if (deviation != null) {
+            context.append(deviation).append(System.lineSeparator());
+        }
+        if (chunkStreamer != null) {
+            context.append(chunkStreamer.getModel()).append(System.lineSeparator());
+            context.append(chunkStreamer).append(System.lineSeparator());
         }
+        context.append(String.format("Qualidade na interação: nível %d de %d (alvo %.1f ms, volta abaixo de %.1f ms)%n",
+                qualityGovernor.getLevel(), qualityGovernor.getMaxLevel(),
+                qualityGovernor.getTargetFrameMillis(), qualityGovernor.getRestoreFrameMillis()));
+        context.append(String.format("Câmera: distância %.3f, yaw %.1f, pitch %.1f | pontos de medição: %d%n",
+                cameraController.getDistance(), cameraController.getYaw(), cameraController.getPitch(),
+                measurementSession.size()));
 
-        return line;
+        try {
+            Path file = diagnostics.writeReport(context.toString());
+            lblInfo.setText("Relatório salvo em " + file);
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar relatório: " + e.getMessage());
+            lblInfo.setText("Erro ao salvar relatório: " + e.getMessage());
+        }
     }
 
+    // =================== ALINHAMENTO (ICP) ===================
+
     /**
-     * Calcula a distância total acumulada entre todos os pontos na ordem
+     * Botão: Alinhar o modelo à referência aberta (ICP ponto-a-plano em segundo plano)
      */
-    private double calculateTotalDistance() {
-        if (measurementPoints.size() < 2) {
-            return 0.0;
+    @FXML
+    private void onAlignToReference() {
+        if (referenceBvh == null || meshBvh == null || loadedModel == null) {
+            lblInfo.setText("Abra uma malha de referência antes de alinhar");
+            return;
         }
 
-        double total = 0.0;
-        for (int i = 1; i < measurementPoints.size(); i++) {
-            Point3D previous = measurementPoints.get(i - 1);
-            Point3D current = measurementPoints.get(i);
-            total += calculateDistance(previous, current);
+        Node model = loadedModel;
+        MeshBvh inspected = meshBvh;
+        MeshBvh reference = referenceBvh;
+        int request = ++registrationRequest;
+        lblInfo.setText("Alinhando à referência " + referenceName + "...");
+        long start = System.nanoTime();
+
+        CompletableFuture.supplyAsync(() -> RigidRegistration.align(inspected.getPositions(), inspected.getTriangles(),
+                reference.getPositions(), reference.getTriangles()), meshIndexExecutor)
+                .whenComplete((result, error) -> javafx.application.Platform.runLater(() -> {
+                    if (request != registrationRequest || loadedModel != model) return;
+                    if (error != null) {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        System.err.println("Erro ao alinhar: " + cause.getMessage());
+                        lblInfo.setText("Erro ao alinhar: " + cause.getMessage());
+                        return;
+                    }
+                    System.out.printf("[ViewerController] %s em %d ms%n", result, (System.nanoTime() - start) / 1_000_000);
+                    applyRegistration(result);
+                    // Confirmação do alinhamento continua visível durante e depois da comparação
+                    runComparison(CompletableFuture.completedFuture(referenceBvh), referenceName,
+                            String.format("Modelo alinhado a %s (RMS %.4f%s) | ", referenceName, result.getRms(),
+                                    result.isConverged() ? "" : ", sem convergir"));
+                }));
+    }
+
+    /**
+     * Coloca o modelo no referencial da referência (mantendo o centro do modelo como origem da cena)
+     * Local do grupo = malha - centro, logo cena = R * local + (R * centro + t - centro)
+     */
+    private void applyRegistration(RigidRegistration.Result result) {
+        double[] m = result.getMatrix();
+        double cx = meshCenter.getX(), cy = meshCenter.getY(), cz = meshCenter.getZ();
+        Affine alignment = new Affine(
+                m[0], m[1], m[2], m[0] * cx + m[1] * cy + m[2] * cz + m[3] - cx,
+                m[4], m[5], m[6], m[4] * cx + m[5] * cy + m[6] * cz + m[7] - cy,
+                m[8], m[9], m[10], m[8] * cx + m[9] * cy + m[10] * cz + m[11] - cz);
+
+        Affine before = new Affine(loadedModel.getLocalToSceneTransform());
+        loadedModel.getTransforms().setAll(alignment);
+        Affine after = new Affine(loadedModel.getLocalToSceneTransform());
+        registration = result;
+
+        // Pontos de medição acompanham o modelo
+        measurementSession.transform(point -> {
+            try {
+                return after.transform(before.inverseTransform(point));
+            } catch (NonInvertibleTransformException e) {
+                return point;
+            }
+        });
+        clearGeodesicPath();
+        hideHoverMarker();
+        removeDeviationView();
+        requestSectionUpdate();
+        requestLabelUpdate();
+    }
+
+    @FXML
+    private void onToggleDeviation() {
+        if (deviation == null && toggleDeviation != null && toggleDeviation.isSelected()) {
+            lblInfo.setText("Abra uma malha de referência para ver o mapa de desvio");
+        }
+        updateDeviationView();
+    }
+
+    /**
+     * Mostra o mapa de calor no lugar do modelo (ou volta ao modelo)
+     * Escala de cor até o P99, para poucos vértices distantes não apagarem o resto
+     */
+    private void updateDeviationView() {
+        boolean show = deviation != null && loadedModel != null
+                && (toggleDeviation == null || toggleDeviation.isSelected());
+        if (show && deviationView == null) {
+            double scale = deviation.getPercentile(99) > 0 ? deviation.getPercentile(99) : deviation.getForwardHausdorff();
+            deviationView = DeviationHeatmap.create(meshBvh.getPositions(), meshBvh.getTriangles(),
+                    deviation.getDistances(), scale, meshCenter.getX(), meshCenter.getY(), meshCenter.getZ());
+            deviationView.getTransforms().setAll(new Affine(loadedModel.getLocalToSceneTransform()));
+            sceneRoot.getChildren().add(deviationView);
+        }
+        if (deviationView != null) {
+            deviationView.setVisible(show);
+        }
+        if (loadedModel != null) {
+            loadedModel.setVisible(!show);
+        }
+    }
+
+    private void removeDeviationView() {
+        if (deviationView != null) {
+            sceneRoot.getChildren().remove(deviationView);
+            deviationView = null;
+        }
+    }
+
+    /**
+     * Descarta referência, resultado e mapa de calor (e comparações em andamento)
+     */
+    private void clearDeviation() {
+        deviationRequest++;
+        registrationRequest++;
+        registration = null;
+        referenceBvh = null;
+        referenceName = null;
+        deviation = null;
+        removeDeviationView();
+        if (toggleDeviation != null) {
+            toggleDeviation.setSelected(false);
         }
-        return total;
     }
 
     /**
@@ -697,7 +1845,25 @@ public class ViewerController implements Initializable {
     }
 
     /**
-     * Atualiza informações na interface principal
+     * Marca lblMeasurements para atualização; várias mudanças no mesmo pulso geram uma só atualização
+     * lblInfo não entra: guarda mensagens de status até a próxima mudança de modo ou de pontos
+     */
+    private void requestLabelUpdate() {
+        labelsDirty = true;
+        renderLoop.request();
+    }
+
+    /**
+     * Atualiza lblMeasurements se pendente (chamado no pulso)
+     */
+    private void flushLabelUpdate() {
+        if (!labelsDirty) return;
+        labelsDirty = false;
+        updateMeasurementsLabel();
+    }
+
+    /**
+     * Atualiza informações de modo na interface principal (início, troca de modo, pontos adicionados ou limpos)
      */
     private void updateInfoLabel() {
         StringBuilder info = new StringBuilder();
@@ -721,34 +1887,53 @@ public class ViewerController implements Initializable {
 
         StringBuilder measurements = new StringBuilder();
 
-        if (measurementPoints.isEmpty()) {
+        int count = measurementSession.size();
+        if (count == 0) {
             measurements.append("Nenhuma medição ativa");
-        } else if (measurementPoints.size() == 1) {
+        } else if (count == 1) {
             measurements.append("1 ponto marcado - Adicione mais pontos para medir distâncias");
         } else {
-            // Distância entre os dois últimos pontos
-            Point3D lastPoint = measurementPoints.get(measurementPoints.size() - 1);
-            Point3D previousPoint = measurementPoints.get(measurementPoints.size() - 2);
-            double lastDistance = calculateDistance(previousPoint, lastPoint);
-
-            // Distância total acumulada
+            // Distância entre os dois últimos pontos e total acumulado, em O(log n)
+            double lastDistance = measurementSession.getSegmentLength(count - 2);
             double totalDistance = calculateTotalDistance();
 
             measurements.append(String.format("Última distância: %.3f unidades | ", lastDistance));
             measurements.append(String.format("Distância acumulada: %.3f unidades | ", totalDistance));
-            measurements.append(String.format("Total de pontos: %d", measurementPoints.size()));
+            if (!Double.isNaN(geodesicLength)) {
+                measurements.append(String.format("Na superfície: %.3f unidades | ", geodesicLength));
+            }
+            if (selectedPoint >= 0) {
+                measurements.append(String.format("Ponto %d: %.3f do início | ",
+                        selectedPoint + 1, measurementSession.getLength(0, selectedPoint)));
+            }
+            measurements.append(String.format("Total de pontos: %d", count));
+        }
+        if (count > 0 && lastPickedPart != null) {
+            measurements.append(" | Parte: ").append(lastPickedPart);
+        }
+        if (snapEnabled && count > 0 && !Double.isNaN(snapSpacing)) {
+            measurements.append(String.format(" | Espaçamento local no encaixe: %.4f", snapSpacing));
+        }
+        if (geometryAnalysis != null) {
+            measurements.append(" | ").append(geometryAnalysis);
+        }
+        if (registration != null) {
+            measurements.append(" | ").append(registration);
+        }
+        if (deviation != null) {
+            measurements.append(" | ").append(deviation);
+            measurements.append(String.format(" | Escala: 0 (azul) a %.4f (vermelho)",
+                    deviation.getPercentile(99) > 0 ? deviation.getPercentile(99) : deviation.getForwardHausdorff()));
+        }
+        if (crossSection != null) {
+            measurements.append(String.format(" | Corte %s: perímetro %.3f | área %.3f (%d contornos)",
+                    "XYZ".charAt(sectionAxis), crossSection.getPerimeter(), crossSection.getArea(),
+                    crossSection.getContourCount()));
         }
 
         lblMeasurements.setText(measurements.toString());
     }
 
-    /**
-     * Calcula distância entre dois pontos 3D
-     */
-    private double calculateDistance(Point3D a, Point3D b) {
-        return a.distance(b);
-    }
-
     /**
      * Limita valor entre min e max
      */
@@ -758,7 +1943,7 @@ public class ViewerController implements Initializable {
 
     @FXML
     private void onSendMeasurements() {
-        if (measurementPoints.isEmpty()) {
+        if (measurementSession.isEmpty()) {
             lblInfo.setText(" Nenhuma medição para enviar.");
             return;
         }
@@ -766,7 +1951,7 @@ public class ViewerController implements Initializable {
         try {
             // Montar JSON com as distâncias e pontos
             JSONArray pointsArray = new JSONArray();
-            for (Point3D p : measurementPoints) {
+            for (Point3D p : measurementSession.toList()) {
                 JSONObject pointJson = new JSONObject();
                 pointJson.put("x", p.getX());
                 pointJson.put("y", p.getY());
@@ -776,7 +1961,49 @@ public class ViewerController implements Initializable {
 
             JSONObject json = new JSONObject();
             json.put("totalDistance", calculateTotalDistance());
+            if (!Double.isNaN(geodesicLength)) {
+                json.put("geodesicDistance", geodesicLength);
+            }
             json.put("points", pointsArray);
+            if (registration != null) {
+                JSONArray matrixJson = new JSONArray();
+                for (double value : registration.getMatrix()) {
+                    matrixJson.put(value);
+                }
+                JSONObject registrationJson = new JSONObject();
+                registrationJson.put("matrix", matrixJson);
+                registrationJson.put("rms", registration.getRms());
+                registrationJson.put("inlierRatio", registration.getInlierRatio());
+                registrationJson.put("iterations", registration.getIterations());
+                json.put("registration", registrationJson);
+            }
+            if (deviation != null) {
+                JSONObject deviationJson = new JSONObject();
+                deviationJson.put("reference", referenceName);
+                deviationJson.put("mean", deviation.getMean());
+                deviationJson.put("rms", deviation.getRms());
+                deviationJson.put("p50", deviation.getPercentile(50));
+                deviationJson.put("p95", deviation.getPercentile(95));
+                deviationJson.put("p99", deviation.getPercentile(99));
+                deviationJson.put("hausdorff", deviation.getHausdorff());
+                deviationJson.put("forwardHausdorff", deviation.getForwardHausdorff());
+                deviationJson.put("backwardHausdorff", deviation.getBackwardHausdorff());
+                json.put("deviation", deviationJson);
+            }
+            if (crossSection != null) {
+                json.put("sectionPerimeter", crossSection.getPerimeter());
+                json.put("sectionArea", crossSection.getArea());
+            }
+            if (geometryAnalysis != null) {
+                JSONObject groupsJson = new JSONObject();
+                for (Map.Entry<String, Double> group : geometryAnalysis.getGroupAreas().entrySet()) {
+                    groupsJson.put(group.getKey(), group.getValue().doubleValue());
+                }
+                json.put("surfaceArea", geometryAnalysis.getSurfaceArea());
+                json.put("volume", geometryAnalysis.getVolume());
+                json.put("watertight", geometryAnalysis.isWatertight());
+                json.put("groupAreas", groupsJson);
+            }
 
             // Enviar JSON para a API
             String apiUrl = "http://localhost:8080/api/medicoes"; // ⚠️ ajuste sua URL
@@ -0,0 +1,251 @@
+package org.example.Service;
+
+import org.example.Util.MeshData;
+import org.example.Util.MeshSimplifier;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Análise geométrica das peças: área de superfície, volume e área por grupo
+ * - Somas em paralelo (ForkJoinPool comum) sobre faixas de triângulos
+ * - Volume assinado pelo teorema da divergência: soma de a · (b x c) / 6 por triângulo
+ * - Malha fechada (watertight): toda aresta em exatamente 2 triângulos, com orientação coerente;
+ *   sem isso o volume não é confiável e o resultado é sinalizado
+ */
+public class GeometryAnalysisService {
+
+    // Triângulos por tarefa antes de dividir
+    private static final int CHUNK_TRIANGLES = 64 * 1024;
+
+    /**
+     * Analisa em segundo plano (não bloqueia a thread do JavaFX)
+     */
+    public CompletableFuture<Result> analyzeAsync(MeshData data) {
+        return CompletableFuture.supplyAsync(() -> analyze(data), ForkJoinPool.commonPool());
+    }
+
+    public Result analyze(MeshData data) {
+        float[] positions = data.getPositions();
+        int[] triangles = MeshSimplifier.positionTriangles(data);
+
+        // Segmento de cada faixa de triângulos (grupos do OBJ); malha sem segmentos vira um grupo só
+        int segmentCount = Math.max(1, data.getSegmentCount());
+        int[] segmentStarts = new int[segmentCount + 1];
+        for (int s = 0; s < data.getSegmentCount(); s++) {
+            segmentStarts[s] = data.getSegmentStart(s);
+        }
+        segmentStarts[0] = 0;
+        segmentStarts[segmentCount] = triangles.length / 3;
+
+        // Origem no centro: menos cancelamento numérico na soma do volume
+        double ox = data.getCenterX(), oy = data.getCenterY(), oz = data.getCenterZ();
+        Sums sums = ForkJoinPool.commonPool().invoke(
+                new SumTask(positions, triangles, segmentStarts, ox, oy, oz, 0, triangles.length / 3));
+
+        Map<String, Double> groupAreas = new LinkedHashMap<>();
+        for (int s = 0; s < segmentCount; s++) {
+            String group = data.getSegmentCount() > 0 ? data.getSegmentGroup(s) : null;
+            groupAreas.merge(group != null ? group : "default", sums.segmentAreas[s], Double::sum);
+        }
+
+        EdgeCheck edges = checkEdges(triangles);
+        return new Result(sums.area, sums.volume, groupAreas, triangles.length / 3,
+                edges.boundary, edges.nonManifold, edges.misoriented);
+    }
+
+    /**
+     * Contagem de arestas pelo array de chaves ordenado (ordenação paralela)
+     */
+    static EdgeCheck checkEdges(int[] triangles) {
+        int edgeCount = triangles.length;
+        long[] undirected = new long[edgeCount];
+        long[] directed = new long[edgeCount];
+        for (int t = 0; t < triangles.length; t += 3) {
+            for (int corner = 0; corner < 3; corner++) {
+                long a = triangles[t + corner];
+                long b = triangles[t + (corner + 1) % 3];
+                undirected[t + corner] = a < b ? (a << 32) | b : (b << 32) | a;
+                directed[t + corner] = (a << 32) | b;
+            }
+        }
+        Arrays.parallelSort(undirected);
+        Arrays.parallelSort(directed);
+
+        EdgeCheck check = new EdgeCheck();
+        for (int i = 0; i < edgeCount; ) {
+            int j = i + 1;
+            while (j < edgeCount && undirected[j] == undirected[i]) j++;
+            int uses = j - i;
+            if (uses == 1) check.boundary++;
+            else if (uses > 2) check.nonManifold++;
+            i = j;
+        }
+        // A mesma aresta orientada duas vezes = vizinhos com orientação oposta
+        for (int i = 1; i < edgeCount; i++) {
+            if (directed[i] == directed[i - 1]) check.misoriented++;
+        }
+        return check;
+    }
+
+    static final class EdgeCheck {
+        long boundary;
+        long nonManifold;
+        long misoriented;
+    }
+
+    /**
+     * Somas parciais de uma faixa de triângulos
+     */
+    private static final class Sums {
+        double area;
+        double volume;
+        final double[] segmentAreas;
+
+        Sums(int segmentCount) {
+            segmentAreas = new double[segmentCount];
+        }
+    }
+
+    private static final class SumTask extends RecursiveTask<Sums> {
+        private final float[] p;
+        private final int[] triangles;
+        private final int[] segmentStarts;
+        private final double ox, oy, oz;
+        private final int from, to;
+
+        SumTask(float[] p, int[] triangles, int[] segmentStarts, double ox, double oy, double oz, int from, int to) {
+            this.p = p;
+            this.triangles = triangles;
+            this.segmentStarts = segmentStarts;
+            this.ox = ox;
+            this.oy = oy;
+            this.oz = oz;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Sums compute() {
+            if (to - from > CHUNK_TRIANGLES) {
+                int mid = (from + to) >>> 1;
+                SumTask left = new SumTask(p, triangles, segmentStarts, ox, oy, oz, from, mid);
+                SumTask right = new SumTask(p, triangles, segmentStarts, ox, oy, oz, mid, to);
+                left.fork();
+                Sums r = right.compute();
+                Sums l = left.join();
+                l.area += r.area;
+                l.volume += r.volume;
+                for (int s = 0; s < l.segmentAreas.length; s++) {
+                    l.segmentAreas[s] += r.segmentAreas[s];
+                }
+                return l;
+            }
+
+            int segmentCount = segmentStarts.length - 1;
+            Sums sums = new Sums(segmentCount);
+            int segment = Arrays.binarySearch(segmentStarts, 0, segmentCount, from);
+            if (segment < 0) segment = -segment - 2;
+            double segmentArea = 0;
+
+            for (int t = from; t < to; t++) {
+                while (t >= segmentStarts[segment + 1]) {
+                    sums.segmentAreas[segment] += segmentArea;
+                    segmentArea = 0;
+                    segment++;
+                }
+                int a = triangles[t * 3] * 3, b = triangles[t * 3 + 1] * 3, c = triangles[t * 3 + 2] * 3;
+                double ax = p[a] - ox, ay = p[a + 1] - oy, az = p[a + 2] - oz;
+                double bx = p[b] - ox, by = p[b + 1] - oy, bz = p[b + 2] - oz;
+                double cx = p[c] - ox, cy = p[c + 1] - oy, cz = p[c + 2] - oz;
+
+                // Área: |(b - a) x (c - a)| / 2
+                double e1x = bx - ax, e1y = by - ay, e1z = bz - az;
+                double e2x = cx - ax, e2y = cy - ay, e2z = cz - az;
+                double nx = e1y * e2z - e1z * e2y, ny = e1z * e2x - e1x * e2z, nz = e1x * e2y - e1y * e2x;
+                double area = Math.sqrt(nx * nx + ny * ny + nz * nz) * 0.5;
+                segmentArea += area;
+                sums.area += area;
+
+                // Volume do tetraedro (origem, a, b, c): a · (b x c) / 6
+                sums.volume += (ax * (by * cz - bz * cy) + ay * (bz * cx - bx * cz) + az * (bx * cy - by * cx)) / 6.0;
+            }
+            sums.segmentAreas[segment] += segmentArea;
+            return sums;
+        }
+    }
+
+    /**
+     * Resultado da análise (unidades do modelo)
+     */
+    public static final class Result {
+        private final double surfaceArea;
+        private final double volume;
+        private final Map<String, Double> groupAreas;
+        private final int triangleCount;
+        private final long boundaryEdges;
+        private final long nonManifoldEdges;
+        private final long misorientedEdges;
+
+        Result(double surfaceArea, double volume, Map<String, Double> groupAreas, int triangleCount,
+               long boundaryEdges, long nonManifoldEdges, long misorientedEdges) {
+            this.surfaceArea = surfaceArea;
+            this.volume = volume;
+            this.groupAreas = Collections.unmodifiableMap(groupAreas);
+            this.triangleCount = triangleCount;
+            this.boundaryEdges = boundaryEdges;
+            this.nonManifoldEdges = nonManifoldEdges;
+            this.misorientedEdges = misorientedEdges;
+        }
+
+        public double getSurfaceArea() {
+            return surfaceArea;
+        }
+
+        /**
+         * Volume assinado: positivo com normais para fora, negativo com a malha invertida
+         */
+        public double getVolume() {
+            return volume;
+        }
+
+        public Map<String, Double> getGroupAreas() {
+            return groupAreas;
+        }
+
+        public int getTriangleCount() {
+            return triangleCount;
+        }
+
+        public long getBoundaryEdges() {
+            return boundaryEdges;
+        }
+
+        public long getNonManifoldEdges() {
+            return nonManifoldEdges;
+        }
+
+        public long getMisorientedEdges() {
+            return misorientedEdges;
+        }
+
+        public boolean isWatertight() {
+            return triangleCount > 0 && boundaryEdges == 0 && nonManifoldEdges == 0 && misorientedEdges == 0;
+        }
+
+        @Override
+        public String toString() {
+            String text = String.format("Área: %.3f | Volume: %.3f", surfaceArea, volume);
+            if (!isWatertight()) {
+                text += String.format(" (malha aberta: %d arestas de borda, %d não-manifold, %d invertidas)",
+                        boundaryEdges, nonManifoldEdges, misorientedEdges);
+            }
+            return text;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package org.example.Ui;
 
 import javafx.animation.Animation;
-import javafx.animation.AnimationTimer;
 import javafx.animation.RotateTransition;
 import javafx.application.Application;
 import javafx.geometry.Bounds;
@@ -21,18 +20,18 @@ import javafx.scene.transform.Transform;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 
+import org.example.Util.CameraController;
 import org.example.Util.OBJLoader;
+import org.example.Util.RenderLoop;
 import javafx.scene.input.PickResult;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Visualizador 3D avançado para arquivos OBJ com controles estilo Unreal Engine
  * Funcionalidades:
  * - Posicionamento automático da câmera baseado no bounding box do modelo
- * - Controles WASD para movimento da câmera
+ * - Controles WASD para movimento da câmera (pulsos só enquanto há movimento)
  * - Sistema de medição com marcação de pontos
  * - Rotação automática de objetos
  */
@@ -50,16 +49,15 @@ public class OBJFileViewer extends Application {
     private double modelRadius = 1.0;
 
     // Configurações da câmera
-    private Point3D cameraPosition = new Point3D(0, 0, 5);
-    private double cameraYaw = 0;    // Rotação horizontal
-    private double cameraPitch = 0;  // Rotação vertical
-    private final double MIN_PITCH = -89, MAX_PITCH = 89;
-    private final double CAMERA_SPEED = 0.05;      // Velocidade de movimento
+    private final double CAMERA_SPEED = 0.05;      // Velocidade de movimento (por quadro a 60 Hz)
     private final double MOUSE_SENSITIVITY = 0.3;  // Sensibilidade do mouse
     private final double ZOOM_SPEED = 0.01;        // Velocidade do zoom
 
+    // Câmera livre: posição e ângulos em campos primitivos, um único Affine
+    private final CameraController cameraController =
+            new CameraController(CameraController.Mode.FLY, CAMERA_SPEED / RenderLoop.NOMINAL_FRAME_SECONDS);
+
     // Controles de entrada
-    private Set<KeyCode> pressedKeys = new HashSet<>();
     private double lastMouseX, lastMouseY;
     private boolean mousePressed = false;
 
@@ -67,8 +65,8 @@ public class OBJFileViewer extends Application {
     private List<Sphere> spheres = new ArrayList<>();
     private RotateTransition currentRotation;
 
-    // Timer para movimento suave
-    private AnimationTimer movementTimer;
+    // Pulsos sob demanda: o timer só roda com teclas pressionadas ou inércia
+    private final RenderLoop renderLoop = new RenderLoop(this::onPulse);
 
     /**
      * Define o caminho do arquivo OBJ a ser carregado
@@ -147,8 +145,12 @@ public class OBJFileViewer extends Application {
         setupMouseControls(subScene);
         setupKeyboardControls(scene);
 
-        // Iniciar timer de movimento apenas após mostrar a janela
-        primaryStage.setOnShown(event -> startMovementTimer());
+        // Sem foco o KEY_RELEASED não chega: solta as teclas para a câmera não seguir andando
+        primaryStage.focusedProperty().addListener((obs, was, focused) -> {
+            if (!focused) {
+                cameraController.releaseAll();
+            }
+        });
 
         // Carregar modelo OBJ
         loadOBJModel();
@@ -171,12 +173,17 @@ public class OBJFileViewer extends Application {
         try {
             loadedModel = OBJLoader.loadObj(objFilePath);
             sceneRoot.getChildren().add(loadedModel);
+            OBJLoader.writeDiskCache(loadedModel);
 
             // Calcular bounding box e posicionar câmera automaticamente
             calculateModelBounds();
             positionCameraForModel();
 
             infoLabel.setText("Modelo carregado: " + objFilePath);
+        } catch (OutOfMemoryError e) {
+            // Modelo maior que o heap: o visualizador principal abre em chunks (modo fora da memória)
+            infoLabel.setText("Memória insuficiente para " + objFilePath + ": abra no visualizador principal");
+            System.out.println("Erro detalhado: " + e);
         } catch (Exception e) {
             infoLabel.setText("Erro ao carregar modelo: " + e.getMessage());
             System.out.println("Erro detalhado: " + e.toString());
@@ -219,16 +226,9 @@ public class OBJFileViewer extends Application {
         // Distância ideal da câmera baseada no raio do modelo
         double idealDistance = modelRadius * 3.0;
 
-        // Posicionar câmera em frente ao modelo
-        cameraPosition = new Point3D(
-                modelCenter.getX(),
-                modelCenter.getY(),
-                modelCenter.getZ() + idealDistance
-        );
-
-        // Resetar rotação da câmera
-        cameraYaw = 0;
-        cameraPitch = 0;
+        // Posicionar câmera em frente ao modelo, sem rotação; velocidade escala com o modelo
+        cameraController.setReferenceSize(modelRadius);
+        cameraController.setFly(modelCenter.getX(), modelCenter.getY(), modelCenter.getZ() + idealDistance, 0, 0);
 
         updateCameraTransform();
     }
@@ -241,6 +241,9 @@ public class OBJFileViewer extends Application {
         camera.setNearClip(0.01);
         camera.setFarClip(10000.0);
         camera.setFieldOfView(60);
+        camera.getTransforms().setAll(cameraController.getTransform());
+        cameraController.setFly(0, 0, 5, 0, 0);
+        updateCameraTransform();
     }
 
     /**
@@ -289,81 +292,27 @@ public class OBJFileViewer extends Application {
     }
 
     /**
-     * Inicia o timer de movimento para controles suaves WASD
-     * Timer é iniciado apenas quando a janela estiver visível
+     * Um pulso do laço: toda a entrada acumulada vira uma única atualização da câmera
+     * Devolve true enquanto houver teclas de movimento pressionadas ou inércia
      */
-    private void startMovementTimer() {
-        if (movementTimer != null) {
-            return; // Evita criar múltiplos timers
-        }
-
-        movementTimer = new AnimationTimer() {
-            @Override
-            public void handle(long now) {
-                handleMovement();
-            }
-        };
-        movementTimer.start();
+    private boolean onPulse(double elapsed) {
+        boolean moving = handleMovement(elapsed);
+        updateCameraTransform();
+        return moving;
     }
 
     /**
      * Processa movimento contínuo baseado nas teclas pressionadas
      * Protegido contra erros que possam causar falha
      */
-    private void handleMovement() {
+    private boolean handleMovement(double elapsed) {
         try {
-            if (pressedKeys.isEmpty()) return;
-
-            // Calcular vetores de movimento baseados na rotação da câmera
-            double yawRad = Math.toRadians(cameraYaw);
-            double pitchRad = Math.toRadians(cameraPitch);
-
-            // Vetores direcionais da câmera
-            Point3D forward = new Point3D(
-                    Math.sin(yawRad) * Math.cos(pitchRad),
-                    -Math.sin(pitchRad),
-                    -Math.cos(yawRad) * Math.cos(pitchRad)
-            );
-
-            Point3D right = new Point3D(
-                    Math.cos(yawRad),
-                    0,
-                    Math.sin(yawRad)
-            );
-
-            Point3D up = new Point3D(0, 1, 0);
-
-            // Calcular movimento baseado nas teclas pressionadas
-            Point3D movement = new Point3D(0, 0, 0);
-            double speed = CAMERA_SPEED * modelRadius; // Escalar velocidade com o modelo
-
-            if (pressedKeys.contains(KeyCode.W)) {
-                movement = movement.add(forward.multiply(speed));
-            }
-            if (pressedKeys.contains(KeyCode.S)) {
-                movement = movement.add(forward.multiply(-speed));
-            }
-            if (pressedKeys.contains(KeyCode.A)) {
-                movement = movement.add(right.multiply(-speed));
-            }
-            if (pressedKeys.contains(KeyCode.D)) {
-                movement = movement.add(right.multiply(speed));
-            }
-            if (pressedKeys.contains(KeyCode.Q)) {
-                movement = movement.add(up.multiply(speed));
-            }
-            if (pressedKeys.contains(KeyCode.E)) {
-                movement = movement.add(up.multiply(-speed));
-            }
-
-            // Aplicar movimento
-            if (movement.magnitude() > 0) {
-                cameraPosition = cameraPosition.add(movement);
-                updateCameraTransform();
-            }
+            return cameraController.update(elapsed);
         } catch (Exception e) {
-            // Log do erro mas não interromper o timer
+            // Log do erro; o laço para até a próxima entrada
             System.out.println("Erro no movimento: " + e.getMessage());
+            cameraController.releaseAll();
+            return false;
         }
     }
 
@@ -389,9 +338,9 @@ public class OBJFileViewer extends Application {
 
         if (e.isPrimaryButtonDown()) {
             // Rotação da câmera com o mouse
-            cameraYaw = (cameraYaw + deltaX * MOUSE_SENSITIVITY) % 360;
-            cameraPitch = clamp(cameraPitch + deltaY * MOUSE_SENSITIVITY, MIN_PITCH, MAX_PITCH);
-            updateCameraTransform();
+            cameraController.rotate(deltaX * MOUSE_SENSITIVITY, deltaY * MOUSE_SENSITIVITY);
+            // Vários eventos de arrasto no mesmo pulso viram uma só atualização da câmera
+            renderLoop.request();
         }
     }
 
@@ -402,18 +351,8 @@ public class OBJFileViewer extends Application {
     private void onScroll(javafx.scene.input.ScrollEvent e) {
         // Zoom usando scroll (movimento para frente/trás)
         double deltaY = e.getDeltaY();
-        double yawRad = Math.toRadians(cameraYaw);
-        double pitchRad = Math.toRadians(cameraPitch);
-
-        Point3D forward = new Point3D(
-                Math.sin(yawRad) * Math.cos(pitchRad),
-                -Math.sin(pitchRad),
-                -Math.cos(yawRad) * Math.cos(pitchRad)
-        );
-
-        double zoomDistance = deltaY * ZOOM_SPEED * modelRadius;
-        cameraPosition = cameraPosition.add(forward.multiply(zoomDistance));
-        updateCameraTransform();
+        cameraController.dolly(deltaY * ZOOM_SPEED * modelRadius);
+        renderLoop.request();
     }
 
     private void onMouseClicked(MouseEvent e) {
@@ -439,7 +378,9 @@ public class OBJFileViewer extends Application {
      * Eventos de teclado
      */
     private void onKeyPressed(KeyEvent e) {
-        pressedKeys.add(e.getCode());
+        if (cameraController.press(e.getCode())) {
+            renderLoop.request();
+        }
 
         // Teclas especiais
         if (e.getCode() == KeyCode.R) {
@@ -452,22 +393,14 @@ public class OBJFileViewer extends Application {
     }
 
     private void onKeyReleased(KeyEvent e) {
-        pressedKeys.remove(e.getCode());
+        cameraController.release(e.getCode());
     }
 
     /**
-     * Atualiza a transformação da câmera
+     * Atualiza a transformação da câmera (só se o estado mudou; sem alocar)
      */
     private void updateCameraTransform() {
-        // Posicionar câmera
-        camera.setTranslateX(cameraPosition.getX());
-        camera.setTranslateY(cameraPosition.getY());
-        camera.setTranslateZ(cameraPosition.getZ());
-
-        // Aplicar rotações
-        camera.getTransforms().clear();
-        camera.getTransforms().add(new Rotate(-cameraPitch, Rotate.X_AXIS));
-        camera.getTransforms().add(new Rotate(-cameraYaw, Rotate.Y_AXIS));
+        cameraController.flush();
     }
 
     /**
@@ -558,12 +491,5 @@ public class OBJFileViewer extends Application {
         infoLabel.setText(info.toString());
     }
 
-    /**
-     * Utilitário para limitar valores
-     */
-    private double clamp(double value, double min, double max) {
-        return Math.max(min, Math.min(max, value));
-    }
-
     // Método stop() removido para evitar fechamento automático
 }
\ No newline at end of file
@@ -0,0 +1,339 @@
+package org.example.Util;
+
+import javafx.scene.input.KeyCode;
+import javafx.scene.transform.Affine;
+
+/**
+ * Câmera orbital (gira em volta de um alvo) ou livre (voo), compartilhada pelos visualizadores
+ * - Estado todo em campos primitivos; a posição e a orientação vão para um único Affine
+ *   pré-alocado (setToTransform), sem criar Rotate/Point3D por quadro
+ * - Entrada acumulada entre pulsos: mouse e teclas só alteram o estado, flush() monta a transformação
+ * - Movimento por teclado (WASD + Q/E) em unidades por segundo, com aceleração enquanto as teclas
+ *   ficam pressionadas e inércia curta ao soltar
+ *
+ * Orbital: +Y é "acima" (pitch positivo sobe a câmera) e a velocidade escala com a distância ao alvo
+ * Livre: segue a convenção do JavaFX (-Y acima) e a velocidade escala com o tamanho de referência
+ *
+ * Usado só na thread do JavaFX
+ */
+public final class CameraController {
+
+    public enum Mode { ORBIT, FLY }
+
+    // Aceleração em múltiplos da velocidade base por quadro nominal (60 Hz)
+    public static final double ACCELERATION_RATE = 0.05;
+    public static final double MAX_ACCELERATION = 2.5;
+
+    // Tempo de decaimento do movimento ao soltar as teclas
+    public static final double INERTIA_SECONDS = 0.12;
+
+    public static final double MIN_PITCH = -89, MAX_PITCH = 89;
+
+    // Distância usada como escala 1 da velocidade no modo orbital
+    private static final double ORBIT_REFERENCE_DISTANCE = 5.0;
+
+    private static final int KEY_FORWARD = 1, KEY_BACK = 2, KEY_LEFT = 4, KEY_RIGHT = 8, KEY_UP = 16, KEY_DOWN = 32;
+
+    private final Mode mode;
+    private final Affine transform = new Affine();
+
+    // Velocidade base (unidades por segundo na escala 1)
+    private final double moveSpeed;
+    private double referenceSize = 1.0;
+    private double minDistance = 0.1;
+
+    // Orbital: alvo, distância e ângulos; livre: posição e ângulos
+    private double targetX, targetY, targetZ;
+    private double distance = ORBIT_REFERENCE_DISTANCE;
+    private double positionX, positionY, positionZ;
+    private double yaw, pitch;
+
+    private int keys;
+    private double speedMultiplier = 1.0;
+    private double velocityX, velocityY, velocityZ;
+    private boolean dirty = true;
+
+    /**
+     * @param moveSpeed velocidade do teclado em unidades por segundo na escala 1
+     */
+    public CameraController(Mode mode, double moveSpeed) {
+        this.mode = mode;
+        this.moveSpeed = moveSpeed;
+    }
+
+    /**
+     * Transformação da câmera (adicionar uma vez em camera.getTransforms())
+     */
+    public Affine getTransform() {
+        return transform;
+    }
+
+    // =================== ESTADO ===================
+
+    public void setOrbit(double targetX, double targetY, double targetZ, double distance, double yaw, double pitch) {
+        this.targetX = targetX;
+        this.targetY = targetY;
+        this.targetZ = targetZ;
+        this.distance = Math.max(minDistance, distance);
+        this.yaw = yaw;
+        this.pitch = clamp(pitch);
+        stop();
+    }
+
+    public void setFly(double x, double y, double z, double yaw, double pitch) {
+        positionX = x;
+        positionY = y;
+        positionZ = z;
+        this.yaw = yaw;
+        this.pitch = clamp(pitch);
+        stop();
+    }
+
+    /**
+     * Tamanho que escala a velocidade no modo livre (ex.: raio do modelo)
+     */
+    public void setReferenceSize(double referenceSize) {
+        this.referenceSize = referenceSize;
+    }
+
+    public void setMinDistance(double minDistance) {
+        this.minDistance = minDistance;
+        distance = Math.max(minDistance, distance);
+    }
+
+    // =================== ENTRADA ===================
+
+    /**
+     * Tecla pressionada; devolve true se for de movimento (o chamador pede um pulso)
+     */
+    public boolean press(KeyCode code) {
+        int key = keyBit(code);
+        keys |= key;
+        return key != 0;
+    }
+
+    public void release(KeyCode code) {
+        keys &= ~keyBit(code);
+    }
+
+    /**
+     * Solta todas as teclas (ex.: janela perdeu o foco e o KEY_RELEASED não chega)
+     */
+    public void releaseAll() {
+        keys = 0;
+    }
+
+    /**
+     * Soma aos ângulos (graus); pitch limitado a ±89
+     */
+    public void rotate(double deltaYaw, double deltaPitch) {
+        yaw = (yaw + deltaYaw) % 360;
+        pitch = clamp(pitch + deltaPitch);
+        dirty = true;
+    }
+
+    /**
+     * Orbital: desloca o alvo no plano da tela (direita horizontal e eixo Y), em unidades da cena
+     */
+    public void pan(double right, double up) {
+        double yawRad = Math.toRadians(yaw);
+        targetX += Math.cos(yawRad) * right;
+        targetY += up;
+        targetZ += Math.sin(yawRad) * right;
+        dirty = true;
+    }
+
+    /**
+     * Orbital: multiplica a distância ao alvo
+     */
+    public void zoom(double factor) {
+        distance = Math.max(minDistance, distance * factor);
+        dirty = true;
+    }
+
+    /**
+     * Orbital: soma à distância ao alvo; livre: anda para frente na direção da visão
+     */
+    public void dolly(double amount) {
+        if (mode == Mode.ORBIT) {
+            distance = Math.max(minDistance, distance + amount);
+        } else {
+            double yawRad = Math.toRadians(yaw), pitchRad = Math.toRadians(pitch);
+            positionX += Math.sin(yawRad) * Math.cos(pitchRad) * amount;
+            positionY -= Math.sin(pitchRad) * amount;
+            positionZ -= Math.cos(yawRad) * Math.cos(pitchRad) * amount;
+        }
+        dirty = true;
+    }
+
+    // =================== PULSO ===================
+
+    /**
+     * Aplica o movimento do teclado pelo tempo decorrido (segundos)
+     * Devolve true enquanto houver teclas de movimento pressionadas ou inércia
+     */
+    public boolean update(double elapsed) {
+        int forward = axis(KEY_FORWARD, KEY_BACK);
+        int right = axis(KEY_RIGHT, KEY_LEFT);
+        int up = axis(KEY_UP, KEY_DOWN);
+        double scale = mode == Mode.ORBIT ? distance / ORBIT_REFERENCE_DISTANCE : referenceSize;
+
+        if (forward != 0 || right != 0 || up != 0) {
+            speedMultiplier = Math.min(MAX_ACCELERATION,
+                    speedMultiplier + ACCELERATION_RATE * elapsed / RenderLoop.NOMINAL_FRAME_SECONDS);
+            double speed = moveSpeed * scale * speedMultiplier;
+            double yawRad = Math.toRadians(yaw);
+            double sin = Math.sin(yawRad), cos = Math.cos(yawRad);
+            if (mode == Mode.ORBIT) {
+                // Frente horizontal (sin, 0, -cos), direita (cos, 0, sin), acima +Y
+                velocityX = (forward * sin + right * cos) * speed;
+                velocityY = up * speed;
+                velocityZ = (-forward * cos + right * sin) * speed;
+            } else {
+                // Frente na direção da visão, direita horizontal, acima -Y
+                double pitchRad = Math.toRadians(pitch);
+                double cosPitch = Math.cos(pitchRad);
+                velocityX = (forward * sin * cosPitch + right * cos) * speed;
+                velocityY = (-forward * Math.sin(pitchRad) - up) * speed;
+                velocityZ = (-forward * cos * cosPitch + right * sin) * speed;
+            }
+        } else {
+            speedMultiplier = 1.0;
+            if (velocityX == 0 && velocityY == 0 && velocityZ == 0) return false;
+            double decay = Math.exp(-elapsed / INERTIA_SECONDS);
+            velocityX *= decay;
+            velocityY *= decay;
+            velocityZ *= decay;
+            // Abaixo de 1% da escala por segundo o movimento para
+            double stopSpeed = moveSpeed * scale * 0.01;
+            if (velocityX * velocityX + velocityY * velocityY + velocityZ * velocityZ < stopSpeed * stopSpeed) {
+                velocityX = velocityY = velocityZ = 0;
+                return false;
+            }
+        }
+
+        if (mode == Mode.ORBIT) {
+            targetX += velocityX * elapsed;
+            targetY += velocityY * elapsed;
+            targetZ += velocityZ * elapsed;
+        } else {
+            positionX += velocityX * elapsed;
+            positionY += velocityY * elapsed;
+            positionZ += velocityZ * elapsed;
+        }
+        dirty = true;
+        return true;
+    }
+
+    /**
+     * Monta a transformação se o estado mudou desde o último flush; devolve true se mudou
+     * Equivale a translate(olho) + Rotate(X) + Rotate(Y), numa única matriz
+     */
+    public boolean flush() {
+        if (!dirty) return false;
+        dirty = false;
+
+        double rotateX, rotateY;
+        if (mode == Mode.ORBIT) {
+            double yawRad = Math.toRadians(yaw), pitchRad = Math.toRadians(pitch);
+            double cosPitch = Math.cos(pitchRad);
+            double offsetX = cosPitch * Math.sin(yawRad), offsetY = Math.sin(pitchRad), offsetZ = cosPitch * Math.cos(yawRad);
+            positionX = targetX + distance * offsetX;
+            positionY = targetY + distance * offsetY;
+            positionZ = targetZ + distance * offsetZ;
+            // Olhar para o alvo: direção = -offset (unitário)
+            rotateX = Math.asin(-offsetY);
+            rotateY = -Math.atan2(-offsetX, -offsetZ);
+        } else {
+            rotateX = -Math.toRadians(pitch);
+            rotateY = -Math.toRadians(yaw);
+        }
+
+        // Rx(a) * Ry(b)
+        double ca = Math.cos(rotateX), sa = Math.sin(rotateX);
+        double cb = Math.cos(rotateY), sb = Math.sin(rotateY);
+        transform.setToTransform(
+                cb, 0, sb, positionX,
+                sa * sb, ca, -sa * cb, positionY,
+                -ca * sb, sa, ca * cb, positionZ);
+        return true;
+    }
+
+    /**
+     * Para o movimento por inércia e marca a transformação para o próximo flush
+     */
+    private void stop() {
+        velocityX = velocityY = velocityZ = 0;
+        speedMultiplier = 1.0;
+        dirty = true;
+    }
+
+    // =================== CONSULTAS ===================
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public double getTargetX() {
+        return targetX;
+    }
+
+    public double getTargetY() {
+        return targetY;
+    }
+
+    public double getTargetZ() {
+        return targetZ;
+    }
+
+    public double getDistance() {
+        return distance;
+    }
+
+    public double getYaw() {
+        return yaw;
+    }
+
+    public double getPitch() {
+        return pitch;
+    }
+
+    /**
+     * Posição da câmera na cena (no modo orbital, atualizada no flush)
+     */
+    public double getEyeX() {
+        return positionX;
+    }
+
+    public double getEyeY() {
+        return positionY;
+    }
+
+    public double getEyeZ() {
+        return positionZ;
+    }
+
+    public double getSpeedMultiplier() {
+        return speedMultiplier;
+    }
+
+    private int axis(int positive, int negative) {
+        return ((keys & positive) != 0 ? 1 : 0) - ((keys & negative) != 0 ? 1 : 0);
+    }
+
+    private static int keyBit(KeyCode code) {
+        switch (code) {
+            case W: return KEY_FORWARD;
+            case S: return KEY_BACK;
+            case A: return KEY_LEFT;
+            case D: return KEY_RIGHT;
+            case E: return KEY_UP;
+            case Q: return KEY_DOWN;
+            default: return 0;
+        }
+    }
+
+    private static double clamp(double pitch) {
+        return Math.max(MIN_PITCH, Math.min(MAX_PITCH, pitch));
+    }
+}
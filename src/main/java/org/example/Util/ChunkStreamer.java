@@ -0,0 +1,369 @@
+package org.example.Util;
+
+import javafx.application.Platform;
+import javafx.geometry.Point3D;
+import javafx.scene.Group;
+import javafx.scene.PerspectiveCamera;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+import javafx.scene.shape.VertexFormat;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Exibição de um OctreeModel sob um orçamento fixo de memória
+ * - Visão geral: a versão simplificada de todos os chunks fica sempre carregada
+ * - Detalhe: chunks dentro da pirâmide de visão, do mais próximo (relativo ao tamanho) ao mais distante,
+ *   enquanto couberem no orçamento; o chunk completo esconde a sua versão simplificada
+ * - Chunks fora da visão continuam carregados até o espaço ser necessário (o usado há mais tempo sai primeiro)
+ * - prefetch(): chunks em volta do alvo da câmera são carregados antes de entrarem na visão
+ * Leitura do disco e montagem dos TriangleMesh numa thread própria; a cena só muda na thread do JavaFX
+ *
+ * Orçamento: -Dbiomeasure.outOfCore.budgetMb (padrão: 1/4 do heap máximo), estimado pelos arrays dos TriangleMesh
+ */
+public final class ChunkStreamer {
+
+    private final OctreeModel model;
+    private final long budgetBytes;
+    private final Group root = new Group();
+    private final Group detail = new Group();
+    private final PhongMaterial material = OBJLoader.createDefaultMaterial();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chunk-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final MeshView[] overviewViews;
+    private final MeshView[] detailViews;
+    private final boolean[] pending;
+    private final long[] lastWanted;
+    private final long[] keys;
+    private final int[] prefetched;
+    private int prefetchedCount;
+
+    private final Frustum frustum = new Frustum();
+    private final double[] eye = new double[3];
+    private final double[] right = new double[3];
+    private final double[] down = new double[3];
+    private final double[] forward = new double[3];
+    private double lastPrefetchX = Double.NaN, lastPrefetchY, lastPrefetchZ;
+
+    private long overviewBytes;
+    private long residentBytes;
+    private long pendingBytes;
+    private long frame;
+    private long loads;
+    private long evictions;
+    private volatile boolean disposed;
+
+    public ChunkStreamer(OctreeModel model, long budgetBytes) {
+        this.model = model;
+        this.budgetBytes = budgetBytes;
+        int count = model.getChunkCount();
+        overviewViews = new MeshView[count];
+        detailViews = new MeshView[count];
+        pending = new boolean[count];
+        lastWanted = new long[count];
+        keys = new long[count];
+        prefetched = new int[count];
+        root.getChildren().add(detail);
+    }
+
+    /**
+     * Orçamento configurado (-Dbiomeasure.outOfCore.budgetMb)
+     */
+    public static long configuredBudgetBytes() {
+        long defaultMb = Runtime.getRuntime().maxMemory() / 4 / (1024 * 1024);
+        return Long.getLong("biomeasure.outOfCore.budgetMb", defaultMb) * 1024 * 1024;
+    }
+
+    /**
+     * Lê a visão geral de todos os chunks (fora da thread do JavaFX, antes de o nó entrar na cena)
+     */
+    public void loadOverview(LoadProgress progress) throws IOException {
+        Group overview = new Group();
+        for (int i = 0; i < overviewViews.length; i++) {
+            if (progress.isCancelled()) return;
+            MeshView view = new MeshView(toTriangleMesh(model.read(i, OctreeModel.COARSE)));
+            view.setMaterial(material);
+            overviewViews[i] = view;
+            overview.getChildren().add(view);
+            overviewBytes += model.getChunk(i).getMeshBytes(OctreeModel.COARSE);
+        }
+        root.getChildren().add(0, overview);
+        if (overviewBytes > budgetBytes) {
+            System.out.println(String.format("[ChunkStreamer] Visão geral (%.1f MB) já passa do orçamento (%.1f MB): só ela será exibida",
+                    overviewBytes / 1048576.0, budgetBytes / 1048576.0));
+        }
+    }
+
+    /**
+     * Nó com a visão geral e os chunks de detalhe (coordenadas centralizadas na origem)
+     */
+    public Group getNode() {
+        return root;
+    }
+
+    public OctreeModel getModel() {
+        return model;
+    }
+
+    /**
+     * Escolhe os chunks de detalhe para a câmera atual e agenda as leituras
+     * width/height: tamanho da SubScene (proporção da pirâmide de visão)
+     */
+    public void update(PerspectiveCamera camera, double width, double height) {
+        if (disposed || width <= 0 || height <= 0) return;
+        frame++;
+
+        // Câmera -> espaço dos chunks (considera qualquer transformação aplicada ao nó)
+        Point3D origin = root.sceneToLocal(camera.localToScene(0, 0, 0));
+        toArray(origin, eye);
+        axis(camera, origin, 1, 0, 0, right);
+        axis(camera, origin, 0, 1, 0, down);
+        axis(camera, origin, 0, 0, 1, forward);
+        double tanHalf = Math.tan(Math.toRadians(camera.getFieldOfView()) / 2);
+        double tanX = camera.isVerticalFieldOfView() ? tanHalf * width / height : tanHalf;
+        double tanY = camera.isVerticalFieldOfView() ? tanHalf : tanHalf * height / width;
+        frustum.set(eye, right, down, forward, tanX, tanY, camera.getNearClip(), camera.getFarClip());
+
+        // Visíveis ordenados por distância relativa ao tamanho do chunk (aprox. tamanho na tela)
+        int visible = 0;
+        for (int i = 0; i < keys.length; i++) {
+            OctreeModel.Chunk chunk = model.getChunk(i);
+            if (!hasDetail(chunk)) continue;
+            if (frustum.intersects(chunk.getMinX(), chunk.getMinY(), chunk.getMinZ(),
+                    chunk.getMaxX(), chunk.getMaxY(), chunk.getMaxZ())) {
+                keys[visible++] = rankKey(boxDistance(chunk, eye[0], eye[1], eye[2]) / radius(chunk), i);
+            }
+        }
+        Arrays.sort(keys, 0, visible);
+
+        long wanted = 0;
+        long detailBudget = budgetBytes - overviewBytes;
+        for (int k = 0; k < visible; k++) {
+            int i = (int) keys[k];
+            long bytes = model.getChunk(i).getMeshBytes(OctreeModel.FULL);
+            if (wanted + bytes > detailBudget) continue;
+            wanted += bytes;
+            lastWanted[i] = frame;
+        }
+        // Vizinhos do alvo entram com o que sobrar
+        for (int k = 0; k < prefetchedCount; k++) {
+            int i = prefetched[k];
+            long bytes = model.getChunk(i).getMeshBytes(OctreeModel.FULL);
+            if (lastWanted[i] == frame || wanted + bytes > detailBudget) continue;
+            wanted += bytes;
+            lastWanted[i] = frame;
+        }
+
+        for (int k = 0; k < visible; k++) {
+            if (lastWanted[(int) keys[k]] == frame) request((int) keys[k]);
+        }
+        for (int k = 0; k < prefetchedCount; k++) {
+            if (lastWanted[prefetched[k]] == frame) request(prefetched[k]);
+        }
+    }
+
+    /**
+     * Alvo da câmera mudou (coordenadas da cena): agenda os chunks em volta dele
+     * Só refaz a busca depois de o alvo andar um quarto do menor chunk vizinho
+     */
+    public void prefetch(double sceneX, double sceneY, double sceneZ) {
+        if (disposed) return;
+        Point3D target = root.sceneToLocal(sceneX, sceneY, sceneZ);
+        double x = target.getX(), y = target.getY(), z = target.getZ();
+
+        int found = 0;
+        double step = Double.MAX_VALUE;
+        for (int i = 0; i < keys.length; i++) {
+            OctreeModel.Chunk chunk = model.getChunk(i);
+            if (!hasDetail(chunk)) continue;
+            double radius = radius(chunk);
+            double distance = boxDistance(chunk, x, y, z);
+            if (distance <= radius) {
+                keys[found++] = rankKey(distance / radius, i);
+                step = Math.min(step, radius / 4);
+            }
+        }
+        if (!Double.isNaN(lastPrefetchX)) {
+            double dx = x - lastPrefetchX, dy = y - lastPrefetchY, dz = z - lastPrefetchZ;
+            if (dx * dx + dy * dy + dz * dz < step * step) return;
+        }
+        lastPrefetchX = x;
+        lastPrefetchY = y;
+        lastPrefetchZ = z;
+
+        Arrays.sort(keys, 0, found);
+        prefetchedCount = found;
+        for (int k = 0; k < found; k++) {
+            prefetched[k] = (int) keys[k];
+            request(prefetched[k]);
+        }
+    }
+
+    /**
+     * Agenda a leitura de um chunk desejado, liberando espaço dos não desejados
+     */
+    private void request(int i) {
+        if (detailViews[i] != null || pending[i]) return;
+        long bytes = model.getChunk(i).getMeshBytes(OctreeModel.FULL);
+        if (!makeRoom(bytes)) return;
+
+        pending[i] = true;
+        pendingBytes += bytes;
+        loader.execute(() -> {
+            MeshView view = null;
+            try {
+                if (!disposed) {
+                    view = new MeshView(toTriangleMesh(model.read(i, OctreeModel.FULL)));
+                    view.setMaterial(material);
+                }
+            } catch (IOException | RuntimeException e) {
+                if (!disposed) {
+                    System.out.println("[ChunkStreamer] Erro ao ler chunk " + i + ": " + e.getMessage());
+                }
+            }
+            MeshView loaded = view;
+            Platform.runLater(() -> attach(i, loaded, bytes));
+        });
+    }
+
+    private void attach(int i, MeshView view, long bytes) {
+        pending[i] = false;
+        pendingBytes -= bytes;
+        if (disposed || view == null) return;
+
+        detailViews[i] = view;
+        detail.getChildren().add(view);
+        overviewViews[i].setVisible(false);
+        residentBytes += bytes;
+        loads++;
+    }
+
+    /**
+     * Remove chunks não desejados no último update (o mais antigo primeiro) até caber bytes
+     */
+    private boolean makeRoom(long bytes) {
+        long detailBudget = budgetBytes - overviewBytes;
+        while (residentBytes + pendingBytes + bytes > detailBudget) {
+            int oldest = -1;
+            for (int i = 0; i < detailViews.length; i++) {
+                if (detailViews[i] != null && lastWanted[i] != frame
+                        && (oldest < 0 || lastWanted[i] < lastWanted[oldest])) {
+                    oldest = i;
+                }
+            }
+            if (oldest < 0) return false;
+            evict(oldest);
+        }
+        return true;
+    }
+
+    private void evict(int i) {
+        detail.getChildren().remove(detailViews[i]);
+        detailViews[i] = null;
+        overviewViews[i].setVisible(true);
+        residentBytes -= model.getChunk(i).getMeshBytes(OctreeModel.FULL);
+        evictions++;
+    }
+
+    /**
+     * Para as leituras e fecha o arquivo de chunks (modelo trocado ou tela fechada)
+     */
+    public void dispose() {
+        disposed = true;
+        loader.shutdownNow();
+        try {
+            model.close();
+        } catch (IOException e) {
+            System.out.println("[ChunkStreamer] Erro ao fechar chunks: " + e.getMessage());
+        }
+    }
+
+    public int getLoadedChunkCount() {
+        int loaded = 0;
+        for (MeshView view : detailViews) {
+            if (view != null) loaded++;
+        }
+        return loaded;
+    }
+
+    public long getResidentBytes() {
+        return overviewBytes + residentBytes;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    @Override
+    public String toString() {
+        int pendingCount = 0;
+        for (boolean p : pending) {
+            if (p) pendingCount++;
+        }
+        return String.format("Fora da memória: %d/%d chunks em detalhe, %d lendo | %.1f / %.1f MB | %d leituras, %d descartes",
+                getLoadedChunkCount(), detailViews.length, pendingCount, getResidentBytes() / 1048576.0,
+                budgetBytes / 1048576.0, loads, evictions);
+    }
+
+    // =================== AUXILIARES ===================
+
+    /**
+     * Chunks cuja visão geral já é a malha completa não têm o que carregar
+     */
+    private static boolean hasDetail(OctreeModel.Chunk chunk) {
+        return chunk.getTriangleCount(OctreeModel.COARSE) < chunk.getTriangleCount(OctreeModel.FULL);
+    }
+
+    /**
+     * Chave ordenável: prioridade (float não negativo, bits crescem junto com o valor) e índice
+     */
+    private static long rankKey(double priority, int index) {
+        return ((long) Float.floatToIntBits((float) priority) << 32) | index;
+    }
+
+    private static double boxDistance(OctreeModel.Chunk chunk, double x, double y, double z) {
+        double dx = Math.max(0, Math.max(chunk.getMinX() - x, x - chunk.getMaxX()));
+        double dy = Math.max(0, Math.max(chunk.getMinY() - y, y - chunk.getMaxY()));
+        double dz = Math.max(0, Math.max(chunk.getMinZ() - z, z - chunk.getMaxZ()));
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    private static double radius(OctreeModel.Chunk chunk) {
+        double dx = chunk.getMaxX() - chunk.getMinX();
+        double dy = chunk.getMaxY() - chunk.getMinY();
+        double dz = chunk.getMaxZ() - chunk.getMinZ();
+        return Math.max(Math.sqrt(dx * dx + dy * dy + dz * dz) / 2, 1e-6);
+    }
+
+    private void axis(PerspectiveCamera camera, Point3D origin, double x, double y, double z, double[] out) {
+        Point3D direction = root.sceneToLocal(camera.localToScene(x, y, z)).subtract(origin).normalize();
+        toArray(direction, out);
+    }
+
+    private static void toArray(Point3D point, double[] out) {
+        out[0] = point.getX();
+        out[1] = point.getY();
+        out[2] = point.getZ();
+    }
+
+    private static TriangleMesh toTriangleMesh(OctreeModel.ChunkMesh chunk) {
+        TriangleMesh mesh = new TriangleMesh(VertexFormat.POINT_TEXCOORD);
+        mesh.getPoints().setAll(chunk.getPositions());
+        mesh.getTexCoords().setAll(0f, 0f);
+        int[] triangles = chunk.getTriangles();
+        int[] faces = new int[triangles.length * 2];
+        for (int i = 0; i < triangles.length; i++) {
+            faces[i * 2] = triangles[i];
+        }
+        mesh.getFaces().setAll(faces);
+        return mesh;
+    }
+}
@@ -0,0 +1,285 @@
+package org.example.Util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Seção transversal da malha por um plano: contornos, perímetro e área interna
+ *
+ * A BVH entrega só os triângulos que cruzam o plano. Cada um gera um segmento entre os
+ * pontos de corte de duas arestas; o ponto de corte depende só da aresta (mesmo valor nos
+ * dois triângulos vizinhos), então os segmentos são encadeados pela chave da aresta.
+ * Segmentos orientados pela normal do triângulo: contornos externos e furos ficam com
+ * sentidos opostos e a área dos furos é descontada
+ *
+ * Coordenadas são as do MeshData (as mesmas da BVH)
+ */
+public final class CrossSection {
+
+    private static final long EMPTY_KEY = -1L;
+
+    private final List<float[]> contours;
+    private final boolean[] closed;
+    private final double perimeter;
+    private final double area;
+    private final int triangleCount;
+
+    private CrossSection(List<float[]> contours, boolean[] closed, double perimeter, double area, int triangleCount) {
+        this.contours = contours;
+        this.closed = closed;
+        this.perimeter = perimeter;
+        this.area = area;
+        this.triangleCount = triangleCount;
+    }
+
+    /**
+     * Corta a malha pelo plano nx * x + ny * y + nz * z = d (a normal não precisa ser unitária)
+     */
+    public static CrossSection compute(MeshBvh bvh, double nx, double ny, double nz, double d) {
+        double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        if (length == 0) {
+            throw new IllegalArgumentException("Normal do plano não pode ser nula");
+        }
+        nx /= length;
+        ny /= length;
+        nz /= length;
+        d /= length;
+
+        GrowableIntArray crossing = new GrowableIntArray();
+        bvh.collectPlane(nx, ny, nz, d, crossing);
+
+        float[] p = bvh.getPositions();
+        int[] triangles = bvh.getTriangles();
+        int segmentCount = crossing.size();
+
+        // Por segmento: chave da aresta de início e de fim e os dois pontos (x, y, z)
+        long[] keys = new long[segmentCount * 2];
+        float[] ends = new float[segmentCount * 6];
+        EdgeIndex index = new EdgeIndex(segmentCount * 2);
+        int[] corner = new int[3];
+        double[] side = new double[3];
+
+        for (int s = 0; s < segmentCount; s++) {
+            int t = crossing.get(s);
+            for (int k = 0; k < 3; k++) {
+                corner[k] = triangles[t * 3 + k];
+                int v = corner[k] * 3;
+                side[k] = nx * p[v] + ny * p[v + 1] + nz * p[v + 2] - d;
+            }
+
+            // As duas arestas cujos vértices estão em lados opostos (no plano = lado positivo)
+            int found = 0;
+            for (int k = 0; k < 3 && found < 2; k++) {
+                int k2 = (k + 1) % 3;
+                if ((side[k] >= 0) == (side[k2] >= 0)) continue;
+                int lo = corner[k] < corner[k2] ? k : k2;
+                int hi = lo == k ? k2 : k;
+                double f = side[lo] / (side[lo] - side[hi]);
+                int a = corner[lo] * 3, b = corner[hi] * 3;
+                int e = s * 6 + found * 3;
+                ends[e] = (float) (p[a] + (p[b] - p[a]) * f);
+                ends[e + 1] = (float) (p[a + 1] + (p[b + 1] - p[a + 1]) * f);
+                ends[e + 2] = (float) (p[a + 2] + (p[b + 2] - p[a + 2]) * f);
+                keys[s * 2 + found] = ((long) corner[lo] << 32) | corner[hi];
+                found++;
+            }
+
+            // Sentido do segmento: n x normal do triângulo
+            int a = corner[0] * 3, b = corner[1] * 3, c = corner[2] * 3;
+            double e1x = p[b] - p[a], e1y = p[b + 1] - p[a + 1], e1z = p[b + 2] - p[a + 2];
+            double e2x = p[c] - p[a], e2y = p[c + 1] - p[a + 1], e2z = p[c + 2] - p[a + 2];
+            double tx = e1y * e2z - e1z * e2y, ty = e1z * e2x - e1x * e2z, tz = e1x * e2y - e1y * e2x;
+            double dirX = ny * tz - nz * ty, dirY = nz * tx - nx * tz, dirZ = nx * ty - ny * tx;
+            int e = s * 6;
+            double along = (ends[e + 3] - ends[e]) * dirX + (ends[e + 4] - ends[e + 1]) * dirY + (ends[e + 5] - ends[e + 2]) * dirZ;
+            if (along < 0) {
+                for (int i = 0; i < 3; i++) {
+                    float tmp = ends[e + i];
+                    ends[e + i] = ends[e + 3 + i];
+                    ends[e + 3 + i] = tmp;
+                }
+                long tmp = keys[s * 2];
+                keys[s * 2] = keys[s * 2 + 1];
+                keys[s * 2 + 1] = tmp;
+            }
+
+            index.add(keys[s * 2], s * 2);
+            index.add(keys[s * 2 + 1], s * 2 + 1);
+        }
+
+        return chain(keys, ends, index, segmentCount, nx, ny, nz);
+    }
+
+    /**
+     * Encadeia os segmentos em contornos (fechados ou abertos) e soma perímetro e área
+     */
+    private static CrossSection chain(long[] keys, float[] ends, EdgeIndex index, int segmentCount,
+                                      double nx, double ny, double nz) {
+        boolean[] visited = new boolean[segmentCount];
+        List<float[]> contours = new ArrayList<>();
+        GrowableFloatArray points = new GrowableFloatArray();
+        boolean[] closed = new boolean[Math.max(segmentCount, 1)];
+        double perimeter = 0, signedArea = 0;
+
+        for (int first = 0; first < segmentCount; first++) {
+            if (visited[first]) continue;
+
+            // Volta até o começo da cadeia (ou dá a volta completa num contorno fechado)
+            int start = first, startSide = 0;
+            for (int steps = 0; steps < segmentCount; steps++) {
+                int previous = index.other(keys[start * 2 + startSide], start * 2 + startSide);
+                if (previous < 0) break;
+                int segment = previous >> 1;
+                if (segment == first || visited[segment]) break;
+                start = segment;
+                startSide = 1 - (previous & 1);
+            }
+
+            // Percorre para frente a partir de start, entrando pelo lado startSide
+            points.clear();
+            int current = start, entry = startSide;
+            points.add(ends[current * 6 + entry * 3], ends[current * 6 + entry * 3 + 1], ends[current * 6 + entry * 3 + 2]);
+            boolean isClosed = false;
+            while (true) {
+                visited[current] = true;
+                int exit = 1 - entry;
+                int next = index.other(keys[current * 2 + exit], current * 2 + exit);
+                if (next >= 0 && next >> 1 == start) {
+                    isClosed = true;
+                    break;
+                }
+                points.add(ends[current * 6 + exit * 3], ends[current * 6 + exit * 3 + 1], ends[current * 6 + exit * 3 + 2]);
+                if (next < 0 || visited[next >> 1]) break;
+                current = next >> 1;
+                entry = next & 1;
+            }
+
+            float[] contour = points.toArray();
+            int n = contour.length / 3;
+            if (n < 2) continue;
+            for (int i = 1; i < n; i++) {
+                perimeter += distance(contour, i - 1, i);
+            }
+            if (isClosed) {
+                perimeter += distance(contour, n - 1, 0);
+                signedArea += signedArea(contour, nx, ny, nz);
+            }
+            closed[contours.size()] = isClosed;
+            contours.add(contour);
+        }
+
+        return new CrossSection(contours, Arrays.copyOf(closed, contours.size()), perimeter,
+                Math.abs(signedArea), segmentCount);
+    }
+
+    private static double distance(float[] points, int i, int j) {
+        double dx = points[j * 3] - points[i * 3];
+        double dy = points[j * 3 + 1] - points[i * 3 + 1];
+        double dz = points[j * 3 + 2] - points[i * 3 + 2];
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * Área do polígono fechado projetada na normal do plano (fórmula do laço, relativa ao 1º ponto)
+     */
+    private static double signedArea(float[] points, double nx, double ny, double nz) {
+        int n = points.length / 3;
+        double ox = points[0], oy = points[1], oz = points[2];
+        double sx = 0, sy = 0, sz = 0;
+        for (int i = 1; i + 1 < n; i++) {
+            double ax = points[i * 3] - ox, ay = points[i * 3 + 1] - oy, az = points[i * 3 + 2] - oz;
+            double bx = points[i * 3 + 3] - ox, by = points[i * 3 + 4] - oy, bz = points[i * 3 + 5] - oz;
+            sx += ay * bz - az * by;
+            sy += az * bx - ax * bz;
+            sz += ax * by - ay * bx;
+        }
+        return (sx * nx + sy * ny + sz * nz) * 0.5;
+    }
+
+    public int getContourCount() {
+        return contours.size();
+    }
+
+    /**
+     * Pontos do contorno i (x, y, z); num contorno fechado o último liga de volta ao primeiro
+     */
+    public float[] getContour(int i) {
+        return contours.get(i);
+    }
+
+    public boolean isClosed(int i) {
+        return closed[i];
+    }
+
+    /**
+     * Soma dos comprimentos de todos os contornos
+     */
+    public double getPerimeter() {
+        return perimeter;
+    }
+
+    /**
+     * Área interna dos contornos fechados, descontando os furos
+     */
+    public double getArea() {
+        return area;
+    }
+
+    /**
+     * Triângulos que cruzam o plano
+     */
+    public int getTriangleCount() {
+        return triangleCount;
+    }
+
+    /**
+     * Aresta da malha -> até duas pontas de segmento (segmento * 2 + lado)
+     * Endereçamento aberto sobre long[] (sem chaves em objetos)
+     */
+    private static final class EdgeIndex {
+        private final long[] keys;
+        private final int[] first;
+        private final int[] second;
+        private final int mask;
+
+        EdgeIndex(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) << 1;
+            keys = new long[capacity];
+            first = new int[capacity];
+            second = new int[capacity];
+            mask = capacity - 1;
+            Arrays.fill(keys, EMPTY_KEY);
+        }
+
+        // Arestas com mais de dois usos (não-manifold) ficam com as duas primeiras pontas
+        void add(long key, int end) {
+            int slot = slot(key);
+            if (keys[slot] == EMPTY_KEY) {
+                keys[slot] = key;
+                first[slot] = end;
+                second[slot] = -1;
+            } else if (second[slot] < 0) {
+                second[slot] = end;
+            }
+        }
+
+        /**
+         * A outra ponta ligada à mesma aresta (ou -1)
+         */
+        int other(long key, int end) {
+            int slot = slot(key);
+            if (keys[slot] == EMPTY_KEY) return -1;
+            if (first[slot] == end) return second[slot];
+            return second[slot] == end ? first[slot] : -1;
+        }
+
+        private int slot(long key) {
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+            while (keys[slot] != EMPTY_KEY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.Util;
+
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+import javafx.scene.shape.VertexFormat;
+
+/**
+ * Mapa de calor do desvio: a malha inspecionada com uma cor por vértice
+ *
+ * O TriangleMesh não tem cor por vértice; cada vértice recebe uma coordenada de textura
+ * numa faixa de gradiente (azul = 0, vermelho = escala máxima) e o JavaFX interpola entre eles
+ */
+public final class DeviationHeatmap {
+
+    private static final int GRADIENT_WIDTH = 256;
+    private static final Color[] GRADIENT = {Color.BLUE, Color.CYAN, Color.LIME, Color.YELLOW, Color.RED};
+
+    private DeviationHeatmap() {
+    }
+
+    /**
+     * Cria a malha colorida com os vértices já centralizados em (centerX, centerY, centerZ)
+     * Distâncias acima de scale ficam todas vermelhas
+     */
+    public static MeshView create(float[] positions, int[] triangles, float[] distances, double scale,
+                                  double centerX, double centerY, double centerZ) {
+        int vertexCount = positions.length / 3;
+        float[] points = new float[positions.length];
+        float[] texCoords = new float[vertexCount * 2];
+        double inverse = scale > 0 ? 1.0 / scale : 0;
+        for (int v = 0; v < vertexCount; v++) {
+            points[v * 3] = (float) (positions[v * 3] - centerX);
+            points[v * 3 + 1] = (float) (positions[v * 3 + 1] - centerY);
+            points[v * 3 + 2] = (float) (positions[v * 3 + 2] - centerZ);
+            float d = distances[v];
+            // Meio texel nas pontas para não amostrar fora da faixa
+            double u = Float.isNaN(d) ? 0 : Math.min(1, d * inverse);
+            texCoords[v * 2] = (float) ((0.5 + u * (GRADIENT_WIDTH - 1)) / GRADIENT_WIDTH);
+            texCoords[v * 2 + 1] = 0.5f;
+        }
+
+        // Ponto e coordenada de textura com o mesmo índice
+        int[] faces = new int[triangles.length * 2];
+        for (int i = 0; i < triangles.length; i++) {
+            faces[i * 2] = triangles[i];
+            faces[i * 2 + 1] = triangles[i];
+        }
+
+        TriangleMesh mesh = new TriangleMesh(VertexFormat.POINT_TEXCOORD);
+        mesh.getPoints().setAll(points);
+        mesh.getTexCoords().setAll(texCoords);
+        mesh.getFaces().setAll(faces);
+
+        MeshView view = new MeshView(mesh);
+        view.setMaterial(createMaterial());
+        view.setMouseTransparent(true);
+        return view;
+    }
+
+    /**
+     * Cor do gradiente na posição u (0 a 1)
+     */
+    private static Color colorAt(double u) {
+        double position = Math.max(0, Math.min(1, u)) * (GRADIENT.length - 1);
+        int index = Math.min((int) position, GRADIENT.length - 2);
+        return GRADIENT[index].interpolate(GRADIENT[index + 1], position - index);
+    }
+
+    private static PhongMaterial createMaterial() {
+        WritableImage gradient = new WritableImage(GRADIENT_WIDTH, 1);
+        PixelWriter writer = gradient.getPixelWriter();
+        for (int x = 0; x < GRADIENT_WIDTH; x++) {
+            writer.setColor(x, 0, colorAt(x / (double) (GRADIENT_WIDTH - 1)));
+        }
+        PhongMaterial material = new PhongMaterial(Color.WHITE);
+        material.setDiffuseMap(gradient);
+        material.setSpecularColor(Color.color(0.15, 0.15, 0.15));
+        return material;
+    }
+}
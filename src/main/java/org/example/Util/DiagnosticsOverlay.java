@@ -0,0 +1,214 @@
+package org.example.Util;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Painel de diagnóstico sobre a cena 3D
+ * - Tempo entre pulsos (p50/p95/p99 numa janela deslizante) e pulsos por segundo do JavaFX
+ * - Pulsos de trabalho do visualizador por segundo (zero com a cena ociosa)
+ * - Triângulos visíveis e nós na cena, heap e pausas recentes de GC
+ * - Relatório da sessão em texto, para anexar a chamados
+ *
+ * Enquanto visível, um AnimationTimer mede todos os pulsos (mantém o JavaFX pulsando);
+ * desligado, só o monitor de GC continua ativo
+ * Relatórios em ~/.biomeasure/reports (-Dbiomeasure.reports.dir muda a pasta)
+ *
+ * Deve ser usada na thread do JavaFX
+ */
+public final class DiagnosticsOverlay {
+
+    private static final long REFRESH_NANOS = 500_000_000L;
+    private static final int RECENT_PAUSES_SHOWN = 3;
+
+    private final Parent sceneRoot;
+    private final LongSupplier workPulses;
+    private final Label label = new Label();
+    private final FrameStats frameStats = new FrameStats();
+    private final GcMonitor gcMonitor = GcMonitor.start();
+    private final long sessionStart = System.currentTimeMillis();
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            frameStats.record(now);
+            if (now - lastRefresh >= REFRESH_NANOS) {
+                refresh(now);
+            }
+        }
+    };
+    private boolean visible;
+    private long lastRefresh;
+    private long lastWorkPulses;
+    private double workPulsesPerSecond;
+
+    /**
+     * @param sceneRoot  raiz da cena 3D (contagem de nós e triângulos)
+     * @param workPulses contador de pulsos do laço do visualizador (RenderLoop.getPulseCount)
+     */
+    public DiagnosticsOverlay(Parent sceneRoot, LongSupplier workPulses) {
+        this.sceneRoot = sceneRoot;
+        this.workPulses = workPulses;
+        label.setMouseTransparent(true);
+        label.setVisible(false);
+        label.setStyle("-fx-font-family: monospace; -fx-font-size: 11; -fx-text-fill: #e0ffe0;"
+                + " -fx-background-color: rgba(0, 0, 0, 0.65); -fx-padding: 6; -fx-background-radius: 4;");
+    }
+
+    /**
+     * Nó do painel (adicionar sobre a SubScene)
+     */
+    public Node getNode() {
+        return label;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public void setVisible(boolean visible) {
+        if (this.visible == visible) return;
+        this.visible = visible;
+        label.setVisible(visible);
+        if (visible) {
+            frameStats.restart();
+            lastRefresh = System.nanoTime();
+            lastWorkPulses = workPulses.getAsLong();
+            label.setText("Medindo...");
+            timer.start();
+        } else {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Para a medição e o monitor de GC (fechamento da tela)
+     */
+    public void dispose() {
+        setVisible(false);
+        gcMonitor.close();
+    }
+
+    private void refresh(long now) {
+        long pulses = workPulses.getAsLong();
+        workPulsesPerSecond = (pulses - lastWorkPulses) * 1e9 / (now - lastRefresh);
+        lastWorkPulses = pulses;
+        lastRefresh = now;
+        label.setText(summary());
+    }
+
+    /**
+     * Texto do painel (também usado no relatório)
+     */
+    public String summary() {
+        SceneCount scene = countScene();
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        StringBuilder text = new StringBuilder(512);
+        text.append(String.format(Locale.ROOT, "Quadro: p50 %.1f ms | p95 %.1f | p99 %.1f | máx %.1f (%d na janela)%n",
+                frameStats.percentileMillis(50), frameStats.percentileMillis(95), frameStats.percentileMillis(99),
+                frameStats.getMaxMillis(), frameStats.getWindowCount()));
+        text.append(String.format(Locale.ROOT, "Pulsos/s: %.1f | trabalho do visualizador: %.1f/s | quadros > %d ms: %d%n",
+                frameStats.pulsesPerSecond(), workPulsesPerSecond, FrameStats.LONG_FRAME_NANOS / 1_000_000,
+                frameStats.getLongFrames()));
+        text.append(String.format(Locale.ROOT, "Cena: %,d triângulos visíveis (%,d no total) | %,d nós%n",
+                scene.visibleTriangles, scene.triangles, scene.nodes));
+        text.append(String.format(Locale.ROOT, "Heap: %.1f / %.1f MB (máx %.1f)%n",
+                heap.getUsed() / 1048576.0, heap.getCommitted() / 1048576.0, heap.getMax() / 1048576.0));
+        text.append(String.format(Locale.ROOT, "GC: %d pausas, %.0f ms no total, maior %.0f ms | %d ciclos concorrentes",
+                gcMonitor.getPauseCount(), gcMonitor.getTotalPauseMillis(), gcMonitor.getMaxPauseMillis(),
+                gcMonitor.getConcurrentCount()));
+        List<GcMonitor.Collection> recent = gcMonitor.getRecent();
+        for (int i = recent.size() - 1, shown = 0; i >= 0 && shown < RECENT_PAUSES_SHOWN; i--) {
+            GcMonitor.Collection collection = recent.get(i);
+            if (collection.isConcurrent()) continue;
+            text.append(String.format(Locale.ROOT, "%n  %s: %d ms (%s)",
+                    collection.getName(), collection.getDurationMillis(), collection.getCause()));
+            shown++;
+        }
+        return text.toString();
+    }
+
+    /**
+     * Grava o relatório da sessão (painel, JVM, coletas recentes e o contexto do chamador)
+     */
+    public Path writeReport(String context) throws IOException {
+        String dir = System.getProperty("biomeasure.reports.dir",
+                Path.of(System.getProperty("user.home"), ".biomeasure", "reports").toString());
+        Path file = Path.of(dir, "diagnostico-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".txt");
+        Files.createDirectories(file.getParent());
+
+        Runtime runtime = Runtime.getRuntime();
+        StringBuilder report = new StringBuilder(4096);
+        report.append("Relatório de diagnóstico - ").append(LocalDateTime.now()).append(System.lineSeparator());
+        report.append(String.format(Locale.ROOT, "Sessão: %.1f min | Java %s (%s) | JavaFX %s | %s %s | %d CPUs%n",
+                (System.currentTimeMillis() - sessionStart) / 60000.0,
+                System.getProperty("java.version"), System.getProperty("java.vm.name"),
+                System.getProperty("javafx.runtime.version", "?"),
+                System.getProperty("os.name"), System.getProperty("os.arch"), runtime.availableProcessors()));
+        report.append("Coletor: ");
+        ManagementFactory.getGarbageCollectorMXBeans().forEach(gc -> report.append(gc.getName()).append("; "));
+        report.append(System.lineSeparator());
+        report.append(String.format(Locale.ROOT, "Quadros medidos: %d (medição só com o painel ligado)%n",
+                frameStats.getTotalFrames()));
+        report.append(System.lineSeparator()).append(summary()).append(System.lineSeparator());
+
+        report.append(System.lineSeparator()).append("Coletas recentes:").append(System.lineSeparator());
+        for (GcMonitor.Collection collection : gcMonitor.getRecent()) {
+            report.append("  ").append(collection).append(System.lineSeparator());
+        }
+        if (context != null && !context.isEmpty()) {
+            report.append(System.lineSeparator()).append(context).append(System.lineSeparator());
+        }
+
+        Files.writeString(file, report.toString(), StandardCharsets.UTF_8);
+        System.out.println("[DiagnosticsOverlay] Relatório gravado em " + file);
+        return file;
+    }
+
+    /**
+     * Nós e triângulos da cena (nós invisíveis, como níveis de detalhe ocultos, ficam fora dos visíveis)
+     */
+    private SceneCount countScene() {
+        SceneCount count = new SceneCount();
+        count(sceneRoot, true, count);
+        return count;
+    }
+
+    private static void count(Node node, boolean visible, SceneCount count) {
+        count.nodes++;
+        boolean shown = visible && node.isVisible();
+        if (node instanceof MeshView && ((MeshView) node).getMesh() instanceof TriangleMesh) {
+            TriangleMesh mesh = (TriangleMesh) ((MeshView) node).getMesh();
+            int triangles = mesh.getFaces().size() / mesh.getFaceElementSize();
+            count.triangles += triangles;
+            if (shown) count.visibleTriangles += triangles;
+        }
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                count(child, shown, count);
+            }
+        }
+    }
+
+    private static final class SceneCount {
+        long nodes;
+        long triangles;
+        long visibleTriangles;
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.Util;
+
+import javafx.scene.Node;
+import javafx.scene.input.PickResult;
+import javafx.scene.shape.MeshView;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de faixas de faces -> nome do grupo (g/o) de um MeshView mesclado
+ * Cada faixa começa em starts[i] e vai até o início da próxima
+ */
+public final class FaceGroupTable {
+
+    // Chave usada em MeshView.getProperties()
+    public static final String KEY = "objloader.faceGroups";
+
+    private int[] starts = new int[4];
+    private String[] names = new String[4];
+    private int size;
+
+    /**
+     * Acrescenta uma faixa a partir da face informada (faixas em ordem crescente)
+     * Faixas seguidas com o mesmo grupo são unidas
+     */
+    public void add(int startFace, String name) {
+        if (size > 0 && startFace < starts[size - 1]) {
+            throw new IllegalArgumentException("Faixas devem ser adicionadas em ordem");
+        }
+        // Faixa anterior vazia: substituir
+        if (size > 0 && starts[size - 1] == startFace) {
+            size--;
+        }
+        if (size > 0 && names[size - 1].equals(name)) {
+            return;
+        }
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            names = Arrays.copyOf(names, size * 2);
+        }
+        starts[size] = startFace;
+        names[size] = name;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getStart(int range) {
+        return starts[range];
+    }
+
+    public String getName(int range) {
+        return names[range];
+    }
+
+    /**
+     * Grupo da face (índice do triângulo no TriangleMesh), ou null
+     */
+    public String getGroupAt(int face) {
+        if (size == 0 || face < starts[0]) {
+            return null;
+        }
+        int index = Arrays.binarySearch(starts, 0, size, face);
+        return names[index >= 0 ? index : -index - 2];
+    }
+
+    /**
+     * Nome da parte atingida por um picking (id do nó quando não há tabela)
+     */
+    public static String resolve(PickResult pickResult) {
+        Node node = pickResult.getIntersectedNode();
+        if (node == null) {
+            return null;
+        }
+        Object table = node instanceof MeshView ? node.getProperties().get(KEY) : null;
+        if (table instanceof FaceGroupTable && pickResult.getIntersectedFace() >= 0) {
+            return ((FaceGroupTable) table).getGroupAt(pickResult.getIntersectedFace());
+        }
+        return node.getId();
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.Util;
+
+import java.util.Arrays;
+
+/**
+ * Intervalos entre pulsos numa janela deslizante (anel de long, sem alocar por quadro)
+ * - Percentis pelo posto mais próximo sobre uma cópia ordenada da janela (vetor reaproveitado)
+ * - Pulsos por segundo: intervalos mais recentes que cabem no último segundo
+ * - Quadros longos (acima de LONG_FRAME_NANOS) contados desde o início da sessão
+ *
+ * Usado só na thread do JavaFX
+ */
+public final class FrameStats {
+
+    public static final int DEFAULT_WINDOW = 600;              // ~10 s a 60 Hz
+    public static final long LONG_FRAME_NANOS = 50_000_000L;   // 50 ms: travada perceptível
+
+    private final long[] intervals;
+    private final long[] sorted;
+    private int count;
+    private int next;
+    private long lastNanos = -1;
+
+    private long totalFrames;
+    private long longFrames;
+    private long maxNanos;
+
+    public FrameStats() {
+        this(DEFAULT_WINDOW);
+    }
+
+    public FrameStats(int window) {
+        intervals = new long[window];
+        sorted = new long[window];
+    }
+
+    /**
+     * Registra um pulso no instante now (nanos); o primeiro depois de restart() só marca o início
+     */
+    public void record(long now) {
+        if (lastNanos >= 0) {
+            long interval = now - lastNanos;
+            intervals[next] = interval;
+            next = (next + 1) % intervals.length;
+            if (count < intervals.length) count++;
+            totalFrames++;
+            if (interval > LONG_FRAME_NANOS) longFrames++;
+            if (interval > maxNanos) maxNanos = interval;
+        }
+        lastNanos = now;
+    }
+
+    /**
+     * Esquece o último instante (depois de uma pausa na amostragem o intervalo não conta)
+     */
+    public void restart() {
+        lastNanos = -1;
+    }
+
+    /**
+     * Limpa a janela e os contadores
+     */
+    public void clear() {
+        count = 0;
+        next = 0;
+        lastNanos = -1;
+        totalFrames = 0;
+        longFrames = 0;
+        maxNanos = 0;
+    }
+
+    /**
+     * Percentil p (0 a 100) dos intervalos da janela, em ms (0 sem amostras)
+     */
+    public double percentileMillis(double p) {
+        if (count == 0) return 0;
+        System.arraycopy(intervals, 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        int rank = (int) Math.ceil(p / 100.0 * count);
+        return sorted[Math.max(0, Math.min(count - 1, rank - 1))] / 1e6;
+    }
+
+    /**
+     * Pulsos no último segundo da janela
+     */
+    public double pulsesPerSecond() {
+        long elapsed = 0;
+        int frames = 0;
+        for (int i = 0; i < count && elapsed < 1_000_000_000L; i++) {
+            elapsed += intervals[(next - 1 - i + intervals.length) % intervals.length];
+            frames++;
+        }
+        return elapsed > 0 ? frames * 1e9 / elapsed : 0;
+    }
+
+    /**
+     * Intervalos na janela atual
+     */
+    public int getWindowCount() {
+        return count;
+    }
+
+    public long getTotalFrames() {
+        return totalFrames;
+    }
+
+    public long getLongFrames() {
+        return longFrames;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos / 1e6;
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.Util;
+
+/**
+ * Pirâmide de visão da câmera como seis planos (normais para dentro), para descartar caixas alinhadas aos eixos
+ * Montada a partir da posição e dos eixos da câmera já no espaço das caixas (ex.: coordenadas do modelo)
+ * Sem alocação: set() reescreve os planos
+ */
+public final class Frustum {
+
+    // nx, ny, nz, d por plano: dentro quando n·p + d >= 0
+    private final double[] planes = new double[24];
+
+    /**
+     * @param eye             posição da câmera
+     * @param right           eixo +X da câmera (unitário)
+     * @param down            eixo +Y da câmera (unitário; no JavaFX +Y aponta para baixo)
+     * @param forward         eixo +Z da câmera (unitário, direção de visão)
+     * @param tanHalfX        tangente do meio ângulo horizontal
+     * @param tanHalfY        tangente do meio ângulo vertical
+     */
+    public void set(double[] eye, double[] right, double[] down, double[] forward,
+                    double tanHalfX, double tanHalfY, double near, double far) {
+        // Em coordenadas da câmera: |x| <= z·tanHalfX, |y| <= z·tanHalfY, near <= z <= far
+        setPlane(0, eye, right, down, forward, -1, 0, tanHalfX, 0);
+        setPlane(1, eye, right, down, forward, 1, 0, tanHalfX, 0);
+        setPlane(2, eye, right, down, forward, 0, -1, tanHalfY, 0);
+        setPlane(3, eye, right, down, forward, 0, 1, tanHalfY, 0);
+        setPlane(4, eye, right, down, forward, 0, 0, 1, -near);
+        setPlane(5, eye, right, down, forward, 0, 0, -1, far);
+    }
+
+    private void setPlane(int plane, double[] eye, double[] right, double[] down, double[] forward,
+                          double cx, double cy, double cz, double offset) {
+        double nx = cx * right[0] + cy * down[0] + cz * forward[0];
+        double ny = cx * right[1] + cy * down[1] + cz * forward[1];
+        double nz = cx * right[2] + cy * down[2] + cz * forward[2];
+        int at = plane * 4;
+        planes[at] = nx;
+        planes[at + 1] = ny;
+        planes[at + 2] = nz;
+        planes[at + 3] = offset - (nx * eye[0] + ny * eye[1] + nz * eye[2]);
+    }
+
+    /**
+     * Falso só quando a caixa está inteira fora de algum plano (pode aceitar caixas perto dos cantos)
+     */
+    public boolean intersects(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        for (int at = 0; at < planes.length; at += 4) {
+            double nx = planes[at], ny = planes[at + 1], nz = planes[at + 2];
+            // Canto da caixa mais à frente na direção da normal
+            double distance = nx * (nx >= 0 ? maxX : minX)
+                    + ny * (ny >= 0 ? maxY : minY)
+                    + nz * (nz >= 0 ? maxZ : minZ)
+                    + planes[at + 3];
+            if (distance < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
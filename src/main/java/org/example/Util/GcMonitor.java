@@ -0,0 +1,162 @@
+package org.example.Util;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Coletas de lixo recebidas pelas notificações dos GarbageCollectorMXBean
+ * - Guarda as últimas RECENT_SIZE coletas (nome, ação, causa, duração)
+ * - Pausas: coletas que param a aplicação; ciclos concorrentes (ex.: "G1 Concurrent GC")
+ *   ficam na lista, mas fora dos totais de pausa
+ *
+ * As notificações chegam numa thread de serviço da JVM: acesso sincronizado
+ */
+public final class GcMonitor implements AutoCloseable {
+
+    public static final int RECENT_SIZE = 50;
+
+    private final ArrayDeque<Collection> recent = new ArrayDeque<>();
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final NotificationListener listener = this::onNotification;
+
+    private long pauseCount;
+    private long concurrentCount;
+    private double totalPauseMillis;
+    private double maxPauseMillis;
+
+    private GcMonitor() {
+    }
+
+    /**
+     * Começa a escutar todos os coletores da JVM
+     */
+    public static GcMonitor start() {
+        GcMonitor monitor = new GcMonitor();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) collector;
+                emitter.addNotificationListener(monitor.listener, notification ->
+                        GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType()), null);
+                monitor.emitters.add(emitter);
+            }
+        }
+        return monitor;
+    }
+
+    private void onNotification(Notification notification, Object handback) {
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        Collection collection = new Collection(info.getGcName(), info.getGcAction(), info.getGcCause(),
+                info.getGcInfo().getStartTime(), info.getGcInfo().getDuration());
+        synchronized (this) {
+            if (recent.size() == RECENT_SIZE) {
+                recent.removeFirst();
+            }
+            recent.addLast(collection);
+            if (collection.isConcurrent()) {
+                concurrentCount++;
+            } else {
+                pauseCount++;
+                totalPauseMillis += collection.durationMillis;
+                maxPauseMillis = Math.max(maxPauseMillis, collection.durationMillis);
+            }
+        }
+    }
+
+    /**
+     * Últimas coletas, da mais antiga para a mais recente
+     */
+    public synchronized List<Collection> getRecent() {
+        return new ArrayList<>(recent);
+    }
+
+    public synchronized long getPauseCount() {
+        return pauseCount;
+    }
+
+    public synchronized long getConcurrentCount() {
+        return concurrentCount;
+    }
+
+    public synchronized double getTotalPauseMillis() {
+        return totalPauseMillis;
+    }
+
+    public synchronized double getMaxPauseMillis() {
+        return maxPauseMillis;
+    }
+
+    @Override
+    public void close() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(listener);
+            } catch (ListenerNotFoundException ignored) {
+                // Já removido
+            }
+        }
+        emitters.clear();
+    }
+
+    /**
+     * Uma coleta (tempos em ms desde o início da JVM)
+     */
+    public static final class Collection {
+        private final String name;
+        private final String action;
+        private final String cause;
+        private final long startMillis;
+        private final long durationMillis;
+
+        Collection(String name, String action, String cause, long startMillis, long durationMillis) {
+            this.name = name;
+            this.action = action;
+            this.cause = cause;
+            this.startMillis = startMillis;
+            this.durationMillis = durationMillis;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public String getCause() {
+            return cause;
+        }
+
+        public long getStartMillis() {
+            return startMillis;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        /**
+         * Ciclo concorrente: roda junto com a aplicação (a duração não é pausa)
+         */
+        public boolean isConcurrent() {
+            return name.contains("Concurrent") || action.contains("concurrent");
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%8.3f s  %-22s %5d ms  %s (%s)",
+                    startMillis / 1000.0, name, durationMillis, action, cause);
+        }
+    }
+}
@@ -0,0 +1,571 @@
+package org.example.Util;
+
+import java.util.Arrays;
+
+/**
+ * Distância geodésica (ao longo da superfície) entre pontos da malha
+ *
+ * 1. Grafo de adjacência dos vértices em formato CSR (arrays compactos)
+ * 2. Dijkstra (A*, com a distância em linha reta até o destino como estimativa) entre os
+ *    vértices mais próximos dos dois pontos
+ * 3. Refinamento: no corredor de triângulos em volta do caminho, cada aresta recebe
+ *    pontos intermediários (Steiner) ligados entre si dentro de cada face, e o Dijkstra
+ *    é refeito nesse grafo local, permitindo atalhos que cruzam as faces
+ *    O corredor acompanha o novo caminho e o passo se repete enquanto o comprimento cair
+ *
+ * Coordenadas são as do MeshData. Uma instância não deve ser usada por várias threads ao mesmo tempo
+ */
+public final class GeodesicDistance {
+
+    private static final int STEINER_POINTS = 3;
+    private static final int CORRIDOR_RINGS = 1;
+    private static final int MAX_REFINE_PASSES = 8;
+    private static final double MIN_IMPROVEMENT = 1e-3;
+    private static final double EPSILON = 1e-9;
+
+    private final float[] positions;
+    private final int[] triangles;
+    private final int vertexCount;
+
+    // Vizinhos do vértice v: edgeTargets[edgeOffsets[v] .. edgeOffsets[v + 1])
+    private final int[] edgeOffsets;
+    private final int[] edgeTargets;
+    private final float[] edgeLengths;
+
+    // Triângulos do vértice v: vertexTriangles[triangleOffsets[v] .. triangleOffsets[v + 1])
+    private final int[] triangleOffsets;
+    private final int[] vertexTriangles;
+
+    private final VertexKdTree vertexIndex;
+
+    // Áreas de trabalho reaproveitadas entre consultas
+    private final double[] distance;
+    private final int[] previous;
+    private final int[] stamp;
+    private final int[] triangleStamp;
+    private final int[] localNode;
+    private int currentStamp;
+
+    private GeodesicDistance(float[] positions, int[] triangles, VertexKdTree vertexIndex) {
+        this.positions = positions;
+        this.triangles = triangles;
+        this.vertexIndex = vertexIndex;
+        this.vertexCount = positions.length / 3;
+        int triangleCount = triangles.length / 3;
+
+        // Vértice -> triângulos (contagem, prefixo, preenchimento)
+        triangleOffsets = new int[vertexCount + 1];
+        for (int index : triangles) {
+            triangleOffsets[index + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            triangleOffsets[v + 1] += triangleOffsets[v];
+        }
+        vertexTriangles = new int[triangles.length];
+        int[] fill = Arrays.copyOf(triangleOffsets, vertexCount);
+        for (int t = 0; t < triangleCount; t++) {
+            for (int corner = 0; corner < 3; corner++) {
+                int v = triangles[t * 3 + corner];
+                vertexTriangles[fill[v]++] = t;
+            }
+        }
+
+        // Arestas: cada triângulo contribui com as duas arestas de cada canto; duplicatas removidas depois
+        int[] rawOffsets = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            rawOffsets[v + 1] = rawOffsets[v] + 2 * (triangleOffsets[v + 1] - triangleOffsets[v]);
+        }
+        int[] rawTargets = new int[rawOffsets[vertexCount]];
+        fill = Arrays.copyOf(rawOffsets, vertexCount);
+        for (int t = 0; t < triangleCount; t++) {
+            int a = triangles[t * 3], b = triangles[t * 3 + 1], c = triangles[t * 3 + 2];
+            rawTargets[fill[a]++] = b;
+            rawTargets[fill[a]++] = c;
+            rawTargets[fill[b]++] = c;
+            rawTargets[fill[b]++] = a;
+            rawTargets[fill[c]++] = a;
+            rawTargets[fill[c]++] = b;
+        }
+
+        edgeOffsets = new int[vertexCount + 1];
+        int out = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            int start = rawOffsets[v], end = rawOffsets[v + 1];
+            Arrays.sort(rawTargets, start, end);
+            edgeOffsets[v] = out;
+            for (int i = start; i < end; i++) {
+                if (i > start && rawTargets[i] == rawTargets[i - 1]) continue;
+                rawTargets[out++] = rawTargets[i];
+            }
+        }
+        edgeOffsets[vertexCount] = out;
+        edgeTargets = Arrays.copyOf(rawTargets, out);
+
+        edgeLengths = new float[out];
+        for (int v = 0; v < vertexCount; v++) {
+            for (int e = edgeOffsets[v]; e < edgeOffsets[v + 1]; e++) {
+                edgeLengths[e] = (float) vertexDistance(v, edgeTargets[e]);
+            }
+        }
+
+        distance = new double[vertexCount];
+        previous = new int[vertexCount];
+        stamp = new int[vertexCount];
+        triangleStamp = new int[triangleCount];
+        localNode = new int[vertexCount];
+    }
+
+    public static GeodesicDistance build(float[] positions, int[] triangles) {
+        return build(positions, triangles, VertexKdTree.build(positions, triangles));
+    }
+
+    /**
+     * Reaproveita uma KD-tree já montada sobre os mesmos arrays
+     */
+    public static GeodesicDistance build(float[] positions, int[] triangles, VertexKdTree vertexIndex) {
+        return new GeodesicDistance(positions, triangles, vertexIndex);
+    }
+
+    public static GeodesicDistance build(MeshData data) {
+        return build(data.getPositions(), MeshSimplifier.positionTriangles(data));
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getEdgeCount() {
+        return edgeTargets.length / 2;
+    }
+
+    /**
+     * Vértice mais próximo do ponto (vértices soltos, sem triângulo, ficam de fora)
+     */
+    public int nearestVertex(double x, double y, double z) {
+        return vertexIndex.nearest(x, y, z);
+    }
+
+    /**
+     * Caminho mais curto pela superfície entre dois pontos (na superfície ou próximos a ela)
+     * Retorna null se os pontos estão em partes desconectadas da malha
+     */
+    public Path shortestPath(double fromX, double fromY, double fromZ, double toX, double toY, double toZ) {
+        int source = nearestVertex(fromX, fromY, fromZ);
+        int target = nearestVertex(toX, toY, toZ);
+        if (source < 0 || target < 0) return null;
+
+        int[] vertexPath = dijkstra(source, target);
+        if (vertexPath == null) return null;
+
+        // Nós do caminho atual como pares de vértices (vértice: a == b; ponto numa aresta: a != b)
+        int[] pathA = vertexPath;
+        int[] pathB = vertexPath;
+        Path path = null;
+        for (int pass = 0; pass < MAX_REFINE_PASSES; pass++) {
+            Path refined = refine(pathA, pathB, source, target, fromX, fromY, fromZ, toX, toY, toZ);
+            if (refined == null) break;
+            boolean converged = path != null && path.length - refined.length < path.length * MIN_IMPROVEMENT;
+            path = refined;
+            pathA = refined.edgeA;
+            pathB = refined.edgeB;
+            if (converged) break;
+        }
+        return path;
+    }
+
+    /**
+     * Dijkstra no grafo de vértices, parando ao alcançar o destino
+     * A chave do heap soma a distância em linha reta até o destino (nunca maior que o caminho real)
+     */
+    private int[] dijkstra(int source, int target) {
+        int queryStamp = nextStamp();
+        MinHeap heap = new MinHeap(1024);
+        distance[source] = 0;
+        previous[source] = -1;
+        stamp[source] = queryStamp;
+        heap.push(source, vertexDistance(source, target));
+
+        while (!heap.isEmpty()) {
+            double key = heap.peekKey();
+            int v = heap.pop();
+            double d = distance[v];
+            if (key > d + vertexDistance(v, target) + EPSILON) continue;
+            if (v == target) break;
+            for (int e = edgeOffsets[v]; e < edgeOffsets[v + 1]; e++) {
+                int w = edgeTargets[e];
+                double candidate = d + edgeLengths[e];
+                if (stamp[w] != queryStamp || candidate < distance[w]) {
+                    stamp[w] = queryStamp;
+                    distance[w] = candidate;
+                    previous[w] = v;
+                    heap.push(w, candidate + vertexDistance(w, target));
+                }
+            }
+        }
+        if (stamp[target] != queryStamp) return null;
+
+        GrowableIntArray reversed = new GrowableIntArray();
+        for (int v = target; v != -1; v = previous[v]) {
+            reversed.add(v);
+        }
+        int[] path = new int[reversed.size()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = reversed.get(path.length - 1 - i);
+        }
+        return path;
+    }
+
+    /**
+     * Refaz o caminho no corredor de triângulos com pontos de Steiner nas arestas
+     */
+    private Path refine(int[] pathA, int[] pathB, int source, int target,
+                        double fromX, double fromY, double fromZ, double toX, double toY, double toZ) {
+        // Corredor: vértices tocados pelo caminho mais alguns anéis de vizinhos, e os triângulos em volta
+        int corridorStamp = nextStamp();
+        GrowableIntArray vertices = new GrowableIntArray();
+        for (int i = 0; i < pathA.length; i++) {
+            markVertex(pathA[i], vertices, corridorStamp);
+            markVertex(pathB[i], vertices, corridorStamp);
+        }
+        int ringStart = 0;
+        for (int ring = 0; ring < CORRIDOR_RINGS; ring++) {
+            int ringEnd = vertices.size();
+            for (int i = ringStart; i < ringEnd; i++) {
+                int v = vertices.get(i);
+                for (int e = edgeOffsets[v]; e < edgeOffsets[v + 1]; e++) {
+                    markVertex(edgeTargets[e], vertices, corridorStamp);
+                }
+            }
+            ringStart = ringEnd;
+        }
+        GrowableIntArray corridor = new GrowableIntArray();
+        for (int i = 0; i < vertices.size(); i++) {
+            addIncidentTriangles(vertices.get(i), corridor, corridorStamp);
+        }
+
+        // Nós locais: vértices do corredor + pontos de Steiner + os dois pontos das extremidades
+        GrowableFloatArray nodes = new GrowableFloatArray();
+        GrowableIntArray nodeA = new GrowableIntArray();
+        GrowableIntArray nodeB = new GrowableIntArray();
+        // Vértice -> nó local via localNode (válido quando stamp == nodeStamp); aresta -> primeiro ponto de Steiner
+        int nodeStamp = nextStamp();
+        EdgeTable edgeNodes = new EdgeTable(corridor.size() * 2);
+        GrowableIntArray links = new GrowableIntArray();
+        int[] faceNodes = new int[3 + 3 * STEINER_POINTS];
+
+        int fromNode = addNode(nodes, nodeA, nodeB, fromX, fromY, fromZ, source, source);
+        int toNode = addNode(nodes, nodeA, nodeB, toX, toY, toZ, target, target);
+
+        for (int i = 0; i < corridor.size(); i++) {
+            int t = corridor.get(i);
+            int count = 0;
+            for (int corner = 0; corner < 3; corner++) {
+                int a = triangles[t * 3 + corner];
+                int b = triangles[t * 3 + (corner + 1) % 3];
+                if (stamp[a] != nodeStamp) {
+                    stamp[a] = nodeStamp;
+                    localNode[a] = addNode(nodes, nodeA, nodeB, positions[a * 3], positions[a * 3 + 1], positions[a * 3 + 2], a, a);
+                }
+                faceNodes[count++] = localNode[a];
+
+                // Pontos de Steiner da aresta a-b (compartilhados pelas duas faces)
+                long key = a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+                int first = edgeNodes.get(key);
+                if (first < 0) {
+                    int lo = Math.min(a, b), hi = Math.max(a, b);
+                    first = nodes.size() / 3;
+                    for (int k = 1; k <= STEINER_POINTS; k++) {
+                        double s = (double) k / (STEINER_POINTS + 1);
+                        addNode(nodes, nodeA, nodeB,
+                                positions[lo * 3] + (positions[hi * 3] - positions[lo * 3]) * s,
+                                positions[lo * 3 + 1] + (positions[hi * 3 + 1] - positions[lo * 3 + 1]) * s,
+                                positions[lo * 3 + 2] + (positions[hi * 3 + 2] - positions[lo * 3 + 2]) * s,
+                                lo, hi);
+                    }
+                    edgeNodes.put(key, first);
+                }
+                for (int k = 0; k < STEINER_POINTS; k++) {
+                    faceNodes[count++] = first + k;
+                }
+            }
+
+            // Ligações retas dentro da face (todas as combinações)
+            for (int p = 0; p < count; p++) {
+                for (int q = p + 1; q < count; q++) {
+                    links.add(faceNodes[p], faceNodes[q]);
+                }
+            }
+
+            // Extremidades ligadas aos nós das faces em volta do vértice mais próximo
+            if (touches(t, source)) {
+                for (int p = 0; p < count; p++) links.add(fromNode, faceNodes[p]);
+            }
+            if (touches(t, target)) {
+                for (int p = 0; p < count; p++) links.add(toNode, faceNodes[p]);
+            }
+        }
+
+        int[] nodePath = localDijkstra(nodes, links, fromNode, toNode);
+        if (nodePath == null) return null;
+
+        float[] points = new float[nodePath.length * 3];
+        int[] edgeA = new int[nodePath.length];
+        int[] edgeB = new int[nodePath.length];
+        double length = 0;
+        for (int i = 0; i < nodePath.length; i++) {
+            int n = nodePath[i];
+            points[i * 3] = nodes.get(n * 3);
+            points[i * 3 + 1] = nodes.get(n * 3 + 1);
+            points[i * 3 + 2] = nodes.get(n * 3 + 2);
+            edgeA[i] = nodeA.get(n);
+            edgeB[i] = nodeB.get(n);
+            if (i > 0) {
+                length += nodeDistance(nodes, nodePath[i - 1], n);
+            }
+        }
+        return new Path(points, length, edgeA, edgeB);
+    }
+
+    private int[] localDijkstra(GrowableFloatArray nodes, GrowableIntArray links, int source, int target) {
+        int nodeCount = nodes.size() / 3;
+        int linkCount = links.size() / 2;
+
+        // Lista de ligações -> CSR nos dois sentidos
+        int[] offsets = new int[nodeCount + 1];
+        for (int i = 0; i < linkCount; i++) {
+            offsets[links.get(i * 2) + 1]++;
+            offsets[links.get(i * 2 + 1) + 1]++;
+        }
+        for (int n = 0; n < nodeCount; n++) {
+            offsets[n + 1] += offsets[n];
+        }
+        int[] targets = new int[linkCount * 2];
+        float[] lengths = new float[linkCount * 2];
+        int[] fill = Arrays.copyOf(offsets, nodeCount);
+        for (int i = 0; i < linkCount; i++) {
+            int a = links.get(i * 2), b = links.get(i * 2 + 1);
+            float length = (float) nodeDistance(nodes, a, b);
+            targets[fill[a]] = b;
+            lengths[fill[a]++] = length;
+            targets[fill[b]] = a;
+            lengths[fill[b]++] = length;
+        }
+
+        double[] best = new double[nodeCount];
+        int[] from = new int[nodeCount];
+        Arrays.fill(best, Double.POSITIVE_INFINITY);
+        best[source] = 0;
+        from[source] = -1;
+        MinHeap heap = new MinHeap(256);
+        heap.push(source, nodeDistance(nodes, source, target));
+        while (!heap.isEmpty()) {
+            double key = heap.peekKey();
+            int n = heap.pop();
+            double d = best[n];
+            if (key > d + nodeDistance(nodes, n, target) + EPSILON) continue;
+            if (n == target) break;
+            for (int e = offsets[n]; e < offsets[n + 1]; e++) {
+                int w = targets[e];
+                double candidate = d + lengths[e];
+                if (candidate < best[w]) {
+                    best[w] = candidate;
+                    from[w] = n;
+                    heap.push(w, candidate + nodeDistance(nodes, w, target));
+                }
+            }
+        }
+        if (best[target] == Double.POSITIVE_INFINITY) return null;
+
+        GrowableIntArray reversed = new GrowableIntArray();
+        for (int n = target; n != -1; n = from[n]) {
+            reversed.add(n);
+        }
+        int[] path = new int[reversed.size()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = reversed.get(path.length - 1 - i);
+        }
+        return path;
+    }
+
+    private void markVertex(int vertex, GrowableIntArray vertices, int corridorStamp) {
+        if (stamp[vertex] != corridorStamp) {
+            stamp[vertex] = corridorStamp;
+            vertices.add(vertex);
+        }
+    }
+
+    private void addIncidentTriangles(int vertex, GrowableIntArray corridor, int corridorStamp) {
+        for (int i = triangleOffsets[vertex]; i < triangleOffsets[vertex + 1]; i++) {
+            int t = vertexTriangles[i];
+            if (triangleStamp[t] != corridorStamp) {
+                triangleStamp[t] = corridorStamp;
+                corridor.add(t);
+            }
+        }
+    }
+
+    private boolean touches(int triangle, int vertex) {
+        return triangles[triangle * 3] == vertex || triangles[triangle * 3 + 1] == vertex || triangles[triangle * 3 + 2] == vertex;
+    }
+
+    private static int addNode(GrowableFloatArray nodes, GrowableIntArray nodeA, GrowableIntArray nodeB,
+                               double x, double y, double z, int a, int b) {
+        int index = nodes.size() / 3;
+        nodes.add((float) x, (float) y, (float) z);
+        nodeA.add(a);
+        nodeB.add(b);
+        return index;
+    }
+
+    private static double nodeDistance(GrowableFloatArray nodes, int a, int b) {
+        double dx = nodes.get(a * 3) - nodes.get(b * 3);
+        double dy = nodes.get(a * 3 + 1) - nodes.get(b * 3 + 1);
+        double dz = nodes.get(a * 3 + 2) - nodes.get(b * 3 + 2);
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    private double vertexDistance(int a, int b) {
+        double dx = positions[a * 3] - positions[b * 3];
+        double dy = positions[a * 3 + 1] - positions[b * 3 + 1];
+        double dz = positions[a * 3 + 2] - positions[b * 3 + 2];
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    private int nextStamp() {
+        if (++currentStamp == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            Arrays.fill(triangleStamp, 0);
+            currentStamp = 1;
+        }
+        return currentStamp;
+    }
+
+    /**
+     * Caminho pela superfície: pontos x,y,z em sequência e comprimento total
+     */
+    public static final class Path {
+        private final float[] points;
+        private final double length;
+        // Vértices de origem de cada ponto (usados no refinamento seguinte)
+        private final int[] edgeA;
+        private final int[] edgeB;
+
+        Path(float[] points, double length, int[] edgeA, int[] edgeB) {
+            this.points = points;
+            this.length = length;
+            this.edgeA = edgeA;
+            this.edgeB = edgeB;
+        }
+
+        public float[] getPoints() {
+            return points;
+        }
+
+        public int getPointCount() {
+            return points.length / 3;
+        }
+
+        public double getLength() {
+            return length;
+        }
+    }
+
+    /**
+     * Tabela de endereçamento aberto: chave da aresta (menor << 32 | maior) -> índice do nó
+     */
+    private static final class EdgeTable {
+        private final long[] keys;
+        private final int[] values;
+        private final int mask;
+
+        EdgeTable(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        int get(long key) {
+            for (int slot = hash(key); ; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) return values[slot];
+                if (keys[slot] == 0) return -1;
+            }
+        }
+
+        // Chave 0 nunca ocorre (menor < maior), por isso marca posição vazia
+        void put(long key, int value) {
+            int slot = hash(key);
+            while (keys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h >>> 32) & mask;
+        }
+    }
+
+    /**
+     * Heap binário de mínimo com chaves double e valores int (inserções repetidas são ignoradas no pop)
+     */
+    private static final class MinHeap {
+        private double[] keys;
+        private int[] values;
+        private int size;
+
+        MinHeap(int capacity) {
+            keys = new double[capacity];
+            values = new int[capacity];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        double peekKey() {
+            return keys[0];
+        }
+
+        void push(int value, double key) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) break;
+                keys[i] = keys[parent];
+                values[i] = values[parent];
+                i = parent;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        int pop() {
+            int result = values[0];
+            size--;
+            if (size > 0) {
+                double key = keys[size];
+                int value = values[size];
+                int i = 0;
+                while (true) {
+                    int child = i * 2 + 1;
+                    if (child >= size) break;
+                    if (child + 1 < size && keys[child + 1] < keys[child]) child++;
+                    if (keys[child] >= key) break;
+                    keys[i] = keys[child];
+                    values[i] = values[child];
+                    i = child;
+                }
+                keys[i] = key;
+                values[i] = value;
+            }
+            return result;
+        }
+    }
+}
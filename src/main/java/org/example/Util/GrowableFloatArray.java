@@ -0,0 +1,98 @@
+package org.example.Util;
+
+import java.util.Arrays;
+
+/**
+ * Vetor de floats que cresce sob demanda (sem boxing)
+ * Usado pelo parser de OBJ para acumular vértices, normais e coordenadas de textura
+ */
+public final class GrowableFloatArray {
+
+    private float[] data;
+    private int size;
+
+    public GrowableFloatArray() {
+        this(1024);
+    }
+
+    public GrowableFloatArray(int initialCapacity) {
+        data = new float[Math.max(initialCapacity, 16)];
+    }
+
+    public void add(float value) {
+        if (size == data.length) {
+            grow(size + 1);
+        }
+        data[size++] = value;
+    }
+
+    public void add(float a, float b) {
+        if (size + 2 > data.length) {
+            grow(size + 2);
+        }
+        data[size++] = a;
+        data[size++] = b;
+    }
+
+    public void add(float a, float b, float c) {
+        if (size + 3 > data.length) {
+            grow(size + 3);
+        }
+        data[size++] = a;
+        data[size++] = b;
+        data[size++] = c;
+    }
+
+    public void addAll(float[] values, int offset, int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(values, offset, data, size, length);
+        size += length;
+    }
+
+    public float get(int index) {
+        return data[index];
+    }
+
+    public void set(int index, float value) {
+        data[index] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > data.length) {
+            grow(capacity);
+        }
+    }
+
+    /**
+     * Array interno (pode ser maior que size())
+     */
+    public float[] rawArray() {
+        return data;
+    }
+
+    /**
+     * Cópia exata com size() elementos
+     */
+    public float[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    private void grow(int minCapacity) {
+        long newCapacity = Math.max((long) data.length + (data.length >> 1), minCapacity);
+        if (newCapacity > Integer.MAX_VALUE - 8) {
+            if (minCapacity > Integer.MAX_VALUE - 8) {
+                throw new OutOfMemoryError("Capacidade máxima de array excedida");
+            }
+            newCapacity = Integer.MAX_VALUE - 8;
+        }
+        data = Arrays.copyOf(data, (int) newCapacity);
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.Util;
+
+import java.util.Arrays;
+
+/**
+ * Vetor de ints que cresce sob demanda (sem boxing)
+ * Usado pelo parser de OBJ para acumular índices de faces
+ */
+public final class GrowableIntArray {
+
+    private int[] data;
+    private int size;
+
+    public GrowableIntArray() {
+        this(1024);
+    }
+
+    public GrowableIntArray(int initialCapacity) {
+        data = new int[Math.max(initialCapacity, 16)];
+    }
+
+    public void add(int value) {
+        if (size == data.length) {
+            grow(size + 1);
+        }
+        data[size++] = value;
+    }
+
+    public void add(int a, int b) {
+        if (size + 2 > data.length) {
+            grow(size + 2);
+        }
+        data[size++] = a;
+        data[size++] = b;
+    }
+
+    public void add(int a, int b, int c) {
+        if (size + 3 > data.length) {
+            grow(size + 3);
+        }
+        data[size++] = a;
+        data[size++] = b;
+        data[size++] = c;
+    }
+
+    public void addAll(int[] values, int offset, int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(values, offset, data, size, length);
+        size += length;
+    }
+
+    public int get(int index) {
+        return data[index];
+    }
+
+    public void set(int index, int value) {
+        data[index] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > data.length) {
+            grow(capacity);
+        }
+    }
+
+    /**
+     * Array interno (pode ser maior que size())
+     */
+    public int[] rawArray() {
+        return data;
+    }
+
+    /**
+     * Cópia exata com size() elementos
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    private void grow(int minCapacity) {
+        long newCapacity = Math.max((long) data.length + (data.length >> 1), minCapacity);
+        if (newCapacity > Integer.MAX_VALUE - 8) {
+            if (minCapacity > Integer.MAX_VALUE - 8) {
+                throw new OutOfMemoryError("Capacidade máxima de array excedida");
+            }
+            newCapacity = Integer.MAX_VALUE - 8;
+        }
+        data = Arrays.copyOf(data, (int) newCapacity);
+    }
+}
@@ -0,0 +1,274 @@
+package org.example.Util;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.paint.Material;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+import javafx.scene.shape.VertexFormat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Níveis de detalhe (LOD) de um modelo carregado pelo OBJLoader
+ * - Gera versões simplificadas (MeshSimplifier) em segundo plano, um material por tarefa
+ * - Cada nível parte do anterior (50% -> 25% -> 10%), com uma única cópia de trabalho por material
+ * - Cada material mantém seu Material, texturas e normais (costuras de textura viram borda)
+ * - Os níveis ficam no mesmo Group do modelo, invisíveis e sem picking
+ * - show(0) volta sempre para a resolução completa
+ */
+public final class LevelOfDetail {
+
+    // Fração de triângulos de cada nível (nível 0 = modelo original)
+    public static final double[] LEVEL_RATIOS = {0.5, 0.25, 0.1};
+
+    // Modelos menores que isso não ganham níveis simplificados
+    public static final int MIN_TRIANGLES = 50_000;
+
+    private final Group model;
+    private final List<Node> fullResolution = new ArrayList<>();
+    private final List<Group> levels;
+    private int activeLevel = 0;
+
+    private LevelOfDetail(Group model, List<Group> levels) {
+        this.model = model;
+        this.levels = levels;
+    }
+
+    /**
+     * Gera os níveis em segundo plano; o resultado deve ser anexado com attach() na thread do JavaFX
+     * Retorna null se o modelo não tiver dados brutos ou for pequeno demais
+     */
+    public static CompletableFuture<LevelOfDetail> generate(Group model) {
+        MeshData data = OBJLoader.getMeshData(model);
+        if (data == null || data.getTriangleCount() < MIN_TRIANGLES) {
+            return null;
+        }
+
+        // Material já aplicado no modelo, pelo nome MTL (null = faces sem usemtl)
+        Map<String, Material> materials = new HashMap<>();
+        for (Node node : model.getChildren()) {
+            if (node instanceof MeshView) {
+                Object name = node.getProperties().get(OBJLoader.MATERIAL_NAME_KEY);
+                materials.putIfAbsent((String) name, ((MeshView) node).getMaterial());
+            }
+        }
+
+        Map<String, List<Integer>> segmentsByMaterial = new LinkedHashMap<>();
+        for (int s = 0; s < data.getSegmentCount(); s++) {
+            if (data.getSegmentEnd(s) == data.getSegmentStart(s)) continue;
+            segmentsByMaterial.computeIfAbsent(data.getSegmentMaterial(s), k -> new ArrayList<>()).add(s);
+        }
+
+        List<CompletableFuture<MeshView[]>> futures = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> entry : segmentsByMaterial.entrySet()) {
+            Material material = materials.get(entry.getKey());
+            futures.add(CompletableFuture.supplyAsync(() -> buildLevels(data, entry.getValue(), material)));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<Group> levels = new ArrayList<>();
+            for (int level = 0; level < LEVEL_RATIOS.length; level++) {
+                Group group = new Group();
+                for (CompletableFuture<MeshView[]> future : futures) {
+                    group.getChildren().add(future.join()[level]);
+                }
+                group.setVisible(false);
+                group.setMouseTransparent(true);
+                levels.add(group);
+            }
+            return new LevelOfDetail(model, levels);
+        });
+    }
+
+    /**
+     * Simplifica os triângulos de um material, cada nível a partir do anterior
+     */
+    private static MeshView[] buildLevels(MeshData data, List<Integer> segments, Material material) {
+        Part part = new Part(data, segments);
+        MeshView[] views = new MeshView[LEVEL_RATIOS.length];
+
+        float[] positions = part.positions;
+        int[] triangles = part.triangles;
+        int[] sources = null; // Vértice do nível -> vértice da parte (null = identidade)
+        for (int level = 0; level < LEVEL_RATIOS.length; level++) {
+            int target = (int) Math.ceil(part.triangles.length / 3 * LEVEL_RATIOS[level]);
+            MeshSimplifier.Result result = MeshSimplifier.simplify(positions, triangles, target);
+
+            int[] levelSources = result.getSourceVertices();
+            if (sources != null) {
+                for (int i = 0; i < levelSources.length; i++) {
+                    levelSources[i] = sources[levelSources[i]];
+                }
+            }
+            views[level] = part.toMeshView(result, levelSources, material);
+
+            positions = result.getPositions();
+            triangles = result.getTriangles();
+            sources = levelSources;
+        }
+        return views;
+    }
+
+    /**
+     * Triângulos de um material prontos para simplificar, já centralizados
+     * Um vértice por par posição + textura (costuras viram borda); normal do primeiro canto
+     */
+    private static final class Part {
+        private final float[] positions;
+        private final int[] triangles;
+        private final float[] texCoords; // 2 por vértice (null sem textura)
+        private final float[] normals;   // 3 por vértice (null sem normais)
+
+        Part(MeshData data, List<Integer> segments) {
+            boolean hasTexCoords = data.hasTexCoords();
+            boolean hasNormals = data.hasNormals();
+            int[] faces = data.getFaces();
+            float[] sourcePositions = data.getPositions();
+            float cx = (float) data.getCenterX(), cy = (float) data.getCenterY(), cz = (float) data.getCenterZ();
+
+            // Primeiro vértice de cada posição e lista dos demais (texturas diferentes)
+            int[] firstVertex = new int[data.getVertexCount()];
+            Arrays.fill(firstVertex, -1);
+            GrowableIntArray nextVertex = new GrowableIntArray();
+            GrowableIntArray vertexTex = new GrowableIntArray();
+
+            GrowableFloatArray points = new GrowableFloatArray();
+            GrowableFloatArray tex = new GrowableFloatArray();
+            GrowableFloatArray norms = new GrowableFloatArray();
+            GrowableIntArray tris = new GrowableIntArray();
+
+            for (int s : segments) {
+                for (int corner = data.getSegmentStart(s) * 3; corner < data.getSegmentEnd(s) * 3; corner++) {
+                    int v = faces[corner * 3];
+                    int vt = hasTexCoords ? faces[corner * 3 + 1] : 0;
+
+                    int vertex = firstVertex[v];
+                    while (vertex >= 0 && vertexTex.get(vertex) != vt) {
+                        vertex = nextVertex.get(vertex);
+                    }
+                    if (vertex < 0) {
+                        vertex = points.size() / 3;
+                        points.add(sourcePositions[v * 3] - cx, sourcePositions[v * 3 + 1] - cy, sourcePositions[v * 3 + 2] - cz);
+                        vertexTex.add(vt);
+                        nextVertex.add(firstVertex[v]);
+                        firstVertex[v] = vertex;
+                        if (hasTexCoords) {
+                            tex.add(data.getTexCoords()[vt * 2], data.getTexCoords()[vt * 2 + 1]);
+                        }
+                        if (hasNormals) {
+                            int vn = faces[corner * 3 + 2];
+                            norms.add(data.getNormals()[vn * 3], data.getNormals()[vn * 3 + 1], data.getNormals()[vn * 3 + 2]);
+                        }
+                    }
+                    tris.add(vertex);
+                }
+            }
+
+            positions = points.toArray();
+            triangles = tris.toArray();
+            texCoords = hasTexCoords ? tex.toArray() : null;
+            normals = hasNormals ? norms.toArray() : null;
+        }
+
+        /**
+         * MeshView do nível; sources aponta o vértice da parte de onde vêm textura e normal
+         */
+        MeshView toMeshView(MeshSimplifier.Result result, int[] sources, Material material) {
+            int vertexCount = sources.length;
+            TriangleMesh mesh = new TriangleMesh(normals != null ? VertexFormat.POINT_NORMAL_TEXCOORD : VertexFormat.POINT_TEXCOORD);
+            mesh.getPoints().setAll(result.getPositions());
+
+            if (texCoords != null) {
+                float[] tex = new float[vertexCount * 2];
+                for (int i = 0; i < vertexCount; i++) {
+                    tex[i * 2] = texCoords[sources[i] * 2];
+                    tex[i * 2 + 1] = texCoords[sources[i] * 2 + 1];
+                }
+                mesh.getTexCoords().setAll(tex);
+            } else {
+                mesh.getTexCoords().setAll(0f, 0f);
+            }
+            if (normals != null) {
+                float[] norms = new float[vertexCount * 3];
+                for (int i = 0; i < vertexCount; i++) {
+                    System.arraycopy(normals, sources[i] * 3, norms, i * 3, 3);
+                }
+                mesh.getNormals().setAll(norms);
+            }
+
+            // Mesmo índice para ponto, normal e textura (atributos por vértice)
+            int[] source = result.getTriangles();
+            int stride = normals != null ? 3 : 2;
+            int[] faces = new int[source.length * stride];
+            for (int i = 0; i < source.length; i++) {
+                int vertex = source[i];
+                faces[i * stride] = vertex;
+                if (normals != null) {
+                    faces[i * stride + 1] = vertex;
+                }
+                faces[i * stride + stride - 1] = texCoords != null ? vertex : 0;
+            }
+            mesh.getFaces().setAll(faces);
+
+            MeshView view = new MeshView(mesh);
+            view.setMaterial(material);
+            return view;
+        }
+    }
+
+    /**
+     * Anexa os níveis ao grupo do modelo (thread do JavaFX)
+     */
+    public void attach() {
+        fullResolution.clear();
+        fullResolution.addAll(model.getChildren());
+        model.getChildren().addAll(levels);
+    }
+
+    public int getLevelCount() {
+        return levels.size() + 1;
+    }
+
+    public int getActiveLevel() {
+        return activeLevel;
+    }
+
+    /**
+     * Exibe o nível pedido (0 = resolução completa)
+     */
+    public void show(int level) {
+        level = Math.max(0, Math.min(level, levels.size()));
+        if (level == activeLevel) return;
+
+        for (Node node : fullResolution) {
+            node.setVisible(level == 0);
+        }
+        for (int i = 0; i < levels.size(); i++) {
+            levels.get(i).setVisible(level == i + 1);
+        }
+        activeLevel = level;
+    }
+
+    /**
+     * Nível adequado durante o movimento da câmera, pelo tamanho aparente do modelo
+     */
+    public static int chooseLevel(double cameraDistance, double modelRadius, int levelCount) {
+        double apparentSize = modelRadius / Math.max(cameraDistance, 1e-6);
+        int level;
+        if (apparentSize >= 0.5) {
+            level = 1;
+        } else if (apparentSize >= 0.2) {
+            level = 2;
+        } else {
+            level = 3;
+        }
+        return Math.min(level, levelCount - 1);
+    }
+}
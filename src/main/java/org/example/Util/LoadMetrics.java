@@ -0,0 +1,297 @@
+package org.example.Util;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Medições de um carregamento de modelo, fase a fase
+ * - Duração, bytes alocados (todas as threads) de cada fase
+ * - Bytes do arquivo, origem (obj, cache em disco, cache em memória), vértices e faces
+ *
+ * Ao finalizar, a medição entra no histórico (getLast/getHistory) e uma linha
+ * JSON é acrescentada em segundo plano em ~/.biomeasure/load-metrics.jsonl
+ * (-Dbiomeasure.loadMetrics.file muda o arquivo; vazio desativa)
+ */
+public final class LoadMetrics {
+
+    public static final String SOURCE_OBJ = "obj";
+    public static final String SOURCE_DISK_CACHE = "cache-disco";
+    public static final String SOURCE_MEMORY_CACHE = "cache-memoria";
+    public static final String SOURCE_OCTREE = "octree";
+
+    private static final int HISTORY_SIZE = 50;
+    private static final ArrayDeque<LoadMetrics> HISTORY = new ArrayDeque<>();
+
+    // Uma thread só: as linhas chegam ao arquivo na ordem dos finish()
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "load-metrics-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String path;
+    private final long startedAt = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final List<Phase> phases = new ArrayList<>();
+
+    private String source = SOURCE_OBJ;
+    private long fileBytes;
+    private int vertexCount;
+    private int triangleCount;
+    private int meshViewCount;
+    private long totalNanos = -1;
+
+    public LoadMetrics(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Inicia uma fase; a medição termina em Phase.end()
+     */
+    public Phase begin(String name) {
+        return new Phase(name);
+    }
+
+    public synchronized List<Phase> getPhases() {
+        return new ArrayList<>(phases);
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public synchronized String getSource() {
+        return source;
+    }
+
+    public synchronized void setSource(String source) {
+        this.source = source;
+    }
+
+    public synchronized long getFileBytes() {
+        return fileBytes;
+    }
+
+    public synchronized void setFileBytes(long fileBytes) {
+        this.fileBytes = fileBytes;
+    }
+
+    public synchronized int getVertexCount() {
+        return vertexCount;
+    }
+
+    public synchronized int getTriangleCount() {
+        return triangleCount;
+    }
+
+    public synchronized int getMeshViewCount() {
+        return meshViewCount;
+    }
+
+    public synchronized void setCounts(int vertexCount, int triangleCount, int meshViewCount) {
+        this.vertexCount = vertexCount;
+        this.triangleCount = triangleCount;
+        this.meshViewCount = meshViewCount;
+    }
+
+    /**
+     * Tempo total em ms (até finish(), ou até agora se ainda não terminou)
+     */
+    public synchronized double getTotalMillis() {
+        long nanos = totalNanos >= 0 ? totalNanos : System.nanoTime() - startNanos;
+        return nanos / 1e6;
+    }
+
+    /**
+     * Encerra a medição: publica no histórico e agenda a gravação da linha no arquivo
+     */
+    public void finish() {
+        synchronized (this) {
+            if (totalNanos >= 0) return;
+            totalNanos = System.nanoTime() - startNanos;
+        }
+        synchronized (HISTORY) {
+            if (HISTORY.size() == HISTORY_SIZE) {
+                HISTORY.removeFirst();
+            }
+            HISTORY.addLast(this);
+        }
+        if (!metricsFile().isEmpty()) {
+            String line = toJson();
+            WRITER.submit(() -> appendToFile(line));
+        }
+    }
+
+    /**
+     * Última medição finalizada, ou null
+     */
+    public static LoadMetrics getLast() {
+        synchronized (HISTORY) {
+            return HISTORY.peekLast();
+        }
+    }
+
+    /**
+     * Medições finalizadas, da mais antiga para a mais recente
+     */
+    public static List<LoadMetrics> getHistory() {
+        synchronized (HISTORY) {
+            return new ArrayList<>(HISTORY);
+        }
+    }
+
+    /**
+     * Uma linha JSON com todos os campos
+     */
+    public synchronized String toJson() {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"time\":\"").append(Instant.ofEpochMilli(startedAt)).append('"');
+        json.append(",\"path\":\"").append(escape(path)).append('"');
+        json.append(",\"source\":\"").append(source).append('"');
+        json.append(",\"fileBytes\":").append(fileBytes);
+        json.append(",\"vertices\":").append(vertexCount);
+        json.append(",\"triangles\":").append(triangleCount);
+        json.append(",\"meshViews\":").append(meshViewCount);
+        json.append(",\"totalMs\":").append(String.format(Locale.ROOT, "%.3f", getTotalMillis()));
+        json.append(",\"phases\":[");
+        for (int i = 0; i < phases.size(); i++) {
+            Phase phase = phases.get(i);
+            if (i > 0) json.append(',');
+            json.append("{\"name\":\"").append(phase.name).append('"');
+            json.append(",\"ms\":").append(String.format(Locale.ROOT, "%.3f", phase.getMillis()));
+            json.append(",\"allocatedBytes\":").append(phase.allocatedBytes);
+            json.append('}');
+        }
+        json.append("]}");
+        return json.toString();
+    }
+
+    /**
+     * Resumo legível (uma fase por linha)
+     */
+    public synchronized String toSummary() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%s (%s, %.1f MB) - %.1f ms%n",
+                Path.of(path).getFileName(), source, fileBytes / (1024.0 * 1024.0), getTotalMillis()));
+        text.append(String.format("%,d vértices | %,d triângulos | %d MeshView(s)%n",
+                vertexCount, triangleCount, meshViewCount));
+        for (Phase phase : phases) {
+            text.append(String.format("  %-14s %9.1f ms %10.1f MB alocados%n",
+                    phase.name, phase.getMillis(), phase.allocatedBytes / (1024.0 * 1024.0)));
+        }
+        return text.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+
+    private static String metricsFile() {
+        return System.getProperty("biomeasure.loadMetrics.file",
+                Path.of(System.getProperty("user.home"), ".biomeasure", "load-metrics.jsonl").toString());
+    }
+
+    /**
+     * Acrescenta a linha no arquivo (thread de gravação, fora da thread do JavaFX)
+     */
+    private static void appendToFile(String line) {
+        try {
+            Path target = Path.of(metricsFile());
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            Files.writeString(target, line + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("[LoadMetrics] Erro ao gravar medições: " + e.getMessage());
+        }
+    }
+
+    private static String escape(String value) {
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Bytes alocados até agora somando todas as threads vivas (-1 se a JVM não suportar)
+     * Inclui as threads do ForkJoinPool usadas na leitura paralela
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+        if (!sunThreads.isThreadAllocatedMemorySupported() || !sunThreads.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        long total = 0;
+        for (long allocated : sunThreads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (allocated > 0) total += allocated;
+        }
+        return total;
+    }
+
+    /**
+     * Uma fase do carregamento (leitura, solda, montagem dos meshes...)
+     */
+    public final class Phase {
+        private final String name;
+        private final long start = System.nanoTime();
+        private final long allocatedAtStart = allocatedBytes();
+        private long nanos = -1;
+        private long allocatedBytes;
+
+        private Phase(String name) {
+            this.name = name;
+        }
+
+        public void end() {
+            if (nanos >= 0) return;
+            nanos = System.nanoTime() - start;
+            long allocatedNow = allocatedBytes();
+            allocatedBytes = allocatedAtStart >= 0 && allocatedNow >= 0 ? Math.max(allocatedNow - allocatedAtStart, 0) : -1;
+            synchronized (LoadMetrics.this) {
+                phases.add(this);
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getMillis() {
+            return nanos / 1e6;
+        }
+
+        /**
+         * Bytes alocados durante a fase (-1 se indisponível)
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
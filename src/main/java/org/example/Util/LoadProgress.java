@@ -0,0 +1,29 @@
+package org.example.Util;
+
+/**
+ * Acompanhamento de uma leitura de modelo (bytes lidos e cancelamento)
+ * Os métodos podem ser chamados de qualquer thread
+ */
+public interface LoadProgress {
+
+    LoadProgress NONE = new LoadProgress() {
+        @Override
+        public void advance(long bytes) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    /**
+     * Soma bytes recém-lidos ao total
+     */
+    void advance(long bytes);
+
+    /**
+     * Verdadeiro se a leitura deve ser abandonada
+     */
+    boolean isCancelled();
+}
@@ -0,0 +1,373 @@
+package org.example.Util;
+
+import javafx.collections.ObservableFloatArray;
+import javafx.geometry.Point3D;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.input.PickResult;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Camada de marcadores e segmentos de medição desenhada com dois TriangleMesh
+ * - Todos os marcadores num único mesh (esferas low-poly) e todos os segmentos em outro (tubos hexagonais)
+ * - Um material compartilhado por mesh, em vez de um Sphere/Cylinder com material próprio por ponto
+ * - Inclusão acrescenta só os vértices do item; alteração reescreve o item; remoção desloca apenas a cauda
+ *
+ * Deve ser usada na thread do JavaFX
+ */
+public final class MeasurementOverlay {
+
+    private static final int TUBE_SIDES = 6;
+
+    // Esfera unitária (icosaedro subdividido uma vez: 42 vértices, 80 triângulos)
+    private static final float[] SPHERE_VERTICES;
+    private static final int[] SPHERE_FACES;
+
+    static {
+        List<float[]> vertices = new ArrayList<>();
+        float t = (float) ((1 + Math.sqrt(5)) / 2);
+        float[][] base = {
+                {-1, t, 0}, {1, t, 0}, {-1, -t, 0}, {1, -t, 0},
+                {0, -1, t}, {0, 1, t}, {0, -1, -t}, {0, 1, -t},
+                {t, 0, -1}, {t, 0, 1}, {-t, 0, -1}, {-t, 0, 1}
+        };
+        for (float[] v : base) {
+            vertices.add(normalize(v));
+        }
+        int[] icosahedron = {
+                0, 11, 5, 0, 5, 1, 0, 1, 7, 0, 7, 10, 0, 10, 11,
+                1, 5, 9, 5, 11, 4, 11, 10, 2, 10, 7, 6, 7, 1, 8,
+                3, 9, 4, 3, 4, 2, 3, 2, 6, 3, 6, 8, 3, 8, 9,
+                4, 9, 5, 2, 4, 11, 6, 2, 10, 8, 6, 7, 9, 8, 1
+        };
+
+        // Cada triângulo vira 4, com os pontos médios das arestas projetados na esfera
+        Map<Long, Integer> midpoints = new HashMap<>();
+        int[] faces = new int[icosahedron.length * 4];
+        int f = 0;
+        for (int i = 0; i < icosahedron.length; i += 3) {
+            int a = icosahedron[i], b = icosahedron[i + 1], c = icosahedron[i + 2];
+            int ab = midpoint(a, b, vertices, midpoints);
+            int bc = midpoint(b, c, vertices, midpoints);
+            int ca = midpoint(c, a, vertices, midpoints);
+            int[] split = {a, ab, ca, b, bc, ab, c, ca, bc, ab, bc, ca};
+            System.arraycopy(split, 0, faces, f, split.length);
+            f += split.length;
+        }
+
+        SPHERE_VERTICES = new float[vertices.size() * 3];
+        for (int i = 0; i < vertices.size(); i++) {
+            System.arraycopy(vertices.get(i), 0, SPHERE_VERTICES, i * 3, 3);
+        }
+
+        // Mesma orientação dos OBJ carregados: (b - a) x (c - a) apontando para fora
+        for (int i = 0; i < faces.length; i += 3) {
+            float[] a = vertices.get(faces[i]), b = vertices.get(faces[i + 1]), c = vertices.get(faces[i + 2]);
+            float e1x = b[0] - a[0], e1y = b[1] - a[1], e1z = b[2] - a[2];
+            float e2x = c[0] - a[0], e2y = c[1] - a[1], e2z = c[2] - a[2];
+            float nx = e1y * e2z - e1z * e2y, ny = e1z * e2x - e1x * e2z, nz = e1x * e2y - e1y * e2x;
+            if (nx * a[0] + ny * a[1] + nz * a[2] < 0) {
+                int tmp = faces[i + 1];
+                faces[i + 1] = faces[i + 2];
+                faces[i + 2] = tmp;
+            }
+        }
+        SPHERE_FACES = faces;
+    }
+
+    // Tubo aberto: anel no início (0..SIDES-1) e no fim (SIDES..2*SIDES-1)
+    private static final int[] TUBE_FACES = new int[TUBE_SIDES * 6];
+
+    static {
+        for (int k = 0; k < TUBE_SIDES; k++) {
+            int next = (k + 1) % TUBE_SIDES;
+            int f = k * 6;
+            TUBE_FACES[f] = k;
+            TUBE_FACES[f + 1] = next;
+            TUBE_FACES[f + 2] = TUBE_SIDES + next;
+            TUBE_FACES[f + 3] = k;
+            TUBE_FACES[f + 4] = TUBE_SIDES + next;
+            TUBE_FACES[f + 5] = TUBE_SIDES + k;
+        }
+    }
+
+    private final Group root = new Group();
+    private final Batch markers;
+    private final Batch segments;
+
+    private final List<Point3D> markerCenters = new ArrayList<>();
+    private final List<Point3D> segmentEnds = new ArrayList<>(); // 2 por segmento
+
+    private double markerRadius = 0.02;
+    private double lineRadius = 0.005;
+
+    public MeasurementOverlay(Color markerColor, Color lineColor) {
+        markers = new Batch(SPHERE_VERTICES.length / 3, SPHERE_FACES, new PhongMaterial(markerColor));
+        segments = new Batch(TUBE_SIDES * 2, TUBE_FACES, new PhongMaterial(lineColor));
+        // Segmentos nunca bloqueiam o picking do modelo; marcadores sim (clique em ponto existente)
+        segments.view.setMouseTransparent(true);
+        root.getChildren().addAll(segments.view, markers.view);
+    }
+
+    public Node getNode() {
+        return root;
+    }
+
+    public int getMarkerCount() {
+        return markerCenters.size();
+    }
+
+    public int getSegmentCount() {
+        return segmentEnds.size() / 2;
+    }
+
+    /**
+     * Tamanhos em coordenadas da cena; refaz a geometria só se mudarem
+     */
+    public void setSizes(double markerRadius, double lineRadius) {
+        if (markerRadius != this.markerRadius) {
+            this.markerRadius = markerRadius;
+            rewriteMarkers(0);
+        }
+        if (lineRadius != this.lineRadius) {
+            this.lineRadius = lineRadius;
+            rewriteSegments(0);
+        }
+    }
+
+    // =================== MARCADORES ===================
+
+    public void addMarker(Point3D center) {
+        markerCenters.add(center);
+        markers.append(markerVertices(center));
+    }
+
+    public void setMarker(int index, Point3D center) {
+        markerCenters.set(index, center);
+        markers.write(index, markerVertices(center));
+    }
+
+    public void removeMarker(int index) {
+        markerCenters.remove(index);
+        rewriteMarkers(index);
+    }
+
+    public void insertMarker(int index, Point3D center) {
+        markerCenters.add(index, center);
+        rewriteMarkers(index);
+    }
+
+    public boolean isMarkerNode(Node node) {
+        return node == markers.view;
+    }
+
+    /**
+     * Índice do marcador atingido pelo picking do JavaFX (ou -1)
+     */
+    public int getMarkerIndex(PickResult pickResult) {
+        if (pickResult == null || pickResult.getIntersectedNode() != markers.view) return -1;
+        int face = pickResult.getIntersectedFace();
+        return face < 0 ? -1 : face / (SPHERE_FACES.length / 3);
+    }
+
+    // =================== SEGMENTOS ===================
+
+    public void addSegment(Point3D start, Point3D end) {
+        segmentEnds.add(start);
+        segmentEnds.add(end);
+        segments.append(segmentVertices(start, end));
+    }
+
+    public void setSegment(int index, Point3D start, Point3D end) {
+        segmentEnds.set(index * 2, start);
+        segmentEnds.set(index * 2 + 1, end);
+        segments.write(index, segmentVertices(start, end));
+    }
+
+    public void removeSegment(int index) {
+        segmentEnds.remove(index * 2 + 1);
+        segmentEnds.remove(index * 2);
+        rewriteSegments(index);
+    }
+
+    public void insertSegment(int index, Point3D start, Point3D end) {
+        segmentEnds.add(index * 2, end);
+        segmentEnds.add(index * 2, start);
+        rewriteSegments(index);
+    }
+
+    /**
+     * Acrescenta uma polilinha inteira (pontos consecutivos) de uma só vez
+     */
+    public void addPolyline(List<Point3D> points) {
+        int first = getSegmentCount();
+        for (int i = 1; i < points.size(); i++) {
+            segmentEnds.add(points.get(i - 1));
+            segmentEnds.add(points.get(i));
+        }
+        rewriteSegments(first);
+    }
+
+    public void clear() {
+        markerCenters.clear();
+        segmentEnds.clear();
+        markers.truncate(0);
+        segments.truncate(0);
+    }
+
+    // =================== GEOMETRIA ===================
+
+    private void rewriteMarkers(int from) {
+        int count = markerCenters.size();
+        float[] tail = new float[Math.max(0, count - from) * markers.vertexCount * 3];
+        for (int i = from; i < count; i++) {
+            float[] vertices = markerVertices(markerCenters.get(i));
+            System.arraycopy(vertices, 0, tail, (i - from) * vertices.length, vertices.length);
+        }
+        markers.replaceTail(from, count, tail);
+    }
+
+    private void rewriteSegments(int from) {
+        int count = getSegmentCount();
+        float[] tail = new float[Math.max(0, count - from) * segments.vertexCount * 3];
+        for (int i = from; i < count; i++) {
+            float[] vertices = segmentVertices(segmentEnds.get(i * 2), segmentEnds.get(i * 2 + 1));
+            System.arraycopy(vertices, 0, tail, (i - from) * vertices.length, vertices.length);
+        }
+        segments.replaceTail(from, count, tail);
+    }
+
+    private float[] markerVertices(Point3D center) {
+        float[] out = new float[SPHERE_VERTICES.length];
+        for (int i = 0; i < out.length; i += 3) {
+            out[i] = (float) (center.getX() + SPHERE_VERTICES[i] * markerRadius);
+            out[i + 1] = (float) (center.getY() + SPHERE_VERTICES[i + 1] * markerRadius);
+            out[i + 2] = (float) (center.getZ() + SPHERE_VERTICES[i + 2] * markerRadius);
+        }
+        return out;
+    }
+
+    private float[] segmentVertices(Point3D start, Point3D end) {
+        Point3D direction = end.subtract(start);
+        if (direction.magnitude() < 1e-12) {
+            direction = new Point3D(0, 1, 0);
+        }
+        direction = direction.normalize();
+
+        // Base ortonormal (u, v, direção) com v = direção x u
+        Point3D helper = Math.abs(direction.getX()) < 0.9 ? new Point3D(1, 0, 0) : new Point3D(0, 1, 0);
+        Point3D u = helper.crossProduct(direction).normalize();
+        Point3D v = direction.crossProduct(u);
+
+        float[] out = new float[TUBE_SIDES * 2 * 3];
+        for (int k = 0; k < TUBE_SIDES; k++) {
+            double angle = 2 * Math.PI * k / TUBE_SIDES;
+            double ox = (Math.cos(angle) * u.getX() + Math.sin(angle) * v.getX()) * lineRadius;
+            double oy = (Math.cos(angle) * u.getY() + Math.sin(angle) * v.getY()) * lineRadius;
+            double oz = (Math.cos(angle) * u.getZ() + Math.sin(angle) * v.getZ()) * lineRadius;
+            int a = k * 3, b = (TUBE_SIDES + k) * 3;
+            out[a] = (float) (start.getX() + ox);
+            out[a + 1] = (float) (start.getY() + oy);
+            out[a + 2] = (float) (start.getZ() + oz);
+            out[b] = (float) (end.getX() + ox);
+            out[b + 1] = (float) (end.getY() + oy);
+            out[b + 2] = (float) (end.getZ() + oz);
+        }
+        return out;
+    }
+
+    private static float[] normalize(float[] v) {
+        float length = (float) Math.sqrt(v[0] * v[0] + v[1] * v[1] + v[2] * v[2]);
+        return new float[]{v[0] / length, v[1] / length, v[2] / length};
+    }
+
+    private static int midpoint(int a, int b, List<float[]> vertices, Map<Long, Integer> cache) {
+        long key = a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+        Integer index = cache.get(key);
+        if (index == null) {
+            float[] p = vertices.get(a), q = vertices.get(b);
+            vertices.add(normalize(new float[]{(p[0] + q[0]) / 2, (p[1] + q[1]) / 2, (p[2] + q[2]) / 2}));
+            index = vertices.size() - 1;
+            cache.put(key, index);
+        }
+        return index;
+    }
+
+    /**
+     * Um TriangleMesh com itens de mesma topologia (vertexCount vértices e o mesmo padrão de faces)
+     * O item i ocupa os vértices [i * vertexCount, (i + 1) * vertexCount)
+     */
+    private static final class Batch {
+        final TriangleMesh mesh = new TriangleMesh();
+        final MeshView view = new MeshView(mesh);
+        final int vertexCount;
+        final int[] template;
+        int count;
+
+        Batch(int vertexCount, int[] template, PhongMaterial material) {
+            this.vertexCount = vertexCount;
+            this.template = template;
+            mesh.getTexCoords().addAll(0, 0);
+            view.setMaterial(material);
+            view.setVisible(false);
+        }
+
+        void append(float[] vertices) {
+            mesh.getPoints().addAll(vertices);
+            mesh.getFaces().addAll(faces(count, 1));
+            count++;
+            view.setVisible(true);
+        }
+
+        void write(int index, float[] vertices) {
+            mesh.getPoints().set(index * vertexCount * 3, vertices, 0, vertices.length);
+        }
+
+        /**
+         * Reescreve os itens a partir de from com os vértices dados; total passa a ser newCount
+         */
+        void replaceTail(int from, int newCount, float[] tail) {
+            ObservableFloatArray points = mesh.getPoints();
+            points.resize(newCount * vertexCount * 3);
+            if (tail.length > 0) {
+                points.set(from * vertexCount * 3, tail, 0, tail.length);
+            }
+            if (newCount > count) {
+                mesh.getFaces().addAll(faces(count, newCount - count));
+            } else if (newCount < count) {
+                mesh.getFaces().resize(newCount * template.length * 2);
+            }
+            count = newCount;
+            view.setVisible(count > 0);
+        }
+
+        void truncate(int newCount) {
+            mesh.getPoints().resize(newCount * vertexCount * 3);
+            mesh.getFaces().resize(newCount * template.length * 2);
+            count = newCount;
+            view.setVisible(count > 0);
+        }
+
+        // Faces (ponto, texcoord 0) dos itens [first, first + items)
+        private int[] faces(int first, int items) {
+            int[] out = new int[items * template.length * 2];
+            int f = 0;
+            for (int item = first; item < first + items; item++) {
+                int offset = item * vertexCount;
+                for (int index : template) {
+                    out[f++] = offset + index;
+                    out[f++] = 0;
+                }
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,483 @@
+package org.example.Util;
+
+import javafx.geometry.Point3D;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.UnaryOperator;
+
+/**
+ * Caminho de medição editável: inserir, mover e remover pontos, com desfazer/refazer
+ *
+ * Os pontos ficam numa treap implícita (árvore balanceada indexada pela posição), em arrays.
+ * Cada nó guarda o comprimento do segmento que chega nele e a soma da subárvore, então
+ * inserção, remoção, movimento, distância total e distâncias parciais custam O(log n)
+ *
+ * Segmento j = do ponto j ao ponto j + 1. Deve ser usada numa única thread (a do JavaFX)
+ */
+public final class MeasurementSession {
+
+    /**
+     * Avisos de mudança, para atualizar a camada de desenho só no trecho alterado
+     */
+    public interface Listener {
+        void pointInserted(int index, Point3D point);
+
+        void pointMoved(int index, Point3D point);
+
+        void pointRemoved(int index);
+
+        void cleared();
+    }
+
+    private static final int NIL = 0;
+
+    // Nó 0 é o nulo (tamanho e soma zero)
+    private int[] left = new int[16];
+    private int[] right = new int[16];
+    private int[] size = new int[16];
+    private int[] priority = new int[16];
+    private double[] length = new double[16];
+    private double[] sum = new double[16];
+    private Point3D[] points = new Point3D[16];
+    private int nodeCount = 1;
+    private int[] freeNodes = new int[16];
+    private int freeCount;
+    private int root = NIL;
+    private final SplittableRandom random = new SplittableRandom(0x5EED);
+
+    // Resultado de split()
+    private int splitLeft, splitRight;
+
+    private final Deque<Edit> undoStack = new ArrayDeque<>();
+    private final Deque<Edit> redoStack = new ArrayDeque<>();
+    private final List<Listener> listeners = new ArrayList<>();
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    // =================== CONSULTAS ===================
+
+    public int size() {
+        return size[root];
+    }
+
+    public boolean isEmpty() {
+        return root == NIL;
+    }
+
+    public Point3D get(int index) {
+        return points[nodeAt(index)];
+    }
+
+    public Point3D getLast() {
+        return isEmpty() ? null : get(size() - 1);
+    }
+
+    /**
+     * Cópia dos pontos na ordem do caminho
+     */
+    public List<Point3D> toList() {
+        List<Point3D> out = new ArrayList<>(size());
+        collect(root, out);
+        return out;
+    }
+
+    public double getTotalLength() {
+        return sum[root];
+    }
+
+    /**
+     * Comprimento do segmento j (do ponto j ao j + 1)
+     */
+    public double getSegmentLength(int segment) {
+        return length[nodeAt(segment + 1)];
+    }
+
+    /**
+     * Comprimento do caminho entre os pontos from e to (from <= to)
+     */
+    public double getLength(int from, int to) {
+        return prefix(to) - prefix(from);
+    }
+
+    // =================== EDIÇÃO ===================
+
+    public void add(Point3D point) {
+        insert(size(), point);
+    }
+
+    public void insert(int index, Point3D point) {
+        checkPosition(index, size());
+        record(Edit.insert(index, point));
+        doInsert(index, point);
+    }
+
+    public void move(int index, Point3D point) {
+        Point3D previous = get(index);
+        record(Edit.move(index, previous, point));
+        doMove(index, point);
+    }
+
+    /**
+     * Move sem registrar no histórico (arrasto em andamento); concluir com finishMove
+     */
+    public void previewMove(int index, Point3D point) {
+        doMove(index, point);
+    }
+
+    /**
+     * Registra no histórico um movimento feito com previewMove a partir de original
+     */
+    public void finishMove(int index, Point3D original) {
+        Point3D current = get(index);
+        if (!current.equals(original)) {
+            record(Edit.move(index, original, current));
+        }
+    }
+
+    public void remove(int index) {
+        Point3D point = get(index);
+        record(Edit.remove(index, point));
+        doRemove(index);
+    }
+
+    public void clear() {
+        if (isEmpty()) return;
+        record(Edit.clear(toList()));
+        doClear();
+    }
+
+    /**
+     * Posição de inserção que menos aumenta o caminho (entre dois pontos ou numa das pontas)
+     */
+    public int bestInsertionIndex(Point3D point) {
+        List<Point3D> all = toList();
+        if (all.isEmpty()) return 0;
+        int best = 0;
+        double bestIncrease = point.distance(all.get(0));
+        double atEnd = point.distance(all.get(all.size() - 1));
+        if (atEnd < bestIncrease) {
+            best = all.size();
+            bestIncrease = atEnd;
+        }
+        for (int i = 1; i < all.size(); i++) {
+            Point3D a = all.get(i - 1), b = all.get(i);
+            double increase = a.distance(point) + point.distance(b) - a.distance(b);
+            if (increase < bestIncrease) {
+                bestIncrease = increase;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Aplica a mesma transformação a todos os pontos, inclusive os guardados no histórico
+     * (o caminho acompanha o modelo quando ele é movido, sem virar uma edição)
+     */
+    public void transform(UnaryOperator<Point3D> mapping) {
+        int count = size();
+        for (int i = 0; i < count; i++) {
+            doMove(i, mapping.apply(get(i)));
+        }
+        transformHistory(undoStack, mapping);
+        transformHistory(redoStack, mapping);
+    }
+
+    private static void transformHistory(Deque<Edit> stack, UnaryOperator<Point3D> mapping) {
+        List<Edit> edits = new ArrayList<>(stack);
+        stack.clear();
+        for (Edit edit : edits) {
+            stack.addLast(edit.map(mapping));
+        }
+    }
+
+    // =================== HISTÓRICO ===================
+
+    public boolean canUndo() {
+        return !undoStack.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !redoStack.isEmpty();
+    }
+
+    public boolean undo() {
+        Edit edit = undoStack.poll();
+        if (edit == null) return false;
+        switch (edit.type) {
+            case INSERT -> doRemove(edit.index);
+            case MOVE -> doMove(edit.index, edit.before);
+            case REMOVE -> doInsert(edit.index, edit.before);
+            case CLEAR -> {
+                for (Point3D point : edit.all) {
+                    doInsert(size(), point);
+                }
+            }
+        }
+        redoStack.push(edit);
+        return true;
+    }
+
+    public boolean redo() {
+        Edit edit = redoStack.poll();
+        if (edit == null) return false;
+        switch (edit.type) {
+            case INSERT -> doInsert(edit.index, edit.after);
+            case MOVE -> doMove(edit.index, edit.after);
+            case REMOVE -> doRemove(edit.index);
+            case CLEAR -> doClear();
+        }
+        undoStack.push(edit);
+        return true;
+    }
+
+    private void record(Edit edit) {
+        undoStack.push(edit);
+        redoStack.clear();
+    }
+
+    private void doInsert(int index, Point3D point) {
+        int node = newNode(point);
+        if (index > 0) {
+            length[node] = get(index - 1).distance(point);
+            sum[node] = length[node];
+        }
+        split(root, index);
+        int l = splitLeft, r = splitRight;
+        root = merge(merge(l, node), r);
+        if (index + 1 < size()) {
+            setLength(index + 1, point.distance(get(index + 1)));
+        }
+        for (Listener listener : listeners) listener.pointInserted(index, point);
+    }
+
+    private void doMove(int index, Point3D point) {
+        points[nodeAt(index)] = point;
+        if (index > 0) {
+            setLength(index, get(index - 1).distance(point));
+        }
+        if (index + 1 < size()) {
+            setLength(index + 1, point.distance(get(index + 1)));
+        }
+        for (Listener listener : listeners) listener.pointMoved(index, point);
+    }
+
+    private void doRemove(int index) {
+        split(root, index);
+        int l = splitLeft;
+        split(splitRight, 1);
+        int removed = splitLeft, r = splitRight;
+        root = merge(l, r);
+        freeNode(removed);
+        if (index < size()) {
+            setLength(index, index > 0 ? get(index - 1).distance(get(index)) : 0);
+        }
+        for (Listener listener : listeners) listener.pointRemoved(index);
+    }
+
+    private void doClear() {
+        root = NIL;
+        nodeCount = 1;
+        freeCount = 0;
+        Arrays.fill(points, null);
+        for (Listener listener : listeners) listener.cleared();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fora de [0, " + size() + ")");
+        }
+    }
+
+    private static void checkPosition(int index, int limit) {
+        if (index < 0 || index > limit) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fora de [0, " + limit + "]");
+        }
+    }
+
+    // =================== TREAP ===================
+
+    private int nodeAt(int index) {
+        checkIndex(index);
+        int t = root;
+        while (true) {
+            int leftSize = size[left[t]];
+            if (index < leftSize) {
+                t = left[t];
+            } else if (index == leftSize) {
+                return t;
+            } else {
+                index -= leftSize + 1;
+                t = right[t];
+            }
+        }
+    }
+
+    // Soma dos comprimentos dos nós 0..index
+    private double prefix(int index) {
+        checkIndex(index);
+        double total = 0;
+        int t = root;
+        while (t != NIL) {
+            int leftSize = size[left[t]];
+            if (index < leftSize) {
+                t = left[t];
+            } else {
+                total += sum[left[t]] + length[t];
+                if (index == leftSize) break;
+                index -= leftSize + 1;
+                t = right[t];
+            }
+        }
+        return total;
+    }
+
+    private void setLength(int index, double value) {
+        setLength(root, index, value);
+    }
+
+    private void setLength(int t, int index, double value) {
+        int leftSize = size[left[t]];
+        if (index < leftSize) {
+            setLength(left[t], index, value);
+        } else if (index == leftSize) {
+            length[t] = value;
+        } else {
+            setLength(right[t], index - leftSize - 1, value);
+        }
+        update(t);
+    }
+
+    // Primeiros k nós em splitLeft, o resto em splitRight
+    private void split(int t, int k) {
+        if (t == NIL) {
+            splitLeft = splitRight = NIL;
+            return;
+        }
+        if (size[left[t]] < k) {
+            split(right[t], k - size[left[t]] - 1);
+            right[t] = splitLeft;
+            update(t);
+            splitLeft = t;
+        } else {
+            split(left[t], k);
+            left[t] = splitRight;
+            update(t);
+            splitRight = t;
+        }
+    }
+
+    private int merge(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private void update(int t) {
+        size[t] = size[left[t]] + size[right[t]] + 1;
+        sum[t] = sum[left[t]] + sum[right[t]] + length[t];
+    }
+
+    private void collect(int t, List<Point3D> out) {
+        if (t == NIL) return;
+        collect(left[t], out);
+        out.add(points[t]);
+        collect(right[t], out);
+    }
+
+    private int newNode(Point3D point) {
+        int node;
+        if (freeCount > 0) {
+            node = freeNodes[--freeCount];
+        } else {
+            if (nodeCount == left.length) {
+                int capacity = left.length * 2;
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+                size = Arrays.copyOf(size, capacity);
+                priority = Arrays.copyOf(priority, capacity);
+                length = Arrays.copyOf(length, capacity);
+                sum = Arrays.copyOf(sum, capacity);
+                points = Arrays.copyOf(points, capacity);
+            }
+            node = nodeCount++;
+        }
+        left[node] = NIL;
+        right[node] = NIL;
+        size[node] = 1;
+        priority[node] = random.nextInt();
+        length[node] = 0;
+        sum[node] = 0;
+        points[node] = point;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        points[node] = null;
+        if (freeCount == freeNodes.length) {
+            freeNodes = Arrays.copyOf(freeNodes, freeCount * 2);
+        }
+        freeNodes[freeCount++] = node;
+    }
+
+    /**
+     * Uma edição do histórico
+     */
+    private static final class Edit {
+        enum Type { INSERT, MOVE, REMOVE, CLEAR }
+
+        final Type type;
+        final int index;
+        final Point3D before;
+        final Point3D after;
+        final List<Point3D> all;
+
+        private Edit(Type type, int index, Point3D before, Point3D after, List<Point3D> all) {
+            this.type = type;
+            this.index = index;
+            this.before = before;
+            this.after = after;
+            this.all = all;
+        }
+
+        static Edit insert(int index, Point3D point) {
+            return new Edit(Type.INSERT, index, null, point, null);
+        }
+
+        static Edit move(int index, Point3D before, Point3D after) {
+            return new Edit(Type.MOVE, index, before, after, null);
+        }
+
+        static Edit remove(int index, Point3D point) {
+            return new Edit(Type.REMOVE, index, point, null, null);
+        }
+
+        static Edit clear(List<Point3D> all) {
+            return new Edit(Type.CLEAR, -1, null, null, all);
+        }
+
+        Edit map(UnaryOperator<Point3D> mapping) {
+            List<Point3D> mappedAll = null;
+            if (all != null) {
+                mappedAll = new ArrayList<>(all.size());
+                for (Point3D point : all) mappedAll.add(mapping.apply(point));
+            }
+            return new Edit(type, index, before != null ? mapping.apply(before) : null,
+                    after != null ? mapping.apply(after) : null, mappedAll);
+        }
+    }
+}
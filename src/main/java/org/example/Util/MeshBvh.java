@@ -0,0 +1,646 @@
+package org.example.Util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hierarquia de volumes envolventes (BVH) sobre os triângulos de um MeshData
+ * - Construção com SAH por bins, em paralelo no ForkJoinPool comum
+ * - Nós em arrays primitivos (sem um objeto por nó)
+ * - Consulta raio x triângulo (Möller-Trumbore, as duas faces) em microssegundos
+ * - Ponto mais próximo da superfície e triângulos cortados por um plano
+ *
+ * Coordenadas são as do MeshData (antes da centralização)
+ */
+public final class MeshBvh {
+
+    private static final int LEAF_SIZE = 4;
+    private static final int BINS = 16;
+    private static final int PARALLEL_THRESHOLD = 32 * 1024;
+    private static final int MAX_DEPTH = 64;
+
+    // Tamanho mínimo do array out de closestPoint (posições 4.. são de trabalho)
+    public static final int CLOSEST_POINT_SIZE = 7;
+
+    private final float[] positions;
+    private final int[] triangles;
+
+    // Por nó: min x,y,z e max x,y,z
+    private final float[] nodeBounds;
+    // Folha: primeiro índice em order; interno: índice do filho esquerdo (direito = +1)
+    private final int[] nodeStart;
+    // Folha: quantidade de triângulos; interno: 0
+    private final int[] nodeCount;
+    private final int nodeTotal;
+
+    // Triângulos reordenados de forma que cada folha é uma faixa contínua
+    private final int[] order;
+
+    private MeshBvh(float[] positions, int[] triangles) {
+        this.positions = positions;
+        this.triangles = triangles;
+
+        int triangleCount = triangles.length / 3;
+        int maxNodes = Math.max(2 * triangleCount - 1, 1);
+        nodeBounds = new float[maxNodes * 6];
+        nodeStart = new int[maxNodes];
+        nodeCount = new int[maxNodes];
+        order = new int[triangleCount];
+
+        float[] centroids = new float[triangleCount * 3];
+        for (int t = 0; t < triangleCount; t++) {
+            order[t] = t;
+            int a = triangles[t * 3] * 3, b = triangles[t * 3 + 1] * 3, c = triangles[t * 3 + 2] * 3;
+            centroids[t * 3] = (positions[a] + positions[b] + positions[c]) / 3f;
+            centroids[t * 3 + 1] = (positions[a + 1] + positions[b + 1] + positions[c + 1]) / 3f;
+            centroids[t * 3 + 2] = (positions[a + 2] + positions[b + 2] + positions[c + 2]) / 3f;
+        }
+
+        AtomicInteger nodeCounter = new AtomicInteger(1);
+        if (triangleCount > 0) {
+            new BuildTask(0, 0, triangleCount, null, centroids, nodeCounter, 0).invoke();
+        }
+        nodeTotal = nodeCounter.get();
+    }
+
+    /**
+     * Constrói a BVH de forma síncrona (usa o ForkJoinPool comum)
+     */
+    public static MeshBvh build(float[] positions, int[] triangles) {
+        return new MeshBvh(positions, triangles);
+    }
+
+    public static MeshBvh build(MeshData data) {
+        return build(data.getPositions(), MeshSimplifier.positionTriangles(data));
+    }
+
+    /**
+     * Constrói a BVH em segundo plano
+     */
+    public static CompletableFuture<MeshBvh> buildAsync(MeshData data) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            MeshBvh bvh = build(data);
+            System.out.println(String.format("[MeshBvh] %d triângulos, %d nós em %.1f ms",
+                    bvh.getTriangleCount(), bvh.getNodeCount(), (System.nanoTime() - start) / 1e6));
+            return bvh;
+        });
+    }
+
+    public int getTriangleCount() {
+        return order.length;
+    }
+
+    public int getNodeCount() {
+        return nodeTotal;
+    }
+
+    public float[] getPositions() {
+        return positions;
+    }
+
+    /**
+     * Índices dos vértices (3 por triângulo)
+     */
+    public int[] getTriangles() {
+        return triangles;
+    }
+
+    /**
+     * Interseção mais próxima do raio origem + t * direção (t >= 0), ou null
+     */
+    public Hit intersect(double ox, double oy, double oz, double dx, double dy, double dz) {
+        return intersect(ox, oy, oz, dx, dy, dz, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Igual a intersect, limitando a distância paramétrica máxima
+     */
+    public Hit intersect(double ox, double oy, double oz, double dx, double dy, double dz, double maxT) {
+        if (order.length == 0) return null;
+
+        double invX = 1.0 / dx, invY = 1.0 / dy, invZ = 1.0 / dz;
+        double bestT = maxT;
+        int bestTriangle = -1;
+        double bestU = 0, bestV = 0;
+
+        int[] stack = new int[MAX_DEPTH * 2];
+        int top = 0;
+        if (slabs(0, ox, oy, oz, invX, invY, invZ, bestT) == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+        stack[top++] = 0;
+
+        while (top > 0) {
+            int node = stack[--top];
+            if (nodeCount[node] > 0) {
+                int end = nodeStart[node] + nodeCount[node];
+                for (int i = nodeStart[node]; i < end; i++) {
+                    int t = order[i];
+                    int a = triangles[t * 3] * 3, b = triangles[t * 3 + 1] * 3, c = triangles[t * 3 + 2] * 3;
+
+                    // Möller-Trumbore
+                    double e1x = positions[b] - positions[a], e1y = positions[b + 1] - positions[a + 1], e1z = positions[b + 2] - positions[a + 2];
+                    double e2x = positions[c] - positions[a], e2y = positions[c + 1] - positions[a + 1], e2z = positions[c + 2] - positions[a + 2];
+                    double px = dy * e2z - dz * e2y, py = dz * e2x - dx * e2z, pz = dx * e2y - dy * e2x;
+                    double det = e1x * px + e1y * py + e1z * pz;
+                    if (Math.abs(det) < 1e-20) continue;
+                    double invDet = 1.0 / det;
+
+                    double sx = ox - positions[a], sy = oy - positions[a + 1], sz = oz - positions[a + 2];
+                    double u = (sx * px + sy * py + sz * pz) * invDet;
+                    if (u < 0 || u > 1) continue;
+
+                    double qx = sy * e1z - sz * e1y, qy = sz * e1x - sx * e1z, qz = sx * e1y - sy * e1x;
+                    double v = (dx * qx + dy * qy + dz * qz) * invDet;
+                    if (v < 0 || u + v > 1) continue;
+
+                    double hitT = (e2x * qx + e2y * qy + e2z * qz) * invDet;
+                    if (hitT >= 0 && hitT < bestT) {
+                        bestT = hitT;
+                        bestTriangle = t;
+                        bestU = u;
+                        bestV = v;
+                    }
+                }
+            } else {
+                // Visitar primeiro o filho mais próximo (empilhado por último)
+                int left = nodeStart[node];
+                int right = left + 1;
+                double tLeft = slabs(left, ox, oy, oz, invX, invY, invZ, bestT);
+                double tRight = slabs(right, ox, oy, oz, invX, invY, invZ, bestT);
+                if (tLeft <= tRight) {
+                    if (tRight != Double.POSITIVE_INFINITY) stack[top++] = right;
+                    if (tLeft != Double.POSITIVE_INFINITY) stack[top++] = left;
+                } else {
+                    if (tLeft != Double.POSITIVE_INFINITY) stack[top++] = left;
+                    if (tRight != Double.POSITIVE_INFINITY) stack[top++] = right;
+                }
+            }
+        }
+
+        if (bestTriangle < 0) return null;
+        return new Hit(bestTriangle, bestT, bestU, bestV,
+                ox + dx * bestT, oy + dy * bestT, oz + dz * bestT);
+    }
+
+    /**
+     * Ponto da superfície mais próximo de (x, y, z), procurando só até maxDistanceSquared
+     * Escreve em out o ponto (x, y, z) e a distância ao quadrado; devolve o triângulo ou -1
+     * Não altera a árvore: pode ser chamada de várias threads ao mesmo tempo
+     */
+    public int closestPoint(double x, double y, double z, double maxDistanceSquared, double[] out) {
+        if (order.length == 0) return -1;
+
+        double best = maxDistanceSquared;
+        int bestTriangle = -1;
+        int[] stack = new int[MAX_DEPTH * 2];
+        int top = 0;
+        stack[top++] = 0;
+
+        while (top > 0) {
+            int node = stack[--top];
+            if (boxDistanceSquared(node, x, y, z) >= best) continue;
+
+            if (nodeCount[node] > 0) {
+                int end = nodeStart[node] + nodeCount[node];
+                for (int i = nodeStart[node]; i < end; i++) {
+                    int t = order[i];
+                    double d = closestOnTriangle(t, x, y, z, out);
+                    if (d < best) {
+                        best = d;
+                        bestTriangle = t;
+                        out[4] = out[0];
+                        out[5] = out[1];
+                        out[6] = out[2];
+                    }
+                }
+            } else {
+                // Filho mais próximo por último na pilha (visitado primeiro)
+                int left = nodeStart[node];
+                int right = left + 1;
+                if (boxDistanceSquared(left, x, y, z) <= boxDistanceSquared(right, x, y, z)) {
+                    stack[top++] = right;
+                    stack[top++] = left;
+                } else {
+                    stack[top++] = left;
+                    stack[top++] = right;
+                }
+            }
+        }
+
+        if (bestTriangle < 0) return -1;
+        out[0] = out[4];
+        out[1] = out[5];
+        out[2] = out[6];
+        out[3] = best;
+        return bestTriangle;
+    }
+
+    private double boxDistanceSquared(int node, double x, double y, double z) {
+        int b = node * 6;
+        double dx = Math.max(Math.max(nodeBounds[b] - x, x - nodeBounds[b + 3]), 0);
+        double dy = Math.max(Math.max(nodeBounds[b + 1] - y, y - nodeBounds[b + 4]), 0);
+        double dz = Math.max(Math.max(nodeBounds[b + 2] - z, z - nodeBounds[b + 5]), 0);
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Ponto do triângulo t mais próximo de p (por regiões de Voronoi), escrito em out[0..2]
+     * Devolve a distância ao quadrado
+     */
+    private double closestOnTriangle(int t, double px, double py, double pz, double[] out) {
+        int a = triangles[t * 3] * 3, b = triangles[t * 3 + 1] * 3, c = triangles[t * 3 + 2] * 3;
+        double ax = positions[a], ay = positions[a + 1], az = positions[a + 2];
+        double abx = positions[b] - ax, aby = positions[b + 1] - ay, abz = positions[b + 2] - az;
+        double acx = positions[c] - ax, acy = positions[c + 1] - ay, acz = positions[c + 2] - az;
+        double apx = px - ax, apy = py - ay, apz = pz - az;
+
+        double rx, ry, rz;
+        double d1 = abx * apx + aby * apy + abz * apz;
+        double d2 = acx * apx + acy * apy + acz * apz;
+        if (d1 <= 0 && d2 <= 0) {
+            rx = ax; ry = ay; rz = az;
+        } else {
+            double bpx = px - positions[b], bpy = py - positions[b + 1], bpz = pz - positions[b + 2];
+            double d3 = abx * bpx + aby * bpy + abz * bpz;
+            double d4 = acx * bpx + acy * bpy + acz * bpz;
+            double cpx = px - positions[c], cpy = py - positions[c + 1], cpz = pz - positions[c + 2];
+            double d5 = abx * cpx + aby * cpy + abz * cpz;
+            double d6 = acx * cpx + acy * cpy + acz * cpz;
+            double vc = d1 * d4 - d3 * d2;
+            double vb = d5 * d2 - d1 * d6;
+            double va = d3 * d6 - d5 * d4;
+
+            if (d3 >= 0 && d4 <= d3) {
+                rx = positions[b]; ry = positions[b + 1]; rz = positions[b + 2];
+            } else if (d6 >= 0 && d5 <= d6) {
+                rx = positions[c]; ry = positions[c + 1]; rz = positions[c + 2];
+            } else if (vc <= 0 && d1 >= 0 && d3 <= 0) {
+                double v = d1 - d3 > 0 ? d1 / (d1 - d3) : 0;
+                rx = ax + abx * v; ry = ay + aby * v; rz = az + abz * v;
+            } else if (vb <= 0 && d2 >= 0 && d6 <= 0) {
+                double w = d2 - d6 > 0 ? d2 / (d2 - d6) : 0;
+                rx = ax + acx * w; ry = ay + acy * w; rz = az + acz * w;
+            } else if (va <= 0 && (d4 - d3) >= 0 && (d5 - d6) >= 0) {
+                double span = (d4 - d3) + (d5 - d6);
+                double w = span > 0 ? (d4 - d3) / span : 0;
+                rx = positions[b] + (positions[c] - positions[b]) * w;
+                ry = positions[b + 1] + (positions[c + 1] - positions[b + 1]) * w;
+                rz = positions[b + 2] + (positions[c + 2] - positions[b + 2]) * w;
+            } else {
+                double denom = 1.0 / (va + vb + vc);
+                double v = vb * denom, w = vc * denom;
+                rx = ax + abx * v + acx * w; ry = ay + aby * v + acy * w; rz = az + abz * v + acz * w;
+            }
+        }
+
+        out[0] = rx;
+        out[1] = ry;
+        out[2] = rz;
+        double dx = px - rx, dy = py - ry, dz = pz - rz;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Triângulos que cruzam o plano nx * x + ny * y + nz * z = d, acrescentados em out
+     * Só desce nos nós cuja caixa o plano corta; um vértice no plano conta como do lado positivo
+     */
+    public void collectPlane(double nx, double ny, double nz, double d, GrowableIntArray out) {
+        if (order.length == 0) return;
+
+        int[] stack = new int[MAX_DEPTH * 2];
+        int top = 0;
+        stack[top++] = 0;
+
+        while (top > 0) {
+            int node = stack[--top];
+            int b = node * 6;
+            // Distância do centro da caixa ao plano contra o "raio" da caixa na direção da normal
+            double hx = (nodeBounds[b + 3] - nodeBounds[b]) * 0.5;
+            double hy = (nodeBounds[b + 4] - nodeBounds[b + 1]) * 0.5;
+            double hz = (nodeBounds[b + 5] - nodeBounds[b + 2]) * 0.5;
+            double center = nx * (nodeBounds[b] + hx) + ny * (nodeBounds[b + 1] + hy) + nz * (nodeBounds[b + 2] + hz) - d;
+            double reach = Math.abs(nx) * hx + Math.abs(ny) * hy + Math.abs(nz) * hz;
+            if (Math.abs(center) > reach * (1 + 1e-6) + 1e-9) continue;
+
+            if (nodeCount[node] > 0) {
+                int end = nodeStart[node] + nodeCount[node];
+                for (int i = nodeStart[node]; i < end; i++) {
+                    int t = order[i];
+                    int a = triangles[t * 3] * 3, bb = triangles[t * 3 + 1] * 3, c = triangles[t * 3 + 2] * 3;
+                    boolean sa = nx * positions[a] + ny * positions[a + 1] + nz * positions[a + 2] - d >= 0;
+                    boolean sb = nx * positions[bb] + ny * positions[bb + 1] + nz * positions[bb + 2] - d >= 0;
+                    boolean sc = nx * positions[c] + ny * positions[c + 1] + nz * positions[c + 2] - d >= 0;
+                    if (sa != sb || sb != sc) {
+                        out.add(t);
+                    }
+                }
+            } else {
+                stack[top++] = nodeStart[node];
+                stack[top++] = nodeStart[node] + 1;
+            }
+        }
+    }
+
+    /**
+     * Distância de entrada do raio na caixa do nó, ou infinito se não atinge antes de maxT
+     */
+    private double slabs(int node, double ox, double oy, double oz,
+                         double invX, double invY, double invZ, double maxT) {
+        int b = node * 6;
+        double t1 = (nodeBounds[b] - ox) * invX, t2 = (nodeBounds[b + 3] - ox) * invX;
+        double tMin = Math.min(t1, t2), tMax = Math.max(t1, t2);
+        t1 = (nodeBounds[b + 1] - oy) * invY;
+        t2 = (nodeBounds[b + 4] - oy) * invY;
+        tMin = Math.max(tMin, Math.min(t1, t2));
+        tMax = Math.min(tMax, Math.max(t1, t2));
+        t1 = (nodeBounds[b + 2] - oz) * invZ;
+        t2 = (nodeBounds[b + 5] - oz) * invZ;
+        tMin = Math.max(tMin, Math.min(t1, t2));
+        tMax = Math.min(tMax, Math.max(t1, t2));
+
+        // NaN (raio paralelo rente à face da caixa) conta como acerto
+        if (tMax < Math.max(tMin, 0) || tMin > maxT) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Double.isNaN(tMin) ? 0 : tMin;
+    }
+
+    /**
+     * Constrói o nó [start, end) e, recursivamente, seus filhos
+     */
+    private final class BuildTask extends RecursiveAction {
+        private final int node;
+        private final int start;
+        private final int end;
+        // Caixa do nó já conhecida pelo pai (null: calcular aqui)
+        private final float[] bounds;
+        private final float[] centroids;
+        private final AtomicInteger nodeCounter;
+        private final int depth;
+
+        BuildTask(int node, int start, int end, float[] bounds, float[] centroids, AtomicInteger nodeCounter, int depth) {
+            this.node = node;
+            this.start = start;
+            this.end = end;
+            this.bounds = bounds;
+            this.centroids = centroids;
+            this.nodeCounter = nodeCounter;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            int b = node * 6;
+            if (bounds != null) {
+                System.arraycopy(bounds, 0, nodeBounds, b, 6);
+            } else {
+                resetBounds(nodeBounds, b);
+                for (int i = start; i < end; i++) {
+                    int t = order[i];
+                    for (int corner = 0; corner < 3; corner++) {
+                        int p = triangles[t * 3 + corner] * 3;
+                        growBounds(nodeBounds, b, positions[p], positions[p + 1], positions[p + 2]);
+                    }
+                }
+            }
+
+            float cMinX = Float.POSITIVE_INFINITY, cMinY = Float.POSITIVE_INFINITY, cMinZ = Float.POSITIVE_INFINITY;
+            float cMaxX = Float.NEGATIVE_INFINITY, cMaxY = Float.NEGATIVE_INFINITY, cMaxZ = Float.NEGATIVE_INFINITY;
+            for (int i = start; i < end; i++) {
+                int t = order[i];
+                float cx = centroids[t * 3], cy = centroids[t * 3 + 1], cz = centroids[t * 3 + 2];
+                if (cx < cMinX) cMinX = cx;
+                if (cx > cMaxX) cMaxX = cx;
+                if (cy < cMinY) cMinY = cy;
+                if (cy > cMaxY) cMaxY = cy;
+                if (cz < cMinZ) cMinZ = cz;
+                if (cz > cMaxZ) cMaxZ = cz;
+            }
+
+            int count = end - start;
+            int axis = 0;
+            float extent = cMaxX - cMinX;
+            float cMin = cMinX;
+            if (cMaxY - cMinY > extent) {
+                axis = 1;
+                extent = cMaxY - cMinY;
+                cMin = cMinY;
+            }
+            if (cMaxZ - cMinZ > extent) {
+                axis = 2;
+                extent = cMaxZ - cMinZ;
+                cMin = cMinZ;
+            }
+
+            if (count <= LEAF_SIZE || extent <= 0 || depth >= MAX_DEPTH - 1) {
+                makeLeaf();
+                return;
+            }
+
+            float[] leftBounds = new float[6];
+            float[] rightBounds = new float[6];
+            int split = start + splitBySah(axis, cMin, extent, count, leftBounds, rightBounds);
+            if (split <= start || split >= end) {
+                // SAH preferiu não dividir
+                if (count <= LEAF_SIZE * 4) {
+                    makeLeaf();
+                    return;
+                }
+                split = start + count / 2;
+                leftBounds = null;
+                rightBounds = null;
+            }
+
+            int left = nodeCounter.getAndAdd(2);
+            nodeStart[node] = left;
+            nodeCount[node] = 0;
+
+            BuildTask leftTask = new BuildTask(left, start, split, leftBounds, centroids, nodeCounter, depth + 1);
+            BuildTask rightTask = new BuildTask(left + 1, split, end, rightBounds, centroids, nodeCounter, depth + 1);
+            if (count > PARALLEL_THRESHOLD) {
+                ForkJoinTask.invokeAll(leftTask, rightTask);
+            } else {
+                leftTask.compute();
+                rightTask.compute();
+            }
+        }
+
+        private void makeLeaf() {
+            nodeStart[node] = start;
+            nodeCount[node] = end - start;
+        }
+
+        /**
+         * Escolhe o plano de corte por SAH em bins e particiona order[start, end)
+         * Retorna a quantidade de triângulos à esquerda (0 se não valer a pena dividir)
+         * e preenche as caixas dos dois lados
+         */
+        private int splitBySah(int axis, float cMin, float extent, int count, float[] leftBounds, float[] rightBounds) {
+            int[] binCount = new int[BINS];
+            float[] binBounds = new float[BINS * 6];
+            for (int k = 0; k < BINS; k++) {
+                resetBounds(binBounds, k * 6);
+            }
+
+            float scale = BINS / extent;
+            for (int i = start; i < end; i++) {
+                int t = order[i];
+                int bin = Math.min(BINS - 1, (int) ((centroids[t * 3 + axis] - cMin) * scale));
+                binCount[bin]++;
+                for (int corner = 0; corner < 3; corner++) {
+                    int p = triangles[t * 3 + corner] * 3;
+                    growBounds(binBounds, bin * 6, positions[p], positions[p + 1], positions[p + 2]);
+                }
+            }
+
+            // Áreas acumuladas da esquerda para a direita e vice-versa
+            float[] leftArea = new float[BINS - 1];
+            int[] leftCount = new int[BINS - 1];
+            float[] acc = new float[6];
+            resetBounds(acc, 0);
+            int accCount = 0;
+            for (int k = 0; k < BINS - 1; k++) {
+                mergeBounds(acc, binBounds, k * 6);
+                accCount += binCount[k];
+                leftCount[k] = accCount;
+                leftArea[k] = accCount > 0 ? area(acc) : 0;
+            }
+
+            resetBounds(acc, 0);
+            accCount = 0;
+            float bestCost = Float.POSITIVE_INFINITY;
+            int bestSplit = -1;
+            for (int k = BINS - 1; k > 0; k--) {
+                mergeBounds(acc, binBounds, k * 6);
+                accCount += binCount[k];
+                float cost = leftArea[k - 1] * leftCount[k - 1] + (accCount > 0 ? area(acc) : 0) * accCount;
+                if (cost < bestCost && leftCount[k - 1] > 0 && accCount > 0) {
+                    bestCost = cost;
+                    bestSplit = k;
+                }
+            }
+
+            int b = node * 6;
+            float nodeArea = area(nodeBounds, b);
+            if (bestSplit < 0 || (count <= LEAF_SIZE * 4 && bestCost >= nodeArea * count)) {
+                return 0;
+            }
+
+            resetBounds(leftBounds, 0);
+            resetBounds(rightBounds, 0);
+            for (int k = 0; k < BINS; k++) {
+                mergeBounds(k < bestSplit ? leftBounds : rightBounds, binBounds, k * 6);
+            }
+
+            // Particionar: bins < bestSplit à esquerda
+            int i = start, j = end - 1;
+            while (i <= j) {
+                int t = order[i];
+                int bin = Math.min(BINS - 1, (int) ((centroids[t * 3 + axis] - cMin) * scale));
+                if (bin < bestSplit) {
+                    i++;
+                } else {
+                    order[i] = order[j];
+                    order[j] = t;
+                    j--;
+                }
+            }
+            return i - start;
+        }
+    }
+
+    private static void resetBounds(float[] bounds, int b) {
+        bounds[b] = bounds[b + 1] = bounds[b + 2] = Float.POSITIVE_INFINITY;
+        bounds[b + 3] = bounds[b + 4] = bounds[b + 5] = Float.NEGATIVE_INFINITY;
+    }
+
+    private static void growBounds(float[] bounds, int b, float x, float y, float z) {
+        if (x < bounds[b]) bounds[b] = x;
+        if (y < bounds[b + 1]) bounds[b + 1] = y;
+        if (z < bounds[b + 2]) bounds[b + 2] = z;
+        if (x > bounds[b + 3]) bounds[b + 3] = x;
+        if (y > bounds[b + 4]) bounds[b + 4] = y;
+        if (z > bounds[b + 5]) bounds[b + 5] = z;
+    }
+
+    private static void mergeBounds(float[] target, float[] source, int b) {
+        if (source[b] > source[b + 3]) return; // vazio
+        growBounds(target, 0, source[b], source[b + 1], source[b + 2]);
+        growBounds(target, 0, source[b + 3], source[b + 4], source[b + 5]);
+    }
+
+    private static float area(float[] bounds) {
+        return area(bounds, 0);
+    }
+
+    private static float area(float[] bounds, int b) {
+        float dx = bounds[b + 3] - bounds[b], dy = bounds[b + 4] - bounds[b + 1], dz = bounds[b + 5] - bounds[b + 2];
+        return dx * dy + dy * dz + dz * dx;
+    }
+
+    /**
+     * Resultado de uma consulta de raio
+     * Coordenadas baricêntricas: ponto = (1 - u - v) * A + u * B + v * C
+     */
+    public static final class Hit {
+        private final int triangle;
+        private final double distance;
+        private final double u;
+        private final double v;
+        private final double x;
+        private final double y;
+        private final double z;
+
+        Hit(int triangle, double distance, double u, double v, double x, double y, double z) {
+            this.triangle = triangle;
+            this.distance = distance;
+            this.u = u;
+            this.v = v;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        /**
+         * Índice do triângulo no MeshData
+         */
+        public int getTriangle() {
+            return triangle;
+        }
+
+        /**
+         * Parâmetro t do raio (em unidades da direção informada)
+         */
+        public double getDistance() {
+            return distance;
+        }
+
+        public double getU() {
+            return u;
+        }
+
+        public double getV() {
+            return v;
+        }
+
+        public double getW() {
+            return 1.0 - u - v;
+        }
+
+        public double getX() {
+            return x;
+        }
+
+        public double getY() {
+            return y;
+        }
+
+        public double getZ() {
+            return z;
+        }
+    }
+}
@@ -0,0 +1,626 @@
+package org.example.Util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Cache em disco dos modelos já interpretados (formato binário compacto)
+ * - Chave principal: caminho canônico + tamanho + data de modificação
+ * - Chave reserva: hash SHA-256 do conteúdo (arquivo copiado/renomeado), só calculado
+ *   quando o índice tem uma entrada de arquivo com o mesmo tamanho
+ * - Entradas brutas ou já soldadas (uma por epsilon de solda)
+ * - Leitura por arquivo mapeado em memória, sem interpretar texto
+ * - Limite de tamanho com remoção das entradas menos usadas (LRU)
+ *
+ * Arquivos em ~/.biomeasure/mesh-cache
+ */
+public class MeshCache {
+
+    private static final int MAGIC = 0x424D5348; // "BMSH"
+    private static final int VERSION = 1;
+    private static final String ENTRY_SUFFIX = ".bmesh";
+    private static final String INDEX_FILE = "index.properties";
+
+    // Limite padrão: 2 GB (sobrescrito por -Dbiomeasure.meshCache.maxBytes)
+    public static final long DEFAULT_MAX_BYTES = 2L * 1024 * 1024 * 1024;
+
+    // Índice: chave do caminho -> hash do conteúdo, e "bytes.<hash>" -> tamanho do arquivo de origem
+    private static final String SOURCE_BYTES_PREFIX = "bytes.";
+
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mesh-cache-writer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private static MeshCache defaultCache;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final Properties index = new Properties();
+
+
+    public MeshCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        loadIndex();
+    }
+
+    /**
+     * Cache padrão do usuário, ou null se desativado (-Dbiomeasure.meshCache.enabled=false)
+     */
+    public static synchronized MeshCache getDefault() {
+        if (!Boolean.parseBoolean(System.getProperty("biomeasure.meshCache.enabled", "true"))) {
+            return null;
+        }
+        if (defaultCache == null) {
+            Path dir = Path.of(System.getProperty("user.home"), ".biomeasure", "mesh-cache");
+            long max = Long.getLong("biomeasure.meshCache.maxBytes", DEFAULT_MAX_BYTES);
+            defaultCache = new MeshCache(dir, max);
+        }
+        return defaultCache;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Procura o modelo bruto (sem solda) no cache; retorna null em caso de ausência ou erro
+     */
+    public MeshData get(Path objPath) {
+        return get(objPath, -1f);
+    }
+
+    /**
+     * Procura o modelo soldado com weldEpsilon (negativo = bruto)
+     * O hash do conteúdo só é calculado quando a chave do caminho falha e o índice tem
+     * uma entrada de arquivo do mesmo tamanho (possível cópia); na primeira abertura não há segunda leitura
+     */
+    public MeshData get(Path objPath, float weldEpsilon) {
+        try {
+            String pathKey = pathKey(objPath);
+            String contentHash = index.getProperty(pathKey);
+
+            if (contentHash == null) {
+                if (!hasSourceOfSize(Files.size(objPath))) {
+                    return null;
+                }
+                // Arquivo pode ter sido copiado ou tocado: tentar pelo conteúdo (fora do lock)
+                contentHash = contentHash(objPath);
+                if (!Files.isRegularFile(entryPath(contentHash, weldEpsilon))) {
+                    return null;
+                }
+                synchronized (index) {
+                    index.setProperty(pathKey, contentHash);
+                    saveIndex();
+                }
+            }
+
+            Path entry = entryPath(contentHash, weldEpsilon);
+            if (!Files.isRegularFile(entry)) {
+                return null;
+            }
+            MeshData data = read(entry);
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            System.out.println("[MeshCache] Modelo lido do cache: " + entry.getFileName());
+            return data;
+        } catch (IOException | RuntimeException e) {
+            System.out.println("[MeshCache] Falha ao ler cache: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Grava o modelo bruto no cache e aplica o limite de tamanho
+     */
+    public void put(Path objPath, MeshData data) {
+        put(objPath, data, -1f);
+    }
+
+    /**
+     * Grava o modelo soldado com weldEpsilon (negativo = bruto) e aplica o limite de tamanho
+     * Calcula o hash do conteúdo se o caminho ainda não estiver no índice: chamar fora do carregamento
+     */
+    public void put(Path objPath, MeshData data, float weldEpsilon) {
+        try {
+            Files.createDirectories(directory);
+            String pathKey = pathKey(objPath);
+            String contentHash = index.getProperty(pathKey);
+            if (contentHash == null) {
+                contentHash = contentHash(objPath);
+            }
+            Path entry = entryPath(contentHash, weldEpsilon);
+
+            if (!Files.isRegularFile(entry)) {
+                Path temp = Files.createTempFile(directory, "entry", ".tmp");
+                try {
+                    write(temp, data);
+                    Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            }
+
+            synchronized (index) {
+                index.setProperty(pathKey, contentHash);
+                index.setProperty(SOURCE_BYTES_PREFIX + contentHash, Long.toString(Files.size(objPath)));
+                evictIfNeeded(entry);
+                saveIndex();
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("[MeshCache] Falha ao gravar cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Agenda put() na thread de gravação do cache (baixa prioridade, uma gravação por vez)
+     */
+    public void putInBackground(Path objPath, MeshData data, float weldEpsilon) {
+        WRITER.submit(() -> put(objPath, data, weldEpsilon));
+    }
+
+    /**
+     * Alguma entrada do índice veio de um arquivo com este tamanho (pré-condição para conteúdo igual)
+     */
+    private boolean hasSourceOfSize(long fileBytes) {
+        String size = Long.toString(fileBytes);
+        for (String key : index.stringPropertyNames()) {
+            if (key.startsWith(SOURCE_BYTES_PREFIX) && size.equals(index.getProperty(key))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove as entradas mais antigas (último acesso) até caber no limite
+     */
+    private void evictIfNeeded(Path keep) throws IOException {
+        List<Path> entries = new ArrayList<>();
+        Map<Path, Long> sizes = new HashMap<>();
+        Map<Path, Long> accessTimes = new HashMap<>();
+        long total = 0;
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (!file.getFileName().toString().endsWith(ENTRY_SUFFIX)) continue;
+                long size = Files.size(file);
+                entries.add(file);
+                sizes.put(file, size);
+                accessTimes.put(file, Files.getLastModifiedTime(file).toMillis());
+                total += size;
+            }
+        }
+
+        if (total <= maxBytes) return;
+
+        entries.sort((a, b) -> Long.compare(accessTimes.get(a), accessTimes.get(b)));
+        for (Path entry : entries) {
+            if (total <= maxBytes) break;
+            if (entry.equals(keep)) continue;
+            Files.deleteIfExists(entry);
+            total -= sizes.get(entry);
+            System.out.println("[MeshCache] Entrada removida (LRU): " + entry.getFileName());
+        }
+
+        // Limpar índices que apontam para hashes sem nenhuma entrada restante
+        Set<String> remaining = new HashSet<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(ENTRY_SUFFIX)) {
+                    remaining.add(name.substring(0, name.length() - ENTRY_SUFFIX.length()).split("-", 2)[0]);
+                }
+            }
+        }
+        index.entrySet().removeIf(e -> {
+            String key = (String) e.getKey();
+            String hash = key.startsWith(SOURCE_BYTES_PREFIX) ? key.substring(SOURCE_BYTES_PREFIX.length()) : (String) e.getValue();
+            return !remaining.contains(hash);
+        });
+    }
+
+    // =================== CHAVES ===================
+
+    /**
+     * Uma entrada por conteúdo e variante: bruta, ou soldada com um epsilon específico
+     */
+    private Path entryPath(String contentHash, float weldEpsilon) {
+        if (weldEpsilon < 0) {
+            return directory.resolve(contentHash + ENTRY_SUFFIX);
+        }
+        return directory.resolve(contentHash + "-w" + Integer.toHexString(Float.floatToIntBits(weldEpsilon)) + ENTRY_SUFFIX);
+    }
+
+    static String pathKey(Path objPath) throws IOException {
+        Path canonical = objPath.toRealPath();
+        String key = canonical + "|" + Files.size(canonical) + "|" + Files.getLastModifiedTime(canonical).toMillis();
+        return sha256(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * SHA-256 do conteúdo, lido por janelas mapeadas em memória
+     */
+    static String contentHash(Path objPath) throws IOException {
+        MessageDigest digest = newDigest();
+        try (FileChannel channel = FileChannel.open(objPath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(ObjParser.MAX_WINDOW_BYTES, size - position);
+                digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+                position += length;
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static String sha256(byte[] bytes) {
+        return toHex(newDigest().digest(bytes));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private void loadIndex() {
+        Path file = directory.resolve(INDEX_FILE);
+        if (!Files.isRegularFile(file)) return;
+        try (InputStream in = Files.newInputStream(file)) {
+            index.load(in);
+        } catch (IOException e) {
+            System.out.println("[MeshCache] Índice ignorado: " + e.getMessage());
+        }
+    }
+
+    private void saveIndex() throws IOException {
+        Files.createDirectories(directory);
+        try (OutputStream out = Files.newOutputStream(directory.resolve(INDEX_FILE))) {
+            index.store(out, "BioMeasure mesh cache");
+        }
+    }
+
+    // =================== FORMATO BINÁRIO ===================
+
+    /**
+     * Cabeçalho, bounds, centro, arrays primitivos, segmentos e materiais (little-endian)
+     */
+    static void write(Path file, MeshData data) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.putInt(MAGIC).putInt(VERSION);
+            buffer.putInt(data.getPositions().length);
+            buffer.putInt(data.getTexCoords().length);
+            buffer.putInt(data.getNormals().length);
+            buffer.putInt(data.getFaces().length);
+            buffer.putInt(data.getSegmentCount());
+            buffer.putInt(data.getMaterials().size());
+            for (float bound : data.getBounds()) {
+                buffer.putFloat(bound);
+            }
+            buffer.putDouble(data.getCenterX()).putDouble(data.getCenterY()).putDouble(data.getCenterZ());
+
+            writeFloats(channel, buffer, data.getPositions());
+            writeFloats(channel, buffer, data.getTexCoords());
+            writeFloats(channel, buffer, data.getNormals());
+            writeInts(channel, buffer, data.getFaces());
+
+            for (int s = 0; s < data.getSegmentCount(); s++) {
+                ensureRoom(channel, buffer, 4);
+                buffer.putInt(data.getSegmentStart(s));
+                writeString(channel, buffer, data.getSegmentGroup(s));
+                writeString(channel, buffer, data.getSegmentMaterial(s));
+            }
+
+            for (ObjMaterial material : data.getMaterials().values()) {
+                writeString(channel, buffer, material.getName());
+                ensureRoom(channel, buffer, 2 + 24 + 4);
+                buffer.put((byte) (material.getDiffuse() != null ? 1 : 0));
+                buffer.put((byte) (material.getSpecular() != null ? 1 : 0));
+                for (int i = 0; i < 3; i++) {
+                    buffer.putFloat(material.getDiffuse() != null ? material.getDiffuse()[i] : 0f);
+                }
+                for (int i = 0; i < 3; i++) {
+                    buffer.putFloat(material.getSpecular() != null ? material.getSpecular()[i] : 0f);
+                }
+                buffer.putFloat(material.getSpecularPower());
+            }
+
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Lê uma entrada pelo arquivo mapeado em memória
+     */
+    static MeshData read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return readLarge(channel);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            return readFrom(new MappedSource(mapped));
+        }
+    }
+
+    /**
+     * Entradas acima de 2 GB são lidas em janelas
+     */
+    private static MeshData readLarge(FileChannel channel) throws IOException {
+        return readFrom(new ChannelSource(channel));
+    }
+
+    private static MeshData readFrom(Source in) throws IOException {
+        if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+            throw new IOException("Entrada de cache inválida ou de versão antiga");
+        }
+        int positionCount = in.getInt();
+        int texCount = in.getInt();
+        int normalCount = in.getInt();
+        int faceCount = in.getInt();
+        int segmentCount = in.getInt();
+        int materialCount = in.getInt();
+
+        float[] bounds = new float[6];
+        in.getFloats(bounds);
+        // Centro gravado por conveniência de outras ferramentas; o MeshData o deriva dos bounds
+        in.getDouble();
+        in.getDouble();
+        in.getDouble();
+
+        float[] positions = new float[positionCount];
+        float[] texCoords = new float[texCount];
+        float[] normals = new float[normalCount];
+        int[] faces = new int[faceCount];
+        in.getFloats(positions);
+        in.getFloats(texCoords);
+        in.getFloats(normals);
+        in.getInts(faces);
+
+        String[] groups = new String[segmentCount];
+        String[] materialNames = new String[segmentCount];
+        int[] starts = new int[segmentCount];
+        for (int s = 0; s < segmentCount; s++) {
+            starts[s] = in.getInt();
+            groups[s] = in.getString();
+            materialNames[s] = in.getString();
+        }
+
+        Map<String, ObjMaterial> materials = new LinkedHashMap<>();
+        for (int m = 0; m < materialCount; m++) {
+            String name = in.getString();
+            boolean hasDiffuse = in.getByte() != 0;
+            boolean hasSpecular = in.getByte() != 0;
+            float[] diffuse = new float[3];
+            float[] specular = new float[3];
+            in.getFloats(diffuse);
+            in.getFloats(specular);
+            float power = in.getFloat();
+            materials.put(name, new ObjMaterial(name, hasDiffuse ? diffuse : null, hasSpecular ? specular : null, power));
+        }
+
+        return new MeshData(positions, texCoords, normals, faces, groups, materialNames, starts, materials, bounds);
+    }
+
+    private static void writeFloats(FileChannel channel, ByteBuffer buffer, float[] values) throws IOException {
+        int offset = 0;
+        while (offset < values.length) {
+            ensureRoom(channel, buffer, 4);
+            int count = Math.min(values.length - offset, buffer.remaining() / 4);
+            buffer.asFloatBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * 4);
+            offset += count;
+        }
+    }
+
+    private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] values) throws IOException {
+        int offset = 0;
+        while (offset < values.length) {
+            ensureRoom(channel, buffer, 4);
+            int count = Math.min(values.length - offset, buffer.remaining() / 4);
+            buffer.asIntBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * 4);
+            offset += count;
+        }
+    }
+
+    private static void writeString(FileChannel channel, ByteBuffer buffer, String value) throws IOException {
+        if (value == null) {
+            ensureRoom(channel, buffer, 4);
+            buffer.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureRoom(channel, buffer, 4 + bytes.length);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static void ensureRoom(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel, buffer);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // =================== LEITURA ===================
+
+    private interface Source {
+        int getInt() throws IOException;
+
+        byte getByte() throws IOException;
+
+        float getFloat() throws IOException;
+
+        double getDouble() throws IOException;
+
+        void getFloats(float[] target) throws IOException;
+
+        void getInts(int[] target) throws IOException;
+
+        default String getString() throws IOException {
+            int length = getInt();
+            if (length < 0) return null;
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = getByte();
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Arquivo inteiro mapeado: cópia em bloco direto para os arrays
+     */
+    private static final class MappedSource implements Source {
+        private final ByteBuffer buffer;
+
+        MappedSource(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        public int getInt() {
+            return buffer.getInt();
+        }
+
+        public byte getByte() {
+            return buffer.get();
+        }
+
+        public float getFloat() {
+            return buffer.getFloat();
+        }
+
+        public double getDouble() {
+            return buffer.getDouble();
+        }
+
+        public void getFloats(float[] target) {
+            buffer.asFloatBuffer().get(target);
+            buffer.position(buffer.position() + target.length * 4);
+        }
+
+        public void getInts(int[] target) {
+            buffer.asIntBuffer().get(target);
+            buffer.position(buffer.position() + target.length * 4);
+        }
+    }
+
+    /**
+     * Leitura por janelas mapeadas para entradas acima de 2 GB
+     */
+    private static final class ChannelSource implements Source {
+        private final FileChannel channel;
+        private long windowStart;
+        private MappedByteBuffer window;
+
+        ChannelSource(FileChannel channel) throws IOException {
+            this.channel = channel;
+            remap(0);
+        }
+
+        private void remap(long position) throws IOException {
+            windowStart = position;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(ObjParser.MAX_WINDOW_BYTES, channel.size() - position));
+            window.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        private void require(int bytes) throws IOException {
+            if (window.remaining() < bytes) {
+                remap(windowStart + window.position());
+            }
+        }
+
+        public int getInt() throws IOException {
+            require(4);
+            return window.getInt();
+        }
+
+        public byte getByte() throws IOException {
+            require(1);
+            return window.get();
+        }
+
+        public float getFloat() throws IOException {
+            require(4);
+            return window.getFloat();
+        }
+
+        public double getDouble() throws IOException {
+            require(8);
+            return window.getDouble();
+        }
+
+        public void getFloats(float[] target) throws IOException {
+            int offset = 0;
+            while (offset < target.length) {
+                require(4);
+                int count = Math.min(target.length - offset, window.remaining() / 4);
+                window.asFloatBuffer().get(target, offset, count);
+                window.position(window.position() + count * 4);
+                offset += count;
+            }
+        }
+
+        public void getInts(int[] target) throws IOException {
+            int offset = 0;
+            while (offset < target.length) {
+                require(4);
+                int count = Math.min(target.length - offset, window.remaining() / 4);
+                window.asIntBuffer().get(target, offset, count);
+                window.position(window.position() + count * 4);
+                offset += count;
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package org.example.Util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Dados brutos de um modelo OBJ em arrays primitivos (sem objetos por vértice)
+ *
+ * Layout:
+ * - positions: x,y,z por vértice (índice "v" do OBJ, base 0)
+ * - texCoords: u,v por coordenada (índice "vt", v já invertido para o JavaFX)
+ * - normals: x,y,z por normal (índice "vn")
+ * - faces: 9 ints por triângulo (v, vt, vn para cada canto), -1 quando ausente
+ * - segmentos: faixas contínuas de triângulos com o mesmo grupo (g/o) e material (usemtl)
+ */
+public final class MeshData {
+
+    private final float[] positions;
+    private final float[] texCoords;
+    private final float[] normals;
+    private final int[] faces;
+
+    private final String[] segmentGroups;
+    private final String[] segmentMaterials;
+    private final int[] segmentStarts;
+
+    private final Map<String, ObjMaterial> materials;
+
+    private final boolean hasTexCoords;
+    private final boolean hasNormals;
+
+    // Bounding box [minX, minY, minZ, maxX, maxY, maxZ]
+    private final float[] bounds;
+
+    MeshData(float[] positions, float[] texCoords, float[] normals, int[] faces,
+             String[] segmentGroups, String[] segmentMaterials, int[] segmentStarts,
+             Map<String, ObjMaterial> materials) {
+        this(positions, texCoords, normals, faces, segmentGroups, segmentMaterials, segmentStarts,
+                materials, computeBounds(positions));
+    }
+
+    MeshData(float[] positions, float[] texCoords, float[] normals, int[] faces,
+             String[] segmentGroups, String[] segmentMaterials, int[] segmentStarts,
+             Map<String, ObjMaterial> materials, float[] bounds) {
+        this.positions = positions;
+        this.texCoords = texCoords;
+        this.normals = normals;
+        this.faces = faces;
+        this.segmentGroups = segmentGroups;
+        this.segmentMaterials = segmentMaterials;
+        this.segmentStarts = segmentStarts;
+        this.materials = materials == null ? Collections.emptyMap() : materials;
+        this.hasTexCoords = texCoords.length > 0 && allSet(faces, 1);
+        this.hasNormals = normals.length > 0 && allSet(faces, 2);
+        this.bounds = bounds;
+    }
+
+    public float[] getPositions() {
+        return positions;
+    }
+
+    public float[] getTexCoords() {
+        return texCoords;
+    }
+
+    public float[] getNormals() {
+        return normals;
+    }
+
+    public int[] getFaces() {
+        return faces;
+    }
+
+    public int getVertexCount() {
+        return positions.length / 3;
+    }
+
+    public int getTriangleCount() {
+        return faces.length / 9;
+    }
+
+    /**
+     * Verdadeiro se todos os cantos de todas as faces possuem coordenada de textura
+     */
+    public boolean hasTexCoords() {
+        return hasTexCoords;
+    }
+
+    /**
+     * Verdadeiro se todos os cantos de todas as faces possuem normal
+     */
+    public boolean hasNormals() {
+        return hasNormals;
+    }
+
+    public int getSegmentCount() {
+        return segmentStarts.length;
+    }
+
+    public String getSegmentGroup(int segment) {
+        return segmentGroups[segment];
+    }
+
+    public String getSegmentMaterial(int segment) {
+        return segmentMaterials[segment];
+    }
+
+    /**
+     * Primeiro triângulo do segmento
+     */
+    public int getSegmentStart(int segment) {
+        return segmentStarts[segment];
+    }
+
+    /**
+     * Triângulo seguinte ao último do segmento (exclusivo)
+     */
+    public int getSegmentEnd(int segment) {
+        return segment + 1 < segmentStarts.length ? segmentStarts[segment + 1] : getTriangleCount();
+    }
+
+    /**
+     * Segmento que contém o triângulo (busca binária)
+     */
+    public int getSegmentOf(int triangle) {
+        int index = Arrays.binarySearch(segmentStarts, triangle);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        // Segmentos vazios começam no mesmo triângulo: usar o último deles
+        while (index + 1 < segmentStarts.length && segmentStarts[index + 1] == triangle) {
+            index++;
+        }
+        return Math.max(index, 0);
+    }
+
+    public Map<String, ObjMaterial> getMaterials() {
+        return materials;
+    }
+
+    /**
+     * Bounding box no formato [minX, minY, minZ, maxX, maxY, maxZ]
+     */
+    public float[] getBounds() {
+        return bounds;
+    }
+
+    public double getCenterX() {
+        return (bounds[0] + bounds[3]) / 2.0;
+    }
+
+    public double getCenterY() {
+        return (bounds[1] + bounds[4]) / 2.0;
+    }
+
+    public double getCenterZ() {
+        return (bounds[2] + bounds[5]) / 2.0;
+    }
+
+    public boolean isEmpty() {
+        return faces.length == 0;
+    }
+
+    /**
+     * Memória aproximada ocupada pelos arrays do modelo
+     */
+    public long getSizeInBytes() {
+        long bytes = (long) (positions.length + texCoords.length + normals.length) * Float.BYTES;
+        bytes += (long) (faces.length + segmentStarts.length) * Integer.BYTES;
+        bytes += 2L * segmentStarts.length * 8; // referências dos nomes (compartilhados)
+        return bytes;
+    }
+
+    /**
+     * Calcula o bounding box de um array de posições x,y,z
+     */
+    static float[] computeBounds(float[] positions) {
+        if (positions.length < 3) {
+            return new float[6];
+        }
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i + 2 < positions.length; i += 3) {
+            float x = positions[i], y = positions[i + 1], z = positions[i + 2];
+            if (x < minX) minX = x;
+            if (x > maxX) maxX = x;
+            if (y < minY) minY = y;
+            if (y > maxY) maxY = y;
+            if (z < minZ) minZ = z;
+            if (z > maxZ) maxZ = z;
+        }
+        return new float[]{minX, minY, minZ, maxX, maxY, maxZ};
+    }
+
+    private static boolean allSet(int[] faces, int slot) {
+        for (int i = slot; i < faces.length; i += 3) {
+            if (faces[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,195 @@
+package org.example.Util;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Desvio entre duas malhas: distância de cada vértice da malha inspecionada até a
+ * superfície de referência, percentis e distância de Hausdorff
+ *
+ * - Consultas de ponto mais próximo na BVH da referência, em paralelo por faixas de vértices
+ * - Cada consulta começa limitada pela distância do vértice anterior somada ao
+ *   deslocamento entre os dois (desigualdade triangular), o que poda quase toda a árvore
+ * - Hausdorff amostrado nos vértices: ida (inspecionada -> referência), volta e simétrico
+ *
+ * As duas malhas devem estar no mesmo sistema de coordenadas (coordenadas do MeshData)
+ */
+public final class MeshDeviation {
+
+    // Vértices por tarefa antes de dividir
+    private static final int CHUNK_VERTICES = 16 * 1024;
+
+    private MeshDeviation() {
+    }
+
+    /**
+     * Compara a malha inspecionada com a referência nos dois sentidos
+     */
+    public static Result compare(MeshBvh inspected, MeshBvh reference) {
+        float[] distances = vertexDistances(inspected.getPositions(), inspected.getTriangles(), reference);
+        float[] backward = vertexDistances(reference.getPositions(), reference.getTriangles(), inspected);
+        return new Result(distances, max(backward));
+    }
+
+    /**
+     * Distância de cada vértice usado por triangles até a superfície target (NaN nos não usados)
+     */
+    public static float[] vertexDistances(float[] positions, int[] triangles, MeshBvh target) {
+        int vertexCount = positions.length / 3;
+        float[] distances = new float[vertexCount];
+        Arrays.fill(distances, Float.NaN);
+        boolean[] used = new boolean[vertexCount];
+        for (int index : triangles) {
+            used[index] = true;
+        }
+        if (target.getTriangleCount() > 0) {
+            ForkJoinPool.commonPool().invoke(new DistanceTask(positions, used, target, distances, 0, vertexCount));
+        }
+        return distances;
+    }
+
+    private static float max(float[] distances) {
+        float max = 0;
+        for (float d : distances) {
+            if (d > max) max = d;
+        }
+        return max;
+    }
+
+    private static final class DistanceTask extends RecursiveAction {
+        private final float[] positions;
+        private final boolean[] used;
+        private final MeshBvh target;
+        private final float[] distances;
+        private final int from, to;
+
+        DistanceTask(float[] positions, boolean[] used, MeshBvh target, float[] distances, int from, int to) {
+            this.positions = positions;
+            this.used = used;
+            this.target = target;
+            this.distances = distances;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK_VERTICES) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new DistanceTask(positions, used, target, distances, from, mid),
+                        new DistanceTask(positions, used, target, distances, mid, to));
+                return;
+            }
+
+            double[] out = new double[MeshBvh.CLOSEST_POINT_SIZE];
+            double lastX = 0, lastY = 0, lastZ = 0, lastDistance = Double.NaN;
+            for (int v = from; v < to; v++) {
+                if (!used[v]) continue;
+                double x = positions[v * 3], y = positions[v * 3 + 1], z = positions[v * 3 + 2];
+
+                // Limite superior: distância do vértice anterior + quanto andamos até este
+                double bound = Double.POSITIVE_INFINITY;
+                if (!Double.isNaN(lastDistance)) {
+                    double dx = x - lastX, dy = y - lastY, dz = z - lastZ;
+                    double limit = (lastDistance + Math.sqrt(dx * dx + dy * dy + dz * dz)) * (1 + 1e-6) + 1e-9;
+                    bound = limit * limit;
+                }
+                if (target.closestPoint(x, y, z, bound, out) < 0) {
+                    target.closestPoint(x, y, z, Double.POSITIVE_INFINITY, out);
+                }
+
+                lastDistance = Math.sqrt(out[3]);
+                lastX = x;
+                lastY = y;
+                lastZ = z;
+                distances[v] = (float) lastDistance;
+            }
+        }
+    }
+
+    /**
+     * Resultado da comparação (unidades do modelo)
+     */
+    public static final class Result {
+        private final float[] distances;
+        private final float[] sorted;
+        private final double mean;
+        private final double rms;
+        private final double backwardHausdorff;
+
+        Result(float[] distances, double backwardHausdorff) {
+            this.distances = distances;
+            this.backwardHausdorff = backwardHausdorff;
+
+            int count = 0;
+            double sum = 0, sumSquares = 0;
+            float[] values = new float[distances.length];
+            for (float d : distances) {
+                if (Float.isNaN(d)) continue;
+                values[count++] = d;
+                sum += d;
+                sumSquares += (double) d * d;
+            }
+            sorted = Arrays.copyOf(values, count);
+            Arrays.parallelSort(sorted);
+            mean = count > 0 ? sum / count : 0;
+            rms = count > 0 ? Math.sqrt(sumSquares / count) : 0;
+        }
+
+        /**
+         * Distância por vértice da malha inspecionada (NaN nos vértices sem triângulo)
+         */
+        public float[] getDistances() {
+            return distances;
+        }
+
+        public int getVertexCount() {
+            return sorted.length;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public double getRms() {
+            return rms;
+        }
+
+        /**
+         * Percentil p (0 a 100) das distâncias, com interpolação linear
+         */
+        public double getPercentile(double p) {
+            if (sorted.length == 0) return 0;
+            double rank = Math.max(0, Math.min(100, p)) / 100.0 * (sorted.length - 1);
+            int lower = (int) Math.floor(rank);
+            int upper = Math.min(lower + 1, sorted.length - 1);
+            return sorted[lower] + (sorted[upper] - sorted[lower]) * (rank - lower);
+        }
+
+        /**
+         * Hausdorff de ida: maior distância da malha inspecionada até a referência
+         */
+        public double getForwardHausdorff() {
+            return sorted.length > 0 ? sorted[sorted.length - 1] : 0;
+        }
+
+        /**
+         * Hausdorff de volta: maior distância da referência até a malha inspecionada
+         */
+        public double getBackwardHausdorff() {
+            return backwardHausdorff;
+        }
+
+        public double getHausdorff() {
+            return Math.max(getForwardHausdorff(), backwardHausdorff);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Desvio: médio %.4f | P50 %.4f | P95 %.4f | P99 %.4f | Hausdorff %.4f (ida %.4f, volta %.4f)",
+                    mean, getPercentile(50), getPercentile(95), getPercentile(99),
+                    getHausdorff(), getForwardHausdorff(), backwardHausdorff);
+        }
+    }
+}
@@ -0,0 +1,531 @@
+package org.example.Util;
+
+import java.util.Arrays;
+
+/**
+ * Simplificação de malha por métrica de erro quádrica (Garland &amp; Heckbert)
+ * Variante iterativa por limiar de erro (sem fila de prioridade), toda em arrays primitivos:
+ * - Cada vértice acumula a quádrica dos planos dos triângulos vizinhos
+ * - Arestas com erro abaixo do limiar da iteração são colapsadas no ponto ótimo
+ * - Arestas de borda somam um plano perpendicular ao triângulo (peso BORDER_WEIGHT),
+ *   para que a borda de malhas abertas não encolha
+ * - Colapsos que invertem triângulos ou misturam borda com interior são descartados
+ * - O limiar cresce a cada iteração até atingir o número de triângulos desejado
+ */
+public final class MeshSimplifier {
+
+    private static final int MAX_ITERATIONS = 100;
+    private static final double AGGRESSIVENESS = 7.0;
+    private static final double BORDER_WEIGHT = 1000.0;
+
+    // Vértices
+    private double[] vx, vy, vz;
+    private double[] quadrics;      // 10 coeficientes por vértice
+    private int[] tstart, tcount;   // faixa em refs
+    private boolean[] border;
+    private int vertexCount;
+
+    // Triângulos
+    private int[] tv;               // 3 vértices por triângulo
+    private double[] terr;          // 4 erros por triângulo (3 arestas + mínimo)
+    private double[] tn;            // normal por triângulo
+    private boolean[] deleted, dirty;
+    private int triangleCount;
+
+    // Referências vértice -> (triângulo, canto)
+    private GrowableIntArray refTriangle = new GrowableIntArray(1024);
+    private GrowableIntArray refCorner = new GrowableIntArray(1024);
+
+    // Buffers reaproveitados entre colapsos
+    private boolean[] deleted0 = new boolean[64];
+    private boolean[] deleted1 = new boolean[64];
+    private final double[] point = new double[3];
+    private final double[] summedQuadric = new double[10];
+
+    /**
+     * Resultado: posições x,y,z, 3 índices por triângulo e o vértice de entrada de cada vértice
+     */
+    public static final class Result {
+        private final float[] positions;
+        private final int[] triangles;
+        private final int[] sourceVertices;
+
+        Result(float[] positions, int[] triangles, int[] sourceVertices) {
+            this.positions = positions;
+            this.triangles = triangles;
+            this.sourceVertices = sourceVertices;
+        }
+
+        public float[] getPositions() {
+            return positions;
+        }
+
+        public int[] getTriangles() {
+            return triangles;
+        }
+
+        public int getTriangleCount() {
+            return triangles.length / 3;
+        }
+
+        /**
+         * Índice (na malha de entrada) do vértice que sobreviveu em cada vértice de saída
+         * Usado para levar textura e normal de volta aos níveis simplificados
+         */
+        public int[] getSourceVertices() {
+            return sourceVertices;
+        }
+    }
+
+    private MeshSimplifier(float[] positions, int[] triangles) {
+        vertexCount = positions.length / 3;
+        vx = new double[vertexCount];
+        vy = new double[vertexCount];
+        vz = new double[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            vx[i] = positions[i * 3];
+            vy[i] = positions[i * 3 + 1];
+            vz[i] = positions[i * 3 + 2];
+        }
+        quadrics = new double[vertexCount * 10];
+        tstart = new int[vertexCount];
+        tcount = new int[vertexCount];
+        border = new boolean[vertexCount];
+
+        triangleCount = triangles.length / 3;
+        tv = Arrays.copyOf(triangles, triangleCount * 3);
+        terr = new double[triangleCount * 4];
+        tn = new double[triangleCount * 3];
+        deleted = new boolean[triangleCount];
+        dirty = new boolean[triangleCount];
+    }
+
+    /**
+     * Índices de posição (3 por triângulo) a partir das faces do MeshData
+     */
+    public static int[] positionTriangles(MeshData data) {
+        int[] faces = data.getFaces();
+        int[] triangles = new int[data.getTriangleCount() * 3];
+        for (int i = 0; i < triangles.length; i++) {
+            triangles[i] = faces[i * 3];
+        }
+        return triangles;
+    }
+
+    /**
+     * Reduz a malha até aproximadamente targetTriangles triângulos
+     */
+    public static Result simplify(float[] positions, int[] triangles, int targetTriangles) {
+        MeshSimplifier simplifier = new MeshSimplifier(positions, triangles);
+        simplifier.run(Math.max(targetTriangles, 4));
+        return simplifier.compact();
+    }
+
+    private void run(int targetTriangles) {
+        int deletedTriangles = 0;
+        int startCount = triangleCount;
+
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            if (startCount - deletedTriangles <= targetTriangles) break;
+
+            // Atualiza referências periodicamente (e compacta triângulos removidos)
+            if (iteration % 5 == 0) {
+                updateMesh(iteration);
+            }
+
+            Arrays.fill(dirty, 0, triangleCount, false);
+
+            double threshold = 0.000000001 * Math.pow(iteration + 3, AGGRESSIVENESS);
+
+            for (int t = 0; t < triangleCount; t++) {
+                if (terr[t * 4 + 3] > threshold || deleted[t] || dirty[t]) continue;
+
+                for (int j = 0; j < 3; j++) {
+                    if (terr[t * 4 + j] >= threshold) continue;
+
+                    int i0 = tv[t * 3 + j];
+                    int i1 = tv[t * 3 + (j + 1) % 3];
+                    if (border[i0] != border[i1]) continue;
+
+                    calculateError(i0, i1, point);
+                    double px = point[0], py = point[1], pz = point[2];
+
+                    ensureDeletedCapacity(Math.max(tcount[i0], tcount[i1]));
+                    if (flipped(px, py, pz, i0, i1, deleted0)) continue;
+                    if (flipped(px, py, pz, i1, i0, deleted1)) continue;
+
+                    // Colapsa i1 em i0
+                    vx[i0] = px;
+                    vy[i0] = py;
+                    vz[i0] = pz;
+                    for (int k = 0; k < 10; k++) {
+                        quadrics[i0 * 10 + k] += quadrics[i1 * 10 + k];
+                    }
+
+                    int refStart = refTriangle.size();
+                    deletedTriangles += updateTriangles(i0, i0, deleted0);
+                    deletedTriangles += updateTriangles(i0, i1, deleted1);
+                    int refCount = refTriangle.size() - refStart;
+
+                    if (refCount <= tcount[i0]) {
+                        // Cabe na faixa antiga: reaproveita a memória
+                        if (refCount > 0) {
+                            System.arraycopy(refTriangle.rawArray(), refStart, refTriangle.rawArray(), tstart[i0], refCount);
+                            System.arraycopy(refCorner.rawArray(), refStart, refCorner.rawArray(), tstart[i0], refCount);
+                        }
+                    } else {
+                        tstart[i0] = refStart;
+                    }
+                    tcount[i0] = refCount;
+                    break;
+                }
+
+                if (startCount - deletedTriangles <= targetTriangles) break;
+            }
+        }
+    }
+
+    private void ensureDeletedCapacity(int size) {
+        if (deleted0.length < size) {
+            deleted0 = new boolean[size * 2];
+            deleted1 = new boolean[size * 2];
+        }
+    }
+
+    /**
+     * Verifica se mover o vértice i0 para p inverte algum triângulo vizinho
+     */
+    private boolean flipped(double px, double py, double pz, int i0, int i1, boolean[] deletedFlags) {
+        int[] refT = refTriangle.rawArray();
+        int[] refC = refCorner.rawArray();
+
+        for (int k = 0; k < tcount[i0]; k++) {
+            int t = refT[tstart[i0] + k];
+            if (deleted[t]) continue;
+
+            int s = refC[tstart[i0] + k];
+            int id1 = tv[t * 3 + (s + 1) % 3];
+            int id2 = tv[t * 3 + (s + 2) % 3];
+
+            if (id1 == i1 || id2 == i1) {
+                deletedFlags[k] = true;
+                continue;
+            }
+            deletedFlags[k] = false;
+
+            double d1x = vx[id1] - px, d1y = vy[id1] - py, d1z = vz[id1] - pz;
+            double d2x = vx[id2] - px, d2y = vy[id2] - py, d2z = vz[id2] - pz;
+            double l1 = Math.sqrt(d1x * d1x + d1y * d1y + d1z * d1z);
+            double l2 = Math.sqrt(d2x * d2x + d2y * d2y + d2z * d2z);
+            if (l1 == 0 || l2 == 0) return true;
+            d1x /= l1; d1y /= l1; d1z /= l1;
+            d2x /= l2; d2y /= l2; d2z /= l2;
+
+            if (Math.abs(d1x * d2x + d1y * d2y + d1z * d2z) > 0.999) return true;
+
+            double nx = d1y * d2z - d1z * d2y;
+            double ny = d1z * d2x - d1x * d2z;
+            double nz = d1x * d2y - d1y * d2x;
+            double nl = Math.sqrt(nx * nx + ny * ny + nz * nz);
+            if (nl == 0) return true;
+            nx /= nl; ny /= nl; nz /= nl;
+
+            if (nx * tn[t * 3] + ny * tn[t * 3 + 1] + nz * tn[t * 3 + 2] < 0.2) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Religa os triângulos de v ao vértice i0 e remove os degenerados
+     * Retorna quantos triângulos foram removidos
+     */
+    private int updateTriangles(int i0, int v, boolean[] deletedFlags) {
+        int removed = 0;
+        int start = tstart[v];
+        int count = tcount[v];
+
+        for (int k = 0; k < count; k++) {
+            int t = refTriangle.get(start + k);
+            int corner = refCorner.get(start + k);
+            if (deleted[t]) continue;
+
+            if (deletedFlags[k]) {
+                deleted[t] = true;
+                removed++;
+                continue;
+            }
+
+            tv[t * 3 + corner] = i0;
+            dirty[t] = true;
+            terr[t * 4] = calculateError(tv[t * 3], tv[t * 3 + 1], point);
+            terr[t * 4 + 1] = calculateError(tv[t * 3 + 1], tv[t * 3 + 2], point);
+            terr[t * 4 + 2] = calculateError(tv[t * 3 + 2], tv[t * 3], point);
+            terr[t * 4 + 3] = Math.min(terr[t * 4], Math.min(terr[t * 4 + 1], terr[t * 4 + 2]));
+
+            refTriangle.add(t);
+            refCorner.add(corner);
+        }
+        return removed;
+    }
+
+    /**
+     * Compacta triângulos, recalcula referências e (na primeira vez) quádricas e bordas
+     */
+    private void updateMesh(int iteration) {
+        if (iteration > 0) {
+            int dst = 0;
+            for (int t = 0; t < triangleCount; t++) {
+                if (deleted[t]) continue;
+                if (dst != t) {
+                    System.arraycopy(tv, t * 3, tv, dst * 3, 3);
+                    System.arraycopy(terr, t * 4, terr, dst * 4, 4);
+                    System.arraycopy(tn, t * 3, tn, dst * 3, 3);
+                }
+                deleted[dst] = false;
+                dst++;
+            }
+            triangleCount = dst;
+        }
+
+        rebuildReferences();
+
+        if (iteration == 0) {
+            identifyBorders();
+            initQuadrics();
+        }
+    }
+
+    private void initQuadrics() {
+        Arrays.fill(quadrics, 0);
+        for (int t = 0; t < triangleCount; t++) {
+            int a = tv[t * 3], b = tv[t * 3 + 1], c = tv[t * 3 + 2];
+            double e1x = vx[b] - vx[a], e1y = vy[b] - vy[a], e1z = vz[b] - vz[a];
+            double e2x = vx[c] - vx[a], e2y = vy[c] - vy[a], e2z = vz[c] - vz[a];
+            double nx = e1y * e2z - e1z * e2y;
+            double ny = e1z * e2x - e1x * e2z;
+            double nz = e1x * e2y - e1y * e2x;
+            double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+            if (length > 0) {
+                nx /= length; ny /= length; nz /= length;
+            }
+            tn[t * 3] = nx;
+            tn[t * 3 + 1] = ny;
+            tn[t * 3 + 2] = nz;
+
+            double d = -(nx * vx[a] + ny * vy[a] + nz * vz[a]);
+            for (int k = 0; k < 3; k++) {
+                addPlane(tv[t * 3 + k], nx, ny, nz, d);
+            }
+            for (int k = 0; k < 3; k++) {
+                addBorderPlane(tv[t * 3 + k], tv[t * 3 + (k + 1) % 3], nx, ny, nz);
+            }
+        }
+
+        for (int t = 0; t < triangleCount; t++) {
+            terr[t * 4] = calculateError(tv[t * 3], tv[t * 3 + 1], point);
+            terr[t * 4 + 1] = calculateError(tv[t * 3 + 1], tv[t * 3 + 2], point);
+            terr[t * 4 + 2] = calculateError(tv[t * 3 + 2], tv[t * 3], point);
+            terr[t * 4 + 3] = Math.min(terr[t * 4], Math.min(terr[t * 4 + 1], terr[t * 4 + 2]));
+        }
+    }
+
+    /**
+     * Plano que contém a aresta (v0, v1) e é perpendicular ao triângulo, se a aresta for de borda
+     */
+    private void addBorderPlane(int v0, int v1, double nx, double ny, double nz) {
+        if (!border[v0] || !border[v1] || sharedTriangles(v0, v1) != 1) return;
+
+        double ex = vx[v1] - vx[v0], ey = vy[v1] - vy[v0], ez = vz[v1] - vz[v0];
+        double px = ey * nz - ez * ny;
+        double py = ez * nx - ex * nz;
+        double pz = ex * ny - ey * nx;
+        double length = Math.sqrt(px * px + py * py + pz * pz);
+        if (length == 0) return;
+
+        double scale = Math.sqrt(BORDER_WEIGHT) / length;
+        px *= scale;
+        py *= scale;
+        pz *= scale;
+        double d = -(px * vx[v0] + py * vy[v0] + pz * vz[v0]);
+        addPlane(v0, px, py, pz, d);
+        addPlane(v1, px, py, pz, d);
+    }
+
+    /**
+     * Quantos triângulos usam os dois vértices
+     */
+    private int sharedTriangles(int v0, int v1) {
+        int shared = 0;
+        for (int k = 0; k < tcount[v0]; k++) {
+            int t = refTriangle.get(tstart[v0] + k);
+            if (tv[t * 3] == v1 || tv[t * 3 + 1] == v1 || tv[t * 3 + 2] == v1) {
+                shared++;
+            }
+        }
+        return shared;
+    }
+
+    private void addPlane(int v, double a, double b, double c, double d) {
+        int q = v * 10;
+        quadrics[q] += a * a;
+        quadrics[q + 1] += a * b;
+        quadrics[q + 2] += a * c;
+        quadrics[q + 3] += a * d;
+        quadrics[q + 4] += b * b;
+        quadrics[q + 5] += b * c;
+        quadrics[q + 6] += b * d;
+        quadrics[q + 7] += c * c;
+        quadrics[q + 8] += c * d;
+        quadrics[q + 9] += d * d;
+    }
+
+    private void rebuildReferences() {
+        Arrays.fill(tcount, 0);
+        for (int t = 0; t < triangleCount; t++) {
+            for (int k = 0; k < 3; k++) {
+                tcount[tv[t * 3 + k]]++;
+            }
+        }
+        int total = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            tstart[v] = total;
+            total += tcount[v];
+            tcount[v] = 0;
+        }
+
+        int[] refT = new int[total];
+        int[] refC = new int[total];
+        for (int t = 0; t < triangleCount; t++) {
+            for (int k = 0; k < 3; k++) {
+                int v = tv[t * 3 + k];
+                int slot = tstart[v] + tcount[v]++;
+                refT[slot] = t;
+                refC[slot] = k;
+            }
+        }
+
+        // Espaço extra para as referências acrescentadas pelos colapsos
+        refTriangle = new GrowableIntArray(Math.max(total * 2, 1024));
+        refCorner = new GrowableIntArray(Math.max(total * 2, 1024));
+        refTriangle.addAll(refT, 0, total);
+        refCorner.addAll(refC, 0, total);
+    }
+
+    /**
+     * Vértices em arestas usadas por apenas um triângulo são de borda
+     */
+    private void identifyBorders() {
+        Arrays.fill(border, false);
+        int[] refT = refTriangle.rawArray();
+        int[] neighbours = new int[64];
+        int[] counts = new int[64];
+
+        for (int v = 0; v < vertexCount; v++) {
+            int size = 0;
+            for (int k = 0; k < tcount[v]; k++) {
+                int t = refT[tstart[v] + k];
+                for (int j = 0; j < 3; j++) {
+                    int id = tv[t * 3 + j];
+                    int found = -1;
+                    for (int n = 0; n < size; n++) {
+                        if (neighbours[n] == id) {
+                            found = n;
+                            break;
+                        }
+                    }
+                    if (found < 0) {
+                        if (size == neighbours.length) {
+                            neighbours = Arrays.copyOf(neighbours, size * 2);
+                            counts = Arrays.copyOf(counts, size * 2);
+                        }
+                        neighbours[size] = id;
+                        counts[size] = 1;
+                        size++;
+                    } else {
+                        counts[found]++;
+                    }
+                }
+            }
+            for (int n = 0; n < size; n++) {
+                if (counts[n] == 1) {
+                    border[neighbours[n]] = true;
+                }
+            }
+        }
+    }
+
+    private static double vertexError(double[] m, double x, double y, double z) {
+        return m[0] * x * x + 2 * m[1] * x * y + 2 * m[2] * x * z + 2 * m[3] * x
+                + m[4] * y * y + 2 * m[5] * y * z + 2 * m[6] * y
+                + m[7] * z * z + 2 * m[8] * z + m[9];
+    }
+
+    /**
+     * Erro do colapso (i0, i1) e ponto ótimo em result
+     */
+    private double calculateError(int i0, int i1, double[] result) {
+        double[] q = summedQuadric;
+        for (int k = 0; k < 10; k++) {
+            q[k] = quadrics[i0 * 10 + k] + quadrics[i1 * 10 + k];
+        }
+
+        boolean isBorder = border[i0] && border[i1];
+        double det = det3(q[0], q[1], q[2], q[1], q[4], q[5], q[2], q[5], q[7]);
+        if (det != 0 && !isBorder) {
+            // Ponto que minimiza a quádrica
+            result[0] = -1 / det * det3(q[1], q[2], q[3], q[4], q[5], q[6], q[5], q[7], q[8]);
+            result[1] = 1 / det * det3(q[0], q[2], q[3], q[1], q[5], q[6], q[2], q[7], q[8]);
+            result[2] = -1 / det * det3(q[0], q[1], q[3], q[1], q[4], q[6], q[2], q[5], q[8]);
+            return vertexError(q, result[0], result[1], result[2]);
+        }
+
+        // Matriz singular ou aresta de borda: melhor entre extremos e ponto médio
+        double x1 = vx[i0], y1 = vy[i0], z1 = vz[i0];
+        double x2 = vx[i1], y2 = vy[i1], z2 = vz[i1];
+        double x3 = (x1 + x2) / 2, y3 = (y1 + y2) / 2, z3 = (z1 + z2) / 2;
+        double error1 = vertexError(q, x1, y1, z1);
+        double error2 = vertexError(q, x2, y2, z2);
+        double error3 = vertexError(q, x3, y3, z3);
+        double error = Math.min(error1, Math.min(error2, error3));
+        if (error1 == error) {
+            result[0] = x1; result[1] = y1; result[2] = z1;
+        } else if (error2 == error) {
+            result[0] = x2; result[1] = y2; result[2] = z2;
+        } else {
+            result[0] = x3; result[1] = y3; result[2] = z3;
+        }
+        return error;
+    }
+
+    private static double det3(double a11, double a12, double a13,
+                               double a21, double a22, double a23,
+                               double a31, double a32, double a33) {
+        return a11 * a22 * a33 + a13 * a21 * a32 + a12 * a23 * a31
+                - a13 * a22 * a31 - a11 * a23 * a32 - a12 * a21 * a33;
+    }
+
+    /**
+     * Remove triângulos apagados e vértices sem uso
+     */
+    private Result compact() {
+        int[] remap = new int[vertexCount];
+        Arrays.fill(remap, -1);
+        GrowableFloatArray positions = new GrowableFloatArray(vertexCount);
+        GrowableIntArray triangles = new GrowableIntArray(triangleCount * 3);
+        GrowableIntArray sources = new GrowableIntArray(vertexCount);
+
+        for (int t = 0; t < triangleCount; t++) {
+            if (deleted[t]) continue;
+            for (int k = 0; k < 3; k++) {
+                int v = tv[t * 3 + k];
+                if (remap[v] < 0) {
+                    remap[v] = positions.size() / 3;
+                    positions.add((float) vx[v], (float) vy[v], (float) vz[v]);
+                    sources.add(v);
+                }
+                triangles.add(remap[v]);
+            }
+        }
+        return new Result(positions.toArray(), triangles.toArray(), sources.toArray());
+    }
+}
@@ -0,0 +1,233 @@
+package org.example.Util;
+
+import java.util.Arrays;
+
+/**
+ * Solda vértices repetidos de um MeshData
+ *
+ * Posições, coordenadas de textura e normais são deduplicadas separadamente
+ * (o TriangleMesh do JavaFX indexa cada atributo de forma independente).
+ * Um valor a até epsilon (em cada componente) de um elemento já visto vira
+ * esse elemento; com epsilon 0 apenas valores idênticos são unidos. Elementos
+ * não referenciados por nenhuma face são descartados.
+ *
+ * A tabela hash é de endereçamento aberto sobre int[] (sem chaves em objetos),
+ * indexada por células de 4·epsilon. Um vizinho a até epsilon está na mesma
+ * célula ou na adjacente do lado mais próximo; a adjacente só é sondada quando
+ * o valor está a menos de epsilon da borda (valores dos dois lados da borda
+ * também são unidos)
+ */
+public final class MeshWelder {
+
+    public static final float DEFAULT_EPSILON = 1e-6f;
+
+    private static final int EMPTY = -1;
+
+    // Célula da tabela em múltiplos de epsilon e distância à borda (em células) que pede a vizinha
+    private static final double CELL_EPSILONS = 4.0;
+    private static final double NEAR_BORDER = 0.5 - 1.0 / CELL_EPSILONS;
+
+    private MeshWelder() {
+    }
+
+    /**
+     * Epsilon configurado por -Dbiomeasure.weld.epsilon (negativo desativa a solda)
+     */
+    public static float configuredEpsilon() {
+        String value = System.getProperty("biomeasure.weld.epsilon");
+        if (value == null) {
+            return DEFAULT_EPSILON;
+        }
+        try {
+            return Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            System.err.println("[MeshWelder] Epsilon inválido: " + value);
+            return DEFAULT_EPSILON;
+        }
+    }
+
+    public static Result weld(MeshData data, float epsilon) {
+        if (epsilon < 0 || Float.isNaN(epsilon)) {
+            throw new IllegalArgumentException("epsilon deve ser >= 0");
+        }
+
+        int[] faces = data.getFaces().clone();
+        float[] positions = weldAttribute(data.getPositions(), 3, faces, 0, epsilon);
+        float[] texCoords = weldAttribute(data.getTexCoords(), 2, faces, 1, epsilon);
+        float[] normals = weldAttribute(data.getNormals(), 3, faces, 2, epsilon);
+
+        String[] groups = new String[data.getSegmentCount()];
+        String[] materials = new String[data.getSegmentCount()];
+        int[] starts = new int[data.getSegmentCount()];
+        for (int s = 0; s < starts.length; s++) {
+            groups[s] = data.getSegmentGroup(s);
+            materials[s] = data.getSegmentMaterial(s);
+            starts[s] = data.getSegmentStart(s);
+        }
+
+        MeshData welded = new MeshData(positions, texCoords, normals, faces,
+                groups, materials, starts, data.getMaterials());
+        return new Result(welded, data);
+    }
+
+    /**
+     * Deduplica um atributo (size floats por elemento) e reescreve o slot
+     * correspondente das faces com os novos índices
+     */
+    private static float[] weldAttribute(float[] values, int size, int[] faces, int slot, float epsilon) {
+        int count = values.length / size;
+        if (count == 0) {
+            return values;
+        }
+
+        // Índice antigo -> novo (EMPTY enquanto não visto)
+        int[] remap = new int[count];
+        Arrays.fill(remap, EMPTY);
+
+        int capacity = Integer.highestOneBit(Math.max(count, 8) * 2 - 1) << 1;
+        int[] table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        int mask = capacity - 1;
+
+        float[] out = new float[values.length];
+        int outCount = 0;
+        double inverse = epsilon > 0 ? 1.0 / (CELL_EPSILONS * epsilon) : 0.0;
+        long[] cell = new long[size];
+        int[] side = new int[size]; // Vizinha a sondar por componente: -1, 0 ou +1
+
+        for (int i = slot; i < faces.length; i += 3) {
+            int index = faces[i];
+            if (index < 0) continue;
+            if (remap[index] != EMPTY) {
+                faces[i] = remap[index];
+                continue;
+            }
+
+            int offset = index * size;
+            int nearBorder = 0;
+            for (int k = 0; k < size; k++) {
+                float value = values[offset + k];
+                cell[k] = quantize(value, inverse);
+                side[k] = 0;
+                if (inverse != 0.0) {
+                    double fraction = value * inverse - cell[k];
+                    if (fraction >= NEAR_BORDER) side[k] = 1;
+                    else if (fraction <= -NEAR_BORDER) side[k] = -1;
+                    if (side[k] != 0) nearBorder |= 1 << k;
+                }
+            }
+
+            // Própria célula primeiro (guarda a posição livre para inserir), depois as vizinhas
+            int found = EMPTY;
+            int freeSlot = EMPTY;
+            for (int neighbours = 0; found == EMPTY && neighbours <= nearBorder; neighbours++) {
+                if ((neighbours & ~nearBorder) != 0) continue;
+                int slotIndex = hash(cell, side, neighbours) & mask;
+                while (table[slotIndex] != EMPTY) {
+                    int candidate = table[slotIndex];
+                    if (close(values, offset, out, candidate * size, size, epsilon, inverse)) {
+                        found = candidate;
+                        break;
+                    }
+                    slotIndex = (slotIndex + 1) & mask;
+                }
+                if (neighbours == 0) {
+                    freeSlot = slotIndex;
+                }
+            }
+
+            if (found == EMPTY) {
+                found = outCount++;
+                System.arraycopy(values, offset, out, found * size, size);
+                table[freeSlot] = found;
+            }
+            remap[index] = found;
+            faces[i] = found;
+        }
+        return Arrays.copyOf(out, outCount * size);
+    }
+
+    /**
+     * Hash da célula, deslocada para a vizinha nas componentes marcadas em neighbours
+     */
+    private static int hash(long[] cell, int[] side, int neighbours) {
+        long h = 0;
+        for (int k = 0; k < cell.length; k++) {
+            long c = (neighbours & (1 << k)) != 0 ? cell[k] + side[k] : cell[k];
+            h = h * 0x9E3779B97F4A7C15L + c;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static boolean close(float[] a, int offsetA, float[] b, int offsetB, int size, float epsilon, double inverse) {
+        for (int k = 0; k < size; k++) {
+            if (inverse == 0.0) {
+                if (quantize(a[offsetA + k], inverse) != quantize(b[offsetB + k], inverse)) return false;
+            } else if (Math.abs(a[offsetA + k] - b[offsetB + k]) > epsilon) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Célula do valor (ou os bits exatos quando epsilon é 0; -0 e 0 são iguais)
+     */
+    private static long quantize(float value, double inverse) {
+        if (inverse == 0.0) {
+            return Float.floatToIntBits(value == 0f ? 0f : value);
+        }
+        return Math.round(value * inverse);
+    }
+
+    /**
+     * Modelo soldado e quantos elementos/bytes foram economizados
+     */
+    public static final class Result {
+        private final MeshData data;
+        private final int verticesBefore;
+        private final int verticesAfter;
+        private final long bytesSaved;
+
+        Result(MeshData welded, MeshData original) {
+            this.data = welded;
+            this.verticesBefore = original.getVertexCount();
+            this.verticesAfter = welded.getVertexCount();
+            long floatsBefore = original.getPositions().length + original.getTexCoords().length + original.getNormals().length;
+            long floatsAfter = welded.getPositions().length + welded.getTexCoords().length + welded.getNormals().length;
+            this.bytesSaved = (floatsBefore - floatsAfter) * Float.BYTES;
+        }
+
+        public MeshData getData() {
+            return data;
+        }
+
+        public int getVerticesBefore() {
+            return verticesBefore;
+        }
+
+        public int getVerticesAfter() {
+            return verticesAfter;
+        }
+
+        public int getVerticesRemoved() {
+            return verticesBefore - verticesAfter;
+        }
+
+        /**
+         * Bytes de posições, texturas e normais que deixaram de existir
+         */
+        public long getBytesSaved() {
+            return bytesSaved;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Solda: %d -> %d vértices (-%d, %.1f KB economizados)",
+                    verticesBefore, verticesAfter, getVerticesRemoved(), bytesSaved / 1024.0);
+        }
+    }
+}
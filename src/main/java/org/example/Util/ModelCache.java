@@ -0,0 +1,155 @@
+package org.example.Util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache em memória dos modelos abertos recentemente
+ * - Guarda os dados brutos (MeshData), nunca os nós do JavaFX
+ * - Chave: caminho canônico + data de modificação
+ * - Limite em bytes; remove primeiro os menos usados (LRU ponderado pelo tamanho)
+ *
+ * Reabrir um modelo do cache só recria os MeshViews
+ */
+public class ModelCache {
+
+    private static ModelCache defaultCache;
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ModelCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Cache padrão da aplicação, ou null se desativado (-Dbiomeasure.modelCache.enabled=false)
+     * Limite: -Dbiomeasure.modelCache.maxBytes (padrão: 1/4 do heap máximo)
+     */
+    public static synchronized ModelCache getDefault() {
+        if (!Boolean.parseBoolean(System.getProperty("biomeasure.modelCache.enabled", "true"))) {
+            return null;
+        }
+        if (defaultCache == null) {
+            long max = Long.getLong("biomeasure.modelCache.maxBytes", Runtime.getRuntime().maxMemory() / 4);
+            defaultCache = new ModelCache(max);
+        }
+        return defaultCache;
+    }
+
+    /**
+     * Dados do modelo se o arquivo não mudou desde que foi guardado, ou null
+     */
+    public synchronized Entry get(Path path) throws IOException {
+        Entry entry = entries.get(key(path));
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry;
+    }
+
+    /**
+     * Guarda os dados do modelo (entradas maiores que o limite não são guardadas)
+     */
+    public synchronized void put(Path path, MeshData data, MeshWelder.Result weld) throws IOException {
+        String key = key(path);
+        Entry entry = new Entry(data, weld);
+
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            usedBytes -= previous.sizeInBytes;
+        }
+        if (entry.sizeInBytes > maxBytes) {
+            System.out.println("[ModelCache] Modelo maior que o limite do cache: " + path.getFileName());
+            return;
+        }
+
+        entries.put(key, entry);
+        usedBytes += entry.sizeInBytes;
+
+        // Ordem de acesso: o primeiro é o menos usado
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            if (eldest.getValue() == entry) continue;
+            usedBytes -= eldest.getValue().sizeInBytes;
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("ModelCache[%d modelos, %.1f/%.1f MB, acertos=%d, faltas=%d, remoções=%d]",
+                entries.size(), usedBytes / (1024.0 * 1024.0), maxBytes / (1024.0 * 1024.0),
+                hits, misses, evictions);
+    }
+
+    private static String key(Path path) throws IOException {
+        Path canonical = path.toRealPath();
+        return canonical + "|" + Files.getLastModifiedTime(canonical).toMillis();
+    }
+
+    /**
+     * Modelo guardado: dados já soldados e o resultado da solda (se houve)
+     */
+    public static final class Entry {
+        private final MeshData data;
+        private final MeshWelder.Result weld;
+        private final long sizeInBytes;
+
+        Entry(MeshData data, MeshWelder.Result weld) {
+            this.data = data;
+            this.weld = weld;
+            this.sizeInBytes = data.getSizeInBytes();
+        }
+
+        public MeshData getData() {
+            return data;
+        }
+
+        public MeshWelder.Result getWeldResult() {
+            return weld;
+        }
+    }
+}
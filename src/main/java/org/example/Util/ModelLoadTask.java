@@ -0,0 +1,157 @@
+package org.example.Util;
+
+import javafx.concurrent.Task;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.Group;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tarefa de carregamento de modelo OBJ fora da thread do JavaFX
+ * - Lê o arquivo e monta os TriangleMesh em segundo plano
+ * - Publica o progresso em bytes lidos (progressProperty / messageProperty)
+ * - Pode ser cancelada a qualquer momento com cancel()
+ * - Calcula os bounds do grupo já centralizado, antes de entrar na cena
+ * - Mede cada fase em LoadMetrics (encerrado por quem anexa o modelo à cena)
+ * - Modelos que não cabem no heap (OctreeChunker.shouldUseOutOfCore) são abertos em chunks:
+ *   o grupo é o nó do ChunkStreamer, só com a visão geral carregada
+ */
+public class ModelLoadTask extends Task<ModelLoadTask.Result> {
+
+    private final String path;
+    private final boolean forceOutOfCore;
+
+    public ModelLoadTask(String path) {
+        this(path, false);
+    }
+
+    /**
+     * @param forceOutOfCore abre em chunks mesmo que a estimativa caiba no heap (ex.: nova tentativa após falta de memória)
+     */
+    public ModelLoadTask(String path, boolean forceOutOfCore) {
+        this.path = path;
+        this.forceOutOfCore = forceOutOfCore;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public boolean isForceOutOfCore() {
+        return forceOutOfCore;
+    }
+
+    @Override
+    protected Result call() throws Exception {
+        long totalBytes = Math.max(new File(path).length(), 1);
+        AtomicLong bytesRead = new AtomicLong();
+        String fileName = new File(path).getName();
+
+        updateMessage("Carregando " + fileName + "...");
+        updateProgress(0, totalBytes);
+
+        LoadProgress progress = new LoadProgress() {
+            @Override
+            public void advance(long bytes) {
+                long read = bytesRead.addAndGet(bytes);
+                updateProgress(read, totalBytes);
+                updateMessage(String.format("Carregando %s... %d%%", fileName, read * 100 / totalBytes));
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return ModelLoadTask.this.isCancelled();
+            }
+        };
+
+        LoadMetrics metrics = new LoadMetrics(path);
+        if (forceOutOfCore || OctreeChunker.shouldUseOutOfCore(Path.of(path))) {
+            return loadOutOfCore(progress, metrics);
+        }
+
+        Group model = OBJLoader.loadObj(path, progress, metrics);
+
+        if (isCancelled()) {
+            return null;
+        }
+
+        updateMessage("Preparando cena...");
+        LoadMetrics.Phase phase = metrics.begin("bounds");
+        Bounds bounds = model.getBoundsInLocal();
+        phase.end();
+        return new Result(model, bounds, metrics, null);
+    }
+
+    /**
+     * Pré-processa (ou reaproveita) os chunks e carrega só a visão geral
+     */
+    private Result loadOutOfCore(LoadProgress progress, LoadMetrics metrics) throws Exception {
+        Path file = Path.of(path);
+        metrics.setFileBytes(file.toFile().length());
+        metrics.setSource(LoadMetrics.SOURCE_OCTREE);
+
+        LoadMetrics.Phase phase = metrics.begin("octree");
+        OctreeModel octree = OctreeChunker.openOrBuild(file, progress);
+        phase.end();
+
+        ChunkStreamer streamer = new ChunkStreamer(octree, ChunkStreamer.configuredBudgetBytes());
+        updateMessage("Carregando visão geral...");
+        phase = metrics.begin("visao-geral");
+        streamer.loadOverview(progress);
+        phase.end();
+
+        if (isCancelled()) {
+            streamer.dispose();
+            return null;
+        }
+
+        metrics.setCounts((int) Math.min(octree.getVertexCount(), Integer.MAX_VALUE),
+                (int) Math.min(octree.getTriangleCount(), Integer.MAX_VALUE), octree.getChunkCount());
+        float[] b = octree.getBounds();
+        Bounds bounds = new BoundingBox(b[0], b[1], b[2], b[3] - b[0], b[4] - b[1], b[5] - b[2]);
+        System.out.println("[ModelLoadTask] " + octree + " | orçamento " + streamer.getBudgetBytes() / (1024 * 1024) + " MB");
+        return new Result(streamer.getNode(), bounds, metrics, streamer);
+    }
+
+    /**
+     * Modelo pronto para ser anexado à cena
+     */
+    public static final class Result {
+        private final Group model;
+        private final Bounds bounds;
+        private final LoadMetrics metrics;
+        private final ChunkStreamer chunkStreamer;
+
+        Result(Group model, Bounds bounds, LoadMetrics metrics, ChunkStreamer chunkStreamer) {
+            this.model = model;
+            this.bounds = bounds;
+            this.metrics = metrics;
+            this.chunkStreamer = chunkStreamer;
+        }
+
+        public Group getModel() {
+            return model;
+        }
+
+        public Bounds getBounds() {
+            return bounds;
+        }
+
+        /**
+         * Medições do carregamento, ainda abertas para a fase de cena
+         */
+        public LoadMetrics getMetrics() {
+            return metrics;
+        }
+
+        /**
+         * Streamer dos chunks (null quando o modelo inteiro está no heap)
+         */
+        public ChunkStreamer getChunkStreamer() {
+            return chunkStreamer;
+        }
+    }
+}
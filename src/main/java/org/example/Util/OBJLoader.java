@@ -1,17 +1,179 @@
 package org.example.Util;
 
 import com.interactivemesh.jfx.importer.obj.ObjModelImporter;
+import javafx.geometry.BoundingBox;
 import javafx.geometry.Bounds;
 import javafx.scene.Group;
 import javafx.scene.Node;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+import javafx.scene.shape.VertexFormat;
 import javafx.scene.transform.Translate;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 public class OBJLoader {
 
-    public static Group loadObj(String path) {
+    // Chave usada em Group.getProperties() para guardar os dados brutos do modelo
+    public static final String MESH_DATA_KEY = "objloader.meshData";
+
+    // Chave com o resultado da solda de vértices (MeshWelder.Result)
+    public static final String WELD_RESULT_KEY = "objloader.weldResult";
+
+    // Nome do material MTL de cada MeshView (ausente para faces sem usemtl)
+    public static final String MATERIAL_NAME_KEY = "objloader.materialName";
+
+    // Gravação pendente no cache em disco (executada por writeDiskCache)
+    private static final String DISK_CACHE_WRITE_KEY = "objloader.diskCacheWrite";
+
+    /**
+     * Carrega e centraliza o modelo inteiro no heap
+     * Erros de leitura (e falta de memória) chegam a quem chama, em vez de um grupo vazio;
+     * modelos maiores que o heap devem ser abertos em chunks (OctreeChunker + ChunkStreamer)
+     */
+    public static Group loadObj(String path) throws IOException {
+        return loadObj(path, LoadProgress.NONE);
+    }
+
+    /**
+     * Carrega e centraliza o modelo informando o progresso da leitura
+     * Pode ser chamado fora da thread do JavaFX (o grupo ainda não está na cena)
+     */
+    public static Group loadObj(String path, LoadProgress progress) throws IOException {
+        LoadMetrics metrics = new LoadMetrics(path);
+        Group group = loadObj(path, progress, metrics);
+        metrics.finish();
+        return group;
+    }
+
+    /**
+     * Igual a loadObj(path, progress), registrando cada fase em metrics
+     * Quem chama decide quando encerrar a medição (metrics.finish())
+     */
+    public static Group loadObj(String path, LoadProgress progress, LoadMetrics metrics) throws IOException {
+        Path file = Path.of(path);
+        metrics.setFileBytes(Files.size(file));
+
+        LoadMetrics.Phase phase = metrics.begin("cache-memoria");
+        ModelCache modelCache = ModelCache.getDefault();
+        ModelCache.Entry cached = modelCache != null ? modelCache.get(file) : null;
+        phase.end();
+
+        MeshData data;
+        MeshWelder.Result weld = null;
+        Runnable pendingDiskWrite = null;
+        if (cached != null) {
+            // Modelo aberto recentemente: só recriar os MeshViews
+            data = cached.getData();
+            weld = cached.getWeldResult();
+            metrics.setSource(LoadMetrics.SOURCE_MEMORY_CACHE);
+            progress.advance(Files.size(file));
+        } else {
+            // O cache em disco guarda o modelo já soldado: um acerto dispensa leitura e solda
+            float epsilon = MeshWelder.configuredEpsilon();
+            MeshCache diskCache = MeshCache.getDefault();
+            data = null;
+            if (diskCache != null) {
+                phase = metrics.begin("cache-disco");
+                data = diskCache.get(file, epsilon);
+                phase.end();
+            }
+
+            if (data != null) {
+                metrics.setSource(LoadMetrics.SOURCE_DISK_CACHE);
+                progress.advance(Files.size(file));
+            } else {
+                // Leitura mapeada em memória: disco e interpretação acontecem juntos
+                phase = metrics.begin("leitura");
+                data = ObjParser.parse(file, progress);
+                phase.end();
+
+                // Soldar vértices repetidos antes de montar os TriangleMesh
+                if (epsilon >= 0 && !data.isEmpty()) {
+                    phase = metrics.begin("solda");
+                    weld = MeshWelder.weld(data, epsilon);
+                    data = weld.getData();
+                    phase.end();
+                }
+
+                if (diskCache != null) {
+                    // Gravado só depois que o modelo entra na cena (writeDiskCache)
+                    MeshData toCache = data;
+                    pendingDiskWrite = () -> diskCache.putInBackground(file, toCache, epsilon);
+                }
+            }
+
+            if (modelCache != null) {
+                modelCache.put(file, data, weld);
+            }
+        }
+
+        // Um MeshView por material (centralização já aplicada nos vértices) ou um por grupo
+        phase = metrics.begin("meshes");
+        boolean batching = isBatchingEnabled();
+        Group group = batching ? buildBatchedGroup(data) : buildGroup(data);
+        if (weld != null) {
+            group.getProperties().put(WELD_RESULT_KEY, weld);
+        }
+        if (pendingDiskWrite != null) {
+            group.getProperties().put(DISK_CACHE_WRITE_KEY, pendingDiskWrite);
+        }
+        phase.end();
+        metrics.setCounts(data.getVertexCount(), data.getTriangleCount(), group.getChildren().size());
+
+        if (group.getChildren().isEmpty()) {
+            System.out.println("[OBJLoader] Nenhum MeshView encontrado no arquivo.");
+            return group;
+        }
+
+        // Centralizar o grupo na origem (0,0,0), pelo bounding box já calculado durante a leitura
+        if (!batching) {
+            phase = metrics.begin("centralizacao");
+            float[] b = data.getBounds();
+            centerGroupAtOrigin(group, new BoundingBox(b[0], b[1], b[2], b[3] - b[0], b[4] - b[1], b[5] - b[2]));
+            phase.end();
+        }
+        return group;
+    }
+
+    /**
+     * Lê os dados do modelo, usando o cache em disco quando disponível (soldados, se a solda estiver ativa)
+     * Não grava no cache: só loadObj + writeDiskCache gravam
+     */
+    public static MeshData readMeshData(Path path, LoadProgress progress) throws IOException {
+        MeshCache cache = MeshCache.getDefault();
+        MeshData cached = cache != null ? cache.get(path, MeshWelder.configuredEpsilon()) : null;
+        if (cached != null) {
+            progress.advance(Files.size(path));
+            return cached;
+        }
+        return ObjParser.parse(path, progress);
+    }
+
+    /**
+     * Grava em segundo plano o modelo recém-lido no cache em disco
+     * Chamar depois que o grupo foi anexado à cena, para não atrasar a primeira exibição
+     */
+    public static void writeDiskCache(Node model) {
+        Object pending = model.getProperties().remove(DISK_CACHE_WRITE_KEY);
+        if (pending instanceof Runnable) {
+            ((Runnable) pending).run();
+        }
+    }
+
+    /**
+     * Carrega o modelo com o importador InteractiveMesh (implementação anterior)
+     */
+    public static Group loadObjWithImporter(String path) {
         ObjModelImporter importer = new ObjModelImporter();
         try {
             importer.read(path);
@@ -29,41 +191,284 @@ public class OBJLoader {
                 group.getChildren().add(mesh);
             }
 
-            // Calcular o bounding box do grupo completo
-            Bounds bounds = group.getBoundsInLocal();
-
             // Centralizar o grupo na origem (0,0,0)
-            centerGroupAtOrigin(group, bounds);
-
-            System.out.println(String.format(
-                    "[OBJLoader] Modelo carregado e centralizado. " +
-                            "Bounds: [%.2f, %.2f, %.2f] to [%.2f, %.2f, %.2f]",
-                    bounds.getMinX(), bounds.getMinY(), bounds.getMinZ(),
-                    bounds.getMaxX(), bounds.getMaxY(), bounds.getMaxZ()
-            ));
-
+            centerGroupAtOrigin(group, group.getBoundsInLocal());
             return group;
         } catch (Exception e) {
             System.err.println("[OBJLoader] Erro ao carregar modelo: " + e.getMessage());
             e.printStackTrace();
             return new Group();
+        } finally {
+            importer.close();
         }
     }
 
+    /**
+     * Dados brutos associados a um grupo criado por loadObj (ou null)
+     */
+    public static MeshData getMeshData(Group model) {
+        Object data = model.getProperties().get(MESH_DATA_KEY);
+        return data instanceof MeshData ? (MeshData) data : null;
+    }
+
+    /**
+     * Mesclagem por material ativada (-Dbiomeasure.meshBatching.enabled, padrão true)
+     */
+    public static boolean isBatchingEnabled() {
+        return Boolean.parseBoolean(System.getProperty("biomeasure.meshBatching.enabled", "true"));
+    }
+
+    /**
+     * Cria um único MeshView por material, com os vértices já centralizados na origem
+     * Cada MeshView guarda uma FaceGroupTable para resolver o grupo da face atingida
+     */
+    public static Group buildBatchedGroup(MeshData data) {
+        Group group = new Group();
+        group.getProperties().put(MESH_DATA_KEY, data);
+        if (data.isEmpty()) {
+            return group;
+        }
+
+        // Centralização aplicada direto nas posições (sem Translate por MeshView)
+        float[] positions = data.getPositions().clone();
+        float centerX = (float) data.getCenterX();
+        float centerY = (float) data.getCenterY();
+        float centerZ = (float) data.getCenterZ();
+        for (int i = 0; i < positions.length; i += 3) {
+            positions[i] -= centerX;
+            positions[i + 1] -= centerY;
+            positions[i + 2] -= centerZ;
+        }
+
+        Map<String, List<Integer>> segmentsByMaterial = new LinkedHashMap<>();
+        for (int s = 0; s < data.getSegmentCount(); s++) {
+            if (data.getSegmentEnd(s) == data.getSegmentStart(s)) continue;
+            segmentsByMaterial.computeIfAbsent(data.getSegmentMaterial(s), k -> new ArrayList<>()).add(s);
+        }
+
+        int[] remap = new int[Math.max(data.getVertexCount(), 1)];
+        int[] texRemap = new int[Math.max(data.getTexCoords().length / 2, 1)];
+        int[] normalRemap = new int[Math.max(data.getNormals().length / 3, 1)];
+        PhongMaterial defaultMaterial = null;
+
+        for (Map.Entry<String, List<Integer>> entry : segmentsByMaterial.entrySet()) {
+            List<Integer> segments = entry.getValue();
+            TriangleMesh mesh = segmentsByMaterial.size() == 1
+                    ? buildFullMesh(data, positions)
+                    : buildPartialMesh(data, positions, segments, remap, texRemap, normalRemap);
+
+            // Triângulos entram no mesh na ordem dos segmentos
+            FaceGroupTable table = new FaceGroupTable();
+            int face = 0;
+            for (int s : segments) {
+                table.add(face, data.getSegmentGroup(s));
+                face += data.getSegmentEnd(s) - data.getSegmentStart(s);
+            }
+
+            MeshView meshView = new MeshView(mesh);
+            String materialName = entry.getKey();
+            meshView.setId(table.size() == 1 ? table.getName(0) : materialName);
+            meshView.getProperties().put(FaceGroupTable.KEY, table);
+            if (materialName != null) {
+                meshView.getProperties().put(MATERIAL_NAME_KEY, materialName);
+            }
+
+            ObjMaterial objMaterial = materialName != null ? data.getMaterials().get(materialName) : null;
+            if (objMaterial != null) {
+                meshView.setMaterial(toPhongMaterial(objMaterial));
+            } else {
+                // Mesmo material padrão para todos os meshes sem usemtl
+                if (defaultMaterial == null) {
+                    defaultMaterial = createDefaultMaterial();
+                }
+                meshView.setMaterial(defaultMaterial);
+            }
+            group.getChildren().add(meshView);
+        }
+
+        return group;
+    }
+
+    /**
+     * Cria um MeshView por grupo/material a partir dos arrays primitivos
+     */
+    public static Group buildGroup(MeshData data) {
+        Group group = new Group();
+        group.getProperties().put(MESH_DATA_KEY, data);
+        if (data.isEmpty()) {
+            return group;
+        }
+
+        // Agrupar segmentos com o mesmo grupo + material (ordem de aparição)
+        Map<String, List<Integer>> segmentsByKey = new LinkedHashMap<>();
+        for (int s = 0; s < data.getSegmentCount(); s++) {
+            if (data.getSegmentEnd(s) == data.getSegmentStart(s)) continue;
+            String key = data.getSegmentGroup(s) + "\u0000" + data.getSegmentMaterial(s);
+            segmentsByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(s);
+        }
+
+        Map<String, PhongMaterial> materials = new LinkedHashMap<>();
+        int[] remap = new int[Math.max(data.getVertexCount(), 1)];
+        int[] texRemap = new int[Math.max(data.getTexCoords().length / 2, 1)];
+        int[] normalRemap = new int[Math.max(data.getNormals().length / 3, 1)];
+
+        for (List<Integer> segments : segmentsByKey.values()) {
+            int first = segments.get(0);
+            TriangleMesh mesh = segmentsByKey.size() == 1
+                    ? buildFullMesh(data, data.getPositions())
+                    : buildPartialMesh(data, data.getPositions(), segments, remap, texRemap, normalRemap);
+
+            MeshView meshView = new MeshView(mesh);
+            meshView.setId(data.getSegmentGroup(first));
+
+            String materialName = data.getSegmentMaterial(first);
+            if (materialName != null) {
+                meshView.getProperties().put(MATERIAL_NAME_KEY, materialName);
+            }
+            ObjMaterial objMaterial = materialName != null ? data.getMaterials().get(materialName) : null;
+            if (objMaterial != null) {
+                meshView.setMaterial(materials.computeIfAbsent(materialName, n -> toPhongMaterial(objMaterial)));
+            }
+            applyDefaultMaterialIfNeeded(meshView);
+            group.getChildren().add(meshView);
+        }
+        return group;
+    }
+
+    /**
+     * Usa os arrays completos diretamente (modelo com um único grupo)
+     */
+    private static TriangleMesh buildFullMesh(MeshData data, float[] positions) {
+        TriangleMesh mesh = new TriangleMesh(data.hasNormals() ? VertexFormat.POINT_NORMAL_TEXCOORD : VertexFormat.POINT_TEXCOORD);
+        mesh.getPoints().setAll(positions);
+        if (data.hasTexCoords()) {
+            mesh.getTexCoords().setAll(data.getTexCoords());
+        } else {
+            mesh.getTexCoords().setAll(0f, 0f);
+        }
+        if (data.hasNormals()) {
+            mesh.getNormals().setAll(data.getNormals());
+        }
+
+        int[] faces = data.getFaces();
+        int stride = data.hasNormals() ? 9 : 6;
+        int[] meshFaces = new int[data.getTriangleCount() * stride];
+        int out = 0;
+        for (int i = 0; i < faces.length; i += 3) {
+            meshFaces[out++] = faces[i];
+            if (data.hasNormals()) {
+                meshFaces[out++] = faces[i + 2];
+            }
+            meshFaces[out++] = data.hasTexCoords() ? faces[i + 1] : 0;
+        }
+        mesh.getFaces().setAll(meshFaces);
+        return mesh;
+    }
+
+    /**
+     * Compacta apenas os vértices usados pelos segmentos informados
+     */
+    private static TriangleMesh buildPartialMesh(MeshData data, float[] positions, List<Integer> segments,
+                                                 int[] remap, int[] texRemap, int[] normalRemap) {
+        boolean hasNormals = data.hasNormals();
+        boolean hasTexCoords = data.hasTexCoords();
+        float[] texCoords = data.getTexCoords();
+        float[] normals = data.getNormals();
+        int[] faces = data.getFaces();
+
+        Arrays.fill(remap, -1);
+        if (hasTexCoords) Arrays.fill(texRemap, -1);
+        if (hasNormals) Arrays.fill(normalRemap, -1);
+
+        GrowableFloatArray points = new GrowableFloatArray();
+        GrowableFloatArray tex = new GrowableFloatArray();
+        GrowableFloatArray norms = new GrowableFloatArray();
+        GrowableIntArray meshFaces = new GrowableIntArray();
+
+        for (int s : segments) {
+            for (int t = data.getSegmentStart(s); t < data.getSegmentEnd(s); t++) {
+                for (int corner = 0; corner < 3; corner++) {
+                    int base = t * 9 + corner * 3;
+
+                    int v = faces[base];
+                    if (remap[v] < 0) {
+                        remap[v] = points.size() / 3;
+                        points.add(positions[v * 3], positions[v * 3 + 1], positions[v * 3 + 2]);
+                    }
+                    meshFaces.add(remap[v]);
+
+                    if (hasNormals) {
+                        int n = faces[base + 2];
+                        if (normalRemap[n] < 0) {
+                            normalRemap[n] = norms.size() / 3;
+                            norms.add(normals[n * 3], normals[n * 3 + 1], normals[n * 3 + 2]);
+                        }
+                        meshFaces.add(normalRemap[n]);
+                    }
+
+                    if (hasTexCoords) {
+                        int vt = faces[base + 1];
+                        if (texRemap[vt] < 0) {
+                            texRemap[vt] = tex.size() / 2;
+                            tex.add(texCoords[vt * 2], texCoords[vt * 2 + 1]);
+                        }
+                        meshFaces.add(texRemap[vt]);
+                    } else {
+                        meshFaces.add(0);
+                    }
+                }
+            }
+        }
+
+        TriangleMesh mesh = new TriangleMesh(hasNormals ? VertexFormat.POINT_NORMAL_TEXCOORD : VertexFormat.POINT_TEXCOORD);
+        mesh.getPoints().setAll(points.rawArray(), 0, points.size());
+        if (hasTexCoords) {
+            mesh.getTexCoords().setAll(tex.rawArray(), 0, tex.size());
+        } else {
+            mesh.getTexCoords().setAll(0f, 0f);
+        }
+        if (hasNormals) {
+            mesh.getNormals().setAll(norms.rawArray(), 0, norms.size());
+        }
+        mesh.getFaces().setAll(meshFaces.rawArray(), 0, meshFaces.size());
+        return mesh;
+    }
+
+    /**
+     * Converte material MTL para PhongMaterial
+     */
+    private static PhongMaterial toPhongMaterial(ObjMaterial objMaterial) {
+        PhongMaterial material = new PhongMaterial();
+        float[] kd = objMaterial.getDiffuse();
+        material.setDiffuseColor(kd != null ? Color.color(clamp01(kd[0]), clamp01(kd[1]), clamp01(kd[2])) : Color.LIGHTGRAY);
+        float[] ks = objMaterial.getSpecular();
+        material.setSpecularColor(ks != null ? Color.color(clamp01(ks[0]), clamp01(ks[1]), clamp01(ks[2])) : Color.WHITE);
+        material.setSpecularPower(objMaterial.getSpecularPower());
+        return material;
+    }
+
+    private static double clamp01(float value) {
+        return Math.max(0.0, Math.min(1.0, value));
+    }
+
     /**
      * Aplica material padrão se o mesh não tiver material
      */
     private static void applyDefaultMaterialIfNeeded(MeshView mesh) {
         if (mesh.getMaterial() == null) {
-            PhongMaterial defaultMaterial = new PhongMaterial();
-            defaultMaterial.setDiffuseColor(Color.LIGHTGRAY);
-            defaultMaterial.setSpecularColor(Color.WHITE);
-            defaultMaterial.setSpecularPower(32.0);
-            mesh.setMaterial(defaultMaterial);
+            mesh.setMaterial(createDefaultMaterial());
             System.out.println("[OBJLoader] Material padrão aplicado.");
         }
     }
 
+    static PhongMaterial createDefaultMaterial() {
+        PhongMaterial defaultMaterial = new PhongMaterial();
+        defaultMaterial.setDiffuseColor(Color.LIGHTGRAY);
+        defaultMaterial.setSpecularColor(Color.WHITE);
+        defaultMaterial.setSpecularPower(32.0);
+        return defaultMaterial;
+    }
+
     /**
      * Centraliza o grupo na origem (0,0,0) do sistema de coordenadas
      */
@@ -103,7 +508,7 @@ public class OBJLoader {
 
     public static String getModelInfo(Group model) {
         Bounds bounds = model.getBoundsInLocal();
-        return String.format(
+        String info = String.format(
                 "Min: (%.2f, %.2f, %.2f) | Max: (%.2f, %.2f, %.2f) | " +
                         "Center: (%.2f, %.2f, %.2f) | Size: (%.2f, %.2f, %.2f)",
                 bounds.getMinX(), bounds.getMinY(), bounds.getMinZ(),
@@ -113,5 +518,11 @@ public class OBJLoader {
                 bounds.getMinZ() + bounds.getDepth() / 2,
                 bounds.getWidth(), bounds.getHeight(), bounds.getDepth()
         );
+
+        Object weld = model.getProperties().get(WELD_RESULT_KEY);
+        if (weld instanceof MeshWelder.Result) {
+            info += " | " + weld;
+        }
+        return info;
     }
-}
\ No newline at end of file
+}
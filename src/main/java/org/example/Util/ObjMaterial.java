@@ -0,0 +1,41 @@
+package org.example.Util;
+
+/**
+ * Material lido de um arquivo MTL (apenas cores difusa/especular e brilho)
+ */
+public final class ObjMaterial {
+
+    private final String name;
+    private final float[] diffuse;
+    private final float[] specular;
+    private final float specularPower;
+
+    public ObjMaterial(String name, float[] diffuse, float[] specular, float specularPower) {
+        this.name = name;
+        this.diffuse = diffuse;
+        this.specular = specular;
+        this.specularPower = specularPower;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Cor difusa (Kd) em RGB 0..1, ou null se não definida
+     */
+    public float[] getDiffuse() {
+        return diffuse;
+    }
+
+    /**
+     * Cor especular (Ks) em RGB 0..1, ou null se não definida
+     */
+    public float[] getSpecular() {
+        return specular;
+    }
+
+    public float getSpecularPower() {
+        return specularPower;
+    }
+}
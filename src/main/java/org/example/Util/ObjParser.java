@@ -0,0 +1,885 @@
+package org.example.Util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parser próprio de arquivos OBJ
+ * - Lê o arquivo por FileChannel mapeado em memória (janelas de até 1 GB)
+ * - Interpreta registros v / vt / vn / f / g / o / usemtl / mtllib direto dos bytes
+ * - Acumula tudo em arrays primitivos crescentes, sem objetos por vértice
+ * - Polígonos com mais de 3 vértices são triangulados em leque
+ * - Arquivos grandes são divididos em trechos interpretados em paralelo (fork/join)
+ */
+public final class ObjParser {
+
+    // Tamanho máximo de cada janela mapeada (MappedByteBuffer é limitado a 2 GB)
+    static final int MAX_WINDOW_BYTES = 1 << 30;
+
+    // Acima deste tamanho a leitura é feita em paralelo
+    public static final long PARALLEL_THRESHOLD_BYTES = 32L * 1024 * 1024;
+
+    // Menor trecho entregue a cada tarefa paralela
+    static final long MIN_CHUNK_BYTES = 4L * 1024 * 1024;
+
+    // Intervalo entre avisos de progresso/cancelamento
+    static final int PROGRESS_STEP_BYTES = 1 << 20;
+
+    static final String DEFAULT_GROUP = "default";
+
+    // Marcador de grupo/material ainda não conhecido no início de um trecho paralelo
+    static final String INHERITED = new String("<herdado>");
+
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private ObjParser() {
+    }
+
+    /**
+     * Lê e interpreta o arquivo OBJ completo
+     * Arquivos acima de PARALLEL_THRESHOLD_BYTES são lidos em paralelo
+     */
+    public static MeshData parse(Path path) throws IOException {
+        return parse(path, LoadProgress.NONE);
+    }
+
+    /**
+     * Igual a parse(path), informando bytes lidos e permitindo cancelamento
+     * (lança CancellationException quando progress.isCancelled())
+     */
+    public static MeshData parse(Path path, LoadProgress progress) throws IOException {
+        long fileSize = Files.size(path);
+        if (fileSize >= PARALLEL_THRESHOLD_BYTES && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            int parallelism = ForkJoinPool.getCommonPoolParallelism();
+            return parseParallel(path, Math.max(MIN_CHUNK_BYTES, fileSize / (parallelism * 4L)), progress);
+        }
+        return parseSequential(path, progress);
+    }
+
+    /**
+     * Leitura em uma única thread, janela por janela
+     */
+    public static MeshData parseSequential(Path path) throws IOException {
+        return parseSequential(path, LoadProgress.NONE);
+    }
+
+    public static MeshData parseSequential(Path path, LoadProgress progress) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            Chunk chunk = new Chunk(false, progress);
+
+            long position = 0;
+            while (position < fileSize) {
+                long windowSize = Math.min(MAX_WINDOW_BYTES, fileSize - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+
+                // Cortar a janela no último fim de linha para não partir registros
+                int limit = (int) windowSize;
+                if (position + windowSize < fileSize) {
+                    limit = lastLineBreak(window, limit);
+                    if (limit <= 0) {
+                        throw new IOException("Linha maior que a janela de leitura em " + position);
+                    }
+                }
+
+                chunk.parse(window, 0, limit);
+                position += limit;
+            }
+
+            Map<String, ObjMaterial> materials = loadMaterials(path, chunk.materialLibraries);
+            return chunk.toMeshData(materials);
+        }
+    }
+
+    /**
+     * Leitura em paralelo com tamanho de trecho automático
+     */
+    public static MeshData parseParallel(Path path) throws IOException {
+        long fileSize = Files.size(path);
+        int parallelism = Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+        return parseParallel(path, Math.max(MIN_CHUNK_BYTES, fileSize / (parallelism * 4L)));
+    }
+
+    /**
+     * Divide o arquivo em trechos terminados em fim de linha, interpreta cada trecho
+     * no pool fork/join e junta os resultados corrigindo os índices globais.
+     * O resultado é idêntico ao de parseSequential.
+     */
+    public static MeshData parseParallel(Path path, long targetChunkBytes) throws IOException {
+        return parseParallel(path, targetChunkBytes, LoadProgress.NONE);
+    }
+
+    public static MeshData parseParallel(Path path, long targetChunkBytes, LoadProgress progress) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] boundaries = splitOnLines(channel, Math.min(Math.max(targetChunkBytes, 1), MAX_WINDOW_BYTES / 2));
+
+            List<ChunkTask> tasks = new ArrayList<>();
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                tasks.add(new ChunkTask(channel, boundaries[i], boundaries[i + 1], progress));
+            }
+
+            List<Chunk> chunks = new ArrayList<>(tasks.size());
+            try {
+                ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        invokeAll(tasks);
+                    }
+                });
+                for (ChunkTask task : tasks) {
+                    chunks.add(task.join());
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            List<String> libraries = new ArrayList<>();
+            for (Chunk chunk : chunks) {
+                libraries.addAll(chunk.materialLibraries);
+            }
+            return merge(chunks, loadMaterials(path, libraries));
+        }
+    }
+
+    /**
+     * Recebe uma janela interpretada por stream(): posições da janela e triângulos
+     * (3 índices de posição globais cada); os arrays não devem ser guardados
+     */
+    public interface WindowConsumer {
+        void accept(float[] positions, int positionFloats, int[] triangles, int triangleInts) throws IOException;
+    }
+
+    /**
+     * Leitura para arquivos maiores que o heap: janelas de até windowBytes são interpretadas
+     * uma a uma, entregues ao consumidor e descartadas
+     * Só posições e índices de posição (vt, vn, grupos e materiais são ignorados);
+     * índices relativos são resolvidos com a contagem global de vértices
+     * Devolve o número total de vértices
+     */
+    public static int stream(Path path, long windowBytes, LoadProgress progress, WindowConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] boundaries = splitOnLines(channel, Math.min(Math.max(windowBytes, 1), MAX_WINDOW_BYTES / 2));
+            int vertexOffset = 0;
+            int[] triangles = new int[0];
+
+            for (int w = 0; w + 1 < boundaries.length; w++) {
+                long start = boundaries[w];
+                int length = (int) (boundaries[w + 1] - start);
+                Chunk chunk = new Chunk(true, progress);
+                chunk.parse(channel.map(FileChannel.MapMode.READ_ONLY, start, length), 0, length);
+
+                // Só o índice de posição (1º de cada trio) recebe o deslocamento global
+                int[] faces = chunk.faces.rawArray();
+                int[] fixups = chunk.relativeFixups.rawArray();
+                for (int i = 0, n = chunk.relativeFixups.size(); i < n; i++) {
+                    if (fixups[i] % 3 == 0) {
+                        faces[fixups[i]] += vertexOffset;
+                    }
+                }
+
+                int triangleInts = chunk.faces.size() / 3;
+                if (triangles.length < triangleInts) {
+                    triangles = new int[triangleInts];
+                }
+                for (int i = 0; i < triangleInts; i++) {
+                    int v = faces[i * 3];
+                    if (v < 0) {
+                        throw new IOException("Índice relativo anterior ao início do arquivo no OBJ");
+                    }
+                    triangles[i] = v;
+                }
+
+                vertexOffset += chunk.positions.size() / 3;
+                consumer.accept(chunk.positions.rawArray(), chunk.positions.size(), triangles, triangleInts);
+            }
+            return vertexOffset;
+        }
+    }
+
+    /**
+     * Calcula os limites dos trechos, sempre logo após um '\n'
+     */
+    static long[] splitOnLines(FileChannel channel, long targetChunkBytes) throws IOException {
+        long fileSize = channel.size();
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+
+        ByteBuffer probe = ByteBuffer.allocate(64 * 1024);
+        long start = 0;
+        while (start < fileSize) {
+            long end = Math.min(fileSize, start + targetChunkBytes);
+            if (end < fileSize) {
+                end = nextLineStart(channel, probe, end, fileSize);
+            }
+            boundaries.add(end);
+            start = end;
+        }
+
+        long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boundaries.get(i);
+        }
+        return result;
+    }
+
+    private static long nextLineStart(FileChannel channel, ByteBuffer probe, long from, long fileSize) throws IOException {
+        long position = from;
+        while (position < fileSize) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return fileSize;
+    }
+
+    /**
+     * Junta os trechos em ordem: concatena os arrays, soma o deslocamento global
+     * nos índices negativos (relativos) e resolve grupo/material herdados
+     */
+    static MeshData merge(List<Chunk> chunks, Map<String, ObjMaterial> materials) throws IOException {
+        int positionCount = 0, texCount = 0, normalCount = 0, faceCount = 0;
+        for (Chunk chunk : chunks) {
+            positionCount += chunk.positions.size();
+            texCount += chunk.texCoords.size();
+            normalCount += chunk.normals.size();
+            faceCount += chunk.faces.size();
+        }
+
+        float[] positions = new float[positionCount];
+        float[] texCoords = new float[texCount];
+        float[] normals = new float[normalCount];
+        int[] faces = new int[faceCount];
+
+        List<String> segmentGroups = new ArrayList<>();
+        List<String> segmentMaterials = new ArrayList<>();
+        GrowableIntArray segmentStarts = new GrowableIntArray(16);
+
+        String group = DEFAULT_GROUP;
+        String material = null;
+        int vOffset = 0, tOffset = 0, nOffset = 0, fOffset = 0;
+
+        for (Chunk chunk : chunks) {
+            System.arraycopy(chunk.positions.rawArray(), 0, positions, vOffset * 3, chunk.positions.size());
+            System.arraycopy(chunk.texCoords.rawArray(), 0, texCoords, tOffset * 2, chunk.texCoords.size());
+            System.arraycopy(chunk.normals.rawArray(), 0, normals, nOffset * 3, chunk.normals.size());
+            System.arraycopy(chunk.faces.rawArray(), 0, faces, fOffset, chunk.faces.size());
+
+            // Índices relativos foram resolvidos com a contagem local do trecho
+            int[] fixups = chunk.relativeFixups.rawArray();
+            int[] offsets = {vOffset, tOffset, nOffset};
+            for (int i = 0, n = chunk.relativeFixups.size(); i < n; i++) {
+                int at = fOffset + fixups[i];
+                faces[at] += offsets[fixups[i] % 3];
+                if (faces[at] < 0) {
+                    throw new IOException("Índice relativo anterior ao início do arquivo no OBJ");
+                }
+            }
+
+            // Segmentos herdam o grupo/material vigente no início do trecho
+            String startGroup = group, startMaterial = material;
+            for (int s = 0; s < chunk.segmentStarts.size(); s++) {
+                String g = chunk.segmentGroups.get(s) == INHERITED ? startGroup : chunk.segmentGroups.get(s);
+                String m = chunk.segmentMaterials.get(s) == INHERITED ? startMaterial : chunk.segmentMaterials.get(s);
+                int last = segmentStarts.size() - 1;
+                if (last < 0 || !Objects.equals(segmentGroups.get(last), g) || !Objects.equals(segmentMaterials.get(last), m)) {
+                    segmentGroups.add(g);
+                    segmentMaterials.add(m);
+                    segmentStarts.add(fOffset / 9 + chunk.segmentStarts.get(s));
+                }
+            }
+            group = chunk.currentGroup == INHERITED ? startGroup : chunk.currentGroup;
+            material = chunk.currentMaterial == INHERITED ? startMaterial : chunk.currentMaterial;
+
+
+            vOffset += chunk.positions.size() / 3;
+            tOffset += chunk.texCoords.size() / 2;
+            nOffset += chunk.normals.size() / 3;
+            fOffset += chunk.faces.size();
+        }
+
+        validateIndices(faces, faces.length, vOffset, tOffset, nOffset);
+        return new MeshData(positions, texCoords, normals, faces,
+                segmentGroups.toArray(new String[0]),
+                segmentMaterials.toArray(new String[0]),
+                segmentStarts.toArray(),
+                materials,
+                MeshData.computeBounds(positions));
+    }
+
+    /**
+     * Garante que toda face referencia v/vt/vn existentes
+     */
+    static void validateIndices(int[] faces, int length, int vertexCount, int texCount, int normalCount) throws IOException {
+        for (int i = 0; i < length; i += 3) {
+            if (faces[i] < 0 || faces[i] >= vertexCount
+                    || faces[i + 1] < -1 || faces[i + 1] >= texCount
+                    || faces[i + 2] < -1 || faces[i + 2] >= normalCount) {
+                throw new IOException("Face do OBJ referencia índice inexistente (triângulo " + (i / 9) + ")");
+            }
+        }
+    }
+
+    /**
+     * Interpreta um trecho [start, end) do arquivo
+     */
+    private static final class ChunkTask extends RecursiveTask<Chunk> {
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+        private final LoadProgress progress;
+
+        ChunkTask(FileChannel channel, long start, long end, LoadProgress progress) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.progress = progress;
+        }
+
+        @Override
+        protected Chunk compute() {
+            try {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                Chunk chunk = new Chunk(true, progress);
+                chunk.parse(window, 0, (int) (end - start));
+                return chunk;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Posição logo após o último '\n' antes de limit (0 se não houver)
+     */
+    static int lastLineBreak(ByteBuffer buffer, int limit) {
+        for (int i = limit - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    // =================== MATERIAIS (MTL) ===================
+
+    /**
+     * Lê as bibliotecas MTL referenciadas (apenas newmtl, Kd, Ks e Ns)
+     */
+    static Map<String, ObjMaterial> loadMaterials(Path objPath, List<String> libraries) {
+        Map<String, ObjMaterial> materials = new LinkedHashMap<>();
+        Path directory = objPath.toAbsolutePath().getParent();
+
+        for (String library : libraries) {
+            Path mtlPath = directory != null ? directory.resolve(library) : Path.of(library);
+            if (!Files.isRegularFile(mtlPath)) {
+                System.out.println("[ObjParser] Biblioteca MTL não encontrada: " + mtlPath);
+                continue;
+            }
+
+            try (BufferedReader reader = Files.newBufferedReader(mtlPath, StandardCharsets.ISO_8859_1)) {
+                String name = null;
+                float[] diffuse = null, specular = null;
+                float specularPower = 32f;
+
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] parts = line.trim().split("\\s+");
+                    if (parts.length == 0) continue;
+
+                    switch (parts[0]) {
+                        case "newmtl":
+                            if (name != null) {
+                                materials.put(name, new ObjMaterial(name, diffuse, specular, specularPower));
+                            }
+                            name = line.trim().substring(6).trim();
+                            diffuse = null;
+                            specular = null;
+                            specularPower = 32f;
+                            break;
+                        case "Kd":
+                            diffuse = parseColor(parts);
+                            break;
+                        case "Ks":
+                            specular = parseColor(parts);
+                            break;
+                        case "Ns":
+                            if (parts.length > 1) specularPower = Float.parseFloat(parts[1]);
+                            break;
+                        default:
+                            break;
+                    }
+                }
+                if (name != null) {
+                    materials.put(name, new ObjMaterial(name, diffuse, specular, specularPower));
+                }
+            } catch (IOException | RuntimeException e) {
+                System.out.println("[ObjParser] Erro ao ler MTL " + mtlPath + ": " + e.getMessage());
+            }
+        }
+        return materials;
+    }
+
+    private static float[] parseColor(String[] parts) {
+        if (parts.length < 4) return null;
+        return new float[]{
+                Float.parseFloat(parts[1]), Float.parseFloat(parts[2]), Float.parseFloat(parts[3])
+        };
+    }
+
+    // =================== INTERPRETAÇÃO DOS BYTES ===================
+
+    /**
+     * Estado de interpretação de um trecho do arquivo
+     */
+    static final class Chunk {
+
+        final GrowableFloatArray positions = new GrowableFloatArray(1 << 16);
+        final GrowableFloatArray texCoords = new GrowableFloatArray(1 << 12);
+        final GrowableFloatArray normals = new GrowableFloatArray(1 << 12);
+        final GrowableIntArray faces = new GrowableIntArray(1 << 16);
+
+        final List<String> segmentGroups = new ArrayList<>();
+        final List<String> segmentMaterials = new ArrayList<>();
+        final GrowableIntArray segmentStarts = new GrowableIntArray(16);
+        final List<String> materialLibraries = new ArrayList<>();
+
+        // Posições em faces com índice negativo resolvido pela contagem local do trecho
+        final GrowableIntArray relativeFixups = new GrowableIntArray(16);
+
+        // Trechos paralelos começam sem saber o grupo/material nem a contagem anterior
+        private final boolean partial;
+        String currentGroup;
+        String currentMaterial;
+        private boolean segmentDirty = true;
+
+        // Buffer atual e cursor
+        private ByteBuffer buf;
+        private int pos;
+        private int end;
+
+        // Cantos do polígono em leitura (v, vt, vn) e bits de índice relativo por canto
+        private final GrowableIntArray polygon = new GrowableIntArray(32);
+        private final GrowableIntArray polygonRelative = new GrowableIntArray(16);
+        private int cornerRelative;
+        private final byte[] scratch = new byte[64];
+
+        // Progresso informado a cada PROGRESS_STEP_BYTES interpretados
+        private final LoadProgress progress;
+        private int nextReport;
+        private int lastReported;
+
+        Chunk(boolean partial) {
+            this(partial, LoadProgress.NONE);
+        }
+
+        Chunk(boolean partial, LoadProgress progress) {
+            this.partial = partial;
+            this.progress = progress;
+            this.currentGroup = partial ? INHERITED : DEFAULT_GROUP;
+            this.currentMaterial = partial ? INHERITED : null;
+        }
+
+        void parse(ByteBuffer buffer, int start, int limit) throws IOException {
+            this.buf = buffer;
+            this.pos = start;
+            this.end = limit;
+            this.lastReported = start;
+            this.nextReport = start + PROGRESS_STEP_BYTES;
+
+            while (pos < end) {
+                if (pos >= nextReport) {
+                    reportProgress();
+                }
+                skipBlanks();
+                if (pos >= end) break;
+
+                byte c = buf.get(pos);
+                byte next = pos + 1 < end ? buf.get(pos + 1) : (byte) '\n';
+
+                if (c == 'v') {
+                    if (isBlank(next)) {
+                        pos += 1;
+                        positions.add(readFloat(), readFloat(), readFloat());
+                    } else if (next == 't' && isBlankAt(pos + 2)) {
+                        pos += 2;
+                        float u = readFloat();
+                        float v = hasNumberOnLine() ? readFloat() : 0f;
+                        texCoords.add(u, 1f - v);
+                    } else if (next == 'n' && isBlankAt(pos + 2)) {
+                        pos += 2;
+                        normals.add(readFloat(), readFloat(), readFloat());
+                    }
+                } else if (c == 'f' && isBlank(next)) {
+                    pos += 1;
+                    readFace();
+                } else if ((c == 'g' || c == 'o') && (isBlank(next) || isLineEnd(next))) {
+                    pos += 1;
+                    String name = readRestOfLine();
+                    setGroup(name.isEmpty() ? DEFAULT_GROUP : name);
+                } else if (c == 'u' && matches("usemtl")) {
+                    pos += 6;
+                    String name = readRestOfLine();
+                    setMaterial(name.isEmpty() ? null : name);
+                } else if (c == 'm' && matches("mtllib")) {
+                    pos += 6;
+                    String name = readRestOfLine();
+                    if (!name.isEmpty()) materialLibraries.add(name);
+                }
+
+                skipLine();
+            }
+            reportProgress();
+        }
+
+        private void reportProgress() {
+            if (progress.isCancelled()) {
+                throw new CancellationException("Leitura do OBJ cancelada");
+            }
+            progress.advance(pos - lastReported);
+            lastReported = pos;
+            nextReport = pos + PROGRESS_STEP_BYTES;
+        }
+
+        void setGroup(String name) {
+            if (currentGroup == INHERITED || !name.equals(currentGroup)) {
+                currentGroup = name;
+                segmentDirty = true;
+            }
+        }
+
+        void setMaterial(String name) {
+            if (currentMaterial == INHERITED || !Objects.equals(name, currentMaterial)) {
+                currentMaterial = name;
+                segmentDirty = true;
+            }
+        }
+
+        private void readFace() throws IOException {
+            polygon.clear();
+            polygonRelative.clear();
+            int vertexCount = positions.size() / 3;
+            int texCount = texCoords.size() / 2;
+            int normalCount = normals.size() / 3;
+
+            while (hasNumberOnLine()) {
+                cornerRelative = 0;
+                int v = resolveIndex(readInt(), vertexCount, 1);
+                int vt = -1, vn = -1;
+                if (pos < end && buf.get(pos) == '/') {
+                    pos++;
+                    if (pos < end && buf.get(pos) != '/' && !isBlank(buf.get(pos)) && !isLineEnd(buf.get(pos))) {
+                        vt = resolveIndex(readInt(), texCount, 2);
+                    }
+                    if (pos < end && buf.get(pos) == '/') {
+                        pos++;
+                        if (pos < end && !isBlank(buf.get(pos)) && !isLineEnd(buf.get(pos))) {
+                            vn = resolveIndex(readInt(), normalCount, 4);
+                        }
+                    }
+                }
+                polygon.add(v, vt, vn);
+                polygonRelative.add(cornerRelative);
+            }
+
+            int corners = polygon.size() / 3;
+            if (corners < 3) {
+                return;
+            }
+
+            if (segmentDirty) {
+                beginSegment();
+            }
+
+            // Triangulação em leque: (0, i, i+1)
+            int[] p = polygon.rawArray();
+            for (int i = 1; i + 1 < corners; i++) {
+                addCorner(p, 0);
+                addCorner(p, i);
+                addCorner(p, i + 1);
+            }
+        }
+
+        private void addCorner(int[] p, int corner) {
+            int relative = polygonRelative.get(corner);
+            if (relative != 0) {
+                int at = faces.size();
+                if ((relative & 1) != 0) relativeFixups.add(at);
+                if ((relative & 2) != 0) relativeFixups.add(at + 1);
+                if ((relative & 4) != 0) relativeFixups.add(at + 2);
+            }
+            faces.add(p[corner * 3], p[corner * 3 + 1], p[corner * 3 + 2]);
+        }
+
+        private void beginSegment() {
+            int last = segmentStarts.size() - 1;
+            // "g A" seguido de "g B" e "g A" sem faces no meio continua o mesmo segmento
+            if (last < 0 || !Objects.equals(segmentGroups.get(last), currentGroup)
+                    || !Objects.equals(segmentMaterials.get(last), currentMaterial)) {
+                segmentGroups.add(currentGroup);
+                segmentMaterials.add(currentMaterial);
+                segmentStarts.add(faces.size() / 9);
+            }
+            segmentDirty = false;
+        }
+
+        /**
+         * Converte índice OBJ (base 1, ou negativo relativo) para base 0
+         * Em trechos parciais o índice relativo é marcado para correção na junção
+         */
+        private int resolveIndex(int index, int count, int relativeBit) throws IOException {
+            if (index > 0) {
+                return index - 1;
+            }
+            if (index < 0) {
+                if (partial) {
+                    cornerRelative |= relativeBit;
+                    return count + index;
+                }
+                if (count + index < 0) {
+                    throw new IOException("Índice relativo anterior ao início do arquivo no OBJ");
+                }
+                return count + index;
+            }
+            throw new IOException("Índice 0 inválido em face do OBJ");
+        }
+
+        MeshData toMeshData(Map<String, ObjMaterial> materials) throws IOException {
+            validateIndices(faces.rawArray(), faces.size(), positions.size() / 3, texCoords.size() / 2, normals.size() / 3);
+            return new MeshData(
+                    positions.toArray(),
+                    texCoords.toArray(),
+                    normals.toArray(),
+                    faces.toArray(),
+                    segmentGroups.toArray(new String[0]),
+                    segmentMaterials.toArray(new String[0]),
+                    segmentStarts.toArray(),
+                    materials
+            );
+        }
+
+        // =================== LEITURA DE TOKENS ===================
+
+        private void skipBlanks() {
+            while (pos < end) {
+                byte c = buf.get(pos);
+                if (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+        }
+
+        private void skipSpaces() {
+            while (pos < end) {
+                byte c = buf.get(pos);
+                if (c == ' ' || c == '\t') {
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+        }
+
+        private void skipLine() {
+            while (pos < end && buf.get(pos) != '\n') {
+                pos++;
+            }
+        }
+
+        private boolean isBlankAt(int index) {
+            return index >= end || isBlank(buf.get(index)) || isLineEnd(buf.get(index));
+        }
+
+        private static boolean isBlank(byte c) {
+            return c == ' ' || c == '\t';
+        }
+
+        private static boolean isLineEnd(byte c) {
+            return c == '\n' || c == '\r';
+        }
+
+        private boolean matches(String keyword) {
+            int length = keyword.length();
+            if (pos + length > end) return false;
+            for (int i = 0; i < length; i++) {
+                if (buf.get(pos + i) != keyword.charAt(i)) return false;
+            }
+            return isBlankAt(pos + length);
+        }
+
+        /**
+         * Verifica se ainda há um número na linha atual (pulando espaços)
+         */
+        private boolean hasNumberOnLine() {
+            skipSpaces();
+            if (pos >= end) return false;
+            byte c = buf.get(pos);
+            return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.';
+        }
+
+        private String readRestOfLine() {
+            skipSpaces();
+            int start = pos;
+            int stop = start;
+            while (stop < end && !isLineEnd(buf.get(stop))) {
+                stop++;
+            }
+            int trimmed = stop;
+            while (trimmed > start && isBlank(buf.get(trimmed - 1))) {
+                trimmed--;
+            }
+            byte[] bytes = new byte[trimmed - start];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buf.get(start + i);
+            }
+            pos = stop;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private int readInt() throws IOException {
+            skipSpaces();
+            boolean negative = false;
+            if (pos < end) {
+                byte c = buf.get(pos);
+                if (c == '-' || c == '+') {
+                    negative = c == '-';
+                    pos++;
+                }
+            }
+            int start = pos;
+            long value = 0;
+            while (pos < end) {
+                byte c = buf.get(pos);
+                if (c < '0' || c > '9') break;
+                value = value * 10 + (c - '0');
+                pos++;
+            }
+            if (pos == start || value > Integer.MAX_VALUE) {
+                throw new IOException("Índice inválido no OBJ na posição " + start);
+            }
+            return negative ? (int) -value : (int) value;
+        }
+
+        /**
+         * Lê um float sem criar Strings (fallback para Float.parseFloat em casos raros)
+         */
+        private float readFloat() throws IOException {
+            skipSpaces();
+            int start = pos;
+            boolean negative = false;
+            if (pos < end) {
+                byte c = buf.get(pos);
+                if (c == '-' || c == '+') {
+                    negative = c == '-';
+                    pos++;
+                }
+            }
+
+            long mantissa = 0;
+            int exponent = 0;
+            int digits = 0;
+            boolean anyDigit = false;
+
+            while (pos < end) {
+                byte c = buf.get(pos);
+                if (c < '0' || c > '9') break;
+                anyDigit = true;
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) digits++;
+                } else {
+                    exponent++;
+                }
+                pos++;
+            }
+
+            if (pos < end && buf.get(pos) == '.') {
+                pos++;
+                while (pos < end) {
+                    byte c = buf.get(pos);
+                    if (c < '0' || c > '9') break;
+                    anyDigit = true;
+                    if (digits < 18) {
+                        mantissa = mantissa * 10 + (c - '0');
+                        if (mantissa != 0) digits++;
+                        exponent--;
+                    }
+                    pos++;
+                }
+            }
+
+            if (pos < end && (buf.get(pos) == 'e' || buf.get(pos) == 'E')) {
+                pos++;
+                boolean negativeExponent = false;
+                if (pos < end && (buf.get(pos) == '-' || buf.get(pos) == '+')) {
+                    negativeExponent = buf.get(pos) == '-';
+                    pos++;
+                }
+                int value = 0;
+                while (pos < end) {
+                    byte c = buf.get(pos);
+                    if (c < '0' || c > '9') break;
+                    if (value < 10000) value = value * 10 + (c - '0');
+                    pos++;
+                }
+                exponent += negativeExponent ? -value : value;
+            }
+
+            if (!anyDigit) {
+                return fallbackFloat(start);
+            }
+
+            double result;
+            if (mantissa == 0) {
+                result = 0.0;
+            } else if (exponent >= 0 && exponent < POW10.length && mantissa < (1L << 53)) {
+                result = mantissa * POW10[exponent];
+            } else if (exponent < 0 && -exponent < POW10.length && mantissa < (1L << 53)) {
+                result = mantissa / POW10[-exponent];
+            } else {
+                return fallbackFloat(start);
+            }
+            return (float) (negative ? -result : result);
+        }
+
+        private float fallbackFloat(int start) throws IOException {
+            pos = start;
+            int length = 0;
+            while (pos < end && !isBlank(buf.get(pos)) && !isLineEnd(buf.get(pos)) && length < scratch.length) {
+                scratch[length++] = buf.get(pos++);
+            }
+            try {
+                return Float.parseFloat(new String(scratch, 0, length, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException e) {
+                throw new IOException("Número inválido no OBJ na posição " + start, e);
+            }
+        }
+    }
+}
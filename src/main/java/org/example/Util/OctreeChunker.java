@@ -0,0 +1,558 @@
+package org.example.Util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Pré-processamento de modelos maiores que o heap em chunks espaciais (folhas de uma octree) em disco
+ * 1. ObjParser.stream lê o OBJ em janelas: posições e triângulos vão para arquivos temporários
+ * 2. Contagem de triângulos (pelo centroide) numa grade fina de 2^GRID_DEPTH células por eixo
+ * 3. Octree sobre a grade: um nó é dividido enquanto tiver mais que maxTrianglesPerChunk triângulos
+ *    (célula fina densa demais é dividida em faixas de triângulos)
+ * 4. Triângulos distribuídos por folha num arquivo ordenado (contagem prévia dá a posição de cada folha)
+ * 5. Cada folha vira um chunk com vértices locais, mais uma versão simplificada para a visão geral
+ *
+ * Só as posições são mantidas (sem vt, vn, grupos ou materiais; a solda fica por conta dos índices do OBJ)
+ * O heap usado não depende do tamanho do modelo: posições são lidas de um arquivo mapeado
+ *
+ * Pastas em ~/.biomeasure/octree (-Dbiomeasure.outOfCore.dir muda o local)
+ */
+public final class OctreeChunker {
+
+    public static final int DEFAULT_MAX_TRIANGLES = 65536;
+    public static final int DEFAULT_OVERVIEW_TRIANGLES = 400_000;
+
+    // Grade fina: 64 células por eixo (contadores em 1 MB)
+    static final int GRID_DEPTH = 6;
+    // Janela de leitura: texto de faces ocupa cerca de 2x no parser, então 1/16 do heap (até 64 MB)
+    static final long MAX_WINDOW_BYTES = 64L * 1024 * 1024;
+    static final long MIN_WINDOW_BYTES = 1L << 20;
+
+    // Estimativa grosseira do heap para abrir o modelo inteiro (dados, solda, TriangleMesh, BVH, LOD)
+    static final double HEAP_BYTES_PER_FILE_BYTE = 4.0;
+
+    private static final int IO_BUFFER_BYTES = 1 << 20;
+    private static final int SCATTER_BUFFER_TRIANGLES = 256;
+    private static final int VERTICES_PER_WINDOW = 1 << 26;
+
+    private OctreeChunker() {
+    }
+
+    /**
+     * Decide o modo de abertura (-Dbiomeasure.outOfCore = auto, true ou false; padrão auto)
+     * Em auto, usa chunks quando a estimativa do modelo inteiro passa do heap máximo
+     * (pelo máximo, e não pelo livre no momento, a decisão não depende do modelo que está sendo trocado)
+     */
+    public static boolean shouldUseOutOfCore(Path objPath) throws IOException {
+        String mode = System.getProperty("biomeasure.outOfCore", "auto");
+        if ("true".equalsIgnoreCase(mode)) return true;
+        if ("false".equalsIgnoreCase(mode)) return false;
+        return Files.size(objPath) * HEAP_BYTES_PER_FILE_BYTE > Runtime.getRuntime().maxMemory();
+    }
+
+    /**
+     * Pasta dos chunks de um arquivo (muda junto com o caminho, tamanho ou data do OBJ)
+     */
+    public static Path defaultDirectory(Path objPath) throws IOException {
+        String root = System.getProperty("biomeasure.outOfCore.dir",
+                Path.of(System.getProperty("user.home"), ".biomeasure", "octree").toString());
+        return Path.of(root, MeshCache.pathKey(objPath));
+    }
+
+    /**
+     * Reaproveita os chunks já gerados ou pré-processa o arquivo
+     * Tamanhos configuráveis: -Dbiomeasure.outOfCore.chunkTriangles e -Dbiomeasure.outOfCore.overviewTriangles
+     */
+    public static OctreeModel openOrBuild(Path objPath, LoadProgress progress) throws IOException {
+        Path directory = defaultDirectory(objPath);
+        OctreeModel model = OctreeModel.open(directory);
+        if (model != null) {
+            progress.advance(Files.size(objPath));
+            System.out.println("[OctreeChunker] Chunks reaproveitados de " + directory);
+            return model;
+        }
+        return build(objPath, directory,
+                Integer.getInteger("biomeasure.outOfCore.chunkTriangles", DEFAULT_MAX_TRIANGLES),
+                Integer.getInteger("biomeasure.outOfCore.overviewTriangles", DEFAULT_OVERVIEW_TRIANGLES),
+                progress);
+    }
+
+    /**
+     * Pré-processa objPath em directory e abre o resultado
+     */
+    public static OctreeModel build(Path objPath, Path directory, int maxTrianglesPerChunk, int overviewTriangles,
+                                    LoadProgress progress) throws IOException {
+        if (maxTrianglesPerChunk < 1) {
+            throw new IllegalArgumentException("maxTrianglesPerChunk deve ser positivo");
+        }
+        long startTime = System.currentTimeMillis();
+        Files.createDirectories(directory);
+        // Sem índice a pasta é tratada como incompleta até o fim
+        Files.deleteIfExists(directory.resolve(OctreeModel.INDEX_FILE));
+
+        Path positionsFile = directory.resolve("positions.tmp");
+        Path trianglesFile = directory.resolve("triangles.tmp");
+        Path sortedFile = directory.resolve("sorted.tmp");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        try {
+            // 1. Posições e triângulos em arquivos temporários
+            float[] bounds = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE,
+                    -Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+            long[] triangleTotal = new long[1];
+            int vertexCount;
+            try (FileChannel positionsOut = openForWrite(positionsFile);
+                 FileChannel trianglesOut = openForWrite(trianglesFile)) {
+                vertexCount = ObjParser.stream(objPath, windowBytes(), progress, (positions, positionFloats, triangles, triangleInts) -> {
+                    for (int i = 0; i < positionFloats; i += 3) {
+                        for (int axis = 0; axis < 3; axis++) {
+                            bounds[axis] = Math.min(bounds[axis], positions[i + axis]);
+                            bounds[axis + 3] = Math.max(bounds[axis + 3], positions[i + axis]);
+                        }
+                    }
+                    writeFloats(positionsOut, buffer, positions, positionFloats);
+                    writeInts(trianglesOut, buffer, triangles, triangleInts);
+                    triangleTotal[0] += triangleInts / 3;
+                });
+            }
+            long triangleCount = triangleTotal[0];
+            if (triangleCount == 0) {
+                throw new IOException("Modelo sem triângulos: " + objPath.getFileName());
+            }
+
+            double centerX = (bounds[0] + bounds[3]) / 2.0;
+            double centerY = (bounds[1] + bounds[4]) / 2.0;
+            double centerZ = (bounds[2] + bounds[5]) / 2.0;
+
+            try (MappedPositions positions = new MappedPositions(positionsFile, vertexCount);
+                 FileChannel trianglesIn = FileChannel.open(trianglesFile, StandardOpenOption.READ)) {
+
+                // 2. Triângulos por célula da grade fina
+                CellGrid grid = new CellGrid(bounds);
+                int[] cellCounts = new int[grid.cellCount()];
+                float[] corner = new float[9];
+                forEachTriangle(trianglesIn, buffer, (t, a, b, c) -> {
+                    checkIndex(a, vertexCount, t);
+                    checkIndex(b, vertexCount, t);
+                    checkIndex(c, vertexCount, t);
+                    cellCounts[grid.cellOf(positions, a, b, c, corner)]++;
+                });
+                checkCancelled(progress);
+
+                // 3. Folhas da octree
+                List<int[]> leaves = new ArrayList<>();
+                int[] cellChunk = new int[cellCounts.length];
+                splitOctree(buildPyramid(cellCounts), 0, 0, 0, 0, maxTrianglesPerChunk, leaves, cellChunk);
+
+                // 4. Triângulos agrupados por folha
+                long[] chunkStart = new long[leaves.size() + 1];
+                for (int i = 0; i < leaves.size(); i++) {
+                    chunkStart[i + 1] = chunkStart[i] + leaves.get(i)[4];
+                }
+                try (FileChannel sortedOut = openForWrite(sortedFile)) {
+                    scatter(trianglesIn, sortedOut, buffer, positions, grid, cellChunk, chunkStart, corner);
+                }
+                checkCancelled(progress);
+
+                // 5. Chunks finais (completo e visão geral) e índice
+                double ratio = Math.min(1.0, overviewTriangles / (double) triangleCount);
+                writeChunks(directory, sortedFile, positions, leaves, chunkStart, ratio,
+                        centerX, centerY, centerZ, vertexCount, triangleCount, progress);
+            }
+
+            OctreeModel model = OctreeModel.open(directory);
+            if (model == null) {
+                throw new IOException("Índice da octree não pôde ser relido em " + directory);
+            }
+            System.out.println(String.format("[OctreeChunker] %s (%d vértices) pré-processado em %d ms: %s",
+                    objPath.getFileName(), vertexCount, System.currentTimeMillis() - startTime, model));
+            return model;
+        } finally {
+            deleteTemporary(positionsFile);
+            deleteTemporary(trianglesFile);
+            deleteTemporary(sortedFile);
+        }
+    }
+
+    static long windowBytes() {
+        return Math.max(MIN_WINDOW_BYTES, Math.min(MAX_WINDOW_BYTES, Runtime.getRuntime().maxMemory() / 16));
+    }
+
+    // =================== OCTREE ===================
+
+    /**
+     * Contagens por nível: pyramid[d] tem (2^d)^3 células, pyramid[GRID_DEPTH] é a grade fina
+     */
+    static int[][] buildPyramid(int[] cellCounts) {
+        int[][] pyramid = new int[GRID_DEPTH + 1][];
+        pyramid[GRID_DEPTH] = cellCounts;
+        for (int d = GRID_DEPTH - 1; d >= 0; d--) {
+            int r = 1 << d;
+            int[] level = new int[r * r * r];
+            int[] finer = pyramid[d + 1];
+            int fr = r * 2;
+            for (int x = 0; x < fr; x++) {
+                for (int y = 0; y < fr; y++) {
+                    for (int z = 0; z < fr; z++) {
+                        level[((x >> 1) * r + (y >> 1)) * r + (z >> 1)] += finer[(x * fr + y) * fr + z];
+                    }
+                }
+            }
+            pyramid[d] = level;
+        }
+        return pyramid;
+    }
+
+    /**
+     * Divide o nó (d, x, y, z) até caber em maxTriangles; cada folha recebe as células finas que cobre
+     * Célula fina ainda acima do limite vira folhas seguidas por faixa de triângulos (na ordem do arquivo):
+     * a célula aponta para a primeira e o scatter preenche o trecho contínuo delas
+     * Folha: {profundidade, x, y, z, triângulos}
+     */
+    private static void splitOctree(int[][] pyramid, int d, int x, int y, int z, int maxTriangles,
+                                    List<int[]> leaves, int[] cellChunk) {
+        int r = 1 << d;
+        int count = pyramid[d][(x * r + y) * r + z];
+        if (count == 0) return;
+
+        if (count > maxTriangles && d < GRID_DEPTH) {
+            for (int child = 0; child < 8; child++) {
+                splitOctree(pyramid, d + 1, x * 2 + (child >> 2), y * 2 + ((child >> 1) & 1), z * 2 + (child & 1),
+                        maxTriangles, leaves, cellChunk);
+            }
+            return;
+        }
+
+        int chunk = leaves.size();
+        for (int remaining = count; remaining > 0; remaining -= maxTriangles) {
+            leaves.add(new int[]{d, x, y, z, Math.min(remaining, maxTriangles)});
+        }
+        int span = 1 << (GRID_DEPTH - d);
+        int fine = 1 << GRID_DEPTH;
+        for (int cx = x * span; cx < (x + 1) * span; cx++) {
+            for (int cy = y * span; cy < (y + 1) * span; cy++) {
+                for (int cz = z * span; cz < (z + 1) * span; cz++) {
+                    cellChunk[(cx * fine + cy) * fine + cz] = chunk;
+                }
+            }
+        }
+    }
+
+    /**
+     * Copia cada triângulo para o trecho da sua folha em sortedOut (buffer pequeno por folha)
+     * Folhas de uma mesma célula são contíguas: o trecho da primeira continua nas seguintes
+     */
+    private static void scatter(FileChannel trianglesIn, FileChannel sortedOut, ByteBuffer buffer,
+                                MappedPositions positions, CellGrid grid, int[] cellChunk, long[] chunkStart,
+                                float[] corner) throws IOException {
+        int chunkCount = chunkStart.length - 1;
+        int[][] pending = new int[chunkCount][];
+        int[] pendingSize = new int[chunkCount];
+        long[] written = new long[chunkCount];
+        ByteBuffer out = ByteBuffer.allocateDirect(SCATTER_BUFFER_TRIANGLES * 12).order(ByteOrder.LITTLE_ENDIAN);
+
+        forEachTriangle(trianglesIn, buffer, (t, a, b, c) -> {
+            int chunk = cellChunk[grid.cellOf(positions, a, b, c, corner)];
+            int[] slot = pending[chunk];
+            if (slot == null) {
+                slot = pending[chunk] = new int[SCATTER_BUFFER_TRIANGLES * 3];
+            }
+            int at = pendingSize[chunk];
+            slot[at] = a;
+            slot[at + 1] = b;
+            slot[at + 2] = c;
+            pendingSize[chunk] = at + 3;
+            if (pendingSize[chunk] == slot.length) {
+                written[chunk] += flushPending(sortedOut, out, slot, pendingSize[chunk], chunkStart[chunk] + written[chunk]);
+                pendingSize[chunk] = 0;
+            }
+        });
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            if (pendingSize[chunk] > 0) {
+                written[chunk] += flushPending(sortedOut, out, pending[chunk], pendingSize[chunk], chunkStart[chunk] + written[chunk]);
+            }
+        }
+    }
+
+    private static int flushPending(FileChannel channel, ByteBuffer out, int[] triangles, int length, long triangleOffset) throws IOException {
+        out.clear();
+        out.asIntBuffer().put(triangles, 0, length);
+        out.limit(length * 4);
+        long position = triangleOffset * 12;
+        while (out.hasRemaining()) {
+            position += channel.write(out, position);
+        }
+        return length / 3;
+    }
+
+    /**
+     * Grava chunks.bin (completo e visão geral de cada folha) e, por último, octree.idx
+     */
+    private static void writeChunks(Path directory, Path sortedFile, MappedPositions positions, List<int[]> leaves,
+                                    long[] chunkStart, double overviewRatio, double centerX, double centerY, double centerZ,
+                                    int vertexCount, long triangleCount, LoadProgress progress) throws IOException {
+        float[] modelBounds = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE,
+                -Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        Path indexTemp = directory.resolve(OctreeModel.INDEX_FILE + ".tmp");
+
+        try (FileChannel sortedIn = FileChannel.open(sortedFile, StandardOpenOption.READ);
+             FileChannel dataOut = openForWrite(directory.resolve(OctreeModel.DATA_FILE));
+             DataOutputStream index = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexTemp)))) {
+
+            ByteBuffer chunkIndex = ByteBuffer.allocate(leaves.size() * 64);
+            long offset = 0;
+            float[] corner = new float[3];
+
+            for (int chunk = 0; chunk < leaves.size(); chunk++) {
+                checkCancelled(progress);
+                int count = leaves.get(chunk)[4];
+                int[] triangles = readInts(sortedIn, chunkStart[chunk] * 12, count * 3);
+
+                // Vértices locais: índices globais ordenados e sem repetição
+                int[] unique = triangles.clone();
+                Arrays.sort(unique);
+                int uniqueCount = 0;
+                for (int i = 0; i < unique.length; i++) {
+                    if (i == 0 || unique[i] != unique[i - 1]) unique[uniqueCount++] = unique[i];
+                }
+                for (int i = 0; i < triangles.length; i++) {
+                    triangles[i] = Arrays.binarySearch(unique, 0, uniqueCount, triangles[i]);
+                }
+
+                float[] points = new float[uniqueCount * 3];
+                float[] bounds = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE,
+                        -Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+                for (int i = 0; i < uniqueCount; i++) {
+                    positions.read(unique[i], corner, 0);
+                    points[i * 3] = (float) (corner[0] - centerX);
+                    points[i * 3 + 1] = (float) (corner[1] - centerY);
+                    points[i * 3 + 2] = (float) (corner[2] - centerZ);
+                    for (int axis = 0; axis < 3; axis++) {
+                        bounds[axis] = Math.min(bounds[axis], points[i * 3 + axis]);
+                        bounds[axis + 3] = Math.max(bounds[axis + 3], points[i * 3 + axis]);
+                    }
+                }
+                for (int axis = 0; axis < 3; axis++) {
+                    modelBounds[axis] = Math.min(modelBounds[axis], bounds[axis]);
+                    modelBounds[axis + 3] = Math.max(modelBounds[axis + 3], bounds[axis + 3]);
+                }
+
+                long fullOffset = offset;
+                offset += writeMesh(dataOut, offset, points, triangles);
+
+                // Visão geral: mesma proporção de redução em todas as folhas
+                long coarseOffset = fullOffset;
+                int coarseVertices = uniqueCount;
+                int coarseTriangles = count;
+                int target = (int) Math.ceil(count * overviewRatio);
+                if (target < count) {
+                    MeshSimplifier.Result coarse = MeshSimplifier.simplify(points, triangles, target);
+                    coarseOffset = offset;
+                    coarseVertices = coarse.getPositions().length / 3;
+                    coarseTriangles = coarse.getTriangleCount();
+                    offset += writeMesh(dataOut, offset, coarse.getPositions(), coarse.getTriangles());
+                }
+
+                chunkIndex.putInt(leaves.get(chunk)[0]);
+                for (float b : bounds) chunkIndex.putFloat(b);
+                chunkIndex.putLong(fullOffset).putInt(uniqueCount).putInt(count);
+                chunkIndex.putLong(coarseOffset).putInt(coarseVertices).putInt(coarseTriangles);
+            }
+
+            index.writeInt(OctreeModel.MAGIC);
+            index.writeInt(OctreeModel.VERSION);
+            index.writeDouble(centerX);
+            index.writeDouble(centerY);
+            index.writeDouble(centerZ);
+            for (float b : modelBounds) index.writeFloat(b);
+            index.writeLong(vertexCount);
+            index.writeLong(triangleCount);
+            index.writeInt(leaves.size());
+            index.write(chunkIndex.array(), 0, chunkIndex.position());
+        }
+        Files.move(indexTemp, directory.resolve(OctreeModel.INDEX_FILE), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static long writeMesh(FileChannel channel, long position, float[] points, int[] triangles) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(points.length * 4 + triangles.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asFloatBuffer().put(points);
+        bytes.position(points.length * 4);
+        bytes.asIntBuffer().put(triangles);
+        bytes.position(0);
+        long at = position;
+        while (bytes.hasRemaining()) {
+            at += channel.write(bytes, at);
+        }
+        return bytes.capacity();
+    }
+
+    // =================== E/S ===================
+
+    private interface TriangleVisitor {
+        void visit(long triangle, int a, int b, int c) throws IOException;
+    }
+
+    /**
+     * Percorre o arquivo de triângulos (3 int cada) do início ao fim
+     */
+    private static void forEachTriangle(FileChannel channel, ByteBuffer buffer, TriangleVisitor visitor) throws IOException {
+        long position = 0;
+        long size = channel.size();
+        long triangle = 0;
+        while (position < size) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity() / 12 * 12, size - position));
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) throw new IOException("Arquivo temporário de triângulos truncado");
+            }
+            buffer.flip();
+            position += buffer.limit();
+            while (buffer.remaining() >= 12) {
+                visitor.visit(triangle++, buffer.getInt(), buffer.getInt(), buffer.getInt());
+            }
+        }
+    }
+
+    private static int[] readInts(FileChannel channel, long position, int count) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(count * 4).order(ByteOrder.LITTLE_ENDIAN);
+        while (bytes.hasRemaining()) {
+            if (channel.read(bytes, position + bytes.position()) < 0) {
+                throw new IOException("Arquivo temporário de chunks truncado");
+            }
+        }
+        bytes.flip();
+        int[] values = new int[count];
+        bytes.asIntBuffer().get(values);
+        return values;
+    }
+
+    private static void writeFloats(FileChannel channel, ByteBuffer buffer, float[] values, int length) throws IOException {
+        int perBuffer = buffer.capacity() / 4;
+        for (int from = 0; from < length; from += perBuffer) {
+            int n = Math.min(perBuffer, length - from);
+            buffer.clear();
+            buffer.asFloatBuffer().put(values, from, n);
+            buffer.limit(n * 4);
+            while (buffer.hasRemaining()) channel.write(buffer);
+        }
+    }
+
+    private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] values, int length) throws IOException {
+        int perBuffer = buffer.capacity() / 4;
+        for (int from = 0; from < length; from += perBuffer) {
+            int n = Math.min(perBuffer, length - from);
+            buffer.clear();
+            buffer.asIntBuffer().put(values, from, n);
+            buffer.limit(n * 4);
+            while (buffer.hasRemaining()) channel.write(buffer);
+        }
+    }
+
+    private static FileChannel openForWrite(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ);
+    }
+
+    /**
+     * Arquivos ainda mapeados não podem ser apagados em alguns sistemas: só avisa
+     */
+    private static void deleteTemporary(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.out.println("[OctreeChunker] Temporário não removido: " + file + " (" + e.getMessage() + ")");
+        }
+    }
+
+    private static void checkIndex(int vertex, int vertexCount, long triangle) throws IOException {
+        if (vertex >= vertexCount) {
+            throw new IOException("Face do OBJ referencia índice inexistente (triângulo " + triangle + ")");
+        }
+    }
+
+    private static void checkCancelled(LoadProgress progress) {
+        if (progress.isCancelled()) {
+            throw new CancellationException("Pré-processamento cancelado");
+        }
+    }
+
+    /**
+     * Célula da grade fina que contém o centroide de um triângulo
+     */
+    private static final class CellGrid {
+        private final int resolution = 1 << GRID_DEPTH;
+        private final float[] min = new float[3];
+        private final float[] scale = new float[3];
+
+        CellGrid(float[] bounds) {
+            for (int axis = 0; axis < 3; axis++) {
+                min[axis] = bounds[axis];
+                float extent = bounds[axis + 3] - bounds[axis];
+                scale[axis] = extent > 0 ? resolution / extent : 0;
+            }
+        }
+
+        int cellCount() {
+            return resolution * resolution * resolution;
+        }
+
+        int cellOf(MappedPositions positions, int a, int b, int c, float[] corner) {
+            positions.read(a, corner, 0);
+            positions.read(b, corner, 3);
+            positions.read(c, corner, 6);
+            int cell = 0;
+            for (int axis = 0; axis < 3; axis++) {
+                float centroid = (corner[axis] + corner[axis + 3] + corner[axis + 6]) / 3f;
+                int i = (int) ((centroid - min[axis]) * scale[axis]);
+                cell = cell * resolution + Math.max(0, Math.min(resolution - 1, i));
+            }
+            return cell;
+        }
+    }
+
+    /**
+     * Posições do arquivo temporário, mapeadas fora do heap em janelas de VERTICES_PER_WINDOW
+     */
+    private static final class MappedPositions implements AutoCloseable {
+        private final FileChannel channel;
+        private final MappedByteBuffer[] windows;
+
+        MappedPositions(Path file, int vertexCount) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            windows = new MappedByteBuffer[(int) ((vertexCount + (long) VERTICES_PER_WINDOW - 1) / VERTICES_PER_WINDOW)];
+            for (int w = 0; w < windows.length; w++) {
+                long start = (long) w * VERTICES_PER_WINDOW * 12;
+                long length = Math.min((long) VERTICES_PER_WINDOW * 12, vertexCount * 12L - start);
+                windows[w] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                windows[w].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+
+        void read(int vertex, float[] out, int at) {
+            MappedByteBuffer window = windows[vertex / VERTICES_PER_WINDOW];
+            int offset = (vertex % VERTICES_PER_WINDOW) * 12;
+            out[at] = window.getFloat(offset);
+            out[at + 1] = window.getFloat(offset + 4);
+            out[at + 2] = window.getFloat(offset + 8);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package org.example.Util;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Modelo pré-processado pelo OctreeChunker: folhas de uma octree gravadas em disco
+ * - octree.idx: centro, limites e, por chunk, limites e posição de cada nível no arquivo de dados
+ * - chunks.bin: por chunk e nível, posições (float) seguidas dos triângulos (3 int), little-endian
+ *
+ * Dois níveis por chunk: FULL (malha original) e COARSE (simplificada, para a visão geral)
+ * Coordenadas já centralizadas na origem, como no buildBatchedGroup
+ * read() pode ser chamado de qualquer thread (leitura posicional no canal)
+ */
+public final class OctreeModel implements AutoCloseable {
+
+    public static final int FULL = 0;
+    public static final int COARSE = 1;
+
+    static final String INDEX_FILE = "octree.idx";
+    static final String DATA_FILE = "chunks.bin";
+    static final int MAGIC = 0x4F435452; // "OCTR"
+    static final int VERSION = 1;
+
+    private final Path directory;
+    private final FileChannel data;
+    private final double centerX, centerY, centerZ;
+    private final float[] bounds;
+    private final long vertexCount;
+    private final long triangleCount;
+    private final Chunk[] chunks;
+
+    private OctreeModel(Path directory, FileChannel data, double centerX, double centerY, double centerZ,
+                        float[] bounds, long vertexCount, long triangleCount, Chunk[] chunks) {
+        this.directory = directory;
+        this.data = data;
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.centerZ = centerZ;
+        this.bounds = bounds;
+        this.vertexCount = vertexCount;
+        this.triangleCount = triangleCount;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Abre um modelo já pré-processado (null se a pasta não tem um índice completo e compatível)
+     */
+    public static OctreeModel open(Path directory) throws IOException {
+        Path index = directory.resolve(INDEX_FILE);
+        if (!Files.isRegularFile(index) || !Files.isRegularFile(directory.resolve(DATA_FILE))) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(index)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            double cx = in.readDouble(), cy = in.readDouble(), cz = in.readDouble();
+            float[] bounds = readBounds(in);
+            long vertices = in.readLong();
+            long triangles = in.readLong();
+
+            Chunk[] chunks = new Chunk[in.readInt()];
+            for (int i = 0; i < chunks.length; i++) {
+                int depth = in.readInt();
+                float[] chunkBounds = readBounds(in);
+                long[] offsets = new long[2];
+                int[] vertexCounts = new int[2];
+                int[] triangleCounts = new int[2];
+                for (int level = FULL; level <= COARSE; level++) {
+                    offsets[level] = in.readLong();
+                    vertexCounts[level] = in.readInt();
+                    triangleCounts[level] = in.readInt();
+                }
+                chunks[i] = new Chunk(i, depth, chunkBounds, offsets, vertexCounts, triangleCounts);
+            }
+
+            FileChannel channel = FileChannel.open(directory.resolve(DATA_FILE), StandardOpenOption.READ);
+            return new OctreeModel(directory, channel, cx, cy, cz, bounds, vertices, triangles, chunks);
+        }
+    }
+
+    private static float[] readBounds(DataInputStream in) throws IOException {
+        float[] bounds = new float[6];
+        for (int i = 0; i < 6; i++) {
+            bounds[i] = in.readFloat();
+        }
+        return bounds;
+    }
+
+    /**
+     * Lê um nível de um chunk do disco
+     */
+    public ChunkMesh read(int chunk, int level) throws IOException {
+        Chunk c = chunks[chunk];
+        int vertices = c.vertexCounts[level];
+        int triangles = c.triangleCounts[level];
+        ByteBuffer buffer = ByteBuffer.allocate(vertices * 12 + triangles * 12).order(ByteOrder.LITTLE_ENDIAN);
+
+        long position = c.offsets[level];
+        while (buffer.hasRemaining()) {
+            int read = data.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Arquivo de chunks truncado em " + directory);
+            }
+            position += read;
+        }
+        buffer.flip();
+
+        float[] positions = new float[vertices * 3];
+        int[] indices = new int[triangles * 3];
+        buffer.asFloatBuffer().get(positions);
+        buffer.position(vertices * 12);
+        buffer.asIntBuffer().get(indices);
+        return new ChunkMesh(positions, indices);
+    }
+
+    @Override
+    public void close() throws IOException {
+        data.close();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getChunkCount() {
+        return chunks.length;
+    }
+
+    public Chunk getChunk(int index) {
+        return chunks[index];
+    }
+
+    /**
+     * Limites do modelo centralizado (minX, minY, minZ, maxX, maxY, maxZ)
+     */
+    public float[] getBounds() {
+        return bounds.clone();
+    }
+
+    /**
+     * Centro original do modelo (subtraído das posições gravadas)
+     */
+    public double getCenterX() {
+        return centerX;
+    }
+
+    public double getCenterY() {
+        return centerY;
+    }
+
+    public double getCenterZ() {
+        return centerZ;
+    }
+
+    public long getVertexCount() {
+        return vertexCount;
+    }
+
+    public long getTriangleCount() {
+        return triangleCount;
+    }
+
+    /**
+     * Triângulos somados de um nível em todos os chunks
+     */
+    public long getTriangleCount(int level) {
+        long total = 0;
+        for (Chunk chunk : chunks) {
+            total += chunk.triangleCounts[level];
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Octree: %d chunks, %,d triângulos (%,d na visão geral)",
+                chunks.length, triangleCount, getTriangleCount(COARSE));
+    }
+
+    /**
+     * Uma folha da octree
+     */
+    public static final class Chunk {
+        private final int index;
+        private final int depth;
+        private final float[] bounds;
+        private final long[] offsets;
+        private final int[] vertexCounts;
+        private final int[] triangleCounts;
+
+        Chunk(int index, int depth, float[] bounds, long[] offsets, int[] vertexCounts, int[] triangleCounts) {
+            this.index = index;
+            this.depth = depth;
+            this.bounds = bounds;
+            this.offsets = offsets;
+            this.vertexCounts = vertexCounts;
+            this.triangleCounts = triangleCounts;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Profundidade na octree (0 = raiz)
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        public float getMinX() {
+            return bounds[0];
+        }
+
+        public float getMinY() {
+            return bounds[1];
+        }
+
+        public float getMinZ() {
+            return bounds[2];
+        }
+
+        public float getMaxX() {
+            return bounds[3];
+        }
+
+        public float getMaxY() {
+            return bounds[4];
+        }
+
+        public float getMaxZ() {
+            return bounds[5];
+        }
+
+        public int getVertexCount(int level) {
+            return vertexCounts[level];
+        }
+
+        public int getTriangleCount(int level) {
+            return triangleCounts[level];
+        }
+
+        /**
+         * Memória estimada do nível já montado num TriangleMesh
+         * (pontos, uma coordenada de textura e faces com 6 int por triângulo)
+         */
+        public long getMeshBytes(int level) {
+            return vertexCounts[level] * 12L + triangleCounts[level] * 24L + 8;
+        }
+    }
+
+    /**
+     * Um nível de chunk lido do disco (posições centralizadas e 3 índices locais por triângulo)
+     */
+    public static final class ChunkMesh {
+        private final float[] positions;
+        private final int[] triangles;
+
+        ChunkMesh(float[] positions, int[] triangles) {
+            this.positions = positions;
+            this.triangles = triangles;
+        }
+
+        public float[] getPositions() {
+            return positions;
+        }
+
+        public int[] getTriangles() {
+            return triangles;
+        }
+    }
+}
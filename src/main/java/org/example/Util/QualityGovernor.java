@@ -0,0 +1,129 @@
+package org.example.Util;
+
+/**
+ * Qualidade adaptativa durante a interação (órbita, pan, zoom, WASD)
+ * - Média móvel do tempo de quadro; média e quadro acima do alvo por alguns quadros seguidos,
+ *   baixa um nível; abaixo do limite de volta por mais quadros, sobe um nível (histerese evita oscilar)
+ * - Em repouso o visualizador volta à qualidade máxima, mas o nível da interação é lembrado:
+ *   a próxima interação já começa no nível que a máquina aguentou
+ *
+ * Níveis (cada um inclui os anteriores): 0 completo, 1 sem especular, 2 menos luzes,
+ * 3 em diante malha reduzida (um nível de LOD a mais por passo)
+ *
+ * Configuração: -Dbiomeasure.quality.targetFrameMs (padrão 25), -Dbiomeasure.quality.restoreFrameMs (18)
+ * e -Dbiomeasure.quality.idleMs (300, tempo parado até restaurar)
+ */
+public final class QualityGovernor {
+
+    public static final int FULL = 0;
+    public static final int NO_SPECULAR = 1;
+    public static final int FEWER_LIGHTS = 2;
+    public static final int PROXY_MESH = 3;
+
+    // Quadros seguidos fora da faixa antes de trocar de nível
+    private static final int DEGRADE_FRAMES = 3;
+    private static final int IMPROVE_FRAMES = 30;
+    private static final double SMOOTHING = 0.25;
+
+    private final double targetFrameMillis;
+    private final double restoreFrameMillis;
+    private final long idleMillis;
+    private final int maxLevel;
+
+    private int level = FULL;
+    private double smoothed = -1;
+    private int slowFrames;
+    private int fastFrames;
+
+    /**
+     * @param maxLevel último nível permitido (PROXY_MESH + níveis extras de LOD)
+     */
+    public QualityGovernor(double targetFrameMillis, double restoreFrameMillis, long idleMillis, int maxLevel) {
+        if (restoreFrameMillis >= targetFrameMillis) {
+            throw new IllegalArgumentException("restoreFrameMs deve ser menor que targetFrameMs");
+        }
+        this.targetFrameMillis = targetFrameMillis;
+        this.restoreFrameMillis = restoreFrameMillis;
+        this.idleMillis = idleMillis;
+        this.maxLevel = maxLevel;
+    }
+
+    /**
+     * Governador com os alvos das propriedades de sistema
+     */
+    public static QualityGovernor fromSystemProperties(int maxLevel) {
+        return new QualityGovernor(
+                Double.parseDouble(System.getProperty("biomeasure.quality.targetFrameMs", "25")),
+                Double.parseDouble(System.getProperty("biomeasure.quality.restoreFrameMs", "18")),
+                Long.getLong("biomeasure.quality.idleMs", 300),
+                maxLevel);
+    }
+
+    /**
+     * Um quadro com interação; devolve o nível a aplicar
+     */
+    public int onFrame(double frameMillis) {
+        smoothed = smoothed < 0 ? frameMillis : smoothed + (frameMillis - smoothed) * SMOOTHING;
+
+        // Conta só quadros em que a média e o próprio quadro concordam (um pico isolado não derruba)
+        if (smoothed > targetFrameMillis && frameMillis > targetFrameMillis) {
+            fastFrames = 0;
+            if (++slowFrames >= DEGRADE_FRAMES && level < maxLevel) {
+                level++;
+                // O próximo passo precisa de quadros medidos já no nível novo
+                slowFrames = 0;
+                smoothed = -1;
+            }
+        } else if (smoothed < restoreFrameMillis && frameMillis < restoreFrameMillis) {
+            slowFrames = 0;
+            if (++fastFrames >= IMPROVE_FRAMES && level > FULL) {
+                level--;
+                fastFrames = 0;
+            }
+        } else {
+            slowFrames = 0;
+            fastFrames = 0;
+        }
+        return level;
+    }
+
+    /**
+     * Interação terminou: a média recomeça na próxima (o nível é mantido)
+     */
+    public void onIdle() {
+        smoothed = -1;
+        slowFrames = 0;
+        fastFrames = 0;
+    }
+
+    /**
+     * Volta ao nível completo (ex.: novo modelo carregado)
+     */
+    public void reset() {
+        onIdle();
+        level = FULL;
+    }
+
+    /**
+     * Nível da interação (aplicado enquanto a câmera se move)
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    public double getTargetFrameMillis() {
+        return targetFrameMillis;
+    }
+
+    public double getRestoreFrameMillis() {
+        return restoreFrameMillis;
+    }
+
+    public long getIdleMillis() {
+        return idleMillis;
+    }
+
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+}
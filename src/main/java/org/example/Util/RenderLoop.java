@@ -0,0 +1,134 @@
+package org.example.Util;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Laço de pulsos sob demanda: o AnimationTimer só fica ativo enquanto há trabalho pendente
+ * - request() agenda o próximo pulso; vários pedidos antes dele geram um pulso só
+ * - Cada pulso recebe o tempo real desde o anterior, em segundos (velocidades independem da taxa de quadros);
+ *   o primeiro pulso depois de parado usa um quadro nominal e intervalos longos são limitados
+ * - O pulso devolve true enquanto precisa continuar (teclas pressionadas, inércia); senão o timer para
+ *
+ * Usado só na thread do JavaFX; a fonte dos quadros é um Driver (AnimationTimer por padrão)
+ */
+public final class RenderLoop {
+
+    public static final double NOMINAL_FRAME_SECONDS = 1.0 / 60.0;
+    public static final double MAX_FRAME_SECONDS = 0.1;
+
+    /**
+     * Trabalho de um pulso; devolve true se precisa de outro pulso logo em seguida
+     */
+    @FunctionalInterface
+    public interface Pulse {
+        boolean run(double elapsedSeconds);
+    }
+
+    /**
+     * Fonte dos quadros: chama onFrame com o instante em nanos enquanto estiver iniciada
+     */
+    public interface Driver {
+        void start(LongConsumer onFrame);
+
+        void stop();
+    }
+
+    private final Pulse pulse;
+    private final Driver driver;
+    private boolean running;
+    private boolean requested;
+    private long lastPulseNanos = -1;
+    private long pulseCount;
+
+    public RenderLoop(Pulse pulse) {
+        this(pulse, new TimerDriver());
+    }
+
+    public RenderLoop(Pulse pulse, Driver driver) {
+        this.pulse = pulse;
+        this.driver = driver;
+    }
+
+    /**
+     * Pede um pulso; inicia o timer se estiver parado
+     */
+    public void request() {
+        requested = true;
+        if (running) return;
+        running = true;
+        lastPulseNanos = -1;
+        driver.start(this::pulse);
+    }
+
+    /**
+     * Executa um pulso no instante now (nanos do Driver)
+     */
+    private void pulse(long now) {
+        double elapsed = lastPulseNanos < 0 ? NOMINAL_FRAME_SECONDS
+                : Math.min((now - lastPulseNanos) / 1e9, MAX_FRAME_SECONDS);
+        lastPulseNanos = now;
+        requested = false;
+        pulseCount++;
+
+        boolean again;
+        try {
+            again = pulse.run(elapsed);
+        } catch (RuntimeException e) {
+            // Um erro não pode deixar o timer girando em falso
+            System.out.println("[RenderLoop] Erro no pulso: " + e.getMessage());
+            again = false;
+        }
+        // Pedidos feitos durante o pulso (ex.: um flush que gerou outro) mantêm o laço ativo
+        if (!again && !requested) {
+            stop();
+        }
+    }
+
+    /**
+     * Para o timer (um request() posterior volta a iniciar)
+     */
+    public void stop() {
+        running = false;
+        driver.stop();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Pulsos executados desde a criação
+     */
+    public long getPulseCount() {
+        return pulseCount;
+    }
+
+    /**
+     * Driver padrão: AnimationTimer criado no primeiro start
+     */
+    private static final class TimerDriver implements Driver {
+        private AnimationTimer timer;
+
+        @Override
+        public void start(LongConsumer onFrame) {
+            if (timer == null) {
+                timer = new AnimationTimer() {
+                    @Override
+                    public void handle(long now) {
+                        onFrame.accept(now);
+                    }
+                };
+            }
+            timer.start();
+        }
+
+        @Override
+        public void stop() {
+            if (timer != null) {
+                timer.stop();
+            }
+        }
+    }
+}
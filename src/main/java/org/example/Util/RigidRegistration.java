@@ -0,0 +1,601 @@
+package org.example.Util;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Registro rígido (rotação + translação) de uma malha sobre uma referência
+ *
+ * - Chute inicial por PCA: centróides e eixos principais das duas nuvens; as 4 combinações
+ *   de sinais dos eixos (e a identidade) são testadas com poucas iterações e fica a melhor
+ * - ICP ponto-a-plano: correspondência pelo vértice mais próximo na KD-tree da referência,
+ *   resíduo medido na normal desse vértice, sistema 6x6 linearizado resolvido a cada iteração
+ * - Pares mais distantes que 3x a mediana são descartados (partes que não se sobrepõem)
+ * - Correspondências e somas do sistema em paralelo (ForkJoinPool comum)
+ *
+ * A transformação leva coordenadas do MeshData de origem para as do MeshData de referência
+ */
+public final class RigidRegistration {
+
+    private static final int MAX_SAMPLES = 20_000;
+    private static final int MAX_ITERATIONS = 60;
+    private static final int TRIAL_ITERATIONS = 6;
+    private static final double REJECTION_FACTOR = 3.0;
+    private static final double CONVERGENCE = 1e-7;
+    private static final int CHUNK_SAMPLES = 2048;
+
+    private RigidRegistration() {
+    }
+
+    /**
+     * Alinha os vértices usados por sourceTriangles à superfície de targetTriangles
+     */
+    public static Result align(float[] sourcePositions, int[] sourceTriangles,
+                               float[] targetPositions, int[] targetTriangles) {
+        double[] samples = sample(sourcePositions, sourceTriangles);
+        if (samples.length == 0 || targetTriangles.length == 0) {
+            throw new IllegalArgumentException("Malhas sem triângulos não podem ser alinhadas");
+        }
+
+        Target target = new Target(targetPositions, targetTriangles);
+        double[] sourceFrame = principalFrame(samples);
+        double[] targetFrame = principalFrame(target.vertexSamples());
+
+        // Chutes iniciais: identidade e as rotações que levam os eixos principais de um no outro
+        double[][] guesses = initialGuesses(sourceFrame, targetFrame);
+        double[] best = null;
+        double bestError = Double.POSITIVE_INFINITY;
+        for (double[] guess : guesses) {
+            Icp icp = new Icp(samples, target, guess, targetFrame);
+            icp.run(TRIAL_ITERATIONS);
+            if (icp.meanDistance < bestError) {
+                bestError = icp.meanDistance;
+                best = icp.transform;
+            }
+        }
+
+        Icp icp = new Icp(samples, target, best, targetFrame);
+        int iterations = icp.run(MAX_ITERATIONS);
+        return new Result(icp.transform, icp.rms, icp.inliers / (double) (samples.length / 3),
+                iterations, icp.converged, samples.length / 3);
+    }
+
+    // =================== AMOSTRAGEM E PCA ===================
+
+    /**
+     * Vértices usados por algum triângulo, no máximo MAX_SAMPLES (passo fixo, determinístico)
+     */
+    private static double[] sample(float[] positions, int[] triangles) {
+        int vertexCount = positions.length / 3;
+        boolean[] used = new boolean[vertexCount];
+        int count = 0;
+        for (int index : triangles) {
+            if (!used[index]) {
+                used[index] = true;
+                count++;
+            }
+        }
+        int step = Math.max(1, (count + MAX_SAMPLES - 1) / MAX_SAMPLES);
+        double[] samples = new double[((count + step - 1) / step) * 3];
+        int seen = 0, next = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            if (!used[v]) continue;
+            if (seen++ % step != 0) continue;
+            samples[next++] = positions[v * 3];
+            samples[next++] = positions[v * 3 + 1];
+            samples[next++] = positions[v * 3 + 2];
+        }
+        return Arrays.copyOf(samples, next);
+    }
+
+    /**
+     * Centróide (0..2) e eixos principais como colunas de uma rotação própria (3..11, linha a linha)
+     */
+    private static double[] principalFrame(double[] points) {
+        int n = points.length / 3;
+        double cx = 0, cy = 0, cz = 0;
+        for (int i = 0; i < n; i++) {
+            cx += points[i * 3];
+            cy += points[i * 3 + 1];
+            cz += points[i * 3 + 2];
+        }
+        cx /= n;
+        cy /= n;
+        cz /= n;
+
+        double[] covariance = new double[9];
+        for (int i = 0; i < n; i++) {
+            double x = points[i * 3] - cx, y = points[i * 3 + 1] - cy, z = points[i * 3 + 2] - cz;
+            covariance[0] += x * x;
+            covariance[1] += x * y;
+            covariance[2] += x * z;
+            covariance[4] += y * y;
+            covariance[5] += y * z;
+            covariance[8] += z * z;
+        }
+        covariance[3] = covariance[1];
+        covariance[6] = covariance[2];
+        covariance[7] = covariance[5];
+
+        double[] axes = eigenvectors(covariance);
+        double[] frame = new double[12];
+        frame[0] = cx;
+        frame[1] = cy;
+        frame[2] = cz;
+        System.arraycopy(axes, 0, frame, 3, 9);
+        return frame;
+    }
+
+    /**
+     * Autovetores de uma matriz simétrica 3x3 (Jacobi), em colunas, do maior autovalor ao menor
+     * Terceira coluna ajustada para que o determinante seja +1
+     */
+    private static double[] eigenvectors(double[] matrix) {
+        double[] a = matrix.clone();
+        double[] v = {1, 0, 0, 0, 1, 0, 0, 0, 1};
+        for (int sweep = 0; sweep < 50; sweep++) {
+            double off = a[1] * a[1] + a[2] * a[2] + a[5] * a[5];
+            if (off < 1e-30 * (a[0] * a[0] + a[4] * a[4] + a[8] * a[8]) || off == 0) break;
+            for (int p = 0; p < 2; p++) {
+                for (int q = p + 1; q < 3; q++) {
+                    double apq = a[p * 3 + q];
+                    if (Math.abs(apq) < 1e-300) continue;
+                    double theta = (a[q * 3 + q] - a[p * 3 + p]) / (2 * apq);
+                    double t = Math.signum(theta) / (Math.abs(theta) + Math.sqrt(theta * theta + 1));
+                    if (theta == 0) t = 1;
+                    double c = 1 / Math.sqrt(t * t + 1), s = t * c;
+                    // A' = Jᵀ A J, com J a rotação no plano (p, q)
+                    for (int k = 0; k < 3; k++) {
+                        double akp = a[k * 3 + p], akq = a[k * 3 + q];
+                        a[k * 3 + p] = c * akp - s * akq;
+                        a[k * 3 + q] = s * akp + c * akq;
+                    }
+                    for (int k = 0; k < 3; k++) {
+                        double apk = a[p * 3 + k], aqk = a[q * 3 + k];
+                        a[p * 3 + k] = c * apk - s * aqk;
+                        a[q * 3 + k] = s * apk + c * aqk;
+                    }
+                    for (int k = 0; k < 3; k++) {
+                        double vkp = v[k * 3 + p], vkq = v[k * 3 + q];
+                        v[k * 3 + p] = c * vkp - s * vkq;
+                        v[k * 3 + q] = s * vkp + c * vkq;
+                    }
+                }
+            }
+        }
+
+        // Ordena as colunas pelo autovalor (decrescente)
+        Integer[] order = {0, 1, 2};
+        double[] values = {a[0], a[4], a[8]};
+        Arrays.sort(order, (i, j) -> Double.compare(values[j], values[i]));
+        double[] sorted = new double[9];
+        for (int column = 0; column < 3; column++) {
+            for (int row = 0; row < 3; row++) {
+                sorted[row * 3 + column] = v[row * 3 + order[column]];
+            }
+        }
+        // Terceiro eixo = primeiro x segundo (rotação própria)
+        sorted[2] = sorted[3] * sorted[7] - sorted[6] * sorted[4];
+        sorted[5] = sorted[6] * sorted[1] - sorted[0] * sorted[7];
+        sorted[8] = sorted[0] * sorted[4] - sorted[3] * sorted[1];
+        return sorted;
+    }
+
+    /**
+     * Identidade, só os centróides alinhados, e as 4 rotações eixo-a-eixo (sinais com det +1)
+     */
+    private static double[][] initialGuesses(double[] source, double[] target) {
+        double[][] signs = {{1, 1, 1}, {1, -1, -1}, {-1, 1, -1}, {-1, -1, 1}};
+        double[][] guesses = new double[2 + signs.length][];
+        guesses[0] = new double[]{1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0};
+        guesses[1] = new double[]{1, 0, 0, target[0] - source[0], 0, 1, 0, target[1] - source[1],
+                0, 0, 1, target[2] - source[2]};
+        for (int g = 0; g < signs.length; g++) {
+            // R = Et * S * Esᵀ; t = ct - R * cs
+            double[] transform = new double[12];
+            for (int row = 0; row < 3; row++) {
+                for (int column = 0; column < 3; column++) {
+                    double sum = 0;
+                    for (int k = 0; k < 3; k++) {
+                        sum += target[3 + row * 3 + k] * signs[g][k] * source[3 + column * 3 + k];
+                    }
+                    transform[row * 4 + column] = sum;
+                }
+                transform[row * 4 + 3] = target[row]
+                        - (transform[row * 4] * source[0] + transform[row * 4 + 1] * source[1] + transform[row * 4 + 2] * source[2]);
+            }
+            guesses[2 + g] = transform;
+        }
+        return guesses;
+    }
+
+    // =================== REFERÊNCIA ===================
+
+    /**
+     * Referência pronta para as consultas: KD-tree e normais por vértice (média ponderada pela área)
+     */
+    private static final class Target {
+        final float[] positions;
+        final int[] triangles;
+        final VertexKdTree tree;
+        final float[] normals;
+        final double diagonal;
+
+        Target(float[] positions, int[] triangles) {
+            this.positions = positions;
+            this.triangles = triangles;
+            this.tree = VertexKdTree.build(positions, triangles);
+
+            double[] sums = new double[positions.length];
+            for (int t = 0; t < triangles.length; t += 3) {
+                int a = triangles[t] * 3, b = triangles[t + 1] * 3, c = triangles[t + 2] * 3;
+                double e1x = positions[b] - positions[a], e1y = positions[b + 1] - positions[a + 1], e1z = positions[b + 2] - positions[a + 2];
+                double e2x = positions[c] - positions[a], e2y = positions[c + 1] - positions[a + 1], e2z = positions[c + 2] - positions[a + 2];
+                // Produto vetorial sem normalizar: já pesa pela área
+                double nx = e1y * e2z - e1z * e2y, ny = e1z * e2x - e1x * e2z, nz = e1x * e2y - e1y * e2x;
+                for (int corner = 0; corner < 3; corner++) {
+                    int v = triangles[t + corner] * 3;
+                    sums[v] += nx;
+                    sums[v + 1] += ny;
+                    sums[v + 2] += nz;
+                }
+            }
+            float[] bounds = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+            for (int index : triangles) {
+                for (int axis = 0; axis < 3; axis++) {
+                    bounds[axis] = Math.min(bounds[axis], positions[index * 3 + axis]);
+                    bounds[axis + 3] = Math.max(bounds[axis + 3], positions[index * 3 + axis]);
+                }
+            }
+            double dx = bounds[3] - bounds[0], dy = bounds[4] - bounds[1], dz = bounds[5] - bounds[2];
+            diagonal = Math.sqrt(dx * dx + dy * dy + dz * dz);
+
+            normals = new float[positions.length];
+            for (int v = 0; v < normals.length; v += 3) {
+                double length = Math.sqrt(sums[v] * sums[v] + sums[v + 1] * sums[v + 1] + sums[v + 2] * sums[v + 2]);
+                if (length > 0) {
+                    normals[v] = (float) (sums[v] / length);
+                    normals[v + 1] = (float) (sums[v + 1] / length);
+                    normals[v + 2] = (float) (sums[v + 2] / length);
+                }
+            }
+        }
+
+        double[] vertexSamples() {
+            return sample(positions, triangles);
+        }
+    }
+
+    // =================== ICP ===================
+
+    /**
+     * Estado de uma execução do ICP a partir de um chute inicial
+     */
+    private static final class Icp {
+        private final double[] samples;
+        private final Target target;
+        private final int count;
+        private final int[] matches;
+        private final double[] distances;
+        // Pivô das rotações: centróide da referência (sistema melhor condicionado)
+        private final double px, py, pz;
+
+        double[] transform;
+        double rms;
+        double meanDistance = Double.POSITIVE_INFINITY;
+        int inliers;
+        boolean converged;
+
+        Icp(double[] samples, Target target, double[] transform, double[] targetFrame) {
+            this.samples = samples;
+            this.target = target;
+            this.transform = transform.clone();
+            this.px = targetFrame[0];
+            this.py = targetFrame[1];
+            this.pz = targetFrame[2];
+            this.count = samples.length / 3;
+            this.matches = new int[count];
+            this.distances = new double[count];
+        }
+
+        /**
+         * Itera até convergir ou atingir maxIterations; devolve as iterações feitas
+         */
+        int run(int maxIterations) {
+            for (int iteration = 1; iteration <= maxIterations; iteration++) {
+                ForkJoinPool.commonPool().invoke(new MatchTask(this, 0, count));
+
+                double sum = 0;
+                for (double d : distances) sum += d;
+                meanDistance = sum / count;
+                double threshold = REJECTION_FACTOR * median(distances);
+
+                double[] system = ForkJoinPool.commonPool().invoke(new SystemTask(this, threshold, 0, count));
+                inliers = (int) system[28];
+                if (inliers < 6) return iteration;
+                rms = Math.sqrt(system[27] / inliers);
+
+                double[] step = solve(system);
+                if (step == null) return iteration;
+                compose(step);
+
+                double rotation = Math.sqrt(step[0] * step[0] + step[1] * step[1] + step[2] * step[2]);
+                double translation = Math.sqrt(step[3] * step[3] + step[4] * step[4] + step[5] * step[5]);
+                if (rotation < CONVERGENCE && translation < CONVERGENCE * target.diagonal) {
+                    converged = true;
+                    return iteration;
+                }
+            }
+            return maxIterations;
+        }
+
+        /**
+         * Aplica o incremento (rotação ω em torno do pivô, translação) à transformação atual
+         */
+        private void compose(double[] step) {
+            double[] increment = rotation(step[0], step[1], step[2]);
+            double[] composed = new double[12];
+            for (int row = 0; row < 3; row++) {
+                for (int column = 0; column < 3; column++) {
+                    composed[row * 4 + column] = increment[row * 3] * transform[column]
+                            + increment[row * 3 + 1] * transform[4 + column]
+                            + increment[row * 3 + 2] * transform[8 + column];
+                }
+                // t' = Rinc (t - pivô) + pivô + tinc
+                double tx = transform[3] - px, ty = transform[7] - py, tz = transform[11] - pz;
+                double pivot = row == 0 ? px : row == 1 ? py : pz;
+                composed[row * 4 + 3] = increment[row * 3] * tx + increment[row * 3 + 1] * ty
+                        + increment[row * 3 + 2] * tz + pivot + step[3 + row];
+            }
+            transform = composed;
+        }
+    }
+
+    /**
+     * Vértice da referência mais próximo de cada amostra transformada
+     */
+    private static final class MatchTask extends RecursiveAction {
+        private final Icp icp;
+        private final int from, to;
+
+        MatchTask(Icp icp, int from, int to) {
+            this.icp = icp;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK_SAMPLES) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new MatchTask(icp, from, mid), new MatchTask(icp, mid, to));
+                return;
+            }
+            double[] m = icp.transform;
+            float[] positions = icp.target.positions;
+            for (int i = from; i < to; i++) {
+                double sx = icp.samples[i * 3], sy = icp.samples[i * 3 + 1], sz = icp.samples[i * 3 + 2];
+                double x = m[0] * sx + m[1] * sy + m[2] * sz + m[3];
+                double y = m[4] * sx + m[5] * sy + m[6] * sz + m[7];
+                double z = m[8] * sx + m[9] * sy + m[10] * sz + m[11];
+                int vertex = icp.target.tree.nearest(x, y, z);
+                double dx = positions[vertex * 3] - x, dy = positions[vertex * 3 + 1] - y, dz = positions[vertex * 3 + 2] - z;
+                icp.matches[i] = vertex;
+                icp.distances[i] = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            }
+        }
+    }
+
+    /**
+     * Soma JᵀJ (triângulo superior, 21), Jᵀr (6), Σr² e inliers, numa faixa de amostras
+     * Linha do jacobiano: [p x n, n], com p relativo ao pivô; resíduo r = (p - q) · n
+     */
+    private static final class SystemTask extends RecursiveTask<double[]> {
+        private final Icp icp;
+        private final double threshold;
+        private final int from, to;
+
+        SystemTask(Icp icp, double threshold, int from, int to) {
+            this.icp = icp;
+            this.threshold = threshold;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+            double[] m = icp.transform;
+            Target target = icp.target;
+            double px = icp.px, py = icp.py, pz = icp.pz;
+
+            if (to - from > CHUNK_SAMPLES) {
+                int mid = (from + to) >>> 1;
+                SystemTask left = new SystemTask(icp, threshold, from, mid);
+                left.fork();
+                double[] right = new SystemTask(icp, threshold, mid, to).compute();
+                double[] sums = left.join();
+                for (int k = 0; k < 29; k++) sums[k] += right[k];
+                return sums;
+            }
+
+            double[] sums = new double[29];
+            double[] row = new double[6];
+            for (int i = from; i < to; i++) {
+                if (icp.distances[i] > threshold) continue;
+                int v = icp.matches[i] * 3;
+                double nx = target.normals[v], ny = target.normals[v + 1], nz = target.normals[v + 2];
+                if (nx == 0 && ny == 0 && nz == 0) continue;
+
+                double sx = icp.samples[i * 3], sy = icp.samples[i * 3 + 1], sz = icp.samples[i * 3 + 2];
+                double x = m[0] * sx + m[1] * sy + m[2] * sz + m[3] - px;
+                double y = m[4] * sx + m[5] * sy + m[6] * sz + m[7] - py;
+                double z = m[8] * sx + m[9] * sy + m[10] * sz + m[11] - pz;
+                double r = (x - (target.positions[v] - px)) * nx + (y - (target.positions[v + 1] - py)) * ny
+                        + (z - (target.positions[v + 2] - pz)) * nz;
+
+                row[0] = y * nz - z * ny;
+                row[1] = z * nx - x * nz;
+                row[2] = x * ny - y * nx;
+                row[3] = nx;
+                row[4] = ny;
+                row[5] = nz;
+                int k = 0;
+                for (int a = 0; a < 6; a++) {
+                    for (int b = a; b < 6; b++) {
+                        sums[k++] += row[a] * row[b];
+                    }
+                    sums[21 + a] += row[a] * r;
+                }
+                sums[27] += r * r;
+                sums[28]++;
+            }
+            return sums;
+        }
+    }
+
+    private static double median(double[] values) {
+        double[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy[copy.length / 2];
+    }
+
+    /**
+     * Resolve (JᵀJ) x = -Jᵀr por eliminação de Gauss com pivoteamento (null se singular)
+     * Um amortecimento mínimo mantém direções sem informação (superfície plana) paradas
+     */
+    private static double[] solve(double[] system) {
+        double[][] a = new double[6][7];
+        int k = 0;
+        double trace = 0;
+        for (int i = 0; i < 6; i++) {
+            for (int j = i; j < 6; j++) {
+                a[i][j] = a[j][i] = system[k++];
+            }
+            trace += a[i][i];
+            a[i][6] = -system[21 + i];
+        }
+        for (int i = 0; i < 6; i++) {
+            a[i][i] += trace * 1e-9;
+        }
+
+        for (int column = 0; column < 6; column++) {
+            int pivot = column;
+            for (int row = column + 1; row < 6; row++) {
+                if (Math.abs(a[row][column]) > Math.abs(a[pivot][column])) pivot = row;
+            }
+            if (Math.abs(a[pivot][column]) < 1e-300) return null;
+            double[] swap = a[column];
+            a[column] = a[pivot];
+            a[pivot] = swap;
+            for (int row = column + 1; row < 6; row++) {
+                double factor = a[row][column] / a[column][column];
+                for (int j = column; j < 7; j++) {
+                    a[row][j] -= factor * a[column][j];
+                }
+            }
+        }
+        double[] x = new double[6];
+        for (int row = 5; row >= 0; row--) {
+            double sum = a[row][6];
+            for (int j = row + 1; j < 6; j++) {
+                sum -= a[row][j] * x[j];
+            }
+            x[row] = sum / a[row][row];
+        }
+        return x;
+    }
+
+    /**
+     * Matriz de rotação (linha a linha) do vetor de rotação ω (Rodrigues)
+     */
+    private static double[] rotation(double wx, double wy, double wz) {
+        double angle = Math.sqrt(wx * wx + wy * wy + wz * wz);
+        if (angle < 1e-15) {
+            return new double[]{1, 0, 0, 0, 1, 0, 0, 0, 1};
+        }
+        double x = wx / angle, y = wy / angle, z = wz / angle;
+        double c = Math.cos(angle), s = Math.sin(angle), t = 1 - c;
+        return new double[]{
+                t * x * x + c, t * x * y - s * z, t * x * z + s * y,
+                t * x * y + s * z, t * y * y + c, t * y * z - s * x,
+                t * x * z - s * y, t * y * z + s * x, t * z * z + c
+        };
+    }
+
+    /**
+     * Resultado do registro
+     */
+    public static final class Result {
+        private final double[] transform;
+        private final double rms;
+        private final double inlierRatio;
+        private final int iterations;
+        private final boolean converged;
+        private final int sampleCount;
+
+        Result(double[] transform, double rms, double inlierRatio, int iterations, boolean converged, int sampleCount) {
+            this.transform = transform;
+            this.rms = rms;
+            this.inlierRatio = inlierRatio;
+            this.iterations = iterations;
+            this.converged = converged;
+            this.sampleCount = sampleCount;
+        }
+
+        /**
+         * Matriz 3x4 [R | t] linha a linha (12 valores): referência = R * origem + t
+         */
+        public double[] getMatrix() {
+            return transform.clone();
+        }
+
+        /**
+         * Aplica a transformação a um array de posições (x, y, z), devolvendo uma cópia
+         */
+        public float[] apply(float[] positions) {
+            float[] out = new float[positions.length];
+            double[] m = transform;
+            for (int i = 0; i < positions.length; i += 3) {
+                double x = positions[i], y = positions[i + 1], z = positions[i + 2];
+                out[i] = (float) (m[0] * x + m[1] * y + m[2] * z + m[3]);
+                out[i + 1] = (float) (m[4] * x + m[5] * y + m[6] * z + m[7]);
+                out[i + 2] = (float) (m[8] * x + m[9] * y + m[10] * z + m[11]);
+            }
+            return out;
+        }
+
+        /**
+         * Raiz do erro quadrático médio ponto-a-plano dos pares aceitos na última iteração
+         */
+        public double getRms() {
+            return rms;
+        }
+
+        /**
+         * Fração das amostras aceitas como pares (não descartadas por distância)
+         */
+        public double getInlierRatio() {
+            return inlierRatio;
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+
+        public boolean isConverged() {
+            return converged;
+        }
+
+        public int getSampleCount() {
+            return sampleCount;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Alinhamento: RMS %.4f | %.0f%% dos pontos | %d iterações%s",
+                    rms, inlierRatio * 100, iterations, converged ? "" : " (sem convergir)");
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package org.example.Util;
+
+import java.util.Arrays;
+
+/**
+ * KD-tree dos vértices da malha para encaixe no vértice mais próximo e consultas k-vizinhos
+ *
+ * Árvore implícita em arrays: o intervalo [lo, hi) tem a raiz na mediana (lo + hi) / 2,
+ * filhos em [lo, mid) e [mid + 1, hi). Coordenadas copiadas na ordem da árvore para
+ * que a busca percorra memória contígua
+ *
+ * Só entram vértices usados por algum triângulo (vértices soltos não são encaixáveis)
+ */
+public final class VertexKdTree {
+
+    private static final int[] EMPTY = new int[0];
+
+    // x, y, z do nó i em points[i * 3 ..]; vértice original em vertices[i]; eixo de corte em axes[i]
+    private final float[] points;
+    private final int[] vertices;
+    private final byte[] axes;
+
+    private VertexKdTree(float[] points, int[] vertices, byte[] axes) {
+        this.points = points;
+        this.vertices = vertices;
+        this.axes = axes;
+    }
+
+    public static VertexKdTree build(MeshData data) {
+        return build(data.getPositions(), MeshSimplifier.positionTriangles(data));
+    }
+
+    /**
+     * Monta a árvore sobre os vértices referenciados por triangles (índices de posição, 3 por triângulo)
+     */
+    public static VertexKdTree build(float[] positions, int[] triangles) {
+        int vertexCount = positions.length / 3;
+        boolean[] used = new boolean[vertexCount];
+        int count = 0;
+        for (int index : triangles) {
+            if (!used[index]) {
+                used[index] = true;
+                count++;
+            }
+        }
+
+        int[] order = new int[count];
+        int next = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            if (used[v]) order[next++] = v;
+        }
+
+        byte[] axes = new byte[count];
+        split(positions, order, axes, 0, count);
+
+        float[] points = new float[count * 3];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(positions, order[i] * 3, points, i * 3, 3);
+        }
+        return new VertexKdTree(points, order, axes);
+    }
+
+    public int size() {
+        return vertices.length;
+    }
+
+    /**
+     * Vértice mais próximo do ponto (-1 se a árvore está vazia)
+     */
+    public int nearest(double x, double y, double z) {
+        if (vertices.length == 0) return -1;
+        Neighbors best = new Neighbors(1);
+        search(0, vertices.length, x, y, z, best);
+        return best.vertices[0];
+    }
+
+    /**
+     * Os k vértices mais próximos, do mais perto ao mais longe
+     */
+    public int[] nearest(double x, double y, double z, int k) {
+        k = Math.min(k, vertices.length);
+        if (k <= 0) return EMPTY;
+        Neighbors best = new Neighbors(k);
+        search(0, vertices.length, x, y, z, best);
+        return best.sorted();
+    }
+
+    // =================== CONSTRUÇÃO ===================
+
+    /**
+     * Escolhe o eixo de maior extensão do intervalo, posiciona a mediana e repete nas metades
+     */
+    private static void split(float[] positions, int[] order, byte[] axes, int lo, int hi) {
+        // Pilha explícita: intervalos pendentes (lo, hi)
+        int[] stack = new int[128];
+        int top = 0;
+        stack[top++] = lo;
+        stack[top++] = hi;
+        while (top > 0) {
+            hi = stack[--top];
+            lo = stack[--top];
+            if (hi - lo <= 1) {
+                continue;
+            }
+
+            float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+            float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+            for (int i = lo; i < hi; i++) {
+                int p = order[i] * 3;
+                minX = Math.min(minX, positions[p]);
+                maxX = Math.max(maxX, positions[p]);
+                minY = Math.min(minY, positions[p + 1]);
+                maxY = Math.max(maxY, positions[p + 1]);
+                minZ = Math.min(minZ, positions[p + 2]);
+                maxZ = Math.max(maxZ, positions[p + 2]);
+            }
+            float extentX = maxX - minX, extentY = maxY - minY, extentZ = maxZ - minZ;
+            int axis = extentX >= extentY && extentX >= extentZ ? 0 : (extentY >= extentZ ? 1 : 2);
+
+            int mid = (lo + hi) >>> 1;
+            select(positions, order, lo, hi - 1, mid, axis);
+            axes[mid] = (byte) axis;
+
+            if (top + 4 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[top++] = lo;
+            stack[top++] = mid;
+            stack[top++] = mid + 1;
+            stack[top++] = hi;
+        }
+    }
+
+    /**
+     * Quickselect: deixa em order[k] o elemento de posição k na ordenação pelo eixo,
+     * menores ou iguais à esquerda e maiores ou iguais à direita
+     */
+    private static void select(float[] positions, int[] order, int left, int right, int k, int axis) {
+        while (right > left) {
+            // Pivô pela mediana de três
+            int middle = (left + right) >>> 1;
+            if (key(positions, order, middle, axis) < key(positions, order, left, axis)) swap(order, left, middle);
+            if (key(positions, order, right, axis) < key(positions, order, left, axis)) swap(order, left, right);
+            if (key(positions, order, right, axis) < key(positions, order, middle, axis)) swap(order, middle, right);
+            float pivot = key(positions, order, middle, axis);
+
+            int i = left, j = right;
+            while (i <= j) {
+                while (key(positions, order, i, axis) < pivot) i++;
+                while (key(positions, order, j, axis) > pivot) j--;
+                if (i <= j) {
+                    swap(order, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static float key(float[] positions, int[] order, int index, int axis) {
+        return positions[order[index] * 3 + axis];
+    }
+
+    private static void swap(int[] order, int a, int b) {
+        int tmp = order[a];
+        order[a] = order[b];
+        order[b] = tmp;
+    }
+
+    // =================== BUSCA ===================
+
+    private void search(int lo, int hi, double x, double y, double z, Neighbors best) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int p = mid * 3;
+            double dx = points[p] - x, dy = points[p + 1] - y, dz = points[p + 2] - z;
+            best.offer(vertices[mid], dx * dx + dy * dy + dz * dz);
+
+            int axis = axes[mid];
+            double delta = (axis == 0 ? x : axis == 1 ? y : z) - points[p + axis];
+
+            // Desce primeiro pelo lado do ponto; o outro lado só se a esfera de busca cruza o plano
+            int nearLo = delta < 0 ? lo : mid + 1;
+            int nearHi = delta < 0 ? mid : hi;
+            int farLo = delta < 0 ? mid + 1 : lo;
+            int farHi = delta < 0 ? hi : mid;
+            search(nearLo, nearHi, x, y, z, best);
+            if (delta * delta >= best.worst()) {
+                return;
+            }
+            lo = farLo;
+            hi = farHi;
+        }
+    }
+
+    /**
+     * Os k melhores até agora, em heap de máximo pela distância ao quadrado
+     */
+    private static final class Neighbors {
+        private final int[] vertices;
+        private final double[] distances;
+        private int size;
+
+        Neighbors(int k) {
+            vertices = new int[k];
+            distances = new double[k];
+        }
+
+        double worst() {
+            return size < vertices.length ? Double.POSITIVE_INFINITY : distances[0];
+        }
+
+        void offer(int vertex, double distance) {
+            if (size < vertices.length) {
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (distances[parent] >= distance) break;
+                    distances[i] = distances[parent];
+                    vertices[i] = vertices[parent];
+                    i = parent;
+                }
+                distances[i] = distance;
+                vertices[i] = vertex;
+            } else if (distance < distances[0]) {
+                siftDown(vertex, distance, size);
+            }
+        }
+
+        private void siftDown(int vertex, double distance, int limit) {
+            int i = 0;
+            while (true) {
+                int child = i * 2 + 1;
+                if (child >= limit) break;
+                if (child + 1 < limit && distances[child + 1] > distances[child]) child++;
+                if (distances[child] <= distance) break;
+                distances[i] = distances[child];
+                vertices[i] = vertices[child];
+                i = child;
+            }
+            distances[i] = distance;
+            vertices[i] = vertex;
+        }
+
+        // Esvazia o heap do maior para o menor, preenchendo o resultado de trás para frente
+        int[] sorted() {
+            int[] result = new int[size];
+            for (int n = size; n > 0; n--) {
+                result[n - 1] = vertices[0];
+                int lastVertex = vertices[n - 1];
+                double lastDistance = distances[n - 1];
+                siftDown(lastVertex, lastDistance, n - 1);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.example;
+
+import javafx.geometry.Point3D;
+import javafx.scene.input.KeyCode;
+import javafx.scene.transform.Affine;
+import javafx.scene.transform.MatrixType;
+import javafx.scene.transform.Rotate;
+import javafx.scene.transform.Transform;
+import javafx.scene.transform.Translate;
+import org.example.Util.CameraController;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CameraControllerTest {
+
+    @Test
+    public void testOrbitalIgualATranslateMaisRotates() {
+        CameraController camera = new CameraController(CameraController.Mode.ORBIT, 18);
+        Affine transform = camera.getTransform();
+        double[][] states = {{1, -2, 3, 7, 45, 20}, {0, 0, 0, 2.5, -130, -60}, {5, 5, -5, 0.3, 300, 89}};
+
+        for (double[] s : states) {
+            camera.setOrbit(s[0], s[1], s[2], s[3], s[4], s[5]);
+            assertTrue(camera.flush());
+            assertFalse(camera.flush());
+            assertSame(transform, camera.getTransform());
+
+            // Montagem antiga: translate na posição orbital + Rotate(X) + Rotate(Y) olhando para o alvo
+            double yawRad = Math.toRadians(s[4]), pitchRad = Math.toRadians(s[5]);
+            double x = s[0] + s[3] * Math.cos(pitchRad) * Math.sin(yawRad);
+            double y = s[1] + s[3] * Math.sin(pitchRad);
+            double z = s[2] + s[3] * Math.cos(pitchRad) * Math.cos(yawRad);
+            Point3D look = new Point3D(s[0], s[1], s[2]).subtract(x, y, z).normalize();
+            double targetYaw = Math.toDegrees(Math.atan2(look.getX(), look.getZ()));
+            double targetPitch = Math.toDegrees(Math.asin(-look.getY()));
+            Transform expected = new Translate(x, y, z)
+                    .createConcatenation(new Rotate(-targetPitch, Rotate.X_AXIS))
+                    .createConcatenation(new Rotate(-targetYaw, Rotate.Y_AXIS));
+
+            assertTransform(expected, transform);
+            assertEquals(x, camera.getEyeX(), 1e-9);
+            assertEquals(z, camera.getEyeZ(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testLivreIgualATranslateMaisRotates() {
+        CameraController camera = new CameraController(CameraController.Mode.FLY, 3);
+        camera.setFly(1, 2, 3, 33, -12);
+        camera.flush();
+
+        Transform expected = new Translate(1, 2, 3)
+                .createConcatenation(new Rotate(12, Rotate.X_AXIS))
+                .createConcatenation(new Rotate(-33, Rotate.Y_AXIS));
+        assertTransform(expected, camera.getTransform());
+    }
+
+    @Test
+    public void testMovimentoIndependeDaTaxaDeQuadrosEParaComInercia() {
+        double[] moved = new double[2];
+        double[] frameRates = {60, 144};
+        for (int i = 0; i < frameRates.length; i++) {
+            CameraController camera = new CameraController(CameraController.Mode.ORBIT, 18);
+            camera.setOrbit(0, 0, 0, 5, 90, 0);
+            assertTrue(camera.press(KeyCode.W));
+            assertFalse(camera.press(KeyCode.SHIFT));
+            int frames = (int) frameRates[i];
+            for (int f = 0; f < frames; f++) {
+                assertTrue(camera.update(1.0 / frameRates[i]));
+            }
+            moved[i] = camera.getTargetX();
+            assertEquals(CameraController.MAX_ACCELERATION, camera.getSpeedMultiplier(), 1e-9);
+
+            // Solta a tecla: desliza um pouco e para
+            camera.release(KeyCode.W);
+            int glide = 0;
+            while (camera.update(1.0 / frameRates[i])) {
+                glide++;
+                assertTrue(glide < frames * 2);
+            }
+            assertTrue(camera.getTargetX() > moved[i]);
+            assertFalse(camera.update(1.0 / frameRates[i]));
+        }
+        // Frente com yaw 90 = +X; mesma distância em 1 s nas duas taxas
+        assertTrue(moved[0] > 18);
+        assertEquals(moved[0], moved[1], moved[0] * 0.01);
+    }
+
+    private static void assertTransform(Transform expected, Transform actual) {
+        double[] e = expected.toArray(MatrixType.MT_3D_3x4);
+        double[] a = actual.toArray(MatrixType.MT_3D_3x4);
+        for (int i = 0; i < e.length; i++) {
+            assertEquals(e[i], a[i], 1e-9, "elemento " + i);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.example;
+
+import org.example.Util.CrossSection;
+import org.example.Util.GrowableIntArray;
+import org.example.Util.MeshBvh;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CrossSectionTest {
+
+    // Caixa com normais para fora: vértice i = (bit 0, bit 1, bit 2)
+    private static final int[] BOX_FACES = {
+            0, 2, 3, 0, 3, 1,
+            4, 5, 7, 4, 7, 6,
+            0, 1, 5, 0, 5, 4,
+            2, 6, 7, 2, 7, 3,
+            0, 4, 6, 0, 6, 2,
+            1, 3, 7, 1, 7, 5
+    };
+
+    @Test
+    public void testCorteDeUmaCaixa() {
+        float[] positions = new float[24];
+        int[] triangles = new int[36];
+        addBox(positions, triangles, 0, 0, 0, 0, 2, 3, 4, false);
+        MeshBvh bvh = MeshBvh.build(positions, triangles);
+
+        CrossSection section = CrossSection.compute(bvh, 0, 0, 1, 1.5);
+
+        assertEquals(1, section.getContourCount());
+        assertTrue(section.isClosed(0));
+        assertEquals(8, section.getTriangleCount());
+        assertEquals(10.0, section.getPerimeter(), 1e-5);
+        assertEquals(6.0, section.getArea(), 1e-5);
+    }
+
+    @Test
+    public void testFuroDescontadoDaArea() {
+        // Caixa 4x4x4 com uma cavidade 2x1x4 (faces da cavidade voltadas para dentro)
+        float[] positions = new float[48];
+        int[] triangles = new int[72];
+        addBox(positions, triangles, 0, 0, 0, 0, 4, 4, 4, false);
+        addBox(positions, triangles, 1, 1, 1, 0, 2, 1, 4, true);
+        MeshBvh bvh = MeshBvh.build(positions, triangles);
+
+        CrossSection section = CrossSection.compute(bvh, 0, 0, 2, 5);
+
+        assertEquals(2, section.getContourCount());
+        assertEquals(16.0 + 6.0, section.getPerimeter(), 1e-5);
+        assertEquals(16.0 - 2.0, section.getArea(), 1e-5);
+    }
+
+    @Test
+    public void testBvhVisitaOsMesmosTriangulosQueForcaBruta() {
+        Random random = new Random(7);
+        int triangleCount = 5000;
+        float[] positions = new float[triangleCount * 9];
+        int[] triangles = new int[triangleCount * 3];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = random.nextFloat() * 10;
+        }
+        for (int i = 0; i < triangles.length; i++) {
+            triangles[i] = i;
+        }
+        MeshBvh bvh = MeshBvh.build(positions, triangles);
+
+        double nx = 0.3, ny = -0.5, nz = 0.8, d = 1.7;
+        GrowableIntArray found = new GrowableIntArray();
+        bvh.collectPlane(nx, ny, nz, d, found);
+
+        int expected = 0;
+        for (int t = 0; t < triangleCount; t++) {
+            boolean positive = false, negative = false;
+            for (int corner = 0; corner < 3; corner++) {
+                int v = t * 9 + corner * 3;
+                boolean side = nx * positions[v] + ny * positions[v + 1] + nz * positions[v + 2] - d >= 0;
+                positive |= side;
+                negative |= !side;
+            }
+            if (positive && negative) expected++;
+        }
+        assertEquals(expected, found.size());
+    }
+
+    private static void addBox(float[] positions, int[] triangles, int box,
+                               float x, float y, float z, float w, float h, float depth, boolean inward) {
+        for (int i = 0; i < 8; i++) {
+            int p = (box * 8 + i) * 3;
+            positions[p] = x + ((i & 1) != 0 ? w : 0);
+            positions[p + 1] = y + ((i & 2) != 0 ? h : 0);
+            positions[p + 2] = z + ((i & 4) != 0 ? depth : 0);
+        }
+        for (int f = 0; f < BOX_FACES.length; f += 3) {
+            int t = box * BOX_FACES.length + f;
+            triangles[t] = box * 8 + BOX_FACES[f];
+            triangles[t + 1] = box * 8 + BOX_FACES[inward ? f + 2 : f + 1];
+            triangles[t + 2] = box * 8 + BOX_FACES[inward ? f + 1 : f + 2];
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.example;
+
+import org.example.Util.FaceGroupTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FaceGroupTableTest {
+
+    @Test
+    public void testFaixasSeguidasDoMesmoGrupoSaoUnidas() {
+        FaceGroupTable table = new FaceGroupTable();
+        table.add(0, "cranio");
+        table.add(10, "cranio");
+        table.add(20, "mandibula");
+        table.add(35, "mandibula");
+        table.add(40, "cranio");
+
+        assertEquals(3, table.size());
+        assertEquals(0, table.getStart(0));
+        assertEquals(20, table.getStart(1));
+        assertEquals(40, table.getStart(2));
+        assertEquals("cranio", table.getName(2));
+    }
+
+    @Test
+    public void testFaixaVaziaESubstituida() {
+        FaceGroupTable table = new FaceGroupTable();
+        table.add(0, "a");
+        table.add(5, "b");
+        // "b" não tem faces: a próxima faixa começa no mesmo ponto
+        table.add(5, "c");
+        // Substituir a faixa vazia pode tornar a anterior igual: unidas
+        table.add(9, "b");
+        table.add(9, "c");
+
+        assertEquals(2, table.size());
+        assertEquals("c", table.getGroupAt(5));
+        assertEquals("c", table.getGroupAt(100));
+    }
+
+    @Test
+    public void testBuscaBinariaPorFace() {
+        FaceGroupTable table = new FaceGroupTable();
+        table.add(3, "g0");
+        // Mais faixas que a capacidade inicial (cresce o array)
+        for (int i = 1; i < 20; i++) {
+            table.add(3 + i * 10, "g" + i);
+        }
+
+        Assertions.assertNull(table.getGroupAt(0), "Face antes da primeira faixa");
+        assertEquals("g0", table.getGroupAt(3));
+        assertEquals("g0", table.getGroupAt(12));
+        assertEquals("g1", table.getGroupAt(13));
+        assertEquals("g7", table.getGroupAt(79));
+        assertEquals("g19", table.getGroupAt(193));
+        assertEquals("g19", table.getGroupAt(10_000));
+    }
+
+    @Test
+    public void testTabelaVazia() {
+        Assertions.assertNull(new FaceGroupTable().getGroupAt(0));
+    }
+
+    @Test
+    public void testFaixaForaDeOrdem() {
+        FaceGroupTable table = new FaceGroupTable();
+        table.add(10, "a");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> table.add(5, "b"));
+    }
+}
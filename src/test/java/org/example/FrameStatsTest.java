@@ -0,0 +1,53 @@
+package org.example;
+
+import org.example.Util.FrameStats;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FrameStatsTest {
+
+    @Test
+    public void testPercentisEPulsosPorSegundo() {
+        FrameStats stats = new FrameStats(100);
+        long now = 0;
+        stats.record(now);
+        // 95 quadros de 10 ms e 5 travadas de 80 ms
+        for (int i = 0; i < 100; i++) {
+            now += i % 20 == 19 ? 80_000_000L : 10_000_000L;
+            stats.record(now);
+        }
+
+        assertEquals(100, stats.getWindowCount());
+        assertEquals(10.0, stats.percentileMillis(50), 1e-9);
+        assertEquals(10.0, stats.percentileMillis(95), 1e-9);
+        assertEquals(80.0, stats.percentileMillis(99), 1e-9);
+        assertEquals(80.0, stats.getMaxMillis(), 1e-9);
+        assertEquals(5, stats.getLongFrames());
+
+        // Último segundo: 4 travadas (320 ms) + 68 quadros de 10 ms = 1,0 s
+        assertEquals(72, stats.pulsesPerSecond(), 1e-6);
+    }
+
+    @Test
+    public void testJanelaDeslizanteERestart() {
+        FrameStats stats = new FrameStats(10);
+        long now = 0;
+        stats.record(now);
+        for (int i = 0; i < 10; i++) {
+            stats.record(now += 100_000_000L);
+        }
+        // Pausa na amostragem: o intervalo longo não entra
+        stats.restart();
+        now += 5_000_000_000L;
+        stats.record(now);
+        for (int i = 0; i < 10; i++) {
+            stats.record(now += 20_000_000L);
+        }
+
+        assertEquals(10, stats.getWindowCount());
+        assertEquals(20.0, stats.percentileMillis(99), 1e-9);
+        assertEquals(20, stats.getTotalFrames());
+        assertEquals(100.0, stats.getMaxMillis(), 1e-9);
+    }
+}
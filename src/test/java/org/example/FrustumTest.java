@@ -0,0 +1,36 @@
+package org.example;
+
+import org.example.Util.Frustum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FrustumTest {
+
+    private static final double[] ORIGIN = {0, 0, 0};
+
+    @Test
+    public void testCaixasDentroEFora() {
+        // Câmera na origem olhando para +Z, 90 graus nos dois eixos
+        Frustum frustum = new Frustum();
+        frustum.set(ORIGIN, new double[]{1, 0, 0}, new double[]{0, 1, 0}, new double[]{0, 0, 1}, 1, 1, 0.1, 100);
+
+        Assertions.assertTrue(frustum.intersects(-1, -1, 9, 1, 1, 11), "Caixa à frente deveria estar visível");
+        Assertions.assertTrue(frustum.intersects(8, -1, 9, 12, 1, 11), "Caixa cortando a borda deveria estar visível");
+        Assertions.assertFalse(frustum.intersects(-1, -1, -11, 1, 1, -9), "Caixa atrás da câmera");
+        Assertions.assertFalse(frustum.intersects(20, -1, 9, 22, 1, 11), "Caixa à direita, fora do ângulo");
+        Assertions.assertFalse(frustum.intersects(-1, 20, 9, 1, 22, 11), "Caixa abaixo, fora do ângulo");
+        Assertions.assertFalse(frustum.intersects(-1, -1, 150, 1, 1, 160), "Caixa além do plano distante");
+    }
+
+    @Test
+    public void testCameraGiradaEDeslocada() {
+        // Câmera em (0, 0, 10) olhando para -Z (girada 180 graus em Y)
+        Frustum frustum = new Frustum();
+        frustum.set(new double[]{0, 0, 10}, new double[]{-1, 0, 0}, new double[]{0, 1, 0}, new double[]{0, 0, -1},
+                0.5, 0.5, 0.1, 100);
+
+        Assertions.assertTrue(frustum.intersects(-1, -1, -1, 1, 1, 1), "Origem deveria estar visível");
+        Assertions.assertFalse(frustum.intersects(-1, -1, 15, 1, 1, 20), "Caixa atrás da câmera");
+        Assertions.assertFalse(frustum.intersects(8, -1, -1, 9, 1, 1), "Caixa fora do ângulo de 53 graus");
+    }
+}
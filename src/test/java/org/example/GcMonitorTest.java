@@ -0,0 +1,26 @@
+package org.example;
+
+import org.example.Util.GcMonitor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GcMonitorTest {
+
+    @Test
+    public void testRecebeNotificacaoDeColeta() throws InterruptedException {
+        try (GcMonitor monitor = GcMonitor.start()) {
+            System.gc();
+            // Notificações chegam de forma assíncrona
+            for (int i = 0; i < 50 && monitor.getRecent().isEmpty(); i++) {
+                Thread.sleep(100);
+            }
+
+            assertFalse(monitor.getRecent().isEmpty());
+            GcMonitor.Collection last = monitor.getRecent().get(monitor.getRecent().size() - 1);
+            assertTrue(last.getDurationMillis() >= 0);
+            assertTrue(monitor.getPauseCount() + monitor.getConcurrentCount() >= 1);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example;
+
+import org.example.Util.GeodesicDistance;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GeodesicDistanceTest {
+
+    @Test
+    public void testPlanoDistanciaIgualEuclidiana() {
+        GeodesicDistance geodesic = grid(40, 0);
+
+        GeodesicDistance.Path path = geodesic.shortestPath(0, 0, 0, 40, 13, 0);
+
+        assertNotNull(path);
+        double straight = Math.sqrt(40 * 40 + 13 * 13);
+        // Só arestas da malha daria cerca de 5% a mais; o refinamento deve chegar perto da reta
+        assertEquals(straight, path.getLength(), straight * 0.01);
+        assertEquals(0, path.getPoints()[0], 1e-6);
+        assertEquals(40, path.getPoints()[path.getPoints().length - 3], 1e-6);
+    }
+
+    @Test
+    public void testCaminhoContornaDobraDaSuperficie() {
+        // Duas faces do "telhado": o caminho tem que subir e descer pela dobra
+        GeodesicDistance geodesic = grid(20, 1);
+
+        GeodesicDistance.Path path = geodesic.shortestPath(0, 10, 0, 20, 10, 0);
+
+        assertNotNull(path);
+        double expected = 2 * Math.sqrt(10 * 10 + 10 * 10);
+        assertEquals(expected, path.getLength(), expected * 0.01);
+        assertTrue(path.getLength() > 20);
+    }
+
+    @Test
+    public void testPartesDesconectadas() {
+        float[] positions = {0, 0, 0, 1, 0, 0, 0, 1, 0, 5, 5, 5, 6, 5, 5, 5, 6, 5};
+        GeodesicDistance geodesic = GeodesicDistance.build(positions, new int[]{0, 1, 2, 3, 4, 5});
+
+        assertNull(geodesic.shortestPath(0, 0, 0, 5, 5, 5));
+        assertEquals(6, geodesic.getEdgeCount());
+    }
+
+    // Grade n x n no plano XY; com slope != 0, z sobe até o meio em x e desce depois
+    private static GeodesicDistance grid(int n, double slope) {
+        float[] positions = new float[(n + 1) * (n + 1) * 3];
+        for (int y = 0; y <= n; y++) {
+            for (int x = 0; x <= n; x++) {
+                int p = (y * (n + 1) + x) * 3;
+                positions[p] = x;
+                positions[p + 1] = y;
+                positions[p + 2] = (float) (slope * (n / 2.0 - Math.abs(x - n / 2.0)));
+            }
+        }
+        int[] triangles = new int[n * n * 6];
+        int t = 0;
+        for (int y = 0; y < n; y++) {
+            for (int x = 0; x < n; x++) {
+                int a = y * (n + 1) + x, b = a + 1, c = a + n + 1, d = c + 1;
+                triangles[t++] = a; triangles[t++] = b; triangles[t++] = d;
+                triangles[t++] = a; triangles[t++] = d; triangles[t++] = c;
+            }
+        }
+        return GeodesicDistance.build(positions, triangles);
+    }
+}
@@ -0,0 +1,61 @@
+package org.example;
+
+import org.example.Service.GeometryAnalysisService;
+import org.example.Util.MeshData;
+import org.example.Util.ObjParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GeometryAnalysisServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    // Cubo 2x3x4 com normais para fora, faces divididas em dois grupos
+    private static final String BOX =
+            "v 0 0 0\nv 2 0 0\nv 2 3 0\nv 0 3 0\nv 0 0 4\nv 2 0 4\nv 2 3 4\nv 0 3 4\n" +
+            "g laterais\n" +
+            "f 1 4 3\nf 1 3 2\nf 5 6 7\nf 5 7 8\n" +
+            "f 1 2 6\nf 1 6 5\nf 4 8 7\nf 4 7 3\n" +
+            "g pontas\n" +
+            "f 1 5 8\nf 1 8 4\nf 2 3 7\n";
+
+    private MeshData parse(String obj) throws IOException {
+        Path file = tempDir.resolve("box.obj");
+        Files.writeString(file, obj, StandardCharsets.UTF_8);
+        return ObjParser.parse(file);
+    }
+
+    @Test
+    public void testCaixaFechada() throws IOException {
+        GeometryAnalysisService.Result result = new GeometryAnalysisService().analyze(parse(BOX + "f 2 7 6\n"));
+
+        assertEquals(2 * (2 * 3 + 2 * 4 + 3 * 4), result.getSurfaceArea(), 1e-9);
+        assertEquals(24, result.getVolume(), 1e-9);
+        assertEquals(2 * (2 * 3 + 2 * 4), result.getGroupAreas().get("laterais"), 1e-9);
+        assertEquals(2 * 3 * 4, result.getGroupAreas().get("pontas"), 1e-9);
+        assertTrue(result.isWatertight());
+    }
+
+    @Test
+    public void testMalhaAbertaEInvertida() throws IOException {
+        GeometryAnalysisService.Result open = new GeometryAnalysisService().analyze(parse(BOX));
+        assertFalse(open.isWatertight());
+        assertEquals(3, open.getBoundaryEdges());
+
+        // Último triângulo com a orientação trocada
+        GeometryAnalysisService.Result flipped = new GeometryAnalysisService().analyze(parse(BOX + "f 2 6 7\n"));
+        assertFalse(flipped.isWatertight());
+        assertEquals(0, flipped.getBoundaryEdges());
+        assertEquals(3, flipped.getMisorientedEdges());
+    }
+}
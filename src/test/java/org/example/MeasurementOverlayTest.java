@@ -0,0 +1,166 @@
+package org.example;
+
+import javafx.collections.ObservableFloatArray;
+import javafx.geometry.Point3D;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.input.PickResult;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+import org.example.Util.MeasurementOverlay;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MeasurementOverlayTest {
+
+    private MeasurementOverlay overlay;
+    private MeshView markerView;
+    private MeshView segmentView;
+    private int pointsPerMarker;
+    private int facesPerMarker;
+
+    @BeforeEach
+    public void setUp() {
+        overlay = new MeasurementOverlay(Color.RED, Color.YELLOW);
+        for (Node child : ((Group) overlay.getNode()).getChildren()) {
+            if (overlay.isMarkerNode(child)) {
+                markerView = (MeshView) child;
+            } else {
+                segmentView = (MeshView) child;
+            }
+        }
+        // Tamanho de um item medido a partir de um marcador
+        overlay.addMarker(Point3D.ZERO);
+        pointsPerMarker = mesh(markerView).getPoints().size();
+        facesPerMarker = mesh(markerView).getFaces().size() / mesh(markerView).getFaceElementSize();
+        overlay.clear();
+    }
+
+    private static TriangleMesh mesh(MeshView view) {
+        return (TriangleMesh) view.getMesh();
+    }
+
+    // Centro do item: média dos vértices (esfera simétrica)
+    private Point3D markerCenter(int index) {
+        ObservableFloatArray points = mesh(markerView).getPoints();
+        double x = 0, y = 0, z = 0;
+        int start = index * pointsPerMarker;
+        for (int i = start; i < start + pointsPerMarker; i += 3) {
+            x += points.get(i);
+            y += points.get(i + 1);
+            z += points.get(i + 2);
+        }
+        int vertices = pointsPerMarker / 3;
+        return new Point3D(x / vertices, y / vertices, z / vertices);
+    }
+
+    private int pickedMarker(int face) {
+        return overlay.getMarkerIndex(new PickResult(markerView, Point3D.ZERO, 1.0, face, null));
+    }
+
+    private void assertMarkerArrays(int count) {
+        TriangleMesh mesh = mesh(markerView);
+        assertEquals(count, overlay.getMarkerCount());
+        assertEquals(count * pointsPerMarker, mesh.getPoints().size());
+        assertEquals(count * facesPerMarker * mesh.getFaceElementSize(), mesh.getFaces().size());
+        // Faces só apontam para pontos existentes
+        int pointCount = mesh.getPoints().size() / 3;
+        for (int i = 0; i < mesh.getFaces().size(); i += 2) {
+            Assertions.assertTrue(mesh.getFaces().get(i) < pointCount, "Face aponta para ponto inexistente");
+        }
+        assertEquals(count > 0, markerView.isVisible());
+    }
+
+    private static void assertNear(Point3D expected, Point3D actual) {
+        Assertions.assertTrue(expected.distance(actual) < 1e-4, "Esperado " + expected + ", obtido " + actual);
+    }
+
+    @Test
+    public void testInserirMarcadorDeslocaOsSeguintes() {
+        Point3D a = new Point3D(1, 0, 0), b = new Point3D(0, 2, 0), c = new Point3D(0, 0, 3);
+        overlay.addMarker(a);
+        overlay.addMarker(c);
+        overlay.insertMarker(1, b);
+
+        assertMarkerArrays(3);
+        assertNear(a, markerCenter(0));
+        assertNear(b, markerCenter(1));
+        assertNear(c, markerCenter(2));
+        assertEquals(0, pickedMarker(0));
+        assertEquals(1, pickedMarker(facesPerMarker));
+        assertEquals(2, pickedMarker(facesPerMarker * 3 - 1));
+    }
+
+    @Test
+    public void testRemoverMarcadorReduzOsArrays() {
+        Point3D a = new Point3D(1, 0, 0), b = new Point3D(0, 2, 0), c = new Point3D(0, 0, 3);
+        overlay.addMarker(a);
+        overlay.addMarker(b);
+        overlay.addMarker(c);
+        overlay.removeMarker(0);
+
+        assertMarkerArrays(2);
+        assertNear(b, markerCenter(0));
+        assertNear(c, markerCenter(1));
+        assertEquals(1, pickedMarker(facesPerMarker + 1));
+
+        overlay.removeMarker(1);
+        assertMarkerArrays(1);
+        assertNear(b, markerCenter(0));
+    }
+
+    @Test
+    public void testLimparERecomecar() {
+        overlay.addMarker(new Point3D(1, 1, 1));
+        overlay.addMarker(new Point3D(2, 2, 2));
+        overlay.clear();
+
+        assertMarkerArrays(0);
+        assertEquals(0, mesh(segmentView).getPoints().size());
+
+        // Depois de limpar, o primeiro marcador volta a ser o item 0
+        Point3D d = new Point3D(-1, 0, 5);
+        overlay.addMarker(d);
+        assertMarkerArrays(1);
+        assertNear(d, markerCenter(0));
+        assertEquals(0, pickedMarker(facesPerMarker - 1));
+    }
+
+    @Test
+    public void testPickingForaDosMarcadores() {
+        overlay.addMarker(Point3D.ZERO);
+
+        assertEquals(-1, overlay.getMarkerIndex(new PickResult(segmentView, Point3D.ZERO, 1.0, 0, null)));
+        assertEquals(-1, pickedMarker(-1));
+        assertEquals(-1, overlay.getMarkerIndex(null));
+    }
+
+    @Test
+    public void testSegmentosDaPolilinhaERemocao() {
+        overlay.addPolyline(List.of(Point3D.ZERO, new Point3D(1, 0, 0), new Point3D(1, 1, 0), new Point3D(0, 1, 0)));
+        TriangleMesh mesh = mesh(segmentView);
+        int pointsPerSegment = mesh.getPoints().size() / 3;
+        int facesPerSegment = mesh.getFaces().size() / 3;
+
+        assertEquals(3, overlay.getSegmentCount());
+        overlay.removeSegment(1);
+        assertEquals(2, overlay.getSegmentCount());
+        assertEquals(pointsPerSegment * 2, mesh.getPoints().size());
+        assertEquals(facesPerSegment * 2, mesh.getFaces().size());
+
+        overlay.insertSegment(0, new Point3D(0, 0, 1), Point3D.ZERO);
+        assertEquals(pointsPerSegment * 3, mesh.getPoints().size());
+        assertEquals(facesPerSegment * 3, mesh.getFaces().size());
+        // Primeiro segmento agora vai de (0,0,1) à origem: todos os vértices com x, y próximos de 0
+        for (int i = 0; i < pointsPerSegment; i += 3) {
+            Assertions.assertTrue(Math.abs(mesh.getPoints().get(i)) < 0.1);
+            Assertions.assertTrue(Math.abs(mesh.getPoints().get(i + 1)) < 0.1);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.example;
+
+import javafx.geometry.Point3D;
+import org.example.Util.MeasurementSession;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MeasurementSessionTest {
+
+    @Test
+    public void testComprimentosIguaisAListaSimples() {
+        Random random = new Random(3);
+        MeasurementSession session = new MeasurementSession();
+        List<Point3D> expected = new ArrayList<>();
+
+        for (int step = 0; step < 2000; step++) {
+            int op = expected.isEmpty() ? 0 : random.nextInt(3);
+            Point3D point = new Point3D(random.nextDouble() * 10, random.nextDouble() * 10, random.nextDouble() * 10);
+            if (op == 0) {
+                int index = random.nextInt(expected.size() + 1);
+                session.insert(index, point);
+                expected.add(index, point);
+            } else if (op == 1) {
+                int index = random.nextInt(expected.size());
+                session.move(index, point);
+                expected.set(index, point);
+            } else {
+                int index = random.nextInt(expected.size());
+                session.remove(index);
+                expected.remove(index);
+            }
+            assertEquals(expected.size(), session.size());
+            assertEquals(length(expected, 0, expected.size() - 1), session.getTotalLength(), 1e-6);
+        }
+
+        assertEquals(expected, session.toList());
+        if (expected.size() > 3) {
+            assertEquals(length(expected, 1, expected.size() - 2), session.getLength(1, expected.size() - 2), 1e-6);
+            assertEquals(expected.get(1).distance(expected.get(2)), session.getSegmentLength(1), 1e-9);
+        }
+    }
+
+    @Test
+    public void testDesfazerERefazer() {
+        MeasurementSession session = new MeasurementSession();
+        session.add(new Point3D(0, 0, 0));
+        session.add(new Point3D(3, 0, 0));
+        session.add(new Point3D(3, 4, 0));
+        session.insert(1, new Point3D(0, 4, 0));
+        session.move(3, new Point3D(3, 8, 0));
+        session.remove(0);
+        List<Point3D> edited = session.toList();
+        double editedLength = session.getTotalLength();
+
+        session.clear();
+        assertTrue(session.isEmpty());
+
+        // Desfaz tudo: limpar, remover, mover, inserir e as três inclusões
+        for (int i = 0; i < 7; i++) {
+            assertTrue(session.undo());
+            if (i == 0) {
+                assertEquals(edited, session.toList());
+            }
+        }
+        assertFalse(session.undo());
+        assertEquals(0, session.getTotalLength(), 1e-12);
+
+        while (session.redo()) {
+            // refaz até o fim
+        }
+        assertTrue(session.isEmpty());
+        session.undo();
+        assertEquals(edited, session.toList());
+        assertEquals(editedLength, session.getTotalLength(), 1e-9);
+    }
+
+    @Test
+    public void testTransformarCaminhoEHistorico() {
+        MeasurementSession session = new MeasurementSession();
+        session.add(new Point3D(0, 0, 0));
+        session.add(new Point3D(1, 0, 0));
+        session.move(1, new Point3D(2, 0, 0));
+
+        session.transform(p -> new Point3D(p.getX() + 10, p.getY(), p.getZ()));
+
+        assertEquals(new Point3D(12, 0, 0), session.get(1));
+        assertEquals(2.0, session.getTotalLength(), 1e-12);
+        assertTrue(session.undo());
+        assertEquals(new Point3D(11, 0, 0), session.get(1));
+        assertTrue(session.undo());
+        assertEquals(1, session.size());
+        assertEquals(new Point3D(10, 0, 0), session.get(0));
+    }
+
+    private static double length(List<Point3D> points, int from, int to) {
+        double total = 0;
+        for (int i = from + 1; i <= to; i++) {
+            total += points.get(i - 1).distance(points.get(i));
+        }
+        return total;
+    }
+}
@@ -0,0 +1,86 @@
+package org.example;
+
+import org.example.Util.MeshBvh;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class MeshBvhTest {
+
+    @Test
+    public void testRaioNoCentroDeUmTriangulo() {
+        float[] positions = {0, 0, 0, 1, 0, 0, 0, 1, 0};
+        MeshBvh bvh = MeshBvh.build(positions, new int[]{0, 1, 2});
+
+        MeshBvh.Hit hit = bvh.intersect(0.25, 0.25, 5, 0, 0, -1);
+
+        assertNotNull(hit);
+        assertEquals(0, hit.getTriangle());
+        assertEquals(5.0, hit.getDistance(), 1e-9);
+        assertEquals(0.25, hit.getU(), 1e-9);
+        assertEquals(0.25, hit.getV(), 1e-9);
+        assertEquals(0.0, hit.getZ(), 1e-9);
+        assertNull(bvh.intersect(2, 2, 5, 0, 0, -1));
+    }
+
+    @Test
+    public void testMesmoResultadoQueForcaBruta() {
+        Random random = new Random(42);
+        int triangleCount = 20000;
+        float[] positions = new float[triangleCount * 9];
+        int[] triangles = new int[triangleCount * 3];
+        for (int t = 0; t < triangleCount; t++) {
+            float cx = random.nextFloat() * 10, cy = random.nextFloat() * 10, cz = random.nextFloat() * 10;
+            for (int corner = 0; corner < 3; corner++) {
+                int p = (t * 3 + corner) * 3;
+                positions[p] = cx + random.nextFloat() * 0.5f;
+                positions[p + 1] = cy + random.nextFloat() * 0.5f;
+                positions[p + 2] = cz + random.nextFloat() * 0.5f;
+                triangles[t * 3 + corner] = t * 3 + corner;
+            }
+        }
+        MeshBvh bvh = MeshBvh.build(positions, triangles);
+
+        for (int i = 0; i < 200; i++) {
+            double ox = random.nextDouble() * 10, oy = random.nextDouble() * 10, oz = -5;
+            double dx = random.nextDouble() - 0.5, dy = random.nextDouble() - 0.5, dz = 1;
+
+            MeshBvh.Hit hit = bvh.intersect(ox, oy, oz, dx, dy, dz);
+            double best = bruteForce(positions, triangleCount, ox, oy, oz, dx, dy, dz);
+
+            if (best == Double.POSITIVE_INFINITY) {
+                assertNull(hit);
+            } else {
+                assertNotNull(hit);
+                assertEquals(best, hit.getDistance(), 1e-9);
+            }
+        }
+    }
+
+    // Möller-Trumbore em todos os triângulos
+    private static double bruteForce(float[] p, int triangleCount, double ox, double oy, double oz,
+                                     double dx, double dy, double dz) {
+        double best = Double.POSITIVE_INFINITY;
+        for (int t = 0; t < triangleCount; t++) {
+            int a = t * 9, b = a + 3, c = a + 6;
+            double e1x = p[b] - p[a], e1y = p[b + 1] - p[a + 1], e1z = p[b + 2] - p[a + 2];
+            double e2x = p[c] - p[a], e2y = p[c + 1] - p[a + 1], e2z = p[c + 2] - p[a + 2];
+            double px = dy * e2z - dz * e2y, py = dz * e2x - dx * e2z, pz = dx * e2y - dy * e2x;
+            double det = e1x * px + e1y * py + e1z * pz;
+            if (Math.abs(det) < 1e-20) continue;
+            double sx = ox - p[a], sy = oy - p[a + 1], sz = oz - p[a + 2];
+            double u = (sx * px + sy * py + sz * pz) / det;
+            double qx = sy * e1z - sz * e1y, qy = sz * e1x - sx * e1z, qz = sx * e1y - sy * e1x;
+            double v = (dx * qx + dy * qy + dz * qz) / det;
+            double hit = (e2x * qx + e2y * qy + e2z * qz) / det;
+            if (u >= 0 && v >= 0 && u + v <= 1 && hit >= 0 && hit < best) {
+                best = hit;
+            }
+        }
+        return best;
+    }
+}
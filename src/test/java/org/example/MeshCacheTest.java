@@ -0,0 +1,86 @@
+package org.example;
+
+import org.example.Util.MeshCache;
+import org.example.Util.MeshData;
+import org.example.Util.ObjParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MeshCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeObj(String name, int triangles) throws IOException {
+        StringBuilder obj = new StringBuilder("g peca\n");
+        for (int i = 0; i < triangles; i++) {
+            obj.append("v ").append(i).append(" 0 0\nv ").append(i).append(" 1 0\nv ").append(i).append(" 0 1\n");
+            obj.append("f -3 -2 -1\n");
+        }
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, obj.toString(), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @Test
+    public void testGravarELerDoCache() throws IOException {
+        Path obj = writeObj("modelo.obj", 10);
+        MeshCache cache = new MeshCache(tempDir.resolve("cache"), Long.MAX_VALUE);
+        MeshData original = ObjParser.parse(obj);
+
+        Assertions.assertNull(cache.get(obj), "Cache vazio não deveria ter o modelo");
+        cache.put(obj, original);
+        MeshData cached = cache.get(obj);
+
+        Assertions.assertNotNull(cached, "Modelo deveria estar no cache");
+        assertArrayEquals(original.getPositions(), cached.getPositions());
+        assertArrayEquals(original.getFaces(), cached.getFaces());
+        assertArrayEquals(original.getBounds(), cached.getBounds());
+        assertEquals("peca", cached.getSegmentGroup(0));
+
+        // Cópia com outro nome é encontrada pelo hash do conteúdo
+        Path copy = tempDir.resolve("copia.obj");
+        Files.copy(obj, copy);
+        Assertions.assertNotNull(cache.get(copy), "Cópia deveria ser encontrada pelo conteúdo");
+    }
+
+    @Test
+    public void testArquivoNovoNaoCasaComOutroConteudo() throws IOException {
+        Path obj = writeObj("modelo.obj", 10);
+        MeshCache cache = new MeshCache(tempDir.resolve("cache"), Long.MAX_VALUE);
+        cache.put(obj, ObjParser.parse(obj));
+
+        // Tamanho diferente: nem chega a comparar o conteúdo
+        Assertions.assertNull(cache.get(writeObj("maior.obj", 11)));
+        // Mesmo tamanho, conteúdo diferente
+        Path other = tempDir.resolve("outro.obj");
+        Files.writeString(other, Files.readString(obj).replace("peca", "pecb"), StandardCharsets.UTF_8);
+        Assertions.assertNull(cache.get(other));
+    }
+
+    @Test
+    public void testLimiteRemoveEntradasAntigas() throws IOException {
+        Path first = writeObj("a.obj", 200);
+        Path second = writeObj("b.obj", 300);
+        MeshCache cache = new MeshCache(tempDir.resolve("cache"), 12_000);
+
+        cache.put(first, ObjParser.parse(first));
+        cache.put(second, ObjParser.parse(second));
+
+        try (Stream<Path> entries = Files.list(cache.getDirectory())) {
+            assertEquals(1, entries.filter(p -> p.toString().endsWith(".bmesh")).count());
+        }
+        Assertions.assertNull(cache.get(first), "Entrada mais antiga deveria ter sido removida");
+        Assertions.assertNotNull(cache.get(second), "Entrada mais recente deveria permanecer");
+    }
+}
@@ -0,0 +1,136 @@
+package org.example;
+
+import org.example.Util.MeshBvh;
+import org.example.Util.MeshDeviation;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MeshDeviationTest {
+
+    @Test
+    public void testGradesParalelas() {
+        MeshBvh inspected = grid(20, 1, 1, 0.5f);
+        MeshBvh reference = grid(7, 1, 1, 0);
+
+        MeshDeviation.Result result = MeshDeviation.compare(inspected, reference);
+
+        assertEquals(21 * 21, result.getVertexCount());
+        assertEquals(0.5, result.getMean(), 1e-6);
+        assertEquals(0.5, result.getPercentile(50), 1e-6);
+        assertEquals(0.5, result.getPercentile(99), 1e-6);
+        assertEquals(0.5, result.getHausdorff(), 1e-6);
+    }
+
+    @Test
+    public void testHausdorffNosDoisSentidos() {
+        // Quadrado [0, 1]² dentro do quadrado [0, 3]², no mesmo plano
+        MeshBvh inspected = grid(4, 1, 1, 0);
+        MeshBvh reference = grid(6, 3, 3, 0);
+
+        MeshDeviation.Result result = MeshDeviation.compare(inspected, reference);
+
+        assertEquals(0.0, result.getForwardHausdorff(), 1e-6);
+        assertEquals(2 * Math.sqrt(2), result.getBackwardHausdorff(), 1e-6);
+        assertEquals(2 * Math.sqrt(2), result.getHausdorff(), 1e-6);
+    }
+
+    @Test
+    public void testPontoMaisProximoIgualAForcaBruta() {
+        Random random = new Random(11);
+        int triangleCount = 3000;
+        float[] positions = new float[triangleCount * 9];
+        int[] triangles = new int[triangleCount * 3];
+        for (int t = 0; t < triangleCount; t++) {
+            float cx = random.nextFloat() * 10, cy = random.nextFloat() * 10, cz = random.nextFloat() * 10;
+            for (int corner = 0; corner < 3; corner++) {
+                int p = (t * 3 + corner) * 3;
+                positions[p] = cx + random.nextFloat();
+                positions[p + 1] = cy + random.nextFloat();
+                positions[p + 2] = cz + random.nextFloat();
+                triangles[t * 3 + corner] = t * 3 + corner;
+            }
+        }
+        MeshBvh bvh = MeshBvh.build(positions, triangles);
+        double[] out = new double[MeshBvh.CLOSEST_POINT_SIZE];
+
+        for (int i = 0; i < 300; i++) {
+            double x = random.nextDouble() * 12 - 1, y = random.nextDouble() * 12 - 1, z = random.nextDouble() * 12 - 1;
+            int triangle = bvh.closestPoint(x, y, z, Double.POSITIVE_INFINITY, out);
+
+            double best = Double.POSITIVE_INFINITY;
+            for (int t = 0; t < triangleCount; t++) {
+                best = Math.min(best, distanceToTriangle(positions, t * 9, x, y, z));
+            }
+            assertTrue(triangle >= 0);
+            assertEquals(best, Math.sqrt(out[3]), 1e-6);
+            double dx = out[0] - x, dy = out[1] - y, dz = out[2] - z;
+            assertEquals(out[3], dx * dx + dy * dy + dz * dz, 1e-9);
+        }
+    }
+
+    // Grade n x n de quadrados cobrindo [0, width] x [0, height] na altura z
+    private static MeshBvh grid(int n, float width, float height, float z) {
+        float[] positions = new float[(n + 1) * (n + 1) * 3];
+        int[] triangles = new int[n * n * 6];
+        for (int i = 0; i <= n; i++) {
+            for (int j = 0; j <= n; j++) {
+                int v = (i * (n + 1) + j) * 3;
+                positions[v] = width * j / n;
+                positions[v + 1] = height * i / n;
+                positions[v + 2] = z;
+            }
+        }
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                int a = i * (n + 1) + j, b = a + 1, c = a + n + 1, d = c + 1;
+                triangles[k++] = a;
+                triangles[k++] = b;
+                triangles[k++] = d;
+                triangles[k++] = a;
+                triangles[k++] = d;
+                triangles[k++] = c;
+            }
+        }
+        return MeshBvh.build(positions, triangles);
+    }
+
+    // Projeção no plano quando cai dentro do triângulo; senão a menor distância às três arestas
+    private static double distanceToTriangle(float[] p, int a, double x, double y, double z) {
+        int b = a + 3, c = a + 6;
+        double e1x = p[b] - p[a], e1y = p[b + 1] - p[a + 1], e1z = p[b + 2] - p[a + 2];
+        double e2x = p[c] - p[a], e2y = p[c + 1] - p[a + 1], e2z = p[c + 2] - p[a + 2];
+        double nx = e1y * e2z - e1z * e2y, ny = e1z * e2x - e1x * e2z, nz = e1x * e2y - e1y * e2x;
+        double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        nx /= length;
+        ny /= length;
+        nz /= length;
+        double height = (x - p[a]) * nx + (y - p[a + 1]) * ny + (z - p[a + 2]) * nz;
+        double qx = x - height * nx, qy = y - height * ny, qz = z - height * nz;
+        if (sameSide(p, a, b, c, qx, qy, qz, nx, ny, nz) && sameSide(p, b, c, a, qx, qy, qz, nx, ny, nz)
+                && sameSide(p, c, a, b, qx, qy, qz, nx, ny, nz)) {
+            return Math.abs(height);
+        }
+        return Math.min(segment(p, a, b, x, y, z), Math.min(segment(p, b, c, x, y, z), segment(p, c, a, x, y, z)));
+    }
+
+    private static boolean sameSide(float[] p, int from, int to, int other, double x, double y, double z,
+                                    double nx, double ny, double nz) {
+        double ex = p[to] - p[from], ey = p[to + 1] - p[from + 1], ez = p[to + 2] - p[from + 2];
+        double qx = x - p[from], qy = y - p[from + 1], qz = z - p[from + 2];
+        double cx = ey * qz - ez * qy, cy = ez * qx - ex * qz, cz = ex * qy - ey * qx;
+        return cx * nx + cy * ny + cz * nz >= 0;
+    }
+
+    private static double segment(float[] p, int from, int to, double x, double y, double z) {
+        double ex = p[to] - p[from], ey = p[to + 1] - p[from + 1], ez = p[to + 2] - p[from + 2];
+        double t = ((x - p[from]) * ex + (y - p[from + 1]) * ey + (z - p[from + 2]) * ez) / (ex * ex + ey * ey + ez * ez);
+        t = Math.max(0, Math.min(1, t));
+        double dx = p[from] + ex * t - x, dy = p[from + 1] + ey * t - y, dz = p[from + 2] + ez * t - z;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+}
@@ -0,0 +1,175 @@
+package org.example;
+
+import org.example.Util.MeshSimplifier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MeshSimplifierTest {
+
+    // Grade plana n x n no quadrado [0,1]² (malha aberta)
+    private static float[] gridPositions(int n) {
+        float[] positions = new float[(n + 1) * (n + 1) * 3];
+        for (int y = 0; y <= n; y++) {
+            for (int x = 0; x <= n; x++) {
+                int v = (y * (n + 1) + x) * 3;
+                positions[v] = (float) x / n;
+                positions[v + 1] = (float) y / n;
+            }
+        }
+        return positions;
+    }
+
+    private static int[] gridTriangles(int n) {
+        int[] triangles = new int[n * n * 6];
+        int t = 0;
+        for (int y = 0; y < n; y++) {
+            for (int x = 0; x < n; x++) {
+                int a = y * (n + 1) + x;
+                int b = a + 1;
+                int c = a + n + 1;
+                int d = c + 1;
+                triangles[t++] = a; triangles[t++] = b; triangles[t++] = d;
+                triangles[t++] = a; triangles[t++] = d; triangles[t++] = c;
+            }
+        }
+        return triangles;
+    }
+
+    // Esfera UV de raio 1 centrada na origem (malha fechada, normais para fora)
+    private static float[] spherePositions(int rings, int sectors) {
+        float[] positions = new float[((rings - 1) * sectors + 2) * 3];
+        int v = 0;
+        positions[v++] = 0; positions[v++] = 1; positions[v++] = 0;
+        for (int r = 1; r < rings; r++) {
+            double phi = Math.PI * r / rings;
+            for (int s = 0; s < sectors; s++) {
+                double theta = 2 * Math.PI * s / sectors;
+                positions[v++] = (float) (Math.sin(phi) * Math.cos(theta));
+                positions[v++] = (float) Math.cos(phi);
+                positions[v++] = (float) (Math.sin(phi) * Math.sin(theta));
+            }
+        }
+        positions[v++] = 0; positions[v++] = -1; positions[v] = 0;
+        return positions;
+    }
+
+    private static int[] sphereTriangles(int rings, int sectors) {
+        int[] triangles = new int[(rings - 1) * sectors * 6];
+        int south = (rings - 1) * sectors + 1;
+        int t = 0;
+        for (int s = 0; s < sectors; s++) {
+            int next = (s + 1) % sectors;
+            triangles[t++] = 0; triangles[t++] = 1 + next; triangles[t++] = 1 + s;
+            int last = 1 + (rings - 2) * sectors;
+            triangles[t++] = south; triangles[t++] = last + s; triangles[t++] = last + next;
+        }
+        for (int r = 0; r < rings - 2; r++) {
+            for (int s = 0; s < sectors; s++) {
+                int next = (s + 1) % sectors;
+                int a = 1 + r * sectors + s;
+                int b = 1 + r * sectors + next;
+                int c = a + sectors;
+                int d = b + sectors;
+                triangles[t++] = a; triangles[t++] = b; triangles[t++] = d;
+                triangles[t++] = a; triangles[t++] = d; triangles[t++] = c;
+            }
+        }
+        return triangles;
+    }
+
+    // Normal (não normalizada) do triângulo t
+    private static double[] normal(float[] p, int[] tri, int t) {
+        int a = tri[t * 3] * 3, b = tri[t * 3 + 1] * 3, c = tri[t * 3 + 2] * 3;
+        double e1x = p[b] - p[a], e1y = p[b + 1] - p[a + 1], e1z = p[b + 2] - p[a + 2];
+        double e2x = p[c] - p[a], e2y = p[c + 1] - p[a + 1], e2z = p[c + 2] - p[a + 2];
+        return new double[]{e1y * e2z - e1z * e2y, e1z * e2x - e1x * e2z, e1x * e2y - e1y * e2x};
+    }
+
+    private static void assertValidIndices(MeshSimplifier.Result result) {
+        int vertexCount = result.getPositions().length / 3;
+        assertEquals(0, result.getPositions().length % 3);
+        assertEquals(result.getTriangleCount() * 3, result.getTriangles().length);
+        boolean[] used = new boolean[vertexCount];
+        for (int index : result.getTriangles()) {
+            Assertions.assertTrue(index >= 0 && index < vertexCount, "Índice fora do intervalo: " + index);
+            used[index] = true;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            Assertions.assertTrue(used[v], "Vértice sem uso após compactar: " + v);
+        }
+    }
+
+    @Test
+    public void testAtingeNumeroDeTriangulosDesejado() {
+        int[] triangles = sphereTriangles(40, 60);
+        int target = triangles.length / 3 / 4;
+
+        MeshSimplifier.Result result = MeshSimplifier.simplify(spherePositions(40, 60), triangles, target);
+
+        Assertions.assertTrue(result.getTriangleCount() <= target,
+                "Esperado no máximo " + target + ", obtido " + result.getTriangleCount());
+        Assertions.assertTrue(result.getTriangleCount() >= target * 0.9,
+                "Simplificou demais: " + result.getTriangleCount());
+    }
+
+    @Test
+    public void testBordaDaGradeAbertaPreservada() {
+        int n = 30;
+        MeshSimplifier.Result result = MeshSimplifier.simplify(gridPositions(n), gridTriangles(n), n * n / 2);
+        float[] p = result.getPositions();
+        int[] tri = result.getTriangles();
+
+        Assertions.assertTrue(result.getTriangleCount() < n * n * 2, "Grade deveria ter sido simplificada");
+        // Área total (e portanto cantos e lados) igual à da grade original
+        double area = 0;
+        for (int t = 0; t < result.getTriangleCount(); t++) {
+            area += normal(p, tri, t)[2] / 2;
+        }
+        assertEquals(1.0, area, 1e-4);
+        // Todos os cantos continuam na malha
+        for (float[] corner : new float[][]{{0, 0}, {1, 0}, {0, 1}, {1, 1}}) {
+            boolean found = false;
+            for (int v = 0; v < p.length; v += 3) {
+                found |= p[v] == corner[0] && p[v + 1] == corner[1];
+            }
+            Assertions.assertTrue(found, "Canto perdido: " + corner[0] + ", " + corner[1]);
+        }
+        assertValidIndices(result);
+    }
+
+    @Test
+    public void testEsferaSemTriangulosDegeneradosOuInvertidos() {
+        MeshSimplifier.Result result = MeshSimplifier.simplify(spherePositions(30, 40), sphereTriangles(30, 40), 300);
+        float[] p = result.getPositions();
+        int[] tri = result.getTriangles();
+
+        for (int t = 0; t < result.getTriangleCount(); t++) {
+            int a = tri[t * 3], b = tri[t * 3 + 1], c = tri[t * 3 + 2];
+            Assertions.assertTrue(a != b && b != c && a != c, "Triângulo degenerado " + t);
+            double[] n = normal(p, tri, t);
+            double length = Math.sqrt(n[0] * n[0] + n[1] * n[1] + n[2] * n[2]);
+            Assertions.assertTrue(length > 1e-9, "Triângulo sem área " + t);
+            // Normal para fora: mesmo sentido do centroide (esfera centrada na origem)
+            double cx = p[a * 3] + p[b * 3] + p[c * 3];
+            double cy = p[a * 3 + 1] + p[b * 3 + 1] + p[c * 3 + 1];
+            double cz = p[a * 3 + 2] + p[b * 3 + 2] + p[c * 3 + 2];
+            Assertions.assertTrue(n[0] * cx + n[1] * cy + n[2] * cz > 0, "Triângulo invertido " + t);
+        }
+    }
+
+    @Test
+    public void testCompactarGeraIndicesValidos() {
+        MeshSimplifier.Result result = MeshSimplifier.simplify(spherePositions(20, 30), sphereTriangles(20, 30), 200);
+
+        assertValidIndices(result);
+        int vertexCount = result.getPositions().length / 3;
+        Assertions.assertTrue(vertexCount < 20 * 30, "Vértices removidos deveriam sair do array");
+        // Cada vértice de saída aponta para um vértice de entrada diferente
+        assertEquals(vertexCount, result.getSourceVertices().length);
+        assertEquals(vertexCount, Arrays.stream(result.getSourceVertices()).distinct().count());
+    }
+}
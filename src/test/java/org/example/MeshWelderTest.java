@@ -0,0 +1,71 @@
+package org.example;
+
+import org.example.Util.MeshData;
+import org.example.Util.MeshWelder;
+import org.example.Util.ObjParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MeshWelderTest {
+
+    @TempDir
+    Path tempDir;
+
+    // Dois triângulos com os vértices da aresta comum repetidos (um deles com ruído)
+    private MeshData parseQuad() throws IOException {
+        Path file = tempDir.resolve("quad.obj");
+        Files.writeString(file,
+                "v 0 0 0\nv 1 0 0\nv 1 1 0\n" +
+                "v 0 0 0\nv 1 1.0000001 0\nv 0 1 0\n" +
+                "vn 0 0 1\nvn 0 0 1\n" +
+                "f 1//1 2//1 3//1\n" +
+                "f 4//2 5//2 6//2\n", StandardCharsets.UTF_8);
+        return ObjParser.parse(file);
+    }
+
+    @Test
+    public void testSoldaComEpsilon() throws IOException {
+        MeshWelder.Result result = MeshWelder.weld(parseQuad(), 1e-4f);
+        MeshData welded = result.getData();
+
+        assertEquals(6, result.getVerticesBefore());
+        assertEquals(4, welded.getVertexCount());
+        assertEquals(1, welded.getNormals().length / 3);
+        assertArrayEquals(new int[]{0, -1, 0, 1, -1, 0, 2, -1, 0, 0, -1, 0, 2, -1, 0, 3, -1, 0}, welded.getFaces());
+        // 2 posições e 1 normal a menos
+        assertEquals(9L * Float.BYTES, result.getBytesSaved());
+    }
+
+    @Test
+    public void testEpsilonZeroUneSomenteIguais() throws IOException {
+        MeshWelder.Result result = MeshWelder.weld(parseQuad(), 0f);
+
+        assertEquals(5, result.getData().getVertexCount());
+        assertEquals(2, result.getData().getTriangleCount());
+    }
+
+    @Test
+    public void testValoresDosDoisLadosDaBordaDaCelula() throws IOException {
+        // 0.000199 e 0.000201 caem em células diferentes (4·epsilon = 0.0004), mas distam menos que epsilon
+        Path file = tempDir.resolve("borda.obj");
+        Files.writeString(file,
+                "v 0.000199 0 0\nv 1 0 0\nv 1 1 0\n" +
+                "v 0.000201 0 0\nv 1 1 0\nv 0 1 0\n" +
+                "v 0.0005 0 0\nv 1 2 0\nv 0 2 0\n" +
+                "f 1 2 3\nf 4 5 6\nf 7 8 9\n", StandardCharsets.UTF_8);
+
+        MeshData welded = MeshWelder.weld(ObjParser.parse(file), 1e-4f).getData();
+
+        assertEquals(welded.getFaces()[0], welded.getFaces()[9], "Par na borda deveria ser unido");
+        // 0.0005 está na célula vizinha, mas a mais de epsilon: continua separado
+        assertEquals(7, welded.getVertexCount());
+    }
+}
@@ -0,0 +1,69 @@
+package org.example;
+
+import org.example.Util.MeshData;
+import org.example.Util.ModelCache;
+import org.example.Util.ObjParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ModelCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeObj(String name) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, "v 0 0 0\nv 1 0 0\nv 0 1 0\nf 1 2 3\n", StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @Test
+    public void testAcertoEArquivoModificado() throws IOException {
+        Path file = writeObj("a.obj");
+        MeshData data = ObjParser.parse(file);
+        ModelCache cache = new ModelCache(1024 * 1024);
+
+        assertNull(cache.get(file));
+        cache.put(file, data, null);
+        assertSame(data, cache.get(file).getData());
+
+        // Nova data de modificação invalida a entrada
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 5000));
+        assertNull(cache.get(file));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testRemocaoDoMenosUsadoPeloTamanho() throws IOException {
+        Path a = writeObj("a.obj");
+        Path b = writeObj("b.obj");
+        Path c = writeObj("c.obj");
+        MeshData data = ObjParser.parse(a);
+        // Cabem apenas dois modelos
+        ModelCache cache = new ModelCache(data.getSizeInBytes() * 2);
+
+        cache.put(a, data, null);
+        cache.put(b, data, null);
+        cache.get(a);
+        cache.put(c, data, null);
+
+        assertNotNull(cache.get(a));
+        assertNull(cache.get(b));
+        assertNotNull(cache.get(c));
+        assertEquals(1, cache.getEvictions());
+        assertEquals(data.getSizeInBytes() * 2, cache.getUsedBytes());
+    }
+}
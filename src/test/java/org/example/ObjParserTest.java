@@ -0,0 +1,163 @@
+package org.example;
+
+import org.example.Util.LoadProgress;
+import org.example.Util.MeshData;
+import org.example.Util.ObjParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ObjParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeObj(String content) throws IOException {
+        Path file = tempDir.resolve("modelo.obj");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @Test
+    public void testQuadTrianguladoComNormaisETextura() throws IOException {
+        Path file = writeObj(
+                "# quadrado\n" +
+                "v 0 0 0\nv 1 0 0\nv 1 1 0\nv 0 1 0\n" +
+                "vt 0 0\nvt 1 0\nvt 1 1\nvt 0 1\n" +
+                "vn 0 0 1\n" +
+                "f 1/1/1 2/2/1 3/3/1 4/4/1\n");
+
+        MeshData data = ObjParser.parse(file);
+
+        assertEquals(4, data.getVertexCount());
+        assertEquals(2, data.getTriangleCount());
+        Assertions.assertTrue(data.hasNormals(), "Todas as faces deveriam ter normal");
+        Assertions.assertTrue(data.hasTexCoords(), "Todas as faces deveriam ter textura");
+        assertArrayEquals(new int[]{0, 0, 0, 1, 1, 0, 2, 2, 0, 0, 0, 0, 2, 2, 0, 3, 3, 0}, data.getFaces());
+        assertArrayEquals(new float[]{0, 0, 0, 1, 1, 0}, data.getBounds());
+        // Coordenada v invertida para o JavaFX
+        assertEquals(1f, data.getTexCoords()[1]);
+    }
+
+    @Test
+    public void testIndicesNegativosEGrupos() throws IOException {
+        Path file = writeObj(
+                "g parteA\n" +
+                "v 0 0 0\nv 1 0 0\nv 0 1 0\n" +
+                "f -3 -2 -1\n" +
+                "g parteB\n" +
+                "v 0 0 1\nv 1 0 1\nv 0 1 1\n" +
+                "f -3//  -2 -1\n" +
+                "f 4 5 6\n");
+
+        MeshData data = ObjParser.parse(file);
+
+        assertEquals(3, data.getTriangleCount());
+        assertEquals(2, data.getSegmentCount());
+        assertEquals("parteA", data.getSegmentGroup(0));
+        assertEquals("parteB", data.getSegmentGroup(1));
+        assertEquals(1, data.getSegmentStart(1));
+        assertEquals(3, data.getSegmentEnd(1));
+        assertEquals(3, data.getFaces()[9]);
+        assertEquals(-1, data.getFaces()[10]);
+    }
+
+    @Test
+    public void testNumerosComExpoente() throws IOException {
+        Path file = writeObj("v -1.5e2 2.5E-1 +.125\nv 1 1 1\nv 0 0 0\nf 1 2 3\n");
+
+        MeshData data = ObjParser.parse(file);
+
+        assertEquals(-150f, data.getPositions()[0]);
+        assertEquals(0.25f, data.getPositions()[1]);
+        assertEquals(0.125f, data.getPositions()[2]);
+    }
+
+    @Test
+    public void testLeituraParalelaIdenticaASequencial() throws IOException {
+        StringBuilder obj = new StringBuilder("mtllib inexistente.mtl\n");
+        int vertices = 0;
+        for (int part = 0; part < 40; part++) {
+            if (part % 3 == 0) obj.append("g parte").append(part % 7).append('\n');
+            if (part % 5 == 0) obj.append("usemtl mat").append(part % 2).append('\n');
+            for (int i = 0; i < 4; i++) {
+                obj.append("v ").append(part).append(' ').append(i * 0.5).append(" -").append(i).append(".25\n");
+                obj.append("vt ").append(i * 0.25).append(" 0.5\n");
+                obj.append("vn 0 0 1\n");
+            }
+            vertices += 4;
+            // Quadrado com índices relativos e triângulo com índices absolutos
+            obj.append("f -4/-4/-4 -3/-3/-3 -2/-2/-2 -1/-1/-1\n");
+            obj.append("f ").append(vertices - 3).append("//1 ").append(vertices - 2).append("//1 ")
+                    .append(vertices).append("//1\n");
+        }
+        Path file = writeObj(obj.toString());
+
+        MeshData sequential = ObjParser.parseSequential(file);
+        for (long chunkBytes : new long[]{16, 100, 1000}) {
+            MeshData parallel = ObjParser.parseParallel(file, chunkBytes);
+
+            assertArrayEquals(sequential.getPositions(), parallel.getPositions());
+            assertArrayEquals(sequential.getTexCoords(), parallel.getTexCoords());
+            assertArrayEquals(sequential.getNormals(), parallel.getNormals());
+            assertArrayEquals(sequential.getFaces(), parallel.getFaces());
+            assertArrayEquals(sequential.getBounds(), parallel.getBounds());
+            assertEquals(sequential.getSegmentCount(), parallel.getSegmentCount());
+            for (int s = 0; s < sequential.getSegmentCount(); s++) {
+                assertEquals(sequential.getSegmentGroup(s), parallel.getSegmentGroup(s));
+                assertEquals(sequential.getSegmentMaterial(s), parallel.getSegmentMaterial(s));
+                assertEquals(sequential.getSegmentStart(s), parallel.getSegmentStart(s));
+            }
+        }
+    }
+
+    @Test
+    public void testLeituraEmJanelasResolveIndicesGlobais() throws IOException {
+        StringBuilder obj = new StringBuilder();
+        int vertices = 0;
+        for (int part = 0; part < 30; part++) {
+            for (int i = 0; i < 4; i++) {
+                obj.append("v ").append(part).append(' ').append(i).append(" 0\nvn 0 0 1\n");
+            }
+            vertices += 4;
+            obj.append("f -4//-1 -3//-1 -2//-1 -1//-1\n");
+            obj.append("f ").append(vertices - 3).append(' ').append(vertices - 1).append(' ').append(vertices).append('\n');
+        }
+        Path file = writeObj(obj.toString());
+        MeshData reference = ObjParser.parseSequential(file);
+
+        for (long windowBytes : new long[]{16, 200, 1 << 20}) {
+            float[] positions = new float[reference.getPositions().length];
+            int[] triangles = new int[reference.getTriangleCount() * 3];
+            int[] sizes = new int[2];
+            int vertexCount = ObjParser.stream(file, windowBytes, LoadProgress.NONE,
+                    (p, positionFloats, t, triangleInts) -> {
+                        System.arraycopy(p, 0, positions, sizes[0], positionFloats);
+                        System.arraycopy(t, 0, triangles, sizes[1], triangleInts);
+                        sizes[0] += positionFloats;
+                        sizes[1] += triangleInts;
+                    });
+
+            assertEquals(reference.getVertexCount(), vertexCount);
+            assertArrayEquals(reference.getPositions(), positions);
+            for (int i = 0; i < triangles.length; i++) {
+                assertEquals(reference.getFaces()[i * 3], triangles[i], "Índice de posição " + i);
+            }
+        }
+    }
+
+    @Test
+    public void testIndiceInexistente() throws IOException {
+        Path file = writeObj("v 0 0 0\nv 1 0 0\nf 1 2 7\n");
+
+        Assertions.assertThrows(IOException.class, () -> ObjParser.parse(file));
+    }
+}
@@ -0,0 +1,160 @@
+package org.example;
+
+import org.example.Util.LoadProgress;
+import org.example.Util.MeshData;
+import org.example.Util.ObjParser;
+import org.example.Util.OctreeChunker;
+import org.example.Util.OctreeModel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class OctreeChunkerTest {
+
+    private static final int GRID = 40;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Superfície em grade com coordenadas inteiras (centro exato em float)
+     */
+    private Path writeGrid() throws IOException {
+        StringBuilder obj = new StringBuilder();
+        for (int i = 0; i <= GRID; i++) {
+            for (int j = 0; j <= GRID; j++) {
+                obj.append("v ").append(i).append(' ').append((i * j) % 3).append(' ').append(j).append('\n');
+            }
+        }
+        for (int i = 0; i < GRID; i++) {
+            for (int j = 0; j < GRID; j++) {
+                int a = i * (GRID + 1) + j + 1;
+                int b = a + GRID + 1;
+                obj.append("f ").append(a).append(' ').append(b).append(' ').append(b + 1).append(' ').append(a + 1).append('\n');
+            }
+        }
+        Path file = tempDir.resolve("grade.obj");
+        Files.writeString(file, obj.toString(), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @Test
+    public void testChunksCobremTodosOsTriangulos() throws IOException {
+        Path obj = writeGrid();
+        MeshData reference = ObjParser.parse(obj);
+
+        try (OctreeModel model = OctreeChunker.build(obj, tempDir.resolve("octree"), 300, 800, LoadProgress.NONE)) {
+            assertEquals(reference.getVertexCount(), model.getVertexCount());
+            assertEquals(reference.getTriangleCount(), model.getTriangleCount());
+            Assertions.assertTrue(model.getChunkCount() > 1, "Modelo deveria ser dividido em vários chunks");
+
+            assertSameTriangles(reference, model, 300);
+
+            // Visão geral reduzida para perto do alvo
+            long coarse = model.getTriangleCount(OctreeModel.COARSE);
+            Assertions.assertTrue(coarse < reference.getTriangleCount(), "Visão geral deveria ser simplificada: " + coarse);
+        }
+    }
+
+    @Test
+    public void testIndiceReabertoSemRefazer() throws IOException {
+        Path obj = writeGrid();
+        Path directory = tempDir.resolve("octree");
+        int chunks;
+        try (OctreeModel built = OctreeChunker.build(obj, directory, 500, 10_000, LoadProgress.NONE)) {
+            chunks = built.getChunkCount();
+            // Visão geral acima do total: mesma malha nos dois níveis
+            assertEquals(built.getTriangleCount(), built.getTriangleCount(OctreeModel.COARSE));
+        }
+
+        try (OctreeModel reopened = OctreeModel.open(directory)) {
+            Assertions.assertNotNull(reopened, "Índice completo deveria ser reaberto");
+            assertEquals(chunks, reopened.getChunkCount());
+        }
+        try (var files = Files.list(directory)) {
+            Assertions.assertTrue(files.noneMatch(f -> f.toString().endsWith(".tmp")), "Temporários deveriam ser removidos");
+        }
+        Assertions.assertNull(OctreeModel.open(tempDir.resolve("vazio")), "Pasta sem índice não é um modelo");
+    }
+
+    @Test
+    public void testCelulaFinaDensaDivididaPorFaixas() throws IOException {
+        // Faixa de 500 triângulos pequenos numa só célula fina e um triângulo distante que abre os limites
+        // (coordenadas múltiplas de 1/32: exatas em float depois de centralizar)
+        StringBuilder obj = new StringBuilder();
+        int columns = 251;
+        for (int k = 0; k < columns; k++) {
+            obj.append("v ").append(k / 32.0).append(" 0 0\nv ").append(k / 32.0).append(" 0.03125 0\n");
+        }
+        for (int k = 0; k < columns - 1; k++) {
+            int a = k * 2 + 1;
+            obj.append("f ").append(a).append(' ').append(a + 2).append(' ').append(a + 3).append(' ').append(a + 1).append('\n');
+        }
+        obj.append("v 1000 1000 1000\nv 1001 1000 1000\nv 1000 1001 1000\nf -3 -2 -1\n");
+        Path file = tempDir.resolve("denso.obj");
+        Files.writeString(file, obj.toString(), StandardCharsets.UTF_8);
+        MeshData reference = ObjParser.parse(file);
+
+        try (OctreeModel model = OctreeChunker.build(file, tempDir.resolve("octree"), 120, 10_000, LoadProgress.NONE)) {
+            assertEquals(501, model.getTriangleCount());
+            // 500 triângulos da célula em faixas de até 120, mais o distante
+            assertEquals(6, model.getChunkCount());
+            assertSameTriangles(reference, model, 120);
+        }
+    }
+
+    /**
+     * Todo chunk dentro do limite, vértices dentro dos limites do chunk e os mesmos triângulos do OBJ
+     */
+    private static void assertSameTriangles(MeshData reference, OctreeModel model, int maxTriangles) throws IOException {
+        List<String> triangles = new ArrayList<>();
+        for (int c = 0; c < model.getChunkCount(); c++) {
+            OctreeModel.Chunk chunk = model.getChunk(c);
+            Assertions.assertTrue(chunk.getTriangleCount(OctreeModel.FULL) <= maxTriangles, "Chunk acima do limite");
+
+            OctreeModel.ChunkMesh mesh = model.read(c, OctreeModel.FULL);
+            float[] p = mesh.getPositions();
+            int[] t = mesh.getTriangles();
+            for (int i = 0; i < p.length; i += 3) {
+                Assertions.assertTrue(p[i] >= chunk.getMinX() && p[i] <= chunk.getMaxX()
+                        && p[i + 2] >= chunk.getMinZ() && p[i + 2] <= chunk.getMaxZ(), "Vértice fora dos limites do chunk");
+            }
+            for (int i = 0; i < t.length; i += 3) {
+                triangles.add(key(p, t[i], t[i + 1], t[i + 2],
+                        model.getCenterX(), model.getCenterY(), model.getCenterZ()));
+            }
+        }
+
+        // Mesmos triângulos do OBJ (posições originais = gravadas + centro)
+        List<String> expected = new ArrayList<>();
+        int[] faces = reference.getFaces();
+        for (int i = 0; i < faces.length; i += 9) {
+            expected.add(key(reference.getPositions(), faces[i], faces[i + 3], faces[i + 6], 0, 0, 0));
+        }
+        Collections.sort(triangles);
+        Collections.sort(expected);
+        assertEquals(expected, triangles);
+    }
+
+    private static String key(float[] positions, int a, int b, int c, double cx, double cy, double cz) {
+        String[] corners = new String[3];
+        int[] vertices = {a, b, c};
+        for (int k = 0; k < 3; k++) {
+            int v = vertices[k] * 3;
+            corners[k] = (positions[v] + cx) + "," + (positions[v + 1] + cy) + "," + (positions[v + 2] + cz);
+        }
+        Arrays.sort(corners);
+        return String.join(";", corners);
+    }
+}
@@ -0,0 +1,57 @@
+package org.example;
+
+import org.example.Util.QualityGovernor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class QualityGovernorTest {
+
+    @Test
+    public void testBaixaSobCargaESobeComQuadrosRapidos() {
+        QualityGovernor governor = new QualityGovernor(25, 18, 300, 5);
+
+        // Quadros lentos: desce um nível a cada poucos quadros, até o limite
+        int level = QualityGovernor.FULL;
+        for (int i = 0; i < 100; i++) {
+            level = governor.onFrame(60);
+        }
+        assertEquals(5, level);
+
+        // Faixa intermediária: mantém o nível (histerese)
+        for (int i = 0; i < 100; i++) {
+            level = governor.onFrame(20);
+        }
+        assertEquals(5, level);
+
+        // Repouso não esquece o nível da interação
+        governor.onIdle();
+        assertEquals(5, governor.getLevel());
+
+        // Quadros rápidos: sobe devagar, um nível por vez
+        for (int i = 0; i < 40; i++) {
+            level = governor.onFrame(16.7);
+        }
+        assertEquals(4, level);
+        for (int i = 0; i < 200; i++) {
+            level = governor.onFrame(16.7);
+        }
+        assertEquals(QualityGovernor.FULL, level);
+    }
+
+    @Test
+    public void testPicoIsoladoNaoDerrubaAQualidade() {
+        QualityGovernor governor = new QualityGovernor(25, 18, 300, 5);
+        for (int i = 0; i < 30; i++) {
+            governor.onFrame(16.7);
+        }
+        // Uma travada de 100 ms eleva a média por poucos quadros
+        governor.onFrame(100);
+        governor.onFrame(16.7);
+        governor.onFrame(16.7);
+        assertEquals(QualityGovernor.FULL, governor.getLevel());
+
+        assertThrows(IllegalArgumentException.class, () -> new QualityGovernor(20, 25, 300, 5));
+    }
+}
@@ -0,0 +1,120 @@
+package org.example;
+
+import org.example.Util.RenderLoop;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RenderLoopTest {
+
+    // Driver manual: o teste decide quando e com que instante cada quadro acontece
+    private static final class ManualDriver implements RenderLoop.Driver {
+        private LongConsumer onFrame;
+        private boolean started;
+        private int starts;
+
+        @Override
+        public void start(LongConsumer onFrame) {
+            this.onFrame = onFrame;
+            started = true;
+            starts++;
+        }
+
+        @Override
+        public void stop() {
+            started = false;
+        }
+
+        void frame(long nanos) {
+            Assertions.assertTrue(started, "Quadro com o driver parado");
+            onFrame.accept(nanos);
+        }
+    }
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    public void testParaQuandoPulsoDevolveFalse() {
+        ManualDriver driver = new ManualDriver();
+        int[] remaining = {2};
+        RenderLoop loop = new RenderLoop(elapsed -> --remaining[0] > 0, driver);
+
+        Assertions.assertFalse(loop.isRunning());
+        loop.request();
+        Assertions.assertTrue(driver.started);
+
+        driver.frame(0);
+        Assertions.assertTrue(loop.isRunning(), "Pulso pediu continuação");
+        driver.frame(16 * MS);
+        Assertions.assertFalse(loop.isRunning());
+        Assertions.assertFalse(driver.started);
+        assertEquals(2, loop.getPulseCount());
+    }
+
+    @Test
+    public void testPedidoDuranteOPulsoMantemOLaco() {
+        ManualDriver driver = new ManualDriver();
+        RenderLoop[] holder = new RenderLoop[1];
+        int[] pulses = {0};
+        holder[0] = new RenderLoop(elapsed -> {
+            // Primeiro pulso gera outro pedido (ex.: flush que marcou algo sujo)
+            if (pulses[0]++ == 0) holder[0].request();
+            return false;
+        }, driver);
+        RenderLoop loop = holder[0];
+
+        loop.request();
+        driver.frame(0);
+        Assertions.assertTrue(loop.isRunning(), "Pedido feito no pulso deveria manter o laço");
+        Assertions.assertTrue(driver.started);
+        assertEquals(1, driver.starts, "Timer já ativo não deve ser reiniciado");
+
+        driver.frame(16 * MS);
+        Assertions.assertFalse(loop.isRunning());
+        assertEquals(2, loop.getPulseCount());
+    }
+
+    @Test
+    public void testIntervaloNominalELimitado() {
+        ManualDriver driver = new ManualDriver();
+        List<Double> elapsed = new ArrayList<>();
+        RenderLoop loop = new RenderLoop(seconds -> {
+            elapsed.add(seconds);
+            return elapsed.size() < 3;
+        }, driver);
+
+        loop.request();
+        driver.frame(5_000 * MS);
+        driver.frame(5_020 * MS);
+        // Pausa longa (ex.: janela arrastada): limitada a MAX_FRAME_SECONDS
+        driver.frame(7_000 * MS);
+
+        assertEquals(RenderLoop.NOMINAL_FRAME_SECONDS, elapsed.get(0), 1e-12);
+        assertEquals(0.020, elapsed.get(1), 1e-9);
+        assertEquals(RenderLoop.MAX_FRAME_SECONDS, elapsed.get(2), 1e-12);
+        Assertions.assertFalse(loop.isRunning());
+
+        // Depois de parado, o próximo pulso volta a usar o quadro nominal
+        loop.request();
+        driver.frame(60_000 * MS);
+        assertEquals(RenderLoop.NOMINAL_FRAME_SECONDS, elapsed.get(3), 1e-12);
+    }
+
+    @Test
+    public void testErroNoPulsoParaOLaco() {
+        ManualDriver driver = new ManualDriver();
+        RenderLoop loop = new RenderLoop(elapsed -> {
+            throw new IllegalStateException("falha");
+        }, driver);
+
+        loop.request();
+        driver.frame(0);
+        Assertions.assertFalse(loop.isRunning());
+        Assertions.assertFalse(driver.started);
+    }
+}
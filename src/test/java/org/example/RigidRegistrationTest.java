@@ -0,0 +1,106 @@
+package org.example;
+
+import org.example.Util.RigidRegistration;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RigidRegistrationTest {
+
+    private static final int RINGS = 60;
+    private static final int SEGMENTS = 80;
+
+    @Test
+    public void testRecuperaRotacaoETranslacao() {
+        float[] reference = shape();
+        int[] triangles = triangles();
+
+        // Peça girada 70° em torno de um eixo inclinado e deslocada
+        double[] pose = pose(0.3, 1.0, -0.4, Math.toRadians(70), 5, -2, 3);
+        float[] scan = transform(reference, pose);
+
+        RigidRegistration.Result result = RigidRegistration.align(scan, triangles, reference, triangles);
+
+        assertTrue(result.isConverged());
+        assertTrue(result.getRms() < 1e-4, "RMS " + result.getRms());
+        float[] aligned = result.apply(scan);
+        for (int i = 0; i < aligned.length; i++) {
+            assertEquals(reference[i], aligned[i], 1e-3);
+        }
+    }
+
+    @Test
+    public void testModeloJaAlinhadoFicaParado() {
+        float[] reference = shape();
+        int[] triangles = triangles();
+
+        RigidRegistration.Result result = RigidRegistration.align(reference, triangles, reference, triangles);
+
+        double[] m = result.getMatrix();
+        double[] identity = {1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0};
+        for (int i = 0; i < 12; i++) {
+            assertEquals(identity[i], m[i], 1e-5);
+        }
+        assertEquals(1.0, result.getInlierRatio(), 1e-9);
+    }
+
+    // Elipsoide 1 x 2 x 3 com duas saliências (sem simetrias que confundam o alinhamento)
+    private static float[] shape() {
+        float[] positions = new float[(RINGS + 1) * SEGMENTS * 3];
+        for (int i = 0; i <= RINGS; i++) {
+            for (int j = 0; j < SEGMENTS; j++) {
+                double theta = Math.PI * i / RINGS, phi = 2 * Math.PI * j / SEGMENTS;
+                double x = Math.sin(theta) * Math.cos(phi), y = Math.cos(theta), z = Math.sin(theta) * Math.sin(phi);
+                double bump = 1 + 0.4 * Math.exp(-8 * ((x - 0.6) * (x - 0.6) + (y - 0.6) * (y - 0.6) + z * z))
+                        + 0.2 * Math.exp(-10 * (x * x + (y + 0.5) * (y + 0.5) + (z - 0.8) * (z - 0.8)));
+                int v = (i * SEGMENTS + j) * 3;
+                positions[v] = (float) (x * bump);
+                positions[v + 1] = (float) (2 * y * bump);
+                positions[v + 2] = (float) (3 * z * bump);
+            }
+        }
+        return positions;
+    }
+
+    private static int[] triangles() {
+        int[] triangles = new int[RINGS * SEGMENTS * 6];
+        int k = 0;
+        for (int i = 0; i < RINGS; i++) {
+            for (int j = 0; j < SEGMENTS; j++) {
+                int a = i * SEGMENTS + j, b = i * SEGMENTS + (j + 1) % SEGMENTS;
+                int c = a + SEGMENTS, d = b + SEGMENTS;
+                triangles[k++] = a;
+                triangles[k++] = b;
+                triangles[k++] = c;
+                triangles[k++] = b;
+                triangles[k++] = d;
+                triangles[k++] = c;
+            }
+        }
+        return triangles;
+    }
+
+    // Matriz [R | t] de uma rotação em torno do eixo (ax, ay, az) seguida de translação
+    private static double[] pose(double ax, double ay, double az, double angle, double tx, double ty, double tz) {
+        double length = Math.sqrt(ax * ax + ay * ay + az * az);
+        double x = ax / length, y = ay / length, z = az / length;
+        double c = Math.cos(angle), s = Math.sin(angle), t = 1 - c;
+        return new double[]{
+                t * x * x + c, t * x * y - s * z, t * x * z + s * y, tx,
+                t * x * y + s * z, t * y * y + c, t * y * z - s * x, ty,
+                t * x * z - s * y, t * y * z + s * x, t * z * z + c, tz
+        };
+    }
+
+    private static float[] transform(float[] positions, double[] m) {
+        float[] out = new float[positions.length];
+        for (int i = 0; i < positions.length; i += 3) {
+            double x = positions[i], y = positions[i + 1], z = positions[i + 2];
+            out[i] = (float) (m[0] * x + m[1] * y + m[2] * z + m[3]);
+            out[i + 1] = (float) (m[4] * x + m[5] * y + m[6] * z + m[7]);
+            out[i + 2] = (float) (m[8] * x + m[9] * y + m[10] * z + m[11]);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,52 @@
+package org.example;
+
+import org.example.Util.VertexKdTree;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class VertexKdTreeTest {
+
+    @Test
+    public void testMesmoResultadoQueForcaBruta() {
+        Random random = new Random(7);
+        int vertexCount = 5000;
+        float[] positions = new float[vertexCount * 3];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = random.nextFloat() * 10;
+        }
+        int[] triangles = IntStream.range(0, vertexCount - vertexCount % 3).toArray();
+        VertexKdTree tree = VertexKdTree.build(positions, triangles);
+
+        for (int i = 0; i < 200; i++) {
+            double x = random.nextDouble() * 12 - 1, y = random.nextDouble() * 12 - 1, z = random.nextDouble() * 12 - 1;
+            Integer[] expected = IntStream.range(0, triangles.length).boxed()
+                    .sorted(Comparator.comparingDouble(v -> distance(positions, v, x, y, z)))
+                    .limit(8).toArray(Integer[]::new);
+
+            assertEquals((int) expected[0], tree.nearest(x, y, z));
+            assertArrayEquals(Arrays.stream(expected).mapToInt(Integer::intValue).toArray(), tree.nearest(x, y, z, 8));
+        }
+    }
+
+    @Test
+    public void testVerticesSoltosFicamDeFora() {
+        float[] positions = {0, 0, 0, 1, 0, 0, 0, 1, 0, 0.1f, 0.1f, 0};
+        VertexKdTree tree = VertexKdTree.build(positions, new int[]{0, 1, 2});
+
+        assertEquals(3, tree.size());
+        assertEquals(0, tree.nearest(0.1, 0.1, 0));
+        assertEquals(3, tree.nearest(0, 0, 0, 10).length);
+    }
+
+    private static double distance(float[] p, int v, double x, double y, double z) {
+        double dx = p[v * 3] - x, dy = p[v * 3 + 1] - y, dz = p[v * 3 + 2] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+}